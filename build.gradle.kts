@@ -6,6 +6,7 @@ plugins {
     alias(libs.plugins.spring.dependency.management)
     jacoco
     alias(libs.plugins.errorprone)
+    alias(libs.plugins.jmh)
 }
 
 group = "org.apache.solr"
@@ -71,6 +72,15 @@ tasks.jacocoTestReport {
     }
 }
 
+// Microbenchmarks in src/jmh, run with ./gradlew jmh
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+}
+
 tasks.withType<JavaCompile>().configureEach {
     options.errorprone {
         disableAllChecks.set(true) // Other error prone checks are disabled
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.solr.client.solrj.response.FacetField;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.util.NamedList;
+import org.apache.solr.common.util.SimpleOrderedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the cost of turning a SolrJ {@link QueryResponse} into JSON through
+ * the previous copy-based conversion against the views now returned by
+ * {@link SearchService#getDocs(SolrDocumentList)} and
+ * {@link SearchService#getFacets(QueryResponse)}.
+ *
+ * <p>Both benchmarks end in the same {@link ObjectMapper#writeValueAsBytes}
+ * call, so the difference between them is the intermediate maps the copy
+ * path allocates per document and per facet field. Run with
+ * {@code ./gradlew jmh} and compare the {@code gc.alloc.rate.norm} column
+ * when the GC profiler is enabled.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchResponseSerializationBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int rows;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private QueryResponse queryResponse;
+
+    @Setup
+    public void setUp() {
+        SolrDocumentList documents = new SolrDocumentList();
+        documents.setNumFound(rows * 10L);
+        documents.setMaxScore(1.0f);
+        for (int i = 0; i < rows; i++) {
+            SolrDocument document = new SolrDocument();
+            document.setField("id", "doc-" + i);
+            document.setField("name", List.of("Product " + i));
+            document.setField("description",
+                    List.of("A reasonably long description for product " + i + " that resembles catalog text"));
+            document.setField("category", List.of("electronics", "accessories"));
+            document.setField("brand", List.of("Brand " + (i % 20)));
+            document.setField("price", List.of(9.99 + i));
+            document.setField("inStock", List.of(i % 3 != 0));
+            document.setField("rating", List.of(i % 5 + 0.5));
+            document.setField("popularity", i * 7L);
+            document.setField("tags", List.of("tag-a", "tag-b", "tag-" + i));
+            document.setField("manufacturer_s", "Manufacturer " + (i % 50));
+            document.setField("_version_", 1_700_000_000_000L + i);
+            documents.add(document);
+        }
+
+        NamedList<Object> facetFields = new SimpleOrderedMap<>();
+        for (String field : List.of("category", "brand", "manufacturer_s")) {
+            NamedList<Number> counts = new NamedList<>();
+            for (int i = 0; i < 20; i++) {
+                counts.add(field + "-value-" + i, 1000 - i * 10);
+            }
+            facetFields.add(field, counts);
+        }
+        NamedList<Object> facetCounts = new SimpleOrderedMap<>();
+        facetCounts.add("facet_queries", new SimpleOrderedMap<>());
+        facetCounts.add("facet_fields", facetFields);
+
+        NamedList<Object> header = new SimpleOrderedMap<>();
+        header.add("status", 0);
+        header.add("QTime", 3);
+
+        NamedList<Object> response = new SimpleOrderedMap<>();
+        response.add("responseHeader", header);
+        response.add("response", documents);
+        response.add("facet_counts", facetCounts);
+
+        queryResponse = new QueryResponse();
+        queryResponse.setResponse(response);
+    }
+
+    @Benchmark
+    public byte[] copyingConversion() throws Exception {
+        SolrDocumentList documents = queryResponse.getResults();
+        SearchResponse searchResponse = new SearchResponse(documents.getNumFound(), documents.getStart(),
+                documents.getMaxScore(), copyDocs(documents), copyFacets(queryResponse));
+        return objectMapper.writeValueAsBytes(searchResponse);
+    }
+
+    @Benchmark
+    public byte[] viewConversion() throws Exception {
+        SolrDocumentList documents = queryResponse.getResults();
+        SearchResponse searchResponse = new SearchResponse(documents.getNumFound(), documents.getStart(),
+                documents.getMaxScore(), SearchService.getDocs(documents), SearchService.getFacets(queryResponse));
+        return objectMapper.writeValueAsBytes(searchResponse);
+    }
+
+    /** The document conversion {@link SearchService} used before documents were handed over as-is. */
+    private static List<Map<String, Object>> copyDocs(SolrDocumentList documents) {
+        List<Map<String, Object>> docs = new ArrayList<>(documents.size());
+        documents.forEach(doc -> {
+            Map<String, Object> docMap = new HashMap<>();
+            for (String fieldName : doc.getFieldNames()) {
+                docMap.put(fieldName, doc.getFieldValue(fieldName));
+            }
+            docs.add(docMap);
+        });
+        return docs;
+    }
+
+    /** The facet conversion {@link SearchService} used before {@link FacetCountsView}. */
+    private static Map<String, Map<String, Long>> copyFacets(QueryResponse queryResponse) {
+        Map<String, Map<String, Long>> facets = new HashMap<>();
+        if (queryResponse.getFacetFields() != null && !queryResponse.getFacetFields().isEmpty()) {
+            queryResponse.getFacetFields().forEach(facetField -> {
+                Map<String, Long> facetValues = new HashMap<>();
+                for (FacetField.Count count : facetField.getValues()) {
+                    facetValues.put(count.getName(), count.getCount());
+                }
+                facets.put(facetField.getName(), facetValues);
+            });
+        }
+        return facets;
+    }
+
+}
@@ -130,7 +130,22 @@ public class SolrConfig {
      */
     @Bean
     SolrClient solrClient(SolrConfigurationProperties properties) {
-        String url = properties.url();
+        return createClient(properties.url());
+    }
+
+    /**
+     * Creates a SolrClient for a Solr base URL with the same URL normalization and timeouts
+     * as the {@link #solrClient(SolrConfigurationProperties)} bean.
+     *
+     * <p>Used for additional nodes that requests are sent to besides {@code solr.url}, such
+     * as the targets of hedged searches. The caller owns the returned client and must close
+     * it.</p>
+     *
+     * @param baseUrl the base URL of a Solr node, in any of the supported formats
+     * @return a new SolrClient for the node
+     */
+    public static SolrClient createClient(String baseUrl) {
+        String url = baseUrl;
 
         // Ensure URL is properly formatted for Solr
         // The URL should end with /solr/ for proper path construction
@@ -16,7 +16,16 @@
  */
 package org.apache.solr.mcp.server.config;
 
+import org.apache.solr.mcp.server.indexing.CommitMode;
+import org.apache.solr.mcp.server.metadata.MetricsSource;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Spring Boot Configuration Properties record for Apache Solr connection settings.
@@ -79,8 +88,69 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * <p>While basic validation is handled by the configuration system, additional
  * URL validation and normalization occurs in the {@link SolrConfig} class
  * during SolrClient bean creation.</p>
+ *
+ * <p><strong>Indexing Settings:</strong></p>
+ * <p>Batch indexing behaviour is tuned through the nested {@code solr.indexing.*}
+ * properties. Every setting has a default, so the section can be omitted entirely:</p>
+ * <pre>{@code
+ * solr.indexing.batch-size=1000
+ * solr.indexing.max-concurrent-batches=4
+ * solr.indexing.max-concurrent-files=2
+ * solr.indexing.max-batch-bytes=16MB
+ * solr.indexing.commit.mode=hard
+ * solr.indexing.commit.within=1s
+ * solr.indexing.commit.coalesce-interval=1s
+ * solr.indexing.adaptive.enabled=false
+ * solr.indexing.adaptive.min-batch-size=10
+ * solr.indexing.adaptive.max-batch-size=10000
+ * solr.indexing.adaptive.increase-step=100
+ * solr.indexing.adaptive.target-latency=1s
+ * solr.indexing.jobs.max-concurrent=2
+ * solr.indexing.jobs.max-queued=16
+ * solr.indexing.jobs.retention=1h
+ * }</pre>
+ *
+ * <p><strong>Search Settings:</strong></p>
+ * <p>Search behaviour is tuned through the nested {@code solr.search.*} properties, which
+ * also have defaults throughout:</p>
+ * <pre>{@code
+ * solr.search.cache.enabled=false
+ * solr.search.cache.max-entries=1000
+ * solr.search.cache.max-size=64MB
+ * solr.search.cache.ttl=60s
+ * solr.search.export.directory=${java.io.tmpdir}/solr-mcp-exports
+ * solr.search.response.max-chars=100000
+ * solr.search.response.max-field-chars=2000
+ * solr.search.batch.max-concurrent=4
+ * solr.search.batch.max-queries=20
+ * solr.search.hedging.enabled=false
+ * solr.search.hedging.urls=http://solr2:8983/solr/,http://solr3:8983/solr/
+ * solr.search.hedging.percentile=95
+ * solr.search.hedging.min-delay=10ms
+ * solr.search.hedging.sample-size=200
+ * solr.search.hedging.max-hedge-ratio=0.1
+ * }</pre>
+ *
+ * <p><strong>Metadata Settings:</strong></p>
+ * <p>The collection tools are tuned through the nested {@code solr.metadata.*} properties:</p>
+ * <pre>{@code
+ * solr.metadata.registry.ttl=30s
+ * solr.metadata.stats.timeout=10s
+ * solr.metadata.stats.metrics-source=mbeans
+ * solr.metadata.fields.max-concurrent=4
+ * solr.metadata.fields.top-terms=10
+ * solr.metadata.fields.cache-ttl=5m
+ * solr.metadata.fields.cache-max-entries=1000
+ * solr.metadata.sampler.enabled=false
+ * solr.metadata.sampler.collections=films,books
+ * solr.metadata.sampler.interval=60s
+ * solr.metadata.sampler.capacity=1440
+ * }</pre>
  * 
  * @param url the base URL of the Apache Solr server (required, non-null)
+ * @param indexing batch indexing settings bound from {@code solr.indexing.*}
+ * @param search search settings bound from {@code solr.search.*}
+ * @param metadata collection metadata settings bound from {@code solr.metadata.*}
  *
  * @version 0.0.1
  * @since 0.0.1
@@ -90,6 +160,796 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * @see org.springframework.boot.context.properties.EnableConfigurationProperties
  */
 @ConfigurationProperties(prefix = "solr")
-public record SolrConfigurationProperties(String url) {
+public record SolrConfigurationProperties(String url, @DefaultValue Indexing indexing, @DefaultValue Search search,
+                                          @DefaultValue Metadata metadata) {
+
+    /**
+     * Canonical constructor used by Spring Boot when binding the {@code solr.*} properties.
+     */
+    public SolrConfigurationProperties {
+        if (indexing == null) {
+            indexing = Indexing.defaults();
+        }
+        if (search == null) {
+            search = Search.defaults();
+        }
+        if (metadata == null) {
+            metadata = Metadata.defaults();
+        }
+    }
+
+    /**
+     * Returns properties for the given Solr URL with default settings for everything else.
+     *
+     * @param url the base URL of the Apache Solr server
+     * @return properties with default indexing, search and metadata settings
+     */
+    public static SolrConfigurationProperties defaults(String url) {
+        return new SolrConfigurationProperties(url, Indexing.defaults(), Search.defaults(), Metadata.defaults());
+    }
+
+    /**
+     * @param indexing batch indexing settings
+     * @return a copy of these properties with the given indexing settings
+     */
+    public SolrConfigurationProperties withIndexing(Indexing indexing) {
+        return new SolrConfigurationProperties(url, indexing, search, metadata);
+    }
+
+    /**
+     * @param search search settings
+     * @return a copy of these properties with the given search settings
+     */
+    public SolrConfigurationProperties withSearch(Search search) {
+        return new SolrConfigurationProperties(url, indexing, search, metadata);
+    }
+
+    /**
+     * @param metadata collection metadata settings
+     * @return a copy of these properties with the given metadata settings
+     */
+    public SolrConfigurationProperties withMetadata(Metadata metadata) {
+        return new SolrConfigurationProperties(url, indexing, search, metadata);
+    }
+
+    /**
+     * Settings for the collection metadata tools.
+     *
+     * @param registry the cached list of collections, bound from {@code solr.metadata.registry.*}
+     * @param stats    the {@code getCollectionStats} tool, bound from {@code solr.metadata.stats.*}
+     * @param fields   the {@code get_field_stats} tool, bound from {@code solr.metadata.fields.*}
+     * @param sampler  the background metrics sampler, bound from {@code solr.metadata.sampler.*}
+     */
+    public record Metadata(@DefaultValue Registry registry, @DefaultValue Stats stats, @DefaultValue Fields fields,
+                           @DefaultValue Sampler sampler) {
+
+        public Metadata {
+            if (registry == null) {
+                registry = Registry.defaults();
+            }
+            if (stats == null) {
+                stats = Stats.defaults();
+            }
+            if (fields == null) {
+                fields = Fields.defaults();
+            }
+            if (sampler == null) {
+                sampler = Sampler.defaults();
+            }
+        }
+
+        /**
+         * @param registry settings of the cached list of collections
+         * @return a copy of these settings with the given registry settings
+         */
+        public Metadata withRegistry(Registry registry) {
+            return new Metadata(registry, stats, fields, sampler);
+        }
+
+        /**
+         * @param stats settings of the {@code getCollectionStats} tool
+         * @return a copy of these settings with the given stats settings
+         */
+        public Metadata withStats(Stats stats) {
+            return new Metadata(registry, stats, fields, sampler);
+        }
+
+        /**
+         * @param fields settings of the {@code get_field_stats} tool
+         * @return a copy of these settings with the given field statistics settings
+         */
+        public Metadata withFields(Fields fields) {
+            return new Metadata(registry, stats, fields, sampler);
+        }
+
+        /**
+         * Returns the default settings of every metadata tool.
+         *
+         * @return default metadata settings
+         */
+        public static Metadata defaults() {
+            return new Metadata(Registry.defaults(), Stats.defaults(), Fields.defaults(), Sampler.defaults());
+        }
+    }
+
+    /**
+     * Settings for the {@code getCollectionStats} tool.
+     *
+     * <p>The Luke, query and metrics requests behind one stats call are sent concurrently and
+     * share a deadline of {@code timeout}. Requests still outstanding at the deadline are
+     * cancelled and their sections are reported as timed out, while the sections that did
+     * arrive are returned.</p>
+     *
+     * <p>Cache and handler metrics are read from the collection's {@code /admin/mbeans} handler
+     * by default. {@link MetricsSource#METRICS} reads the {@code /admin/metrics} API instead,
+     * which adds latency percentiles but only covers the replicas hosted on the node behind
+     * {@code solr.url}.</p>
+     *
+     * @param timeout       time allowed for all requests of one stats call
+     * @param metricsSource Solr API cache and handler metrics are read from
+     */
+    public record Stats(
+            @DefaultValue("10s") Duration timeout,
+            @DefaultValue("mbeans") MetricsSource metricsSource) {
+
+        public Stats {
+            if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+                throw new IllegalArgumentException("solr.metadata.stats.timeout must be positive: " + timeout);
+            }
+            if (metricsSource == null) {
+                metricsSource = MetricsSource.MBEANS;
+            }
+        }
+
+        /**
+         * Returns the default settings, which read metrics from {@code /admin/mbeans} within 10 seconds.
+         *
+         * @return default stats settings
+         */
+        public static Stats defaults() {
+            return new Stats(Duration.ofSeconds(10), MetricsSource.MBEANS);
+        }
+    }
+
+    /**
+     * Settings for the {@code get_field_stats} tool.
+     *
+     * <p>Every requested field is fetched with its own Luke request, up to
+     * {@code maxConcurrent} of them at a time, under the deadline of
+     * {@code solr.metadata.stats.timeout}. Callers that do not ask for a number of top terms
+     * get {@code topTerms}. Results are cached for {@code cacheTtl}, or until the collection
+     * is committed to through this server. Since field names come from the caller, at most
+     * {@code cacheMaxEntries} results are cached; the least recently used are dropped first.</p>
+     *
+     * @param maxConcurrent   maximum number of Luke requests of one call running at once
+     * @param topTerms        default number of most frequent terms returned per field
+     * @param cacheTtl        maximum age of cached field statistics
+     * @param cacheMaxEntries maximum number of cached field statistics
+     */
+    public record Fields(
+            @DefaultValue("4") int maxConcurrent,
+            @DefaultValue("10") int topTerms,
+            @DefaultValue("5m") Duration cacheTtl,
+            @DefaultValue("1000") int cacheMaxEntries) {
+
+        public Fields {
+            if (maxConcurrent < 1) {
+                throw new IllegalArgumentException("solr.metadata.fields.max-concurrent must be positive: " + maxConcurrent);
+            }
+            if (topTerms < 0) {
+                throw new IllegalArgumentException("solr.metadata.fields.top-terms must not be negative: " + topTerms);
+            }
+            if (cacheTtl == null || cacheTtl.isNegative()) {
+                throw new IllegalArgumentException("solr.metadata.fields.cache-ttl must not be negative: " + cacheTtl);
+            }
+            if (cacheMaxEntries < 1) {
+                throw new IllegalArgumentException(
+                        "solr.metadata.fields.cache-max-entries must be positive: " + cacheMaxEntries);
+            }
+        }
+
+        /**
+         * Returns the default settings, which cache up to 1000 field statistics for 5 minutes.
+         *
+         * @return default field statistics settings
+         */
+        public static Fields defaults() {
+            return new Fields(4, 10, Duration.ofMinutes(5), 1000);
+        }
+    }
+
+    /**
+     * Settings for the background sampler behind the {@code get_collection_stats_history} tool.
+     *
+     * <p>When enabled, the cache and handler metrics of each of {@code collections} are read
+     * every {@code interval} and the latest {@code capacity} samples are kept in memory. With
+     * the defaults that is one day of history per collection.</p>
+     *
+     * @param enabled     whether metrics are sampled
+     * @param collections collections whose metrics are sampled
+     * @param interval    time between two samples
+     * @param capacity    number of samples kept per collection
+     */
+    public record Sampler(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue List<String> collections,
+            @DefaultValue("60s") Duration interval,
+            @DefaultValue("1440") int capacity) {
+
+        public Sampler {
+            collections = collections == null ? List.of()
+                    : collections.stream().filter(StringUtils::hasText).map(String::trim).distinct().toList();
+            if (interval == null || interval.isNegative() || interval.isZero()) {
+                throw new IllegalArgumentException("solr.metadata.sampler.interval must be positive: " + interval);
+            }
+            if (capacity < 2) {
+                throw new IllegalArgumentException("solr.metadata.sampler.capacity must be at least 2: " + capacity);
+            }
+        }
+
+        /**
+         * Returns the default settings, which turn the sampler off.
+         *
+         * @return disabled sampler settings
+         */
+        public static Sampler defaults() {
+            return new Sampler(false, List.of(), Duration.ofSeconds(60), 1440);
+        }
+    }
+
+    /**
+     * Settings for the list of collections {@code CollectionService} validates collection names against.
+     *
+     * <p>The list is read from Solr on first use and kept in memory. Once it is older than
+     * {@code ttl} it is refreshed in the background while the previous list keeps answering.
+     * A name missing from the list triggers an immediate refresh, so that collections created
+     * in the meantime are found without waiting for the TTL.</p>
+     *
+     * @param ttl age after which the collection list is refreshed
+     */
+    public record Registry(@DefaultValue("30s") Duration ttl) {
+
+        public Registry {
+            if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("solr.metadata.registry.ttl must be positive: " + ttl);
+            }
+        }
+
+        /**
+         * Returns the default settings, which refresh the list of collections every 30 seconds.
+         *
+         * @return default registry settings
+         */
+        public static Registry defaults() {
+            return new Registry(Duration.ofSeconds(30));
+        }
+    }
+
+    /**
+     * Settings controlling how {@code IndexingService} sends document batches to Solr.
+     *
+     * <p>Documents are split into batches of {@code batchSize} documents, and up to
+     * {@code maxConcurrentBatches} of those batches are kept in flight against Solr at
+     * the same time. A value of {@code 1} restores strictly sequential indexing.</p>
+     *
+     * <p>{@code maxConcurrentFiles} limits how many files the {@code index_files} tool parses at
+     * once. Every file has its own batch pipeline, so up to
+     * {@code maxConcurrentFiles × maxConcurrentBatches} update requests may be in flight.</p>
+     *
+     * <p>Independently of the document count, a batch is sent as soon as the estimated
+     * serialized size of its documents reaches {@code maxBatchBytes}, so that batches of wide
+     * documents stay within a predictable request size.</p>
+     *
+     * @param batchSize            number of documents sent per update request, or the starting
+     *                             size when adaptive sizing is enabled
+     * @param maxConcurrentBatches maximum number of update requests in flight at once
+     * @param maxConcurrentFiles   maximum number of files read and indexed at once
+     * @param maxBatchBytes        estimated serialized size at which a batch is sent early
+     * @param commit               how indexed documents are committed, bound from {@code solr.indexing.commit.*}
+     * @param adaptive             latency-driven batch sizing, bound from {@code solr.indexing.adaptive.*}
+     * @param jobs                 asynchronous indexing jobs, bound from {@code solr.indexing.jobs.*}
+     */
+    public record Indexing(
+            @DefaultValue("1000") int batchSize,
+            @DefaultValue("4") int maxConcurrentBatches,
+            @DefaultValue("2") int maxConcurrentFiles,
+            @DefaultValue("16MB") DataSize maxBatchBytes,
+            @DefaultValue Commit commit,
+            @DefaultValue Adaptive adaptive,
+            @DefaultValue Jobs jobs) {
+
+        public Indexing {
+            if (commit == null) {
+                commit = Commit.defaults();
+            }
+            if (adaptive == null) {
+                adaptive = Adaptive.defaults();
+            }
+            if (jobs == null) {
+                jobs = Jobs.defaults();
+            }
+            if (maxBatchBytes == null || maxBatchBytes.toBytes() < 1) {
+                throw new IllegalArgumentException("solr.indexing.max-batch-bytes must be positive: " + maxBatchBytes);
+            }
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("solr.indexing.batch-size must be positive: " + batchSize);
+            }
+            if (maxConcurrentBatches < 1) {
+                throw new IllegalArgumentException(
+                        "solr.indexing.max-concurrent-batches must be positive: " + maxConcurrentBatches);
+            }
+            if (maxConcurrentFiles < 1) {
+                throw new IllegalArgumentException(
+                        "solr.indexing.max-concurrent-files must be positive: " + maxConcurrentFiles);
+            }
+        }
+
+        /**
+         * @param batchSize number of documents sent per update request
+         * @return a copy of these settings with the given batch size
+         */
+        public Indexing withBatchSize(int batchSize) {
+            return new Indexing(batchSize, maxConcurrentBatches, maxConcurrentFiles, maxBatchBytes, commit, adaptive, jobs);
+        }
+
+        /**
+         * @param maxConcurrentBatches maximum number of update requests in flight at once
+         * @return a copy of these settings with the given batch concurrency
+         */
+        public Indexing withMaxConcurrentBatches(int maxConcurrentBatches) {
+            return new Indexing(batchSize, maxConcurrentBatches, maxConcurrentFiles, maxBatchBytes, commit, adaptive, jobs);
+        }
+
+        /**
+         * @param maxBatchBytes estimated serialized size at which a batch is sent early
+         * @return a copy of these settings with the given batch byte limit
+         */
+        public Indexing withMaxBatchBytes(DataSize maxBatchBytes) {
+            return new Indexing(batchSize, maxConcurrentBatches, maxConcurrentFiles, maxBatchBytes, commit, adaptive, jobs);
+        }
+
+        /**
+         * @param commit how indexed documents are committed
+         * @return a copy of these settings with the given commit settings
+         */
+        public Indexing withCommit(Commit commit) {
+            return new Indexing(batchSize, maxConcurrentBatches, maxConcurrentFiles, maxBatchBytes, commit, adaptive, jobs);
+        }
+
+        /**
+         * @param adaptive latency-driven batch sizing
+         * @return a copy of these settings with the given adaptive settings
+         */
+        public Indexing withAdaptive(Adaptive adaptive) {
+            return new Indexing(batchSize, maxConcurrentBatches, maxConcurrentFiles, maxBatchBytes, commit, adaptive, jobs);
+        }
+
+        /**
+         * @param jobs asynchronous indexing jobs
+         * @return a copy of these settings with the given job settings
+         */
+        public Indexing withJobs(Jobs jobs) {
+            return new Indexing(batchSize, maxConcurrentBatches, maxConcurrentFiles, maxBatchBytes, commit, adaptive, jobs);
+        }
+
+        /**
+         * Returns the default settings, which send fixed batches of 1000 documents.
+         *
+         * @return default indexing settings
+         */
+        public static Indexing defaults() {
+            return new Indexing(1000, 4, 2, DataSize.ofMegabytes(16), Commit.defaults(), Adaptive.defaults(),
+                    Jobs.defaults());
+        }
+    }
+
+    /**
+     * Settings controlling how documents indexed through the MCP tools become visible.
+     *
+     * <p>{@code mode} is the default for every {@code index_*} tool call; callers may override
+     * it per call. {@code within} is only used by {@link CommitMode#COMMIT_WITHIN} and
+     * {@code coalesceInterval} only by {@link CommitMode#COALESCE}.</p>
+     *
+     * @param mode             default commit mode applied after indexing
+     * @param within           commitWithin deadline attached to update requests
+     * @param coalesceInterval minimum time between server-issued commits to the same collection
+     */
+    public record Commit(
+            @DefaultValue("hard") CommitMode mode,
+            @DefaultValue("1s") Duration within,
+            @DefaultValue("1s") Duration coalesceInterval) {
+
+        public Commit {
+            if (mode == null) {
+                mode = CommitMode.HARD;
+            }
+            if (within == null || within.isNegative() || within.isZero()) {
+                throw new IllegalArgumentException("solr.indexing.commit.within must be positive: " + within);
+            }
+            if (coalesceInterval == null || coalesceInterval.isNegative() || coalesceInterval.isZero()) {
+                throw new IllegalArgumentException(
+                        "solr.indexing.commit.coalesce-interval must be positive: " + coalesceInterval);
+            }
+        }
+
+        /**
+         * Returns the default settings, which hard commit after indexing.
+         *
+         * @return default commit settings
+         */
+        public static Commit defaults() {
+            return new Commit(CommitMode.HARD, Duration.ofSeconds(1), Duration.ofSeconds(1));
+        }
+    }
+
+    /**
+     * Settings for adapting the batch size to how quickly Solr accepts update requests.
+     *
+     * <p>When enabled, the batch size starts at {@code solr.indexing.batch-size} and is adjusted
+     * per collection after every batch, AIMD-style: a batch that succeeds within
+     * {@code targetLatency} grows the size by {@code increaseStep} documents, while a slow or
+     * failed batch halves it. The size always stays between {@code minBatchSize} and
+     * {@code maxBatchSize}.</p>
+     *
+     * @param enabled       whether batch sizes are adapted; when false the configured size is fixed
+     * @param minBatchSize  smallest batch size the controller may shrink to
+     * @param maxBatchSize  largest batch size the controller may grow to
+     * @param increaseStep  number of documents added after each fast, successful batch
+     * @param targetLatency update request latency above which the batch size is halved
+     */
+    public record Adaptive(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("10") int minBatchSize,
+            @DefaultValue("10000") int maxBatchSize,
+            @DefaultValue("100") int increaseStep,
+            @DefaultValue("1s") Duration targetLatency) {
+
+        public Adaptive {
+            if (minBatchSize < 1 || maxBatchSize < minBatchSize) {
+                throw new IllegalArgumentException("solr.indexing.adaptive batch size bounds are invalid: min="
+                        + minBatchSize + ", max=" + maxBatchSize);
+            }
+            if (increaseStep < 1) {
+                throw new IllegalArgumentException("solr.indexing.adaptive.increase-step must be positive: " + increaseStep);
+            }
+            if (targetLatency == null || targetLatency.isNegative() || targetLatency.isZero()) {
+                throw new IllegalArgumentException("solr.indexing.adaptive.target-latency must be positive: " + targetLatency);
+            }
+        }
+
+        /**
+         * Creates enabled adaptive settings with the given bounds and the default step and target latency.
+         *
+         * @param minBatchSize smallest batch size the controller may shrink to
+         * @param maxBatchSize largest batch size the controller may grow to
+         * @return enabled adaptive settings
+         */
+        public static Adaptive enabled(int minBatchSize, int maxBatchSize) {
+            return new Adaptive(true, minBatchSize, maxBatchSize, 100, Duration.ofSeconds(1));
+        }
+
+        /**
+         * Returns the default settings, which keep the batch size fixed.
+         *
+         * @return disabled adaptive settings
+         */
+        public static Adaptive defaults() {
+            return new Adaptive(false, 10, 10000, 100, Duration.ofSeconds(1));
+        }
+    }
+
+    /**
+     * Settings for indexing jobs started with the asynchronous {@code index_*_async} tools.
+     *
+     * <p>At most {@code maxConcurrent} jobs run at a time and up to {@code maxQueued} more wait
+     * for a free slot; further submissions are refused until a job finishes. Finished jobs
+     * remain queryable for {@code retention} and are then forgotten.</p>
+     *
+     * @param maxConcurrent number of jobs executed at the same time
+     * @param maxQueued     number of jobs that may wait for execution
+     * @param retention     how long the status of a finished job is kept
+     */
+    public record Jobs(
+            @DefaultValue("2") int maxConcurrent,
+            @DefaultValue("16") int maxQueued,
+            @DefaultValue("1h") Duration retention) {
+
+        public Jobs {
+            if (maxConcurrent < 1) {
+                throw new IllegalArgumentException("solr.indexing.jobs.max-concurrent must be positive: " + maxConcurrent);
+            }
+            if (maxQueued < 0) {
+                throw new IllegalArgumentException("solr.indexing.jobs.max-queued must not be negative: " + maxQueued);
+            }
+            if (retention == null || retention.isNegative()) {
+                throw new IllegalArgumentException("solr.indexing.jobs.retention must not be negative: " + retention);
+            }
+        }
+
+        /**
+         * Returns the default settings, which run two jobs at a time.
+         *
+         * @return default job settings
+         */
+        public static Jobs defaults() {
+            return new Jobs(2, 16, Duration.ofHours(1));
+        }
+    }
+
+    /**
+     * Settings for the search tools.
+     *
+     * @param cache    client-side caching of search responses, bound from {@code solr.search.cache.*}
+     * @param export   file exports of result sets, bound from {@code solr.search.export.*}
+     * @param response size limits of search responses, bound from {@code solr.search.response.*}
+     * @param batch    batched searches, bound from {@code solr.search.batch.*}
+     * @param hedging  hedged search requests, bound from {@code solr.search.hedging.*}
+     */
+    public record Search(@DefaultValue Cache cache, @DefaultValue Export export, @DefaultValue Response response,
+                         @DefaultValue Batch batch, @DefaultValue Hedging hedging) {
+
+        public Search {
+            if (cache == null) {
+                cache = Cache.defaults();
+            }
+            if (export == null) {
+                export = Export.defaults();
+            }
+            if (response == null) {
+                response = Response.defaults();
+            }
+            if (batch == null) {
+                batch = Batch.defaults();
+            }
+            if (hedging == null) {
+                hedging = Hedging.defaults();
+            }
+        }
+
+        /**
+         * @param cache client-side caching of search responses
+         * @return a copy of these settings with the given cache settings
+         */
+        public Search withCache(Cache cache) {
+            return new Search(cache, export, response, batch, hedging);
+        }
+
+        /**
+         * @param export file exports of result sets
+         * @return a copy of these settings with the given export settings
+         */
+        public Search withExport(Export export) {
+            return new Search(cache, export, response, batch, hedging);
+        }
+
+        /**
+         * @param response size limits of search responses
+         * @return a copy of these settings with the given response limits
+         */
+        public Search withResponse(Response response) {
+            return new Search(cache, export, response, batch, hedging);
+        }
+
+        /**
+         * @param batch batched searches
+         * @return a copy of these settings with the given batch settings
+         */
+        public Search withBatch(Batch batch) {
+            return new Search(cache, export, response, batch, hedging);
+        }
+
+        /**
+         * Returns the default settings of every search feature.
+         *
+         * @return default search settings
+         */
+        public static Search defaults() {
+            return new Search(Cache.defaults(), Export.defaults(), Response.defaults(), Batch.defaults(),
+                    Hedging.defaults());
+        }
+    }
+
+    /**
+     * Size limits applied to the documents returned by the {@code Search} tool.
+     *
+     * <p>Large text fields can fill an AI client's context with a handful of documents. String
+     * values longer than {@code maxFieldChars} are cut, and once the documents returned add up
+     * to {@code maxChars} characters the remaining documents are left out. The response reports
+     * what was cut. Callers may lower or raise {@code maxChars} per search.</p>
+     *
+     * @param maxChars      default character budget for the documents of one response
+     * @param maxFieldChars maximum length of a single string value
+     */
+    public record Response(
+            @DefaultValue("100000") int maxChars,
+            @DefaultValue("2000") int maxFieldChars) {
+
+        public Response {
+            if (maxChars < 1) {
+                throw new IllegalArgumentException("solr.search.response.max-chars must be positive: " + maxChars);
+            }
+            if (maxFieldChars < 1) {
+                throw new IllegalArgumentException(
+                        "solr.search.response.max-field-chars must be positive: " + maxFieldChars);
+            }
+        }
+
+        /**
+         * Returns the default settings, which cap a response at 100,000 characters.
+         *
+         * @return default response settings
+         */
+        public static Response defaults() {
+            return new Response(100_000, 2000);
+        }
+    }
+
+    /**
+     * Settings for the {@code search_batch} tool.
+     *
+     * <p>A batch runs up to {@code maxConcurrent} of its searches against Solr at the same
+     * time, so that one large batch cannot take over the shared {@code SolrClient}. Batches
+     * with more than {@code maxQueries} searches are rejected.</p>
+     *
+     * @param maxConcurrent maximum number of searches of one batch running at once
+     * @param maxQueries    maximum number of searches in one batch
+     */
+    public record Batch(
+            @DefaultValue("4") int maxConcurrent,
+            @DefaultValue("20") int maxQueries) {
+
+        public Batch {
+            if (maxConcurrent < 1) {
+                throw new IllegalArgumentException("solr.search.batch.max-concurrent must be positive: " + maxConcurrent);
+            }
+            if (maxQueries < 1) {
+                throw new IllegalArgumentException("solr.search.batch.max-queries must be positive: " + maxQueries);
+            }
+        }
+
+        /**
+         * Returns the default settings, which allow 20 searches per batch.
+         *
+         * @return default batch settings
+         */
+        public static Batch defaults() {
+            return new Batch(4, 20);
+        }
+    }
+
+    /**
+     * Settings for hedged requests of the {@code Search} tool.
+     *
+     * <p>When enabled, a search that has been outstanding for longer than the
+     * {@code percentile}-th percentile of the latest {@code sampleSize} search latencies, but
+     * at least {@code minDelay}, is sent a second time to another node. The first response
+     * is used and the other request is cancelled. This cuts the latency tail caused by a
+     * single slow replica, for example one in a long GC pause, at the cost of roughly
+     * {@code 100 - percentile} percent extra searches.</p>
+     *
+     * <p>When a whole cluster slows down, every search exceeds the percentile and hedging
+     * would double the load on it. Hedges are therefore limited to {@code maxHedgeRatio} of
+     * the searches; once that budget is spent, slow searches wait for their first request.</p>
+     *
+     * <p>Hedges go to {@code urls} in turn, which should be other nodes serving the same
+     * collections. Without URLs the hedge is sent through {@code solr.url} again, which in
+     * SolrCloud lets the receiving node pick other replicas.</p>
+     *
+     * @param enabled    whether slow searches are hedged
+     * @param urls       base URLs of further Solr nodes to send hedges to
+     * @param percentile percentile of recent latencies after which a search is hedged
+     * @param minDelay   minimum time before a search is hedged
+     * @param sampleSize number of recent search latencies the percentile is taken over
+     * @param maxHedgeRatio maximum fraction of searches that are hedged, between 0 and 1
+     */
+    public record Hedging(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue List<String> urls,
+            @DefaultValue("95") double percentile,
+            @DefaultValue("10ms") Duration minDelay,
+            @DefaultValue("200") int sampleSize,
+            @DefaultValue("0.1") double maxHedgeRatio) {
+
+        public Hedging {
+            urls = urls == null ? List.of() : urls.stream().filter(StringUtils::hasText).map(String::trim).toList();
+            if (percentile <= 0 || percentile >= 100) {
+                throw new IllegalArgumentException(
+                        "solr.search.hedging.percentile must be between 0 and 100: " + percentile);
+            }
+            if (minDelay == null || minDelay.isNegative()) {
+                throw new IllegalArgumentException("solr.search.hedging.min-delay must not be negative: " + minDelay);
+            }
+            if (sampleSize < 1) {
+                throw new IllegalArgumentException("solr.search.hedging.sample-size must be positive: " + sampleSize);
+            }
+            if (maxHedgeRatio < 0 || maxHedgeRatio > 1) {
+                throw new IllegalArgumentException(
+                        "solr.search.hedging.max-hedge-ratio must be between 0 and 1: " + maxHedgeRatio);
+            }
+        }
+
+        /**
+         * Returns the default settings, which turn hedging off.
+         *
+         * @return disabled hedging settings
+         */
+        public static Hedging defaults() {
+            return new Hedging(false, List.of(), 95, Duration.ofMillis(10), 200, 0.1);
+        }
+    }
+
+    /**
+     * Settings for the {@code export_documents} tool.
+     *
+     * <p>Exports are written below {@code directory} only; file names that resolve to a
+     * location outside of it are rejected. The directory is created on first use.</p>
+     *
+     * @param directory directory receiving export files, defaults to
+     *                  {@code solr-mcp-exports} in the system temporary directory
+     */
+    public record Export(Path directory) {
+
+        public Export {
+            if (directory == null) {
+                directory = Path.of(System.getProperty("java.io.tmpdir"), "solr-mcp-exports");
+            }
+            directory = directory.toAbsolutePath().normalize();
+        }
+
+        /**
+         * Returns the default settings, which write exports to the system temporary directory.
+         *
+         * @return default export settings
+         */
+        public static Export defaults() {
+            return new Export(null);
+        }
+    }
+
+    /**
+     * Settings for the cache of search responses kept by {@code SearchService}.
+     *
+     * <p>Identical searches are answered from memory until the collection is committed to
+     * through this server or the entry is older than {@code ttl}. The TTL bounds how stale a
+     * result can get when other clients write to Solr directly. The least recently used
+     * entries are evicted once either {@code maxEntries} or the estimated {@code maxSize} is
+     * exceeded.</p>
+     *
+     * <p>Caching is off by default. Commits made by other clients, and those Solr makes on its
+     * own through autoCommit, raise no invalidation, so with caching on a search may return
+     * results up to {@code ttl} old. Enable it where this server is the only writer, or where
+     * that staleness is acceptable.</p>
+     *
+     * @param enabled    whether search responses are cached at all
+     * @param maxEntries maximum number of cached responses
+     * @param maxSize    maximum estimated memory held by cached responses
+     * @param ttl        maximum age of a cached response
+     */
+    public record Cache(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("1000") int maxEntries,
+            @DefaultValue("64MB") DataSize maxSize,
+            @DefaultValue("60s") Duration ttl) {
+
+        public Cache {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("solr.search.cache.max-entries must be positive: " + maxEntries);
+            }
+            if (maxSize == null || maxSize.toBytes() < 1) {
+                throw new IllegalArgumentException("solr.search.cache.max-size must be positive: " + maxSize);
+            }
+            if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("solr.search.cache.ttl must be positive: " + ttl);
+            }
+        }
 
-}
\ No newline at end of file
+        /**
+         * Returns the default settings, which turn caching off.
+         *
+         * @return disabled cache settings
+         */
+        public static Cache defaults() {
+            return new Cache(false, 1000, DataSize.ofMegabytes(64), Duration.ofSeconds(60));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses how many documents {@link IndexingService} groups into each update request.
+ *
+ * <p>With {@code solr.indexing.adaptive.enabled=false} (the default) every collection uses the
+ * fixed {@code solr.indexing.batch-size}. When adaptive sizing is enabled, each collection's
+ * size starts there and is adjusted after every batch using additive-increase /
+ * multiplicative-decrease (AIMD), the scheme TCP uses for its congestion window:</p>
+ * <ul>
+ *   <li><strong>Fast success</strong>: a batch accepted within the target latency grows the
+ *       size by {@code increase-step} documents</li>
+ *   <li><strong>Slow success or failure</strong>: a batch that took longer than the target
+ *       latency, or that Solr rejected in whole or in part, halves the size</li>
+ * </ul>
+ * <p>Growing slowly and backing off quickly lets the size settle just below the point where
+ * Solr starts to struggle, for narrow and wide documents alike.</p>
+ *
+ * <p><strong>Metrics:</strong></p>
+ * <p>The current size of each collection is published as the {@value #BATCH_SIZE_METRIC}
+ * gauge, tagged with the collection name.</p>
+ *
+ * <p>Batches complete concurrently on pipeline worker threads, so all updates are atomic.</p>
+ *
+ * @see SolrConfigurationProperties.Adaptive
+ * @see IndexingPipeline
+ */
+@Component
+public class BatchSizeController {
+
+    /** Gauge reporting the current batch size per collection */
+    static final String BATCH_SIZE_METRIC = "solr.indexing.batch.size";
+
+    private final SolrConfigurationProperties.Indexing indexingProperties;
+
+    private final SolrConfigurationProperties.Adaptive adaptive;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, AtomicInteger> batchSizes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a controller using the {@code solr.indexing.*} settings.
+     *
+     * @param properties    the Solr configuration properties providing batch settings
+     * @param meterRegistry registry the batch size gauges are published to
+     */
+    public BatchSizeController(SolrConfigurationProperties properties, MeterRegistry meterRegistry) {
+        this.indexingProperties = properties.indexing();
+        this.adaptive = indexingProperties.adaptive();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the number of documents to put in the next batch for the collection.
+     *
+     * @param collection the collection being indexed into
+     * @return the current batch size
+     */
+    int batchSize(String collection) {
+        return sizeOf(collection).get();
+    }
+
+    /**
+     * Returns the estimated serialized size at which a batch is sent regardless of its count.
+     *
+     * @return the byte limit for a single batch
+     */
+    long maxBatchBytes() {
+        return indexingProperties.maxBatchBytes().toBytes();
+    }
+
+    /**
+     * Records a batch that Solr accepted in full, growing or shrinking the size by its latency.
+     *
+     * @param collection   the collection the batch was sent to
+     * @param latencyNanos how long the update request took
+     */
+    void recordSuccess(String collection, long latencyNanos) {
+        if (!adaptive.enabled()) {
+            return;
+        }
+        if (latencyNanos > adaptive.targetLatency().toNanos()) {
+            decrease(collection);
+        } else {
+            sizeOf(collection).updateAndGet(size -> Math.min(adaptive.maxBatchSize(), size + adaptive.increaseStep()));
+        }
+    }
+
+    /**
+     * Records a batch that Solr rejected in whole or in part, halving the size.
+     *
+     * @param collection the collection the batch was sent to
+     */
+    void recordFailure(String collection) {
+        if (adaptive.enabled()) {
+            decrease(collection);
+        }
+    }
+
+    private void decrease(String collection) {
+        sizeOf(collection).updateAndGet(size -> Math.max(adaptive.minBatchSize(), size / 2));
+    }
+
+    private AtomicInteger sizeOf(String collection) {
+        return batchSizes.computeIfAbsent(collection, name -> {
+            int initial = indexingProperties.batchSize();
+            if (adaptive.enabled()) {
+                initial = Math.clamp(initial, adaptive.minBatchSize(), adaptive.maxBatchSize());
+            }
+            AtomicInteger size = new AtomicInteger(initial);
+            Gauge.builder(BATCH_SIZE_METRIC, size, AtomicInteger::get)
+                    .description("Number of documents currently sent per indexing batch")
+                    .tag("collection", name)
+                    .register(meterRegistry);
+            return size;
+        });
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+/**
+ * Application event published by {@link SolrCommitter} when documents indexed into a
+ * collection have become visible to searches.
+ *
+ * <p>Components that keep copies of search results, such as the search response cache,
+ * listen for this event to drop entries that no longer reflect the index.</p>
+ *
+ * @param collection the collection whose visible contents changed
+ * @param mode       the commit mode that made the changes visible
+ *
+ * @see SolrCommitter
+ */
+public record CollectionCommittedEvent(String collection, CommitMode mode) {
+}
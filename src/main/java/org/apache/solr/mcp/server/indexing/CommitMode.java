@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+import java.util.Locale;
+
+/**
+ * How changes sent by the {@code index_*} MCP tools are made visible to searchers.
+ *
+ * <p>Every mode trades freshness against the cost of opening new searchers on the Solr side.
+ * A hard commit after each call makes documents searchable immediately but throws away Solr's
+ * caches every time, which hurts badly when an agent sends many small indexing calls.</p>
+ *
+ * <p><strong>Available Modes:</strong></p>
+ * <ul>
+ *   <li><strong>HARD</strong>: Blocking hard commit after every call (the historical behaviour)</li>
+ *   <li><strong>SOFT</strong>: Blocking soft commit after every call; visible immediately, not fsynced</li>
+ *   <li><strong>COMMIT_WITHIN</strong>: Updates carry {@code commitWithin} so Solr commits on its own schedule</li>
+ *   <li><strong>COALESCE</strong>: At most one commit per collection per interval, issued by this server</li>
+ *   <li><strong>NONE</strong>: No commit; rely on Solr's autoCommit settings or an explicit later commit</li>
+ * </ul>
+ *
+ * @version 0.0.1
+ * @since 0.0.1
+ *
+ * @see SolrCommitter
+ */
+public enum CommitMode {
+
+    HARD,
+    SOFT,
+    COMMIT_WITHIN,
+    COALESCE,
+    NONE;
+
+    /**
+     * Parses a commit mode supplied as an MCP tool parameter.
+     *
+     * <p>Matching ignores case, hyphens and underscores, so {@code commit-within},
+     * {@code commitWithin} and {@code COMMIT_WITHIN} are equivalent. Blank input means
+     * "use the configured default".</p>
+     *
+     * @param value the mode name, or null/blank for the default
+     * @return the parsed mode, or null when no override was given
+     * @throws IllegalArgumentException if the value does not name a commit mode
+     */
+    public static CommitMode fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String normalized = normalize(value);
+        for (CommitMode mode : values()) {
+            if (normalize(mode.name()).equals(normalized)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown commit mode '" + value
+                + "'. Expected one of: hard, soft, commit-within, coalesce, none");
+    }
+
+    private static String normalize(String value) {
+        return value.trim().replace("-", "").replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
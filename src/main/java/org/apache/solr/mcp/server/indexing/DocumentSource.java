@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+import org.apache.solr.common.SolrInputDocument;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Producer of documents that hands each document over as soon as it is available.
+ *
+ * <p>Used by {@link IndexingService#indexDocumentStream(String, DocumentSource, CommitMode)} so
+ * that documents can be sent to Solr while the rest of the input is still being parsed. A
+ * source is typically a lambda that runs one of the streaming document creators:</p>
+ * <pre>{@code
+ * indexingService.indexDocumentStream("books",
+ *         sink -> jsonDocumentCreator.stream(reader, sink), null);
+ * }</pre>
+ *
+ * @version 0.0.1
+ * @since 0.0.1
+ *
+ * @see IndexingService#indexDocumentStream(String, DocumentSource, CommitMode)
+ */
+@FunctionalInterface
+public interface DocumentSource {
+
+    /**
+     * Produces every document of this source, in order, into the sink.
+     *
+     * @param sink receives each document; may block while indexing catches up
+     * @throws IOException if the underlying input cannot be read
+     */
+    void forEachDocument(Consumer<SolrInputDocument> sink) throws IOException;
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Immutable summary of an {@code index_files} operation, with one entry per file.
+ *
+ * <p>Files are indexed independently: a file that cannot be read or parsed is reported with
+ * an {@code error} and does not stop the remaining files. The top-level counts are the sums
+ * over all files.</p>
+ *
+ * <p><strong>JSON Serialization Example:</strong></p>
+ * <pre>{@code
+ * {
+ *   "indexedCount": 1500,
+ *   "failedCount": 1,
+ *   "files": [
+ *     {"path": "/data/books.csv", "indexedCount": 1000, "failedCount": 1,
+ *      "rejectedDocuments": [{"id": "b-7", "position": 7, "reason": "..."}], "error": null},
+ *     {"path": "/data/films.json", "indexedCount": 500, "failedCount": 0,
+ *      "rejectedDocuments": [], "error": null},
+ *     {"path": "/data/broken.xml", "indexedCount": 0, "failedCount": 0,
+ *      "rejectedDocuments": [], "error": "Failed to parse XML document: structural error"}
+ *   ]
+ * }
+ * }</pre>
+ *
+ * @param indexedCount number of documents successfully sent to Solr across all files
+ * @param failedCount  number of documents Solr rejected across all files
+ * @param files        per-file outcome, in the order the files were resolved
+ *
+ * @see IndexingService#indexFiles(String, List, String)
+ */
+public record FileIndexingResult(int indexedCount, int failedCount, List<FileResult> files) {
+
+    /**
+     * Outcome of indexing a single file.
+     *
+     * <p>When {@code error} is set the file could not be read or parsed to the end. Batches
+     * sent before the failure are not reflected in the counts, but may already have been
+     * accepted by Solr.</p>
+     *
+     * @param path              absolute path of the file
+     * @param indexedCount      number of documents from the file successfully sent to Solr
+     * @param failedCount       number of documents from the file Solr rejected
+     * @param rejectedDocuments details for up to {@value IndexingResult#MAX_REPORTED_REJECTIONS}
+     *                          rejected documents, positioned within the file
+     * @param error             why the file could not be processed, or null if it was
+     */
+    public record FileResult(String path, int indexedCount, int failedCount,
+                             List<IndexingResult.RejectedDocument> rejectedDocuments, String error) {
+
+        static FileResult of(Path file, IndexingResult result) {
+            return new FileResult(file.toString(), result.indexedCount(), result.failedCount(),
+                    result.rejectedDocuments(), null);
+        }
+
+        static FileResult failed(Path file, Exception failure) {
+            String reason = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getName();
+            return new FileResult(file.toString(), 0, 0, List.of(), reason);
+        }
+    }
+
+    /**
+     * Sums the per-file outcomes.
+     *
+     * @param files the per-file outcomes in resolution order
+     * @return the combined result
+     */
+    static FileIndexingResult of(List<FileResult> files) {
+        int indexed = 0;
+        int failed = 0;
+        for (FileResult file : files) {
+            indexed += file.indexedCount();
+            failed += file.failedCount();
+        }
+        return new FileIndexingResult(indexed, failed, List.copyOf(files));
+    }
+}
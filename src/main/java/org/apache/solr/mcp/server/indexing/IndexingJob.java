@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+import java.time.Instant;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State and progress of one asynchronous indexing job.
+ *
+ * <p>The job receives progress events as the {@link IndexingListener} of the indexing
+ * operation it runs; counters are atomic because events arrive from the pipeline's worker
+ * threads. Lifecycle transitions are synchronized so that a cancellation racing with the
+ * job starting or finishing always leaves a consistent state.</p>
+ *
+ * @see IndexingJobService
+ */
+final class IndexingJob implements IndexingListener {
+
+    private final String id;
+
+    private final String collection;
+
+    private final String source;
+
+    private final Instant submittedAt;
+
+    private final AtomicLong documentsRead = new AtomicLong();
+
+    private final AtomicLong documentsIndexed = new AtomicLong();
+
+    private final AtomicLong documentsFailed = new AtomicLong();
+
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    /** Combined size of the job's files, or 0 when the input is not a set of files */
+    private volatile long totalBytes;
+
+    /** Set once an inline payload has been parsed completely */
+    private volatile boolean inputExhausted;
+
+    private IndexingJobStatus.State state = IndexingJobStatus.State.QUEUED;
+
+    private Instant startedAt;
+
+    private long startedNanos;
+
+    private Instant finishedAt;
+
+    private long finishedNanos;
+
+    private String error;
+
+    private Object result;
+
+    private boolean cancelRequested;
+
+    private Future<?> future;
+
+    IndexingJob(String id, String collection, String source) {
+        this.id = id;
+        this.collection = collection;
+        this.source = source;
+        this.submittedAt = Instant.now();
+    }
+
+    String id() {
+        return id;
+    }
+
+    /**
+     * Runs the job's work on the calling thread unless it was cancelled while queued.
+     *
+     * @param work the indexing operation; its return value becomes the job result
+     */
+    void run(Callable<?> work) {
+        if (!start()) {
+            return;
+        }
+        try {
+            succeed(work.call());
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Records the future of the submitted job so that a running job can be interrupted.
+     *
+     * <p>The job may already have started, and even been cancelled, before its future is
+     * known. A cancellation requested in that window is applied here.</p>
+     */
+    synchronized void attach(Future<?> submitted) {
+        this.future = submitted;
+        if (cancelRequested) {
+            submitted.cancel(true);
+        }
+    }
+
+    /**
+     * Requests cancellation: a queued job is cancelled immediately, a running job is
+     * interrupted and becomes cancelled once its current batches have finished.
+     *
+     * @return false if the job had already finished
+     */
+    synchronized boolean cancel() {
+        if (state.isFinished()) {
+            return false;
+        }
+        cancelRequested = true;
+        if (state == IndexingJobStatus.State.QUEUED) {
+            finish(IndexingJobStatus.State.CANCELLED);
+        }
+        if (future != null) {
+            future.cancel(true);
+        }
+        return true;
+    }
+
+
+    @Override
+    public void payloadParsed() {
+        inputExhausted = true;
+    }
+
+    @Override
+    public void filesResolved(int fileCount, long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    @Override
+    public void bytesRead(long bytes) {
+        bytesRead.addAndGet(bytes);
+    }
+
+    @Override
+    public void documentRead() {
+        documentsRead.incrementAndGet();
+    }
+
+    @Override
+    public void batchCompleted(IndexingResult batchResult) {
+        documentsIndexed.addAndGet(batchResult.indexedCount());
+        documentsFailed.addAndGet(batchResult.failedCount());
+    }
+
+    /**
+     * Returns whether the job finished before the given instant and may be forgotten.
+     */
+    synchronized boolean finishedBefore(Instant cutoff) {
+        return finishedAt != null && finishedAt.isBefore(cutoff);
+    }
+
+    /**
+     * Captures the job's current state and progress.
+     *
+     * @return an immutable snapshot for the MCP tools
+     */
+    synchronized IndexingJobStatus status() {
+        long read = documentsRead.get();
+        long indexed = documentsIndexed.get();
+        long failed = documentsFailed.get();
+        long processed = indexed + failed;
+
+        double rate = 0;
+        Long eta = null;
+        if (startedAt != null) {
+            long end = finishedAt != null ? finishedNanos : System.nanoTime();
+            double elapsedSeconds = (end - startedNanos) / 1e9;
+            rate = elapsedSeconds > 0 ? processed / elapsedSeconds : 0;
+            if (state == IndexingJobStatus.State.RUNNING) {
+                eta = estimateSecondsRemaining(elapsedSeconds, read, processed, rate);
+            } else if (state.isFinished()) {
+                eta = 0L;
+            }
+        }
+
+        return new IndexingJobStatus(id, collection, source, state, read, indexed, failed, rate, eta,
+                submittedAt, startedAt, finishedAt, error, result);
+    }
+
+    /**
+     * Estimates the remaining time from the document total once it is known, and otherwise
+     * from the fraction of the job's files read so far.
+     */
+    private Long estimateSecondsRemaining(double elapsedSeconds, long read, long processed, double rate) {
+        long total = totalBytes;
+        long consumed = bytesRead.get();
+        boolean allRead = inputExhausted || (total > 0 && consumed >= total);
+        if (allRead) {
+            return rate > 0 ? Math.round(Math.max(0, read - processed) / rate) : null;
+        }
+        if (total > 0 && consumed > 0) {
+            return Math.round(elapsedSeconds * (total - consumed) / consumed);
+        }
+        return null;
+    }
+
+    private synchronized boolean start() {
+        if (state != IndexingJobStatus.State.QUEUED) {
+            return false;
+        }
+        state = IndexingJobStatus.State.RUNNING;
+        startedAt = Instant.now();
+        startedNanos = System.nanoTime();
+        return true;
+    }
+
+    private synchronized void succeed(Object jobResult) {
+        result = jobResult;
+        // A cancelled job whose work ran to completion anyway still ends as cancelled
+        finish(cancelRequested ? IndexingJobStatus.State.CANCELLED : IndexingJobStatus.State.SUCCEEDED);
+    }
+
+    private synchronized void fail(Exception failure) {
+        if (cancelRequested) {
+            finish(IndexingJobStatus.State.CANCELLED);
+            return;
+        }
+        error = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getName();
+        finish(IndexingJobStatus.State.FAILED);
+    }
+
+    private void finish(IndexingJobStatus.State finalState) {
+        state = finalState;
+        finishedAt = Instant.now();
+        finishedNanos = System.nanoTime();
+    }
+}
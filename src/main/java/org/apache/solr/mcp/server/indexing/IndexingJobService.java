@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springaicommunity.mcp.annotation.McpToolParam;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spring Service running indexing operations as background jobs, exposed as MCP tools.
+ *
+ * <p>The {@code index_*} tools block the MCP request until every batch and the final commit
+ * are done, which makes large loads run into client timeouts. The asynchronous variants
+ * provided here return a job id immediately and run the same indexing operation in the
+ * background, where its progress can be polled and the job cancelled.</p>
+ *
+ * <p><strong>Available Tools:</strong></p>
+ * <ul>
+ *   <li><strong>index_documents_async</strong>: Index an inline JSON, CSV or XML payload</li>
+ *   <li><strong>index_files_async</strong>: Index local files, directories or glob patterns</li>
+ *   <li><strong>get_indexing_job_status</strong>: Documents processed and failed, throughput and ETA</li>
+ *   <li><strong>cancel_indexing_job</strong>: Stop a queued or running job</li>
+ * </ul>
+ *
+ * <p><strong>Execution:</strong></p>
+ * <p>Jobs run on virtual threads, at most {@code solr.indexing.jobs.max-concurrent} at a time.
+ * Up to {@code solr.indexing.jobs.max-queued} further jobs wait for a slot; beyond that new
+ * submissions are refused. Each job indexes, batches and commits exactly like the matching
+ * synchronous tool.</p>
+ *
+ * <p><strong>Cancellation:</strong></p>
+ * <p>Cancelling a running job interrupts it: no further batches are sent, the batches in
+ * flight are allowed to finish, and no commit is issued. Documents already sent are not
+ * removed and become visible with the collection's next commit.</p>
+ *
+ * <p>Finished jobs remain queryable for {@code solr.indexing.jobs.retention}.</p>
+ *
+ * @version 0.0.1
+ * @since 0.0.1
+ *
+ * @see IndexingService
+ * @see IndexingJobStatus
+ */
+@Service
+public class IndexingJobService {
+
+    private final IndexingService indexingService;
+
+    private final SolrConfigurationProperties.Jobs jobProperties;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, IndexingJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the job service and its bounded job executor.
+     *
+     * @param indexingService the service performing the actual indexing
+     * @param properties the Solr configuration properties providing job limits
+     */
+    public IndexingJobService(IndexingService indexingService,
+                              SolrConfigurationProperties properties) {
+        this.indexingService = indexingService;
+        this.jobProperties = properties.indexing().jobs();
+        this.executor = new ThreadPoolExecutor(jobProperties.maxConcurrent(), jobProperties.maxConcurrent(),
+                0, TimeUnit.MILLISECONDS,
+                jobProperties.maxQueued() == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(jobProperties.maxQueued()),
+                Thread.ofVirtual().name("indexing-job-", 0).factory());
+    }
+
+    /**
+     * Starts a background job indexing an inline JSON, CSV or XML payload.
+     *
+     * @param collection the name of the Solr collection to index documents into
+     * @param format the payload format: json, csv or xml
+     * @param content the payload, in the same form the matching {@code index_*_documents} tool accepts
+     * @param commitMode optional commit mode overriding {@code solr.indexing.commit.mode}
+     * @return the status of the queued job, including its id
+     * @throws IllegalArgumentException if the content is empty or the format or commit mode is unknown
+     * @throws IllegalStateException if too many jobs are already queued
+     */
+    @McpTool(name = "index_documents_async", description = "Start a background job indexing a JSON, CSV or XML string into Solr collection. Returns a job id to poll with get_indexing_job_status")
+    public IndexingJobStatus indexDocumentsAsync(
+            @McpToolParam(description = "Solr collection to index into") String collection,
+            @McpToolParam(description = "Format of the content: json, csv or xml") String format,
+            @McpToolParam(description = "Documents to index, as a JSON array, CSV with header row, or XML") String content,
+            @McpToolParam(description = "Commit mode: hard, soft, commit-within, coalesce or none. Defaults to the server configuration", required = false) String commitMode) {
+        final CommitMode mode = CommitMode.fromParameter(commitMode);
+        final String normalizedFormat = format == null ? "" : format.trim().toLowerCase(Locale.ROOT);
+        if (!List.of("json", "csv", "xml").contains(normalizedFormat)) {
+            throw new IllegalArgumentException("Unsupported format '" + format + "', expected json, csv or xml");
+        }
+        if (content == null || content.isBlank()) {
+            throw new IllegalArgumentException("No content to index");
+        }
+
+        IndexingJob job = newJob(collection, normalizedFormat + " payload (" + content.length() + " characters)");
+        return submit(job, () -> indexingService.indexPayload(collection, normalizedFormat, content, mode, job));
+    }
+
+    /**
+     * Starts a background job indexing local JSON, CSV and XML files.
+     *
+     * @param collection the name of the Solr collection to index documents into
+     * @param paths local file paths, directories or glob patterns
+     * @param commitMode optional commit mode overriding {@code solr.indexing.commit.mode}
+     * @return the status of the queued job, including its id
+     * @throws IllegalArgumentException if no paths are given or the commit mode is unknown
+     * @throws IllegalStateException if too many jobs are already queued
+     * @see IndexingService#indexFiles(String, List, String)
+     */
+    @McpTool(name = "index_files_async", description = "Start a background job indexing local JSON, CSV or XML files into Solr collection. Returns a job id to poll with get_indexing_job_status")
+    public IndexingJobStatus indexFilesAsync(
+            @McpToolParam(description = "Solr collection to index into") String collection,
+            @McpToolParam(description = "Local file paths, directories or glob patterns such as mydata/*.csv") List<String> paths,
+            @McpToolParam(description = "Commit mode: hard, soft, commit-within, coalesce or none. Defaults to the server configuration", required = false) String commitMode) {
+        // Validate eagerly so that a typo fails this call rather than the job
+        CommitMode.fromParameter(commitMode);
+        if (paths == null || paths.isEmpty()) {
+            throw new IllegalArgumentException("No paths to index");
+        }
+        IndexingJob job = newJob(collection, paths.size() == 1 ? paths.getFirst() : paths.size() + " paths");
+        return submit(job, () -> indexingService.indexFiles(collection, paths, commitMode, job));
+    }
+
+    /**
+     * Reports the state and progress of an indexing job.
+     *
+     * @param jobId the id returned when the job was started
+     * @return the job's current status
+     * @throws IllegalArgumentException if no job with this id is known
+     */
+    @McpTool(name = "get_indexing_job_status", description = "Get progress of a background indexing job: documents processed and failed, throughput and estimated time remaining")
+    public IndexingJobStatus getIndexingJobStatus(
+            @McpToolParam(description = "Job id returned by index_documents_async or index_files_async") String jobId) {
+        return findJob(jobId).status();
+    }
+
+    /**
+     * Cancels a queued or running indexing job.
+     *
+     * <p>Cancelling a job that has already finished has no effect and returns its final status.</p>
+     *
+     * @param jobId the id returned when the job was started
+     * @return the job's status after the cancellation request
+     * @throws IllegalArgumentException if no job with this id is known
+     */
+    @McpTool(name = "cancel_indexing_job", description = "Cancel a background indexing job. Documents already sent to Solr are not removed")
+    public IndexingJobStatus cancelIndexingJob(
+            @McpToolParam(description = "Job id returned by index_documents_async or index_files_async") String jobId) {
+        IndexingJob job = findJob(jobId);
+        if (job.cancel()) {
+            // Free the queue slot of a job that was cancelled before it started
+            executor.purge();
+        }
+        return job.status();
+    }
+
+    /**
+     * Interrupts running jobs and discards queued ones when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(IndexingJob::cancel);
+        executor.shutdownNow();
+    }
+
+    private IndexingJob newJob(String collection, String source) {
+        purgeExpiredJobs();
+        return new IndexingJob(UUID.randomUUID().toString(), collection, source);
+    }
+
+    private IndexingJobStatus submit(IndexingJob job, Callable<?> work) {
+        jobs.put(job.id(), job);
+        try {
+            Future<?> future = executor.submit(() -> job.run(work));
+            job.attach(future);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            throw new IllegalStateException("Too many indexing jobs queued, try again later", e);
+        }
+        return job.status();
+    }
+
+    private IndexingJob findJob(String jobId) {
+        purgeExpiredJobs();
+        IndexingJob job = jobId == null ? null : jobs.get(jobId.trim());
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown indexing job: " + jobId);
+        }
+        return job;
+    }
+
+    private void purgeExpiredJobs() {
+        Instant cutoff = Instant.now().minus(jobProperties.retention());
+        jobs.values().removeIf(job -> job.finishedBefore(cutoff));
+    }
+}
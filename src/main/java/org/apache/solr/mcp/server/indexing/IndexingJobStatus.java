@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of an asynchronous indexing job returned by the job MCP tools.
+ *
+ * <p>Counts are updated as each batch completes, so polling
+ * {@code get_indexing_job_status} shows a long-running load advancing. Throughput is measured
+ * from the moment the job started running; the estimated time remaining is only reported once
+ * it can be derived, either from the bytes read of the job's files or, for inline payloads,
+ * once the whole payload has been parsed and the document total is known.</p>
+ *
+ * <p><strong>JSON Serialization Example:</strong></p>
+ * <pre>{@code
+ * {
+ *   "jobId": "3f2b8c1e-...",
+ *   "collection": "books",
+ *   "source": "2 files",
+ *   "state": "RUNNING",
+ *   "documentsRead": 412000,
+ *   "documentsIndexed": 405000,
+ *   "documentsFailed": 3,
+ *   "documentsPerSecond": 13500.0,
+ *   "estimatedSecondsRemaining": 42,
+ *   "submittedAt": "2025-01-15T10:30:00Z",
+ *   "startedAt": "2025-01-15T10:30:00Z",
+ *   "finishedAt": null,
+ *   "error": null,
+ *   "result": null
+ * }
+ * }</pre>
+ *
+ * @param jobId                     identifier to pass to the status and cancel tools
+ * @param collection                the collection being indexed into
+ * @param source                    short description of the job's input
+ * @param state                     lifecycle state of the job
+ * @param documentsRead             documents parsed from the input so far
+ * @param documentsIndexed          documents Solr has accepted so far
+ * @param documentsFailed           documents Solr has rejected so far
+ * @param documentsPerSecond        documents processed per second since the job started
+ * @param estimatedSecondsRemaining estimated time to completion, or null if unknown
+ * @param submittedAt               when the job was submitted
+ * @param startedAt                 when the job started running, or null while queued
+ * @param finishedAt                when the job reached a final state, or null while active
+ * @param error                     why the job failed, or null
+ * @param result                    the final {@link IndexingResult} or {@link FileIndexingResult}
+ *                                  once the job has succeeded, or null
+ */
+public record IndexingJobStatus(
+        String jobId,
+        String collection,
+        String source,
+        State state,
+        long documentsRead,
+        long documentsIndexed,
+        long documentsFailed,
+        double documentsPerSecond,
+        Long estimatedSecondsRemaining,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        String error,
+        Object result
+) {
+
+    /**
+     * Lifecycle of an indexing job.
+     */
+    public enum State {
+        /** Waiting for a free job slot */
+        QUEUED,
+        /** Reading input and sending batches to Solr */
+        RUNNING,
+        /** All input was processed and committed */
+        SUCCEEDED,
+        /** Stopped by an error; see {@link IndexingJobStatus#error()} */
+        FAILED,
+        /** Stopped on request; documents already sent are not rolled back */
+        CANCELLED;
+
+        /**
+         * Returns whether the state is final.
+         *
+         * @return true for succeeded, failed and cancelled jobs
+         */
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+/**
+ * Receives progress events from a running indexing operation.
+ *
+ * <p>Used by asynchronous indexing jobs to report how far a load has progressed while it is
+ * still running. Events are delivered from the indexing pipeline's worker threads and from
+ * concurrently processed files, so implementations must be thread-safe and should return
+ * quickly. All methods default to doing nothing.</p>
+ *
+ * @see IndexingService#indexDocumentStream(String, String, DocumentSource, CommitMode, IndexingListener)
+ * @see IndexingService#indexPayload(String, String, String, CommitMode, IndexingListener)
+ * @see IndexingService#indexFiles(String, java.util.List, String, IndexingListener)
+ */
+public interface IndexingListener {
+
+    /** Listener that ignores every event */
+    IndexingListener NONE = new IndexingListener() {
+    };
+
+    /**
+     * Called once the files of an {@code index_files} operation have been resolved.
+     *
+     * @param fileCount  number of files that will be indexed
+     * @param totalBytes combined size of those files
+     */
+    default void filesResolved(int fileCount, long totalBytes) {
+    }
+
+    /**
+     * Called as file content is consumed by the parsers.
+     *
+     * @param bytes number of bytes read since the previous call
+     */
+    default void bytesRead(long bytes) {
+    }
+
+    /**
+     * Called once an inline payload has been parsed completely, after its last document has
+     * been read. From then on the total number of documents is known.
+     */
+    default void payloadParsed() {
+    }
+
+    /**
+     * Called for every document produced by the source, before it is batched.
+     */
+    default void documentRead() {
+    }
+
+    /**
+     * Called when a batch has been sent and any failures in it have been isolated.
+     *
+     * @param result the outcome of the batch
+     */
+    default void batchCompleted(IndexingResult result) {
+    }
+}
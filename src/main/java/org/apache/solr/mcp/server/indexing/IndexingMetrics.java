@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation of the indexing hot path.
+ *
+ * <p>Splits the time of an ingest into its parts so that a slow load can be attributed to
+ * parsing, to the network or to Solr. All meters are tagged with the target
+ * {@code collection} and the input {@code format} ({@code json}, {@code csv}, {@code xml},
+ * or {@code documents} for pre-built documents).</p>
+ *
+ * <p><strong>Meters:</strong></p>
+ * <ul>
+ *   <li><strong>{@value #PARSE}</strong> (timer): time spent parsing an input, excluding time
+ *       the parser was blocked waiting for batches to be accepted</li>
+ *   <li><strong>{@value #BYTES}</strong> (counter): size of the ingested payloads and files</li>
+ *   <li><strong>{@value #BATCH_DOCUMENTS}</strong> (summary): documents per batch</li>
+ *   <li><strong>{@value #BATCH_ADD}</strong> (timer with histogram): latency of every update
+ *       request, tagged with {@code outcome} success or failure</li>
+ *   <li><strong>{@value #BATCH_FALLBACKS}</strong> (counter): batches whose request failed and
+ *       were bisected to isolate bad documents</li>
+ *   <li><strong>{@value #BATCH_RETRIES}</strong> (counter): follow-up requests sent while bisecting</li>
+ *   <li><strong>{@value #DOCUMENTS}</strong> (counter): documents tagged with {@code outcome}
+ *       indexed or rejected</li>
+ *   <li><strong>{@value #COMMIT}</strong> (timer): commit latency, tagged with collection,
+ *       {@code mode} and {@code outcome} instead of format</li>
+ * </ul>
+ *
+ * <p>With the actuator starter the meters are available at {@code /actuator/metrics}, for
+ * example {@code /actuator/metrics/solr.indexing.batch.add?tag=collection:books}.</p>
+ *
+ * @see IndexingService
+ * @see SolrCommitter
+ */
+@Component
+public class IndexingMetrics {
+
+    static final String PARSE = "solr.indexing.parse";
+    static final String BYTES = "solr.indexing.bytes";
+    static final String BATCH_DOCUMENTS = "solr.indexing.batch.documents";
+    static final String BATCH_ADD = "solr.indexing.batch.add";
+    static final String BATCH_FALLBACKS = "solr.indexing.batch.fallbacks";
+    static final String BATCH_RETRIES = "solr.indexing.batch.retries";
+    static final String DOCUMENTS = "solr.indexing.documents";
+    static final String COMMIT = "solr.indexing.commit";
+
+    private static final String COLLECTION = "collection";
+    private static final String FORMAT = "format";
+    private static final String OUTCOME = "outcome";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Creates the instrumentation on top of the application's meter registry.
+     *
+     * @param meterRegistry registry the indexing meters are published to
+     */
+    public IndexingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    void recordParse(String collection, String format, long nanos) {
+        Timer.builder(PARSE)
+                .description("Time spent parsing indexing input")
+                .tags(COLLECTION, collection, FORMAT, format)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordBytes(String collection, String format, long bytes) {
+        Counter.builder(BYTES)
+                .description("Bytes of indexing input ingested")
+                .baseUnit("bytes")
+                .tags(COLLECTION, collection, FORMAT, format)
+                .register(meterRegistry)
+                .increment(bytes);
+    }
+
+    void recordBatch(String collection, String format, int documents) {
+        DistributionSummary.builder(BATCH_DOCUMENTS)
+                .description("Documents per indexing batch")
+                .tags(COLLECTION, collection, FORMAT, format)
+                .register(meterRegistry)
+                .record(documents);
+    }
+
+    void recordAdd(String collection, String format, long nanos, boolean success) {
+        Timer.builder(BATCH_ADD)
+                .description("Latency of update requests sent to Solr")
+                .tags(COLLECTION, collection, FORMAT, format, OUTCOME, success ? "success" : "failure")
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordFallback(String collection, String format) {
+        Counter.builder(BATCH_FALLBACKS)
+                .description("Failed batches bisected to isolate rejected documents")
+                .tags(COLLECTION, collection, FORMAT, format)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    void recordRetry(String collection, String format) {
+        Counter.builder(BATCH_RETRIES)
+                .description("Update requests retried while isolating rejected documents")
+                .tags(COLLECTION, collection, FORMAT, format)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    void recordDocuments(String collection, String format, IndexingResult result) {
+        if (result.indexedCount() > 0) {
+            documents(collection, format, "indexed").increment(result.indexedCount());
+        }
+        if (result.failedCount() > 0) {
+            documents(collection, format, "rejected").increment(result.failedCount());
+        }
+    }
+
+    void recordCommit(String collection, CommitMode mode, long nanos, boolean success) {
+        Timer.builder(COMMIT)
+                .description("Latency of commits issued after indexing")
+                .tags(COLLECTION, collection, "mode", mode.name().toLowerCase(Locale.ROOT), OUTCOME, success ? "success" : "failure")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Counter documents(String collection, String format, String outcome) {
+        return Counter.builder(DOCUMENTS)
+                .description("Documents sent to Solr by outcome")
+                .tags(COLLECTION, collection, FORMAT, format, OUTCOME, outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the number of bytes the text occupies in UTF-8 without encoding it.
+     *
+     * @param text the text to measure
+     * @return the UTF-8 encoded length
+     */
+    static long utf8Length(CharSequence text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+}
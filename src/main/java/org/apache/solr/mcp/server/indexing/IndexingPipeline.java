@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.SolrInputField;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntSupplier;
+
+/**
+ * Bounded-parallelism pipeline that keeps several document batches in flight against Solr.
+ *
+ * <p>Documents are fed one at a time through {@link #add(SolrInputDocument)} and grouped into
+ * batches, so a producer such as a streaming parser can hand documents over as soon as they
+ * are parsed. A batch is closed when it reaches the current batch size, which is re-read for
+ * every batch so that it can adapt while indexing, or when the estimated serialized size of
+ * its documents reaches the byte limit, whichever comes first. Each full batch is indexed on its own virtual thread. A
+ * semaphore caps the number of batches that may be outstanding at once; adding a document that
+ * completes a batch blocks the producer once the limit is reached, which provides natural
+ * back-pressure when documents are produced faster than Solr can accept them.</p>
+ *
+ * <p>Per-batch results are reported in submission order by {@link #awaitBatchResults()},
+ * regardless of the order in which the batches actually complete. Each batch is also told the
+ * position of its first document in the overall input so that rejected documents can be
+ * reported against the caller's numbering.</p>
+ *
+ * <p>A batch that fails with an exception, rather than reporting rejected documents in its
+ * result, aborts the pipeline: later batches are no longer sent and
+ * {@link #awaitBatchResults()} rethrows the failure.</p>
+ *
+ * <p>A pipeline is single-use: create one per indexing operation and close it when done.
+ * Closing waits for every submitted batch to finish.</p>
+ *
+ * @see IndexingService#indexDocumentStream(String, DocumentSource, CommitMode)
+ */
+final class IndexingPipeline implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final List<Future<IndexingResult>> batches = new ArrayList<>();
+
+    private final Semaphore inFlight;
+
+    private final BatchIndexer batchIndexer;
+
+    private final IntSupplier batchSize;
+
+    private final long maxBatchBytes;
+
+    /** Documents added but not yet submitted as a batch */
+    private List<SolrInputDocument> pending;
+
+    /** Estimated serialized size of the pending documents */
+    private long pendingBytes;
+
+    /** Number of documents that closes the pending batch */
+    private int pendingLimit;
+
+    /** Position of the next submitted document within the overall input */
+    private long nextPosition;
+
+    /** Time the producer spent blocked waiting for in-flight capacity */
+    private long waitNanos;
+
+    /** Set once a batch has failed; later batches are dropped instead of sent */
+    private volatile boolean failed;
+
+    /**
+     * Indexes a single batch on a pipeline worker thread.
+     */
+    @FunctionalInterface
+    interface BatchIndexer {
+
+        /**
+         * Indexes the batch and reports the outcome.
+         *
+         * @param batch         the documents to index
+         * @param firstPosition position of the batch's first document within the overall input
+         * @return the outcome of indexing the batch
+         * @throws SolrServerException if Solr cannot be reached or fails to process the batch
+         * @throws IOException if the batch cannot be sent
+         */
+        IndexingResult index(List<SolrInputDocument> batch, long firstPosition) throws SolrServerException, IOException;
+    }
+
+    /**
+     * Creates a pipeline that indexes batches with the given indexer.
+     *
+     * @param batchSize     supplies the number of documents for each new batch
+     * @param maxBatchBytes estimated serialized size at which a batch is submitted early
+     * @param maxInFlight   maximum number of batches allowed in flight at the same time
+     * @param batchIndexer  indexer invoked for each submitted batch
+     */
+    IndexingPipeline(IntSupplier batchSize, long maxBatchBytes, int maxInFlight, BatchIndexer batchIndexer) {
+        this.batchSize = batchSize;
+        this.maxBatchBytes = maxBatchBytes;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.batchIndexer = batchIndexer;
+        startBatch();
+    }
+
+    /**
+     * Adds a document to the current batch, submitting the batch once it is full.
+     *
+     * @param document the document to index
+     * @throws InterruptedIOException if the calling thread is interrupted while waiting for capacity
+     */
+    void add(SolrInputDocument document) throws InterruptedIOException {
+        pending.add(document);
+        pendingBytes += estimateSize(document);
+        if (pending.size() >= pendingLimit || pendingBytes >= maxBatchBytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Submits the partially filled current batch, if any.
+     *
+     * @throws InterruptedIOException if the calling thread is interrupted while waiting for capacity
+     */
+    void flush() throws InterruptedIOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<SolrInputDocument> batch = pending;
+        startBatch();
+        submit(batch);
+    }
+
+    private void startBatch() {
+        pendingLimit = Math.max(1, batchSize.getAsInt());
+        pending = new ArrayList<>(pendingLimit);
+        pendingBytes = 0;
+    }
+
+    /**
+     * Estimates how many bytes a document adds to an update request.
+     *
+     * <p>The estimate counts field names, characters of textual values and a fixed width for
+     * other values, plus a small per-field overhead. It is not exact, but tracks the javabin
+     * and JSON encodings closely enough to keep batches of wide documents bounded.</p>
+     *
+     * @param document the document to measure
+     * @return the estimated serialized size in bytes
+     */
+    static long estimateSize(SolrInputDocument document) {
+        long size = 16;
+        for (SolrInputField field : document) {
+            size += 8 + field.getName().length();
+            for (Object value : field) {
+                size += estimateValueSize(value);
+            }
+        }
+        if (document.hasChildDocuments()) {
+            for (SolrInputDocument child : document.getChildDocuments()) {
+                size += estimateSize(child);
+            }
+        }
+        return size;
+    }
+
+    private static long estimateValueSize(Object value) {
+        if (value instanceof CharSequence text) {
+            return text.length() + 2;
+        }
+        if (value instanceof Number || value instanceof Date) {
+            return 8;
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length + 4;
+        }
+        if (value instanceof SolrInputDocument child) {
+            return estimateSize(child);
+        }
+        if (value instanceof Collection<?> values) {
+            return values.stream().mapToLong(IndexingPipeline::estimateValueSize).sum();
+        }
+        return value == null ? 1 : value.toString().length() + 2;
+    }
+
+    /**
+     * Schedules a batch for indexing, blocking while the in-flight limit is reached.
+     *
+     * <p>Once an earlier batch has failed the batch is dropped, since the indexing operation
+     * fails anyway.</p>
+     *
+     * @param batch the documents to index as a single update request
+     * @throws InterruptedIOException if the calling thread is interrupted while waiting for capacity
+     */
+    private void submit(List<SolrInputDocument> batch) throws InterruptedIOException {
+        final long waitStart = System.nanoTime();
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to submit indexing batch");
+        } finally {
+            waitNanos += System.nanoTime() - waitStart;
+        }
+        if (failed) {
+            inFlight.release();
+            return;
+        }
+
+        final long firstPosition = nextPosition;
+        nextPosition += batch.size();
+
+        try {
+            batches.add(executor.submit(() -> {
+                try {
+                    return batchIndexer.index(batch, firstPosition);
+                } catch (SolrServerException | IOException | RuntimeException e) {
+                    failed = true;
+                    throw e;
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the total time the producer has spent blocked waiting for in-flight capacity.
+     *
+     * <p>Lets callers separate time spent producing documents from back-pressure applied by a
+     * slow Solr.</p>
+     *
+     * @return accumulated wait time in nanoseconds
+     */
+    long waitNanos() {
+        return waitNanos;
+    }
+
+    /**
+     * Submits any partially filled batch, then waits for all batches and returns their results
+     * in submission order.
+     *
+     * @return the result of each batch, in the order submitted
+     * @throws SolrServerException if a batch failed with an error reported by Solr
+     * @throws IOException if waiting is interrupted or a batch failed with another checked exception
+     */
+    List<IndexingResult> awaitBatchResults() throws SolrServerException, IOException {
+        flush();
+        List<IndexingResult> results = new ArrayList<>(batches.size());
+        for (int i = 0; i < batches.size(); i++) {
+            try {
+                results.add(batches.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for indexing batch " + i);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                if (cause instanceof SolrServerException solrServerException) {
+                    throw solrServerException;
+                }
+                throw new IOException("Indexing batch " + i + " failed: " + cause.getMessage(), cause);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Waits for outstanding batches to finish and releases the pipeline's threads.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
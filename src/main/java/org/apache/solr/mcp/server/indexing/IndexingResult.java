@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+import org.apache.solr.common.SolrInputDocument;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable summary of an indexing operation returned by the {@code index_*} MCP tools.
+ *
+ * <p>Reports how many documents Solr accepted, how many were rejected, and for the rejected
+ * ones which document failed and why. Rejected documents are identified by their {@code id}
+ * field when present and always by their zero-based position in the submitted input, so
+ * clients can locate and fix the offending records.</p>
+ *
+ * <p>To keep responses bounded for very large loads, at most
+ * {@value #MAX_REPORTED_REJECTIONS} rejected documents are listed;
+ * {@link #failedCount()} always reflects the full number of failures.</p>
+ *
+ * <p><strong>JSON Serialization Example:</strong></p>
+ * <pre>{@code
+ * {
+ *   "indexedCount": 998,
+ *   "failedCount": 2,
+ *   "rejectedDocuments": [
+ *     {"id": "doc-17", "position": 17, "reason": "ERROR: [doc=doc-17] Error adding field 'price'='abc'"},
+ *     {"id": null, "position": 412, "reason": "Document is missing mandatory uniqueKey field: id"}
+ *   ]
+ * }
+ * }</pre>
+ *
+ * @param indexedCount      number of documents successfully sent to Solr
+ * @param failedCount       number of documents Solr rejected
+ * @param rejectedDocuments details for up to {@value #MAX_REPORTED_REJECTIONS} rejected documents
+ *
+ * @see IndexingService#indexDocuments(String, List)
+ */
+public record IndexingResult(
+        int indexedCount,
+        int failedCount,
+        List<RejectedDocument> rejectedDocuments
+) {
+
+    /** Maximum number of rejected documents listed in a single result */
+    public static final int MAX_REPORTED_REJECTIONS = 100;
+
+    /** Name of the field used to identify rejected documents */
+    private static final String ID_FIELD = "id";
+
+    /**
+     * A document that Solr refused to index.
+     *
+     * @param id       value of the document's {@code id} field, or null if the document has none
+     * @param position zero-based position of the document in the submitted input
+     * @param reason   error message reported for the document
+     */
+    public record RejectedDocument(String id, long position, String reason) {
+
+        /**
+         * Creates a rejection entry for a document from the failure that rejected it.
+         *
+         * @param document the rejected document
+         * @param position zero-based position of the document in the submitted input
+         * @param failure  the exception raised when the document was sent on its own
+         * @return a rejection entry describing the document and the failure
+         */
+        static RejectedDocument of(SolrInputDocument document, long position, Exception failure) {
+            Object id = document.getFieldValue(ID_FIELD);
+            String reason = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getName();
+            return new RejectedDocument(id != null ? id.toString() : null, position, reason);
+        }
+    }
+
+    /**
+     * Combines per-batch results into a single result, preserving batch order.
+     *
+     * @param results the per-batch results in submission order
+     * @return the combined result with rejections capped at {@value #MAX_REPORTED_REJECTIONS}
+     */
+    static IndexingResult combine(List<IndexingResult> results) {
+        int indexed = 0;
+        int failed = 0;
+        List<RejectedDocument> rejected = new ArrayList<>();
+        for (IndexingResult result : results) {
+            indexed += result.indexedCount();
+            failed += result.failedCount();
+            for (RejectedDocument document : result.rejectedDocuments()) {
+                if (rejected.size() < MAX_REPORTED_REJECTIONS) {
+                    rejected.add(document);
+                }
+            }
+        }
+        return new IndexingResult(indexed, failed, List.copyOf(rejected));
+    }
+}
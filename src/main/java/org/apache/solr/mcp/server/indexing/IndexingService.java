@@ -18,16 +18,26 @@ package org.apache.solr.mcp.server.indexing;
 
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrException;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
 import org.apache.solr.mcp.server.indexing.documentcreator.IndexingDocumentCreator;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springaicommunity.mcp.annotation.McpToolParam;
 import org.springframework.stereotype.Service;
-import org.xml.sax.SAXException;
 
-import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 /**
  * Spring Service providing comprehensive document indexing capabilities for Apache Solr collections
@@ -44,8 +54,10 @@ import java.util.List;
  *   <li><strong>JSON Processing</strong>: Support for complex nested JSON documents</li>
  *   <li><strong>CSV Processing</strong>: Support for comma-separated value files with headers</li>
  *   <li><strong>XML Processing</strong>: Support for XML documents with element flattening and attribute handling</li>
+ *   <li><strong>File Ingestion</strong>: Local files, directories and glob patterns streamed straight from disk</li>
  *   <li><strong>Batch Processing</strong>: Efficient bulk indexing with configurable batch sizes</li>
- *   <li><strong>Error Resilience</strong>: Individual document fallback when batch operations fail</li>
+ *   <li><strong>Concurrent Batches</strong>: Several batches kept in flight at once with a configurable limit</li>
+ *   <li><strong>Error Resilience</strong>: Rejected batches are bisected to isolate and report bad documents</li>
  *   <li><strong>Field Sanitization</strong>: Automatic cleanup of field names for Solr compatibility</li>
  * </ul>
  * 
@@ -60,9 +72,19 @@ import java.util.List;
  * fields that Solr natively supports.</p>
  * 
  * <p><strong>Batch Processing Strategy:</strong></p>
- * <p>Uses configurable batch sizes (default 1000 documents) for optimal performance. If a batch
- * fails, the service automatically retries by indexing documents individually to identify and
- * skip problematic documents while preserving valid ones.</p>
+ * <p>Uses configurable batch sizes (default 1000 documents) for optimal performance. Batches are
+ * sent on virtual threads with up to {@code solr.indexing.max-concurrent-batches} requests in flight,
+ * so bulk loads can keep every Solr core busy instead of waiting on one request at a time. If Solr
+ * rejects a batch, the service splits it in half and retries each half recursively, isolating the
+ * problematic documents in O(k log n) requests while preserving valid ones. Rejected documents
+ * are reported back in the {@link IndexingResult} together with the reason Solr gave. A batch
+ * that fails because Solr is unreachable, times out or reports a server error fails the whole
+ * call instead, since it says nothing about the documents.</p>
+ * 
+ * <p>Batches are also closed early once their estimated size reaches
+ * {@code solr.indexing.max-batch-bytes}. With {@code solr.indexing.adaptive.enabled=true} the
+ * document count per batch is tuned per collection from observed latency and failures, see
+ * {@link BatchSizeController}.</p>
  * 
  * <p><strong>Example Usage:</strong></p>
  * <pre>{@code
@@ -72,7 +94,8 @@ import java.util.List;
  * 
  * // Programmatic document creation and indexing
  * List<SolrInputDocument> docs = indexingService.createSchemalessDocuments(jsonData);
- * int successful = indexingService.indexDocuments("my_collection", docs);
+ * IndexingResult result = indexingService.indexDocuments("my_collection", docs);
+ * int successful = result.indexedCount();
  * }</pre>
  *
  * @version 0.0.1
@@ -85,7 +108,17 @@ import java.util.List;
 @Service
 public class IndexingService {
 
-    private static final int DEFAULT_BATCH_SIZE = 1000;
+    /** Format tag for JSON payloads */
+    static final String FORMAT_JSON = "json";
+
+    /** Format tag for CSV payloads */
+    static final String FORMAT_CSV = "csv";
+
+    /** Format tag for XML payloads */
+    static final String FORMAT_XML = "xml";
+
+    /** Format tag for documents that were built by the caller rather than parsed */
+    static final String FORMAT_DOCUMENTS = "documents";
 
     /** SolrJ client for communicating with Solr server */
     private final SolrClient solrClient;
@@ -95,6 +128,18 @@ public class IndexingService {
      */
     private final IndexingDocumentCreator indexingDocumentCreator;
 
+    /** Batch size and concurrency settings bound from {@code solr.indexing.*} */
+    private final SolrConfigurationProperties.Indexing indexingProperties;
+
+    /** Applies the configured or requested commit mode once documents have been sent */
+    private final SolrCommitter committer;
+
+    /** Supplies the per-collection batch size and adapts it to observed Solr latency */
+    private final BatchSizeController batchSizeController;
+
+    /** Records parse time, batch latency, retries and throughput */
+    private final IndexingMetrics metrics;
+
     /**
      * Constructs a new IndexingService with the required dependencies.
      * 
@@ -103,13 +148,30 @@ public class IndexingService {
      * Solr client and configuration components.</p>
      * 
      * @param solrClient the SolrJ client instance for communicating with Solr
+     * @param indexingDocumentCreator the creator used to convert raw payloads into Solr documents
+     * @param properties the Solr configuration properties providing batch indexing settings
+     * @param committer the committer that makes indexed documents visible to searchers
+     * @param batchSizeController the controller deciding how many documents go into each batch
+     * @param metrics the instrumentation recording indexing meters
      *
      * @see SolrClient
+     * @see SolrConfigurationProperties.Indexing
+     * @see SolrCommitter
+     * @see BatchSizeController
+     * @see IndexingMetrics
      */
     public IndexingService(SolrClient solrClient,
-                           IndexingDocumentCreator indexingDocumentCreator) {
+                           IndexingDocumentCreator indexingDocumentCreator,
+                           SolrConfigurationProperties properties,
+                           SolrCommitter committer,
+                           BatchSizeController batchSizeController,
+                           IndexingMetrics metrics) {
         this.solrClient = solrClient;
         this.indexingDocumentCreator = indexingDocumentCreator;
+        this.indexingProperties = properties.indexing();
+        this.committer = committer;
+        this.batchSizeController = batchSizeController;
+        this.metrics = metrics;
     }
 
     /**
@@ -128,36 +190,55 @@ public class IndexingService {
      * 
      * <p><strong>Processing Workflow:</strong></p>
      * <ol>
-     *   <li>Parse JSON string into structured documents</li>
-     *   <li>Convert to schema-less SolrInputDocument objects</li>
-     *   <li>Execute batch indexing with error handling</li>
+     *   <li>Stream-parse the JSON array one element at a time</li>
+     *   <li>Convert each element to a schema-less SolrInputDocument</li>
+     *   <li>Send full batches to Solr while parsing continues</li>
      *   <li>Commit changes to make documents searchable</li>
      * </ol>
      * 
+     * <p>Because batches are sent while the payload is still being parsed, malformed JSON
+     * near the end of a large payload is reported only after earlier batches have been sent.
+     * In that case no commit is issued.</p>
+     * 
      * <p><strong>MCP Tool Usage:</strong></p>
      * <p>AI clients can invoke this method with natural language requests like
      * "index these documents into my_collection" or "add this JSON data to the search index".</p>
      * 
      * <p><strong>Error Handling:</strong></p>
-     * <p>If indexing fails, the method attempts individual document processing to maximize
-     * the number of successfully indexed documents. Detailed error information is logged
-     * for troubleshooting purposes.</p>
+     * <p>If a batch fails, it is bisected to isolate the problematic documents so that the
+     * number of successfully indexed documents is maximized. The returned result lists each
+     * rejected document together with the error Solr reported for it.</p>
      * 
      * @param collection the name of the Solr collection to index documents into
      * @param json JSON string containing an array of documents to index
+     * @param commitMode optional commit mode overriding {@code solr.indexing.commit.mode}
+     * @return the number of indexed documents and details of any rejected documents
      *
      * @throws IOException if there are critical errors in JSON parsing or Solr communication
      * @throws SolrServerException if Solr server encounters errors during indexing
      *
-     * @see IndexingDocumentCreator#createSchemalessDocumentsFromJson(String)
-     * @see #indexDocuments(String, List)
+     * @see IndexingDocumentCreator#streamSchemalessDocumentsFromJson(String, java.util.function.Consumer)
+     * @see #indexDocumentStream(String, DocumentSource, CommitMode)
      */
     @McpTool(name = "index_json_documents", description = "Index documents from json String into Solr collection")
-    public void indexJsonDocuments(
+    public IndexingResult indexJsonDocuments(
             @McpToolParam(description = "Solr collection to index into") String collection,
-            @McpToolParam(description = "JSON string containing documents to index") String json) throws IOException, SolrServerException {
-        List<SolrInputDocument> schemalessDoc = indexingDocumentCreator.createSchemalessDocumentsFromJson(json);
-        indexDocuments(collection, schemalessDoc);
+            @McpToolParam(description = "JSON string containing documents to index") String json,
+            @McpToolParam(description = "Commit mode: hard, soft, commit-within, coalesce or none. Defaults to the server configuration", required = false) String commitMode) throws IOException, SolrServerException {
+        return indexPayload(collection, FORMAT_JSON, json, CommitMode.fromParameter(commitMode),
+                IndexingListener.NONE);
+    }
+
+    /**
+     * Indexes documents from a JSON string using the configured commit mode.
+     *
+     * @param collection the name of the Solr collection to index documents into
+     * @param json JSON string containing documents to index
+     * @return the number of indexed documents and details of any rejected documents
+     * @see #indexJsonDocuments(String, String, String)
+     */
+    public IndexingResult indexJsonDocuments(String collection, String json) throws IOException, SolrServerException {
+        return indexJsonDocuments(collection, json, null);
     }
 
 
@@ -177,36 +258,54 @@ public class IndexingService {
      * 
      * <p><strong>Processing Workflow:</strong></p>
      * <ol>
-     *   <li>Parse CSV string to extract headers and data rows</li>
-     *   <li>Convert to schema-less SolrInputDocument objects</li>
-     *   <li>Execute batch indexing with error handling</li>
+     *   <li>Parse the header row once and sanitize the field names</li>
+     *   <li>Read data rows lazily, converting each to a schema-less SolrInputDocument</li>
+     *   <li>Send full batches to Solr while parsing continues</li>
      *   <li>Commit changes to make documents searchable</li>
      * </ol>
      * 
+     * <p>As with JSON, a parse error late in the payload is reported after earlier batches
+     * have been sent, and no commit is issued.</p>
+     * 
      * <p><strong>MCP Tool Usage:</strong></p>
      * <p>AI clients can invoke this method with natural language requests like
      * "index this CSV data into my_collection" or "add these CSV records to the search index".</p>
      * 
      * <p><strong>Error Handling:</strong></p>
-     * <p>If indexing fails, the method attempts individual document processing to maximize
-     * the number of successfully indexed documents. Detailed error information is logged
-     * for troubleshooting purposes.</p>
+     * <p>If a batch fails, it is bisected to isolate the problematic documents so that the
+     * number of successfully indexed documents is maximized. The returned result lists each
+     * rejected document together with the error Solr reported for it.</p>
      * 
      * @param collection the name of the Solr collection to index documents into
      * @param csv CSV string containing documents to index (first row must be headers)
+     * @param commitMode optional commit mode overriding {@code solr.indexing.commit.mode}
+     * @return the number of indexed documents and details of any rejected documents
      *
      * @throws IOException if there are critical errors in CSV parsing or Solr communication
      * @throws SolrServerException if Solr server encounters errors during indexing
      *
-     * @see IndexingDocumentCreator#createSchemalessDocumentsFromCsv(String)
-     * @see #indexDocuments(String, List)
+     * @see IndexingDocumentCreator#streamSchemalessDocumentsFromCsv(String, java.util.function.Consumer)
+     * @see #indexDocumentStream(String, DocumentSource, CommitMode)
      */
     @McpTool(name = "index_csv_documents", description = "Index documents from CSV string into Solr collection")
-    public void indexCsvDocuments(
+    public IndexingResult indexCsvDocuments(
             @McpToolParam(description = "Solr collection to index into") String collection,
-            @McpToolParam(description = "CSV string containing documents to index") String csv) throws IOException, SolrServerException {
-        List<SolrInputDocument> schemalessDoc = indexingDocumentCreator.createSchemalessDocumentsFromCsv(csv);
-        indexDocuments(collection, schemalessDoc);
+            @McpToolParam(description = "CSV string containing documents to index") String csv,
+            @McpToolParam(description = "Commit mode: hard, soft, commit-within, coalesce or none. Defaults to the server configuration", required = false) String commitMode) throws IOException, SolrServerException {
+        return indexPayload(collection, FORMAT_CSV, csv, CommitMode.fromParameter(commitMode),
+                IndexingListener.NONE);
+    }
+
+    /**
+     * Indexes documents from a CSV string using the configured commit mode.
+     *
+     * @param collection the name of the Solr collection to index documents into
+     * @param csv CSV string containing documents to index
+     * @return the number of indexed documents and details of any rejected documents
+     * @see #indexCsvDocuments(String, String, String)
+     */
+    public IndexingResult indexCsvDocuments(String collection, String csv) throws IOException, SolrServerException {
+        return indexCsvDocuments(collection, csv, null);
     }
 
     /**
@@ -227,10 +326,10 @@ public class IndexingService {
      *
      * <p><strong>Processing Workflow:</strong></p>
      * <ol>
-     *   <li>Parse XML string to extract elements and attributes</li>
+     *   <li>Stream-parse the XML string to extract elements and attributes</li>
      *   <li>Flatten nested structures using underscore notation</li>
      *   <li>Convert to schema-less SolrInputDocument objects</li>
-     *   <li>Execute batch indexing with error handling</li>
+     *   <li>Send full batches to Solr while parsing continues</li>
      *   <li>Commit changes to make documents searchable</li>
      * </ol>
      *
@@ -239,9 +338,9 @@ public class IndexingService {
      * "index this XML data into my_collection" or "add these XML records to the search index".</p>
      *
      * <p><strong>Error Handling:</strong></p>
-     * <p>If indexing fails, the method attempts individual document processing to maximize
-     * the number of successfully indexed documents. Detailed error information is logged
-     * for troubleshooting purposes.</p>
+     * <p>If a batch fails, it is bisected to isolate the problematic documents so that the
+     * number of successfully indexed documents is maximized. The returned result lists each
+     * rejected document together with the error Solr reported for it.</p>
      *
      * <p><strong>Example XML Processing:</strong></p>
      * <pre>{@code
@@ -260,19 +359,212 @@ public class IndexingService {
      *
      * @param collection the name of the Solr collection to index documents into
      * @param xml        XML string containing documents to index
-     * @throws ParserConfigurationException if XML parser configuration fails
-     * @throws SAXException if XML parsing fails due to malformed content
-     * @throws IOException if I/O errors occur during parsing or Solr communication
+     * @param commitMode optional commit mode overriding {@code solr.indexing.commit.mode}
+     * @return the number of indexed documents and details of any rejected documents
+     * @throws IOException if I/O errors occur during Solr communication
      * @throws SolrServerException if Solr server encounters errors during indexing
-     * @see IndexingDocumentCreator#createSchemalessDocumentsFromXml(String)
-     * @see #indexDocuments(String, List)
+     * @see IndexingDocumentCreator#streamSchemalessDocumentsFromXml(String, java.util.function.Consumer)
+     * @see #indexDocumentStream(String, DocumentSource, CommitMode)
      */
     @McpTool(name = "index_xml_documents", description = "Index documents from XML string into Solr collection")
-    public void indexXmlDocuments(
+    public IndexingResult indexXmlDocuments(
+            @McpToolParam(description = "Solr collection to index into") String collection,
+            @McpToolParam(description = "XML string containing documents to index") String xml,
+            @McpToolParam(description = "Commit mode: hard, soft, commit-within, coalesce or none. Defaults to the server configuration", required = false) String commitMode) throws IOException, SolrServerException {
+        return indexPayload(collection, FORMAT_XML, xml, CommitMode.fromParameter(commitMode),
+                IndexingListener.NONE);
+    }
+
+    /**
+     * Indexes documents from an XML string using the configured commit mode.
+     *
+     * @param collection the name of the Solr collection to index documents into
+     * @param xml XML string containing documents to index
+     * @return the number of indexed documents and details of any rejected documents
+     * @see #indexXmlDocuments(String, String, String)
+     */
+    public IndexingResult indexXmlDocuments(String collection, String xml) throws IOException, SolrServerException {
+        return indexXmlDocuments(collection, xml, null);
+    }
+
+    /**
+     * Indexes local JSON, CSV and XML files into a specified Solr collection.
+     *
+     * <p>The string-based tools receive their payload through the MCP channel, which limits them
+     * to a few megabytes and keeps several copies of the payload on the heap. This tool instead
+     * reads files directly from the server's file system, so exports of any size can be loaded.</p>
+     *
+     * <p><strong>Path Resolution:</strong></p>
+     * <ul>
+     *   <li><strong>Files</strong>: {@code mydata/books.csv} is indexed as is</li>
+     *   <li><strong>Directories</strong>: {@code mydata/} selects every supported file below it</li>
+     *   <li><strong>Glob Patterns</strong>: {@code mydata/*.json} or {@code exports/**.xml}</li>
+     * </ul>
+     * <p>The document format is chosen from each file's extension: {@code .json}, {@code .csv}
+     * or {@code .xml}.</p>
+     *
+     * <p><strong>Processing Workflow:</strong></p>
+     * <ol>
+     *   <li>Resolve the paths and patterns to a list of files</li>
+     *   <li>Stream each file through its format's parser, up to
+     *       {@code solr.indexing.max-concurrent-files} files at once</li>
+     *   <li>Send full batches to Solr while each file is still being read</li>
+     *   <li>Commit once after every file has been processed</li>
+     * </ol>
+     *
+     * <p><strong>Error Handling:</strong></p>
+     * <p>Rejected documents are isolated per batch exactly as for the other tools and reported
+     * per file. A file that cannot be read or parsed is reported with its error without stopping
+     * the other files; batches it sent before the failure are still committed.</p>
+     *
+     * @param collection the name of the Solr collection to index documents into
+     * @param paths local file paths, directories or glob patterns, relative to the server's working directory
+     * @param commitMode optional commit mode overriding {@code solr.indexing.commit.mode}
+     * @return per-file counts and rejected documents, plus the totals over all files
+     *
+     * @throws IOException if a directory cannot be walked or there are critical errors in commit operations
+     * @throws SolrServerException if Solr server encounters errors during the commit
+     * @throws IllegalArgumentException if a named file is missing or unsupported, or nothing matched
+     *
+     * @see IndexingDocumentCreator#streamSchemalessDocumentsFromFile(Path, java.util.function.Consumer)
+     */
+    @McpTool(name = "index_files", description = "Index local JSON, CSV or XML files into Solr collection, chosen by file extension. Accepts file paths, directories and glob patterns")
+    public FileIndexingResult indexFiles(
             @McpToolParam(description = "Solr collection to index into") String collection,
-            @McpToolParam(description = "XML string containing documents to index") String xml) throws ParserConfigurationException, SAXException, IOException, SolrServerException {
-        List<SolrInputDocument> schemalessDoc = indexingDocumentCreator.createSchemalessDocumentsFromXml(xml);
-        indexDocuments(collection, schemalessDoc);
+            @McpToolParam(description = "Local file paths, directories or glob patterns such as mydata/*.csv") List<String> paths,
+            @McpToolParam(description = "Commit mode: hard, soft, commit-within, coalesce or none. Defaults to the server configuration", required = false) String commitMode) throws IOException, SolrServerException {
+        return indexFiles(collection, paths, commitMode, IndexingListener.NONE);
+    }
+
+    /**
+     * Indexes local files while reporting progress to a listener.
+     *
+     * <p>Behaves like {@link #indexFiles(String, List, String)}. If the calling thread is
+     * interrupted, the files still being read are abandoned, no commit is issued and an
+     * {@link InterruptedIOException} is thrown.</p>
+     *
+     * @param collection the name of the Solr collection to index documents into
+     * @param paths local file paths, directories or glob patterns
+     * @param commitMode optional commit mode overriding {@code solr.indexing.commit.mode}
+     * @param listener receives the resolved file sizes, read progress and batch outcomes
+     * @return per-file counts and rejected documents, plus the totals over all files
+     * @throws IOException if a directory cannot be walked, indexing is interrupted or the commit fails
+     * @throws SolrServerException if Solr server encounters errors during the commit
+     * @see IndexingListener
+     */
+    public FileIndexingResult indexFiles(String collection, List<String> paths, String commitMode,
+                                         IndexingListener listener) throws IOException, SolrServerException {
+        List<Path> files = LocalFileResolver.resolve(paths, indexingDocumentCreator::isSupportedFile);
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No .json, .csv or .xml files matched: " + paths);
+        }
+        long totalBytes = 0;
+        for (Path file : files) {
+            totalBytes += Files.size(file);
+        }
+        listener.filesResolved(files.size(), totalBytes);
+
+        final CommitMode mode = committer.resolve(CommitMode.fromParameter(commitMode));
+        final int commitWithinMs = committer.commitWithinMs(mode);
+        final Semaphore fileSlots = new Semaphore(indexingProperties.maxConcurrentFiles());
+        final List<Future<FileIndexingResult.FileResult>> pending = new ArrayList<>(files.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path file : files) {
+                pending.add(executor.submit(() -> indexFile(collection, file, commitWithinMs, fileSlots, listener)));
+            }
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Interrupted while indexing files into " + collection);
+        }
+
+        List<FileIndexingResult.FileResult> fileResults = new ArrayList<>(pending.size());
+        for (Future<FileIndexingResult.FileResult> result : pending) {
+            fileResults.add(result.resultNow());
+        }
+
+        committer.commit(collection, mode);
+        return FileIndexingResult.of(fileResults);
+    }
+
+    /**
+     * Indexes documents from local files using the configured commit mode.
+     *
+     * @param collection the name of the Solr collection to index documents into
+     * @param paths local file paths, directories or glob patterns
+     * @return per-file counts and rejected documents, plus the totals over all files
+     * @see #indexFiles(String, List, String)
+     */
+    public FileIndexingResult indexFiles(String collection, List<String> paths) throws IOException, SolrServerException {
+        return indexFiles(collection, paths, null);
+    }
+
+    /**
+     * Streams one file into Solr once a file slot is free, capturing any failure in the result.
+     *
+     * @param collection the name of the Solr collection to index into
+     * @param file the file to index
+     * @param commitWithinMs commitWithin deadline for the update requests, or {@code -1} for none
+     * @param fileSlots limits the number of files indexed at the same time
+     * @param listener receives read progress and batch outcomes
+     * @return the outcome for the file
+     */
+    private FileIndexingResult.FileResult indexFile(String collection, Path file, int commitWithinMs,
+                                                    Semaphore fileSlots, IndexingListener listener) {
+        try {
+            fileSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return FileIndexingResult.FileResult.failed(file,
+                    new InterruptedIOException("Interrupted while waiting to index file"));
+        }
+
+        try {
+            final String fileName = file.getFileName().toString();
+            final String format = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+            metrics.recordBytes(collection, format, Files.size(file));
+            IndexingResult result = sendDocuments(collection, format,
+                    sink -> indexingDocumentCreator.streamSchemalessDocumentsFromFile(file, sink, listener::bytesRead),
+                    commitWithinMs, listener);
+            return FileIndexingResult.FileResult.of(file, result);
+        } catch (SolrServerException | IOException | RuntimeException e) {
+            return FileIndexingResult.FileResult.failed(file, e);
+        } finally {
+            fileSlots.release();
+        }
+    }
+
+    /**
+     * Indexes an inline JSON, CSV or XML payload while reporting progress to a listener.
+     *
+     * <p>This is the common implementation of the {@code index_*_documents} tools. The payload
+     * is parsed incrementally and indexed like any other document stream; once it has been
+     * parsed completely the listener is told, so that the document total is known.</p>
+     *
+     * @param collection the name of the Solr collection to index into
+     * @param format the payload format: {@code json}, {@code csv} or {@code xml}
+     * @param content the payload
+     * @param commitMode commit mode for this call, or null to use {@code solr.indexing.commit.mode}
+     * @param listener receives progress events
+     * @return the number of documents successfully indexed and details of rejected documents
+     * @throws SolrServerException if there are critical errors in Solr communication
+     * @throws IOException if indexing is interrupted or there are critical errors in commit operations
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public IndexingResult indexPayload(String collection, String format, String content, CommitMode commitMode,
+                                       IndexingListener listener) throws SolrServerException, IOException {
+        final DocumentSource parser = switch (format) {
+            case FORMAT_JSON -> sink -> indexingDocumentCreator.streamSchemalessDocumentsFromJson(content, sink);
+            case FORMAT_CSV -> sink -> indexingDocumentCreator.streamSchemalessDocumentsFromCsv(content, sink);
+            case FORMAT_XML -> sink -> indexingDocumentCreator.streamSchemalessDocumentsFromXml(content, sink);
+            default -> throw new IllegalArgumentException("Unsupported format '" + format + "', expected json, csv or xml");
+        };
+
+        metrics.recordBytes(collection, format, IndexingMetrics.utf8Length(content));
+        return indexDocumentStream(collection, format, sink -> {
+            parser.forEachDocument(sink);
+            listener.payloadParsed();
+        }, commitMode, listener);
     }
 
     /**
@@ -285,68 +577,288 @@ public class IndexingService {
      * <p><strong>Batch Processing Strategy:</strong></p>
      * <ul>
      *   <li><strong>Batch Size</strong>: Configurable (default 1000) for optimal performance</li>
-     *   <li><strong>Error Recovery</strong>: Individual document retry on batch failure</li>
-     *   <li><strong>Success Tracking</strong>: Accurate count of successfully indexed documents</li>
-     *   <li><strong>Commit Strategy</strong>: Single commit after all batches for consistency</li>
+     *   <li><strong>Concurrency</strong>: Up to {@code solr.indexing.max-concurrent-batches} batches in flight</li>
+     *   <li><strong>Error Recovery</strong>: Recursive split-in-half retry when Solr rejects a batch</li>
+     *   <li><strong>Success Tracking</strong>: Per-batch results collected in submission order</li>
+     *   <li><strong>Commit Strategy</strong>: Single commit after all batches, per the resolved {@link CommitMode}</li>
      * </ul>
      * 
      * <p><strong>Error Handling Workflow:</strong></p>
      * <ol>
      *   <li>Attempt batch indexing for optimal performance</li>
-     *   <li>On batch failure, retry each document individually</li>
-     *   <li>Track successful vs failed document counts</li>
-     *   <li>Continue processing remaining batches despite failures</li>
+     *   <li>If Solr rejects the batch with a client error, split it in half and retry each half</li>
+     *   <li>Keep splitting rejected halves until single bad documents are isolated</li>
+     *   <li>Record each rejected document with its position and error message</li>
+     *   <li>Continue processing remaining batches despite rejected documents</li>
+     *   <li>Abort on connection failures, timeouts and server errors without sending further batches</li>
      *   <li>Commit all successful changes at the end</li>
      * </ol>
      * 
      * <p><strong>Performance Considerations:</strong></p>
-     * <p>Batch processing significantly improves indexing performance compared to individual
-     * document operations. The fallback to individual processing ensures maximum document
-     * ingestion even when some documents have issues.</p>
+     * <p>Batches are dispatched on virtual threads, and the caller blocks only once the
+     * configured number of batches is already in flight. This lets the HTTP/2 client multiplex
+     * several update requests over its connection while still bounding the load placed on Solr.
+     * Bisecting a rejected batch finds k bad documents among n in O(k log n) requests instead of
+     * the n requests a per-document retry would need, so a single bad record no longer turns
+     * into a thousand round trips.</p>
      * 
      * <p><strong>Transaction Behavior:</strong></p>
-     * <p>The method commits changes after all batches are processed, making indexed documents
-     * immediately searchable. This ensures atomicity at the operation level while maintaining
-     * performance through batching.</p>
+     * <p>The method waits for every batch to complete and then applies the commit mode. With the
+     * default {@link CommitMode#HARD} mode indexed documents are immediately searchable; the other
+     * modes trade that freshness for fewer new searchers, see {@link SolrCommitter}.</p>
      * 
      * @param collection the name of the Solr collection to index into
      * @param documents list of SolrInputDocument objects to index
-     * @return the number of documents successfully indexed
+     * @param commitMode commit mode for this call, or null to use {@code solr.indexing.commit.mode}
+     * @return the number of documents successfully indexed and details of rejected documents
      *
      * @throws SolrServerException if there are critical errors in Solr communication
      * @throws IOException if there are critical errors in commit operations
      * 
      * @see SolrInputDocument
+     * @see IndexingResult
      * @see SolrClient#add(String, java.util.Collection)
-     * @see SolrClient#commit(String)
+     * @see SolrCommitter#commit(String, CommitMode)
      */
-    public int indexDocuments(String collection, List<SolrInputDocument> documents) throws SolrServerException, IOException {
-        int successCount = 0;
-        final int batchSize = DEFAULT_BATCH_SIZE;
+    public IndexingResult indexDocuments(String collection, List<SolrInputDocument> documents,
+                                         CommitMode commitMode) throws SolrServerException, IOException {
+        return indexDocumentStream(collection, FORMAT_DOCUMENTS, documents::forEach, commitMode, IndexingListener.NONE);
+    }
 
-        for (int i = 0; i < documents.size(); i += batchSize) {
-            final int endIndex = Math.min(i + batchSize, documents.size());
-            final List<SolrInputDocument> batch = documents.subList(i, endIndex);
+    /**
+     * Indexes documents from a streaming source, sending batches while the source is still producing.
+     *
+     * <p>Documents are grouped into batches as they arrive and each full batch is dispatched
+     * immediately, so parsing and network I/O overlap and at most
+     * {@code batch-size × (max-concurrent-batches + 1)} documents are held in memory at once,
+     * however large the input is. Batching, failure isolation and commit handling are the same
+     * as for {@link #indexDocuments(String, List, CommitMode)}.</p>
+     *
+     * <p>If the source fails part-way through, the batches already dispatched are allowed to
+     * finish, no commit is issued, and the source's exception is propagated.</p>
+     *
+     * @param collection the name of the Solr collection to index into
+     * @param source producer of the documents to index
+     * @param commitMode commit mode for this call, or null to use {@code solr.indexing.commit.mode}
+     * @return the number of documents successfully indexed and details of rejected documents
+     *
+     * @throws SolrServerException if there are critical errors in Solr communication
+     * @throws IOException if the source cannot be read or there are critical errors in commit operations
+     *
+     * @see DocumentSource
+     * @see SolrCommitter#commit(String, CommitMode)
+     */
+    public IndexingResult indexDocumentStream(String collection, DocumentSource source,
+                                              CommitMode commitMode) throws SolrServerException, IOException {
+        return indexDocumentStream(collection, FORMAT_DOCUMENTS, source, commitMode, IndexingListener.NONE);
+    }
+
+    /**
+     * Indexes documents from a streaming source while reporting batch outcomes to a listener.
+     *
+     * <p>Behaves like {@link #indexDocumentStream(String, DocumentSource, CommitMode)}. If the
+     * calling thread is interrupted, no further batches are submitted, no commit is issued and
+     * an {@link InterruptedIOException} is thrown.</p>
+     *
+     * @param collection the name of the Solr collection to index into
+     * @param format format tag for the metrics recorded for this operation, such as {@code json}
+     * @param source producer of the documents to index
+     * @param commitMode commit mode for this call, or null to use {@code solr.indexing.commit.mode}
+     * @param listener receives the outcome of every batch as it completes
+     * @return the number of documents successfully indexed and details of rejected documents
+     * @throws SolrServerException if there are critical errors in Solr communication
+     * @throws IOException if the source cannot be read, indexing is interrupted or the commit fails
+     * @see IndexingListener
+     * @see IndexingMetrics
+     */
+    public IndexingResult indexDocumentStream(String collection, String format, DocumentSource source,
+                                              CommitMode commitMode, IndexingListener listener)
+            throws SolrServerException, IOException {
+        final CommitMode mode = committer.resolve(commitMode);
+        final IndexingResult result = sendDocuments(collection, format, source, committer.commitWithinMs(mode),
+                listener);
 
+        committer.commit(collection, mode);
+        return result;
+    }
+
+    /**
+     * Sends every document of the source to Solr in batches, without committing.
+     *
+     * <p>Parse time is measured as the time spent in the source minus the time it was blocked
+     * waiting for in-flight batches, so that a slow Solr is not mistaken for a slow parser.</p>
+     *
+     * @param collection the name of the Solr collection to index into
+     * @param format format tag for the recorded metrics
+     * @param source producer of the documents to index
+     * @param commitWithinMs commitWithin deadline for the update requests, or {@code -1} for none
+     * @param listener receives every document read and the outcome of every batch as it completes
+     * @return the number of documents successfully indexed and details of rejected documents
+     * @throws SolrServerException if a batch failed with an error reported by Solr
+     * @throws IOException if the source cannot be read or waiting for batches is interrupted
+     */
+    private IndexingResult sendDocuments(String collection, String format, DocumentSource source,
+                                         int commitWithinMs, IndexingListener listener)
+            throws SolrServerException, IOException {
+        final List<IndexingResult> batchResults;
+
+        try (IndexingPipeline pipeline = new IndexingPipeline(() -> batchSizeController.batchSize(collection),
+                batchSizeController.maxBatchBytes(),
+                indexingProperties.maxConcurrentBatches(),
+                (batch, firstPosition) -> {
+                    IndexingResult batchResult = indexBatch(collection, format, batch, firstPosition, commitWithinMs);
+                    listener.batchCompleted(batchResult);
+                    return batchResult;
+                })) {
+            final long parseStart = System.nanoTime();
             try {
-                solrClient.add(collection, batch);
-                successCount += batch.size();
-            } catch (SolrServerException | IOException | RuntimeException e) {
-                // Try indexing documents individually to identify problematic ones
-                for (SolrInputDocument doc : batch) {
+                source.forEachDocument(document -> {
+                    listener.documentRead();
                     try {
-                        solrClient.add(collection, doc);
-                        successCount++;
-                    } catch (SolrServerException | IOException | RuntimeException docError) {
-                        // Document failed to index - this is expected behavior for problematic documents
-                        // We continue processing the rest of the batch
+                        pipeline.add(document);
+                    } catch (InterruptedIOException e) {
+                        throw new UncheckedIOException(e);
                     }
-                }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
             }
+            metrics.recordParse(collection, format, System.nanoTime() - parseStart - pipeline.waitNanos());
+            batchResults = pipeline.awaitBatchResults();
         }
 
-        solrClient.commit(collection);
-        return successCount;
+        IndexingResult result = IndexingResult.combine(batchResults);
+        metrics.recordDocuments(collection, format, result);
+        return result;
+    }
+
+    /**
+     * Indexes a list of documents using the configured commit mode.
+     *
+     * @param collection the name of the Solr collection to index into
+     * @param documents list of SolrInputDocument objects to index
+     * @return the number of documents successfully indexed and details of rejected documents
+     * @throws SolrServerException if there are critical errors in Solr communication
+     * @throws IOException if there are critical errors in commit operations
+     * @see #indexDocuments(String, List, CommitMode)
+     */
+    public IndexingResult indexDocuments(String collection, List<SolrInputDocument> documents) throws SolrServerException, IOException {
+        return indexDocuments(collection, documents, null);
+    }
+
+    /**
+     * Indexes a single batch, bisecting it to isolate bad documents if Solr rejects it.
+     *
+     * <p>Runs on a pipeline worker thread. Documents Solr rejects are reflected in the returned
+     * result, while transport and server failures are propagated and fail the whole indexing
+     * call. The outcome and latency are reported to the {@link BatchSizeController} so that
+     * later batches can be resized.</p>
+     *
+     * @param collection the name of the Solr collection to index into
+     * @param format format tag for the recorded metrics
+     * @param batch the documents to send as one update request
+     * @param firstPosition position of the batch's first document within the overall input
+     * @param commitWithinMs commitWithin deadline for the update requests, or {@code -1} for none
+     * @return the number of indexed documents and the rejected documents of the batch
+     * @throws SolrServerException if Solr cannot be reached or fails to process the request
+     * @throws IOException if the update request cannot be sent
+     */
+    private IndexingResult indexBatch(String collection, String format, List<SolrInputDocument> batch,
+                                      long firstPosition, int commitWithinMs) throws SolrServerException, IOException {
+        List<IndexingResult.RejectedDocument> rejected = new ArrayList<>();
+        metrics.recordBatch(collection, format, batch.size());
+        final long start = System.nanoTime();
+        final int indexed;
+        try {
+            indexed = addIsolatingFailures(collection, format, batch, firstPosition, commitWithinMs, false, rejected);
+        } catch (SolrServerException | IOException | RuntimeException e) {
+            batchSizeController.recordFailure(collection);
+            throw e;
+        }
+        if (rejected.isEmpty()) {
+            batchSizeController.recordSuccess(collection, System.nanoTime() - start);
+        } else {
+            batchSizeController.recordFailure(collection);
+        }
+        return new IndexingResult(indexed, rejected.size(), rejected);
+    }
+
+    /**
+     * Sends the documents as one request and, if Solr rejects them, recursively retries each half.
+     *
+     * <p>A rejected range is split until the rejection is pinned to single documents, which are
+     * then recorded as rejected. With k bad documents in a range of n this needs O(k log n)
+     * requests, and a range without bad documents is indexed in a single request.</p>
+     *
+     * <p>Only a client error reported by Solr, see {@link #isDocumentError(SolrException)}, is
+     * bisected. Connection failures, timeouts and server errors say nothing about the documents,
+     * so they are propagated instead of being split down to single documents and reported as
+     * rejections.</p>
+     *
+     * @param collection the name of the Solr collection to index into
+     * @param format format tag for the recorded metrics
+     * @param documents the range of documents to send
+     * @param firstPosition position of the range's first document within the overall input
+     * @param commitWithinMs commitWithin deadline for the update request, or {@code -1} for none
+     * @param retry whether this request is part of isolating a failure in a larger batch
+     * @param rejected collector for documents that failed on their own
+     * @return the number of documents from the range that were indexed successfully
+     * @throws SolrServerException if Solr cannot be reached or fails to process the request
+     * @throws IOException if the update request cannot be sent
+     */
+    private int addIsolatingFailures(String collection, String format, List<SolrInputDocument> documents,
+                                     long firstPosition, int commitWithinMs, boolean retry,
+                                     List<IndexingResult.RejectedDocument> rejected)
+            throws SolrServerException, IOException {
+        if (retry) {
+            metrics.recordRetry(collection, format);
+        }
+        final long start = System.nanoTime();
+        try {
+            if (commitWithinMs > 0) {
+                solrClient.add(collection, documents, commitWithinMs);
+            } else {
+                solrClient.add(collection, documents);
+            }
+            metrics.recordAdd(collection, format, System.nanoTime() - start, true);
+            return documents.size();
+        } catch (SolrServerException | IOException | RuntimeException e) {
+            metrics.recordAdd(collection, format, System.nanoTime() - start, false);
+            if (!(e instanceof SolrException solrException) || !isDocumentError(solrException)) {
+                throw e;
+            }
+            if (documents.size() == 1) {
+                rejected.add(IndexingResult.RejectedDocument.of(documents.getFirst(), firstPosition, e));
+                return 0;
+            }
+            if (!retry) {
+                metrics.recordFallback(collection, format);
+            }
+
+            final int mid = documents.size() / 2;
+            return addIsolatingFailures(collection, format, documents.subList(0, mid), firstPosition,
+                    commitWithinMs, true, rejected)
+                    + addIsolatingFailures(collection, format, documents.subList(mid, documents.size()),
+                    firstPosition + mid, commitWithinMs, true, rejected);
+        }
+    }
+
+    /**
+     * Tells whether Solr refused an update request because of the documents it contained.
+     *
+     * <p>Solr reports invalid documents, such as a missing unique key or a value that does not
+     * match the field type, with a 4xx status. Authentication failures and a missing collection
+     * are 4xx as well but concern the request as a whole.</p>
+     *
+     * @param e the exception the update request failed with
+     * @return {@code true} if bisecting the request can isolate the offending documents
+     */
+    static boolean isDocumentError(SolrException e) {
+        int code = e.code();
+        return code >= 400 && code < 500
+                && code != SolrException.ErrorCode.UNAUTHORIZED.code
+                && code != SolrException.ErrorCode.FORBIDDEN.code
+                && code != SolrException.ErrorCode.NOT_FOUND.code;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Expands the paths and glob patterns given to the {@code index_files} tool into a list of files.
+ *
+ * <p>Each entry is interpreted as follows:</p>
+ * <ul>
+ *   <li><strong>Glob pattern</strong> (contains {@code *}, {@code ?}, {@code [} or {@code {}):
+ *       the directory tree below the pattern's literal prefix is walked and every supported
+ *       file matching the pattern is selected, e.g. {@code mydata/*.csv} or {@code exports/**.json}</li>
+ *   <li><strong>Directory</strong>: every supported file below it is selected, recursively</li>
+ *   <li><strong>File</strong>: selected as is; it must exist and be supported</li>
+ * </ul>
+ *
+ * <p>Relative entries are resolved against the server's working directory. Files matched by
+ * several entries are returned once, in the order they were first matched; files found by
+ * walking a directory are sorted by path so that results are reproducible.</p>
+ */
+final class LocalFileResolver {
+
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    private LocalFileResolver() {
+    }
+
+    /**
+     * Resolves the given entries to the files they denote.
+     *
+     * @param entries   file paths, directory paths or glob patterns
+     * @param supported predicate selecting the files that can be indexed
+     * @return the matching regular files, without duplicates
+     * @throws IOException if a directory cannot be walked
+     * @throws IllegalArgumentException if an entry names a missing or unsupported file
+     */
+    static List<Path> resolve(List<String> entries, Predicate<Path> supported) throws IOException {
+        Set<Path> files = new LinkedHashSet<>();
+        for (String entry : entries) {
+            if (entry == null || entry.isBlank()) {
+                continue;
+            }
+            String trimmed = entry.trim();
+            if (isGlob(trimmed)) {
+                files.addAll(matchGlob(trimmed, supported));
+                continue;
+            }
+
+            Path path = Path.of(trimmed);
+            if (Files.isDirectory(path)) {
+                files.addAll(walk(path, supported));
+            } else if (Files.isRegularFile(path)) {
+                if (!supported.test(path)) {
+                    throw new IllegalArgumentException("Unsupported file type (expected .json, .csv or .xml): " + trimmed);
+                }
+                files.add(path.toAbsolutePath().normalize());
+            } else {
+                throw new IllegalArgumentException("File not found: " + trimmed);
+            }
+        }
+        return new ArrayList<>(files);
+    }
+
+    private static boolean isGlob(String entry) {
+        return entry.chars().anyMatch(c -> GLOB_CHARACTERS.indexOf(c) >= 0);
+    }
+
+    /**
+     * Walks the literal directory prefix of the pattern and keeps the supported files it matches.
+     */
+    private static List<Path> matchGlob(String pattern, Predicate<Path> supported) throws IOException {
+        int firstGlob = 0;
+        while (GLOB_CHARACTERS.indexOf(pattern.charAt(firstGlob)) < 0) {
+            firstGlob++;
+        }
+        int lastSeparator = Math.max(pattern.lastIndexOf('/', firstGlob), pattern.lastIndexOf('\\', firstGlob));
+        Path base = lastSeparator < 0 ? Path.of("") : Path.of(pattern.substring(0, lastSeparator + 1));
+        if (!Files.isDirectory(base)) {
+            return List.of();
+        }
+
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        return walk(base, file -> matcher.matches(file) && supported.test(file));
+    }
+
+    private static List<Path> walk(Path directory, Predicate<Path> filter) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(filter)
+                    .map(file -> file.toAbsolutePath().normalize())
+                    .sorted()
+                    .toList();
+        }
+    }
+}
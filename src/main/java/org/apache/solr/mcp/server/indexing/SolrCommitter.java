@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the configured {@link CommitMode} once the {@code index_*} tools have sent their documents.
+ *
+ * <p>Indexing used to end every call with a blocking hard commit, which opens a new searcher
+ * and discards Solr's caches each time. This component centralizes that decision so it can be
+ * configured globally through {@code solr.indexing.commit.*} and overridden per tool call.</p>
+ *
+ * <p><strong>Coalescing:</strong></p>
+ * <p>In {@link CommitMode#COALESCE} mode the first indexing call for a collection schedules a
+ * hard commit {@code coalesce-interval} later; further calls for that collection before the
+ * commit runs piggyback on it. The pending entry is cleared just before the commit is sent, so
+ * documents added after that point always schedule a fresh commit and are never left
+ * uncommitted. Pending commits are flushed when the application shuts down.</p>
+ *
+ * <p>The latency of every commit actually sent, synchronous or coalesced, is recorded in
+ * {@link IndexingMetrics}.</p>
+ *
+ * <p><strong>Visibility Events:</strong></p>
+ * <p>Whenever indexed documents become visible a {@link CollectionCommittedEvent} is published:
+ * after a successful hard, soft or coalesced commit, and {@code commit.within} after a
+ * {@link CommitMode#COMMIT_WITHIN} call, when Solr will have committed on its own. No event is
+ * published for {@link CommitMode#NONE}.</p>
+ *
+ * @version 0.0.1
+ * @since 0.0.1
+ *
+ * @see CommitMode
+ * @see IndexingService
+ */
+@Component
+public class SolrCommitter implements ApplicationEventPublisherAware {
+
+    private static final Logger log = LoggerFactory.getLogger(SolrCommitter.class);
+
+    /** SolrJ client used to issue commits */
+    private final SolrClient solrClient;
+
+    /** Commit settings bound from {@code solr.indexing.commit.*} */
+    private final SolrConfigurationProperties.Commit commitProperties;
+
+    /** Records commit latency */
+    private final IndexingMetrics metrics;
+
+    /** Coalesced commits that have been scheduled but not yet sent, keyed by collection */
+    private final Map<String, ScheduledFuture<?>> pendingCommits = new ConcurrentHashMap<>();
+
+    /** Receives a {@link CollectionCommittedEvent} whenever indexed documents become visible */
+    private ApplicationEventPublisher eventPublisher = event -> {
+    };
+
+    /** Single timer thread that fires coalesced commits and delayed visibility events */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("solr-commit-coalescer").daemon().factory());
+
+    /**
+     * Creates a committer using the commit settings from the Solr configuration.
+     *
+     * @param solrClient the SolrJ client used to issue commits
+     * @param properties the Solr configuration properties providing the commit policy
+     * @param metrics    the instrumentation recording commit latency
+     */
+    public SolrCommitter(SolrClient solrClient, SolrConfigurationProperties properties, IndexingMetrics metrics) {
+        this.solrClient = solrClient;
+        this.commitProperties = properties.indexing().commit();
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Resolves the commit mode for one indexing call.
+     *
+     * @param override the mode requested by the caller, or null to use the configured default
+     * @return the mode to apply
+     */
+    public CommitMode resolve(CommitMode override) {
+        return override != null ? override : commitProperties.mode();
+    }
+
+    /**
+     * Returns the {@code commitWithin} value to attach to update requests for the given mode.
+     *
+     * @param mode the resolved commit mode
+     * @return the commitWithin deadline in milliseconds, or {@code -1} if updates should not carry one
+     */
+    public int commitWithinMs(CommitMode mode) {
+        return mode == CommitMode.COMMIT_WITHIN ? (int) commitProperties.within().toMillis() : -1;
+    }
+
+    /**
+     * Makes the documents indexed into a collection visible according to the given mode.
+     *
+     * @param collection the collection that received the documents
+     * @param mode       the resolved commit mode
+     * @throws SolrServerException if Solr rejects a synchronous commit
+     * @throws IOException         if a synchronous commit cannot be sent
+     */
+    public void commit(String collection, CommitMode mode) throws SolrServerException, IOException {
+        switch (mode) {
+            case HARD, SOFT -> sendCommit(collection, mode);
+            case COALESCE -> scheduleCoalescedCommit(collection);
+            case COMMIT_WITHIN -> scheduleCommittedEvent(collection);
+            case NONE -> {
+                // Solr makes the changes visible on its own schedule
+            }
+        }
+    }
+
+    private void sendCommit(String collection, CommitMode mode) throws SolrServerException, IOException {
+        final long start = System.nanoTime();
+        boolean success = false;
+        try {
+            if (mode == CommitMode.SOFT) {
+                solrClient.commit(collection, true, true, true);
+            } else {
+                solrClient.commit(collection);
+            }
+            success = true;
+        } finally {
+            metrics.recordCommit(collection, mode, System.nanoTime() - start, success);
+        }
+        eventPublisher.publishEvent(new CollectionCommittedEvent(collection, mode));
+    }
+
+    private void scheduleCommittedEvent(String collection) {
+        final CollectionCommittedEvent event = new CollectionCommittedEvent(collection, CommitMode.COMMIT_WITHIN);
+        try {
+            scheduler.schedule(() -> eventPublisher.publishEvent(event),
+                    commitProperties.within().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The timer has been shut down; publish now rather than lose the event
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    private void scheduleCoalescedCommit(String collection) {
+        pendingCommits.computeIfAbsent(collection, c -> scheduler.schedule(() -> runCoalescedCommit(c),
+                commitProperties.coalesceInterval().toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private void runCoalescedCommit(String collection) {
+        pendingCommits.remove(collection);
+        try {
+            sendCommit(collection, CommitMode.COALESCE);
+        } catch (SolrServerException | IOException | RuntimeException e) {
+            log.warn("Coalesced commit for collection {} failed", collection, e);
+        }
+    }
+
+    /**
+     * Sends any coalesced commits that are still pending and stops the timer thread.
+     */
+    @PreDestroy
+    public void flushPendingCommits() {
+        scheduler.shutdown();
+        for (String collection : List.copyOf(pendingCommits.keySet())) {
+            ScheduledFuture<?> pending = pendingCommits.get(collection);
+            if (pending != null && pending.cancel(false)) {
+                runCoalescedCommit(collection);
+            }
+        }
+    }
+}
@@ -23,22 +23,36 @@ import org.apache.solr.common.SolrInputDocument;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Utility class for processing CSV documents and converting them to SolrInputDocument objects.
  *
  * <p>This class handles the conversion of CSV documents into Solr-compatible format
  * using a schema-less approach where Solr automatically detects field types.</p>
+ *
+ * <p><strong>Streaming:</strong></p>
+ * <p>Records are pulled lazily from the {@link CSVParser} iterator and each one is handed to
+ * the caller as soon as it has been converted, so only the current record is held in memory.
+ * Header names are sanitized once per input and every document is pre-sized to the number
+ * of columns.</p>
  */
 @Component
 public class CsvDocumentCreator implements SolrDocumentCreator {
 
     private static final int MAX_INPUT_SIZE_BYTES = 10 * 1024 * 1024;
 
+    /** Immutable CSV format shared by all calls: first record is the header, values are trimmed */
+    private static final CSVFormat CSV_FORMAT = CSVFormat.Builder.create().setHeader().setTrim(true).build();
+
     /**
      * Creates a list of schema-less SolrInputDocument objects from a CSV string.
      *
@@ -81,41 +95,97 @@ public class CsvDocumentCreator implements SolrDocumentCreator {
      * @return list of SolrInputDocument objects ready for indexing
      * @throws DocumentProcessingException if CSV parsing fails, input validation fails, or the structure is invalid
      * @see SolrInputDocument
+     * @see #stream(String, Consumer)
      * @see FieldNameSanitizer#sanitizeFieldName(String)
      */
     public List<SolrInputDocument> create(String csv) throws DocumentProcessingException {
+        List<SolrInputDocument> documents = new ArrayList<>();
+        stream(csv, documents::add);
+        return documents;
+    }
+
+    /**
+     * Parses a CSV string and passes each record's document to the consumer as soon as it is read.
+     *
+     * <p>Applies the same size limit and conversion rules as {@link #create(String)}, but never
+     * materializes the full document list.</p>
+     *
+     * @param csv  CSV string containing document data (first row must be headers)
+     * @param sink receives each document in input order
+     * @throws DocumentProcessingException if CSV parsing fails or the input is too large
+     */
+    public void stream(String csv, Consumer<SolrInputDocument> sink) throws DocumentProcessingException {
         if (csv.getBytes(StandardCharsets.UTF_8).length > MAX_INPUT_SIZE_BYTES) {
             throw new DocumentProcessingException("Input too large: exceeds maximum size of " + MAX_INPUT_SIZE_BYTES + " bytes");
         }
 
-        List<SolrInputDocument> documents = new ArrayList<>();
+        stream(new StringReader(csv), sink);
+    }
 
-        try (CSVParser parser = new CSVParser(new StringReader(csv),
-                CSVFormat.Builder.create().setHeader().setTrim(true).build())) {
-            List<String> headers = new ArrayList<>(parser.getHeaderNames());
-            headers.replaceAll(FieldNameSanitizer::sanitizeFieldName);
+    /**
+     * Parses CSV from a reader and passes each record's document to the consumer as soon as it is read.
+     *
+     * <p>No size limit is applied because memory use does not grow with the input; this is the
+     * entry point for large payloads such as files.</p>
+     *
+     * @param content reader positioned at the header row; not closed by this method
+     * @param sink    receives each document in input order
+     * @throws DocumentProcessingException if CSV parsing fails
+     */
+    @Override
+    public void stream(Reader content, Consumer<SolrInputDocument> sink) throws DocumentProcessingException {
+        final CSVParser parser;
+        final String[] fieldNames;
+        try {
+            // The parser is deliberately not closed: its only resource is the caller's reader
+            parser = CSV_FORMAT.parse(content);
+            fieldNames = parser.getHeaderNames().stream()
+                    .map(FieldNameSanitizer::sanitizeFieldName)
+                    .toArray(String[]::new);
+        } catch (IOException | UncheckedIOException e) {
+            throw new DocumentProcessingException("Failed to parse CSV document", e);
+        }
 
-            for (CSVRecord csvRecord : parser) {
-                if (csvRecord.size() == 0) {
-                    continue; // Skip empty lines
-                }
+        Iterator<CSVRecord> records = parser.iterator();
+        CSVRecord csvRecord;
+        while ((csvRecord = nextRecord(records)) != null) {
+            if (csvRecord.size() == 0) {
+                continue; // Skip empty lines
+            }
+            // Outside the parse error handling: failures of the sink, such as a cancelled job
+            // or an unreachable Solr, are not parse errors and propagate unchanged
+            sink.accept(createDocument(fieldNames, csvRecord));
+        }
+    }
 
-                SolrInputDocument doc = new SolrInputDocument();
+    /**
+     * Reads the next record, reporting read and syntax errors as {@link DocumentProcessingException}.
+     *
+     * @return the next record, or {@code null} at the end of the input
+     */
+    private static CSVRecord nextRecord(Iterator<CSVRecord> records) throws DocumentProcessingException {
+        try {
+            return records.hasNext() ? records.next() : null;
+        } catch (UncheckedIOException e) {
+            throw new DocumentProcessingException("Failed to parse CSV document", e);
+        }
+    }
 
-                for (int i = 0; i < headers.size() && i < csvRecord.size(); i++) {
-                    String value = csvRecord.get(i);
-                    if (!value.isEmpty()) {
-                        doc.addField(headers.get(i), value);
-                    }
-                }
+    /**
+     * Converts one record into a document sized for the number of columns, skipping empty values.
+     */
+    private SolrInputDocument createDocument(String[] fieldNames, CSVRecord csvRecord) {
+        int columns = Math.min(fieldNames.length, csvRecord.size());
+        SolrInputDocument doc = new SolrInputDocument(LinkedHashMap.newLinkedHashMap(columns));
 
-                documents.add(doc);
+        for (int i = 0; i < columns; i++) {
+            String value = csvRecord.get(i);
+            if (!value.isEmpty()) {
+                doc.addField(fieldNames[i], value);
             }
-        } catch (IOException e) {
-            throw new DocumentProcessingException("Failed to parse CSV document", e);
         }
 
-        return documents;
+        return doc;
     }
 
 }
\ No newline at end of file
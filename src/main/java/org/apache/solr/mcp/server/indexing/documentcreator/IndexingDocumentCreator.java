@@ -20,8 +20,18 @@ import org.apache.solr.common.SolrInputDocument;
 import org.apache.solr.mcp.server.indexing.IndexingService;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 /**
  * Spring Service responsible for creating SolrInputDocument objects from various data formats.
@@ -49,6 +59,8 @@ public class IndexingDocumentCreator {
 
     private static final int MAX_XML_SIZE_BYTES = 10 * 1024 * 1024; // 10MB limit
 
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
     private final XmlDocumentCreator xmlDocumentCreator;
 
     private final CsvDocumentCreator csvDocumentCreator;
@@ -77,6 +89,22 @@ public class IndexingDocumentCreator {
         return jsonDocumentCreator.create(json);
     }
 
+    /**
+     * Streams schema-less SolrInputDocument objects from a JSON string into a consumer.
+     *
+     * <p>Each element of the JSON array is passed to {@code sink} as soon as it has been parsed,
+     * so callers can start indexing before the whole payload has been converted.</p>
+     *
+     * @param json JSON string containing document data (must be an array)
+     * @param sink receives each document in input order
+     * @throws DocumentProcessingException if JSON parsing fails or the structure is invalid
+     * @see JsonDocumentCreator#stream(String, Consumer)
+     */
+    public void streamSchemalessDocumentsFromJson(String json, Consumer<SolrInputDocument> sink)
+            throws DocumentProcessingException {
+        jsonDocumentCreator.stream(json, sink);
+    }
+
     /**
      * Creates a list of schema-less SolrInputDocument objects from a CSV string.
      *
@@ -91,6 +119,22 @@ public class IndexingDocumentCreator {
         return csvDocumentCreator.create(csv);
     }
 
+    /**
+     * Streams schema-less SolrInputDocument objects from a CSV string into a consumer.
+     *
+     * <p>Data rows are read lazily and each is passed to {@code sink} as soon as it has been
+     * converted, so callers can start indexing before the whole payload has been parsed.</p>
+     *
+     * @param csv  CSV string containing document data (first row must be headers)
+     * @param sink receives each document in input order
+     * @throws DocumentProcessingException if CSV parsing fails or the input is too large
+     * @see CsvDocumentCreator#stream(String, Consumer)
+     */
+    public void streamSchemalessDocumentsFromCsv(String csv, Consumer<SolrInputDocument> sink)
+            throws DocumentProcessingException {
+        csvDocumentCreator.stream(csv, sink);
+    }
+
     /**
      * Creates a list of schema-less SolrInputDocument objects from an XML string.
      *
@@ -103,8 +147,130 @@ public class IndexingDocumentCreator {
      */
     public List<SolrInputDocument> createSchemalessDocumentsFromXml(String xml)
             throws DocumentProcessingException {
+        validateXmlInput(xml);
+        return xmlDocumentCreator.create(xml);
+    }
+
+    /**
+     * Streams schema-less SolrInputDocument objects from an XML string into a consumer.
+     *
+     * <p>Applies the same input validation as {@link #createSchemalessDocumentsFromXml(String)}.
+     * Once repeated child elements show that the root holds several documents, each document
+     * is passed to {@code sink} as soon as its closing tag has been parsed.</p>
+     *
+     * @param xml  XML string containing document data
+     * @param sink receives each document in input order
+     * @throws DocumentProcessingException if XML parsing fails
+     * @see XmlDocumentCreator#stream(java.io.Reader, Consumer)
+     */
+    public void streamSchemalessDocumentsFromXml(String xml, Consumer<SolrInputDocument> sink)
+            throws DocumentProcessingException {
+        validateXmlInput(xml);
+        xmlDocumentCreator.stream(new StringReader(xml), sink);
+    }
+
+    /**
+     * Returns whether a file can be indexed, based on its {@code .json}, {@code .csv} or
+     * {@code .xml} extension (case-insensitive).
+     *
+     * @param file the file to check
+     * @return true if a document creator exists for the file's format
+     */
+    public boolean isSupportedFile(Path file) {
+        return creatorFor(file) != null;
+    }
 
-        // Input validation
+    /**
+     * Streams schema-less SolrInputDocument objects from a local file into a consumer.
+     *
+     * <p>The format is chosen from the file extension. The file is read sequentially through a
+     * buffered stream and parsed incrementally, so memory use does not depend on file size and
+     * the string size limits of the other methods do not apply.</p>
+     *
+     * @param file the JSON, CSV or XML file to read
+     * @param sink receives each document in input order
+     * @throws IOException if the file cannot be opened or read
+     * @throws DocumentProcessingException if the file cannot be parsed
+     * @throws IllegalArgumentException if the file extension is not supported
+     * @see #isSupportedFile(Path)
+     */
+    public void streamSchemalessDocumentsFromFile(Path file, Consumer<SolrInputDocument> sink)
+            throws IOException, DocumentProcessingException {
+        streamSchemalessDocumentsFromFile(file, sink, bytes -> {
+        });
+    }
+
+    /**
+     * Streams schema-less SolrInputDocument objects from a local file, reporting read progress.
+     *
+     * @param file      the JSON, CSV or XML file to read
+     * @param sink      receives each document in input order
+     * @param bytesRead receives the number of bytes read from the file, once per buffer refill
+     * @throws IOException if the file cannot be opened or read
+     * @throws DocumentProcessingException if the file cannot be parsed
+     * @throws IllegalArgumentException if the file extension is not supported
+     * @see #streamSchemalessDocumentsFromFile(Path, Consumer)
+     */
+    public void streamSchemalessDocumentsFromFile(Path file, Consumer<SolrInputDocument> sink, LongConsumer bytesRead)
+            throws IOException, DocumentProcessingException {
+        SolrDocumentCreator creator = creatorFor(file);
+        if (creator == null) {
+            throw new IllegalArgumentException("Unsupported file type (expected .json, .csv or .xml): " + file);
+        }
+
+        try (InputStream in = new BufferedInputStream(new ProgressInputStream(Files.newInputStream(file), bytesRead),
+                FILE_BUFFER_SIZE)) {
+            creator.stream(in, sink);
+        }
+    }
+
+    private SolrDocumentCreator creatorFor(Path file) {
+        Path fileName = file.getFileName();
+        String name = fileName == null ? "" : fileName.toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".json")) {
+            return jsonDocumentCreator;
+        }
+        if (name.endsWith(".csv")) {
+            return csvDocumentCreator;
+        }
+        if (name.endsWith(".xml")) {
+            return xmlDocumentCreator;
+        }
+        return null;
+    }
+
+    /**
+     * Reports the size of every bulk read; sits below the buffer so it is called once per refill.
+     */
+    private static final class ProgressInputStream extends FilterInputStream {
+
+        private final LongConsumer bytesRead;
+
+        ProgressInputStream(InputStream in, LongConsumer bytesRead) {
+            super(in);
+            this.bytesRead = bytesRead;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                bytesRead.accept(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                bytesRead.accept(count);
+            }
+            return count;
+        }
+    }
+
+    private void validateXmlInput(String xml) {
         if (xml == null || xml.trim().isEmpty()) {
             throw new IllegalArgumentException("XML input cannot be null or empty");
         }
@@ -113,8 +279,6 @@ public class IndexingDocumentCreator {
         if (xmlBytes.length > MAX_XML_SIZE_BYTES) {
             throw new IllegalArgumentException("XML document too large: " + xmlBytes.length + " bytes (max: " + MAX_XML_SIZE_BYTES + ")");
         }
-
-        return xmlDocumentCreator.create(xml);
     }
 
 }
\ No newline at end of file
@@ -16,29 +16,43 @@
  */
 package org.apache.solr.mcp.server.indexing.documentcreator;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
 import org.apache.solr.common.SolrInputDocument;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Utility class for processing JSON documents and converting them to SolrInputDocument objects.
  *
  * <p>This class handles the conversion of JSON documents into Solr-compatible format
  * using a schema-less approach where Solr automatically detects field types.</p>
+ *
+ * <p><strong>Streaming:</strong></p>
+ * <p>Parsing works directly on {@link JsonParser} tokens rather than a {@code JsonNode} tree.
+ * Each element of the top-level array is turned into a document as soon as its closing brace
+ * is read and handed to the caller's consumer, so only one document is held in memory at a
+ * time. The {@link JsonFactory} is thread-safe and shared by all calls.</p>
  */
 @Component
 public class JsonDocumentCreator implements SolrDocumentCreator {
 
     private static final int MAX_INPUT_SIZE_BYTES = 10 * 1024 * 1024;
 
+    /** Shared, thread-safe factory for streaming parsers; leaves caller-supplied readers open */
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
+
     /**
      * Creates a list of schema-less SolrInputDocument objects from a JSON string.
      *
@@ -77,42 +91,115 @@ public class JsonDocumentCreator implements SolrDocumentCreator {
      * @return list of SolrInputDocument objects ready for indexing
      * @throws DocumentProcessingException if JSON parsing fails, input validation fails, or the structure is invalid
      * @see SolrInputDocument
-     * @see #addAllFieldsFlat(SolrInputDocument, JsonNode, String)
+     * @see #stream(String, Consumer)
      * @see FieldNameSanitizer#sanitizeFieldName(String)
      */
     public List<SolrInputDocument> create(String json) throws DocumentProcessingException {
+        List<SolrInputDocument> documents = new ArrayList<>();
+        stream(json, documents::add);
+        return documents;
+    }
+
+    /**
+     * Parses a JSON string and passes each document to the consumer as soon as it is complete.
+     *
+     * <p>Applies the same size limit and flattening rules as {@link #create(String)}, but never
+     * materializes the full document list.</p>
+     *
+     * @param json JSON string containing document data (must be an array)
+     * @param sink receives each document in input order
+     * @throws DocumentProcessingException if JSON parsing fails or the input is too large
+     */
+    public void stream(String json, Consumer<SolrInputDocument> sink) throws DocumentProcessingException {
         if (json.getBytes(StandardCharsets.UTF_8).length > MAX_INPUT_SIZE_BYTES) {
             throw new DocumentProcessingException("Input too large: exceeds maximum size of " + MAX_INPUT_SIZE_BYTES + " bytes");
         }
 
-        List<SolrInputDocument> documents = new ArrayList<>();
-
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode rootNode = mapper.readTree(json);
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            readDocuments(parser, sink);
+        } catch (IOException e) {
+            throw new DocumentProcessingException("Failed to parse JSON document", e);
+        }
+    }
 
-            if (rootNode.isArray()) {
-                for (JsonNode item : rootNode) {
-                    SolrInputDocument doc = new SolrInputDocument();
+    /**
+     * Parses JSON from a reader and passes each document to the consumer as soon as it is complete.
+     *
+     * <p>No size limit is applied because memory use does not grow with the input; this is the
+     * entry point for large payloads such as files.</p>
+     *
+     * @param content reader positioned at a JSON array of documents; not closed by this method
+     * @param sink    receives each document in input order
+     * @throws DocumentProcessingException if JSON parsing fails
+     */
+    @Override
+    public void stream(Reader content, Consumer<SolrInputDocument> sink) throws DocumentProcessingException {
+        try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+            readDocuments(parser, sink);
+        } catch (IOException e) {
+            throw new DocumentProcessingException("Failed to parse JSON document", e);
+        }
+    }
 
-                    // Add all fields without type suffixes - let Solr figure it out
-                    addAllFieldsFlat(doc, item, "");
-                    documents.add(doc);
-                }
-            }
+    /**
+     * Parses JSON from a byte stream and passes each document to the consumer as soon as it is complete.
+     *
+     * <p>Jackson detects the Unicode encoding itself and decodes UTF-8 directly from the byte
+     * buffer, which avoids a separate character-decoding pass for large files.</p>
+     *
+     * @param content stream positioned at a JSON array of documents; not closed by this method
+     * @param sink    receives each document in input order
+     * @throws DocumentProcessingException if JSON parsing fails
+     */
+    @Override
+    public void stream(InputStream content, Consumer<SolrInputDocument> sink) throws DocumentProcessingException {
+        try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+            readDocuments(parser, sink);
         } catch (IOException e) {
             throw new DocumentProcessingException("Failed to parse JSON document", e);
         }
+    }
 
-        return documents;
+    /**
+     * Reads the top-level array and emits one document per element.
+     *
+     * <p>A top-level value that is not an array produces no documents, but is still read to the
+     * end so that malformed input is reported. Array elements that are not objects produce
+     * empty documents, matching the behaviour of the previous tree-based implementation.</p>
+     *
+     * @param parser parser positioned before the first token
+     * @param sink   receives each document in input order
+     * @throws IOException if the input is not well-formed JSON
+     */
+    private void readDocuments(JsonParser parser, Consumer<SolrInputDocument> sink) throws IOException {
+        JsonToken root = parser.nextToken();
+        if (root == null) {
+            return;
+        }
+        if (root != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            SolrInputDocument doc = new SolrInputDocument();
+            if (token == JsonToken.START_OBJECT) {
+                // Add all fields without type suffixes - let Solr figure it out
+                addAllFieldsFlat(doc, parser, "");
+            } else {
+                parser.skipChildren();
+            }
+            sink.accept(doc);
+        }
     }
 
     /**
-     * Recursively flattens JSON nodes and adds them as fields to a SolrInputDocument.
+     * Recursively flattens a JSON object and adds its fields to a SolrInputDocument.
      *
      * <p>This method implements the core logic for converting nested JSON structures
      * into flat field names that Solr can efficiently index and search. It handles
-     * various JSON node types appropriately while maintaining data integrity.</p>
+     * various JSON token types appropriately while maintaining data integrity.</p>
      *
      * <p><strong>Processing Logic:</strong></p>
      * <ul>
@@ -123,36 +210,41 @@ public class JsonDocumentCreator implements SolrDocumentCreator {
      * </ul>
      *
      * @param doc    the SolrInputDocument to add fields to
-     * @param node   the JSON node to process
+     * @param parser parser positioned on the object's {@code START_OBJECT} token; left on its {@code END_OBJECT}
      * @param prefix current field name prefix for nested object flattening
-     * @see #convertJsonValue(JsonNode)
+     * @throws IOException if the input is not well-formed JSON
+     * @see #convertJsonValue(JsonParser)
      * @see FieldNameSanitizer#sanitizeFieldName(String)
      */
-    private void addAllFieldsFlat(SolrInputDocument doc, JsonNode node, String prefix) {
-        Set<Map.Entry<String, JsonNode>> fields = node.properties();
-        fields.forEach(field -> processFieldValue(doc, field.getValue(),
-                FieldNameSanitizer.sanitizeFieldName(prefix + field.getKey())));
+    private void addAllFieldsFlat(SolrInputDocument doc, JsonParser parser, String prefix) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = FieldNameSanitizer.sanitizeFieldName(prefix + parser.currentName());
+            parser.nextToken();
+            processFieldValue(doc, parser, fieldName);
+        }
     }
 
     /**
-     * Processes the provided field value and adds it to the given SolrInputDocument.
+     * Processes the current field value and adds it to the given SolrInputDocument.
      * Handles cases where the field value is an array, object, or a simple value.
      *
      * @param doc       the SolrInputDocument to which the field value will be added
-     * @param value     the JsonNode representing the field value to be processed
+     * @param parser    parser positioned on the first token of the field value
      * @param fieldName the name of the field to be added to the SolrInputDocument
+     * @throws IOException if the input is not well-formed JSON
      */
-    private void processFieldValue(SolrInputDocument doc, JsonNode value, String fieldName) {
-        if (value.isNull()) {
+    private void processFieldValue(SolrInputDocument doc, JsonParser parser, String fieldName) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
             return;
         }
 
-        if (value.isArray()) {
-            processArrayField(doc, value, fieldName);
-        } else if (value.isObject()) {
-            addAllFieldsFlat(doc, value, fieldName + "_");
+        if (token == JsonToken.START_ARRAY) {
+            processArrayField(doc, parser, fieldName);
+        } else if (token == JsonToken.START_OBJECT) {
+            addAllFieldsFlat(doc, parser, fieldName + "_");
         } else {
-            doc.addField(fieldName, convertJsonValue(value));
+            doc.addField(fieldName, convertJsonValue(parser));
         }
     }
 
@@ -160,15 +252,25 @@ public class JsonDocumentCreator implements SolrDocumentCreator {
      * Processes a JSON array field and adds its non-object elements to the specified field
      * in the given SolrInputDocument.
      *
-     * @param doc        the SolrInputDocument to which the processed field will be added
-     * @param arrayValue the JSON array node to process
-     * @param fieldName  the name of the field in the SolrInputDocument to which the array values will be added
+     * <p>Nested arrays and {@code null} elements are kept as their text form ({@code ""} and
+     * {@code "null"}), exactly as the tree-based implementation did.</p>
+     *
+     * @param doc       the SolrInputDocument to which the processed field will be added
+     * @param parser    parser positioned on the array's {@code START_ARRAY} token; left on its {@code END_ARRAY}
+     * @param fieldName the name of the field in the SolrInputDocument to which the array values will be added
+     * @throws IOException if the input is not well-formed JSON
      */
-    private void processArrayField(SolrInputDocument doc, JsonNode arrayValue, String fieldName) {
+    private void processArrayField(SolrInputDocument doc, JsonParser parser, String fieldName) throws IOException {
         List<Object> values = new ArrayList<>();
-        for (JsonNode item : arrayValue) {
-            if (!item.isObject()) {
-                values.add(convertJsonValue(item));
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token == JsonToken.START_OBJECT) {
+                parser.skipChildren();
+            } else if (token == JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                values.add("");
+            } else {
+                values.add(convertJsonValue(parser));
             }
         }
         if (!values.isEmpty()) {
@@ -177,7 +279,7 @@ public class JsonDocumentCreator implements SolrDocumentCreator {
     }
 
     /**
-     * Converts a JsonNode value to the appropriate Java object type for Solr indexing.
+     * Converts the current scalar JSON token to the appropriate Java object type for Solr indexing.
      *
      * <p>This method provides type-aware conversion of JSON values to their corresponding
      * Java types, ensuring that Solr receives properly typed data for optimal field
@@ -192,16 +294,21 @@ public class JsonDocumentCreator implements SolrDocumentCreator {
      *   <li><strong>String</strong>: All other values → Java String</li>
      * </ul>
      *
-     * @param value the JsonNode value to convert
+     * @param parser parser positioned on a scalar value token
      * @return the converted Java object with appropriate type
-     * @see JsonNode
+     * @throws IOException if the value cannot be read
+     * @see JsonParser.NumberType
      */
-    private Object convertJsonValue(JsonNode value) {
-        if (value.isBoolean()) return value.asBoolean();
-        if (value.isLong()) return value.asLong();
-        if (value.isDouble()) return value.asDouble();
-        if (value.isInt()) return value.asInt();
-        return value.asText();
+    private Object convertJsonValue(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) return parser.getBooleanValue();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            JsonParser.NumberType numberType = parser.getNumberType();
+            if (numberType == JsonParser.NumberType.LONG) return parser.getLongValue();
+            if (numberType == JsonParser.NumberType.INT) return parser.getIntValue();
+        }
+        if (token == JsonToken.VALUE_NUMBER_FLOAT) return parser.getDoubleValue();
+        return parser.getText();
     }
 
-}
\ No newline at end of file
+}
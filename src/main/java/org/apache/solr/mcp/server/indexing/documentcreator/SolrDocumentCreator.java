@@ -18,7 +18,14 @@ package org.apache.solr.mcp.server.indexing.documentcreator;
 
 import org.apache.solr.common.SolrInputDocument;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface defining the contract for creating SolrInputDocument objects from various data formats.
@@ -89,4 +96,41 @@ public interface SolrDocumentCreator {
      * @throws IllegalArgumentException    if content is null (implementation-dependent)
      */
     List<SolrInputDocument> create(String content) throws DocumentProcessingException;
+
+    /**
+     * Parses content from a reader and passes each document to the consumer in input order.
+     *
+     * <p>Streaming lets callers start sending documents to Solr while the rest of the input
+     * is still being parsed. Implementations that can parse incrementally should override
+     * this method so that memory use stays flat regardless of input size; the default
+     * implementation reads the whole input and delegates to {@link #create(String)}.</p>
+     *
+     * @param content reader supplying the content in this creator's format; not closed by this method
+     * @param sink    receives each document as soon as it is available
+     * @throws DocumentProcessingException if the content cannot be read, parsed or converted
+     */
+    default void stream(Reader content, Consumer<SolrInputDocument> sink) throws DocumentProcessingException {
+        StringWriter text = new StringWriter();
+        try {
+            content.transferTo(text);
+        } catch (IOException e) {
+            throw new DocumentProcessingException("Failed to read document content", e);
+        }
+        create(text.toString()).forEach(sink);
+    }
+
+    /**
+     * Parses content from a byte stream and passes each document to the consumer in input order.
+     *
+     * <p>The default implementation decodes the bytes as UTF-8 and delegates to
+     * {@link #stream(Reader, Consumer)}. Formats whose parsers work on bytes directly, or that
+     * declare their own encoding, should override this method.</p>
+     *
+     * @param content stream supplying the content in this creator's format; not closed by this method
+     * @param sink    receives each document as soon as it is available
+     * @throws DocumentProcessingException if the content cannot be read, parsed or converted
+     */
+    default void stream(InputStream content, Consumer<SolrInputDocument> sink) throws DocumentProcessingException {
+        stream(new InputStreamReader(content, StandardCharsets.UTF_8), sink);
+    }
 }
@@ -18,33 +18,45 @@ package org.apache.solr.mcp.server.indexing.documentcreator;
 
 import org.apache.solr.common.SolrInputDocument;
 import org.springframework.stereotype.Component;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Utility class for processing XML documents and converting them to SolrInputDocument objects.
  *
  * <p>This class handles the conversion of XML documents into Solr-compatible format
  * using a schema-less approach where Solr automatically detects field types.</p>
+ *
+ * <p><strong>Streaming:</strong></p>
+ * <p>Parsing uses a pull-based {@link XMLStreamReader} instead of building a DOM. Children of
+ * the root element are read one at a time into a small element tree, flattened into a
+ * document and released, so memory use is bounded by the largest single document rather
+ * than by the whole payload. The {@link XMLInputFactory} is configured once and shared.</p>
+ *
+ * <p><strong>Security:</strong></p>
+ * <p>DOCTYPE declarations are rejected outright, DTD support and external entities are
+ * disabled, and external DTD/schema access is blocked, which prevents XXE and entity
+ * expansion attacks.</p>
  */
 @Component
 public class XmlDocumentCreator implements SolrDocumentCreator {
 
+    /** Shared factory with XXE hardening; configured once, then only used to create readers */
+    private static final XMLInputFactory XML_INPUT_FACTORY = createSecureXmlInputFactory();
+
     /**
      * Creates a list of SolrInputDocument objects from XML content.
      *
@@ -59,117 +71,228 @@ public class XmlDocumentCreator implements SolrDocumentCreator {
      * @param xml the XML content to process
      * @return list of SolrInputDocument objects ready for indexing
      * @throws DocumentProcessingException if XML parsing fails, parser configuration fails, or structural errors occur
+     * @see #stream(Reader, Consumer)
      */
     public List<SolrInputDocument> create(String xml) throws DocumentProcessingException {
+        List<SolrInputDocument> documents = new ArrayList<>();
+        stream(new StringReader(xml), documents::add);
+        return documents;
+    }
+
+    /**
+     * Parses XML from a reader and passes each document to the consumer as soon as it is complete.
+     *
+     * <p>The root's children are buffered only until a tag name repeats. From that point on
+     * the children are known to be separate documents, so the buffered ones are emitted and
+     * every further child is emitted as soon as its end tag is read. If the root ends without
+     * a repeated child, the whole root becomes a single document, exactly as before.</p>
+     *
+     * @param content reader supplying the XML; not closed by this method
+     * @param sink    receives each non-empty document in input order
+     * @throws DocumentProcessingException if the XML is malformed or contains a DOCTYPE declaration
+     */
+    @Override
+    public void stream(Reader content, Consumer<SolrInputDocument> sink) throws DocumentProcessingException {
+        XMLStreamReader reader = null;
         try {
-            Element rootElement = parseXmlDocument(xml);
-            return processRootElement(rootElement);
-        } catch (ParserConfigurationException e) {
-            throw new DocumentProcessingException("Failed to configure XML parser", e);
-        } catch (SAXException e) {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(content);
+            readDocuments(reader, sink);
+        } catch (XMLStreamException e) {
             throw new DocumentProcessingException("Failed to parse XML document: structural error", e);
-        } catch (IOException e) {
-            throw new DocumentProcessingException("Failed to read XML document", e);
+        } finally {
+            closeQuietly(reader);
         }
     }
 
     /**
-     * Parses XML string into a DOM Element.
+     * Parses XML from a byte stream and passes each document to the consumer as soon as it is complete.
+     *
+     * <p>The parser honours the encoding given in the XML declaration, falling back to UTF-8,
+     * so files in other encodings are read correctly. Document boundaries are detected exactly
+     * as in {@link #stream(Reader, Consumer)}.</p>
+     *
+     * @param content stream supplying the XML; not closed by this method
+     * @param sink    receives each non-empty document in input order
+     * @throws DocumentProcessingException if the XML is malformed or contains a DOCTYPE declaration
      */
-    private Element parseXmlDocument(String xml) throws ParserConfigurationException, SAXException, IOException {
-        DocumentBuilderFactory factory = createSecureDocumentBuilderFactory();
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        Document doc = builder.parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
-        return doc.getDocumentElement();
+    @Override
+    public void stream(InputStream content, Consumer<SolrInputDocument> sink) throws DocumentProcessingException {
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(content);
+            readDocuments(reader, sink);
+        } catch (XMLStreamException e) {
+            throw new DocumentProcessingException("Failed to parse XML document: structural error", e);
+        } finally {
+            closeQuietly(reader);
+        }
     }
 
     /**
-     * Creates a secure DocumentBuilderFactory with XXE protection.
+     * Creates a secure XMLInputFactory with XXE protection.
+     *
+     * <p>The JDK's built-in implementation is requested explicitly so that the hardening
+     * properties are always supported, whichever StAX provider happens to be on the classpath.
+     * Namespace processing is disabled to match the tag and attribute names the DOM-based
+     * parser used to report, such as {@code ns:item} and {@code xmlns}.</p>
      */
-    private DocumentBuilderFactory createSecureDocumentBuilderFactory() throws ParserConfigurationException {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-        factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-        factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-        factory.setXIncludeAware(false);
-        factory.setExpandEntityReferences(false);
+    private static XMLInputFactory createSecureXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newDefaultFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        factory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
         return factory;
     }
 
     /**
-     * Processes the root element and determines document structure strategy.
+     * Reads the root element and determines document structure strategy.
      */
-    private List<SolrInputDocument> processRootElement(Element rootElement) {
-        List<Element> childElements = extractChildElements(rootElement);
-        
-        if (shouldTreatChildrenAsDocuments(childElements)) {
-            return createDocumentsFromChildren(childElements);
-        } else {
-            return createSingleDocument(rootElement);
+    private void readDocuments(XMLStreamReader reader, Consumer<SolrInputDocument> sink) throws XMLStreamException {
+        if (!advanceToRootElement(reader)) {
+            return;
+        }
+
+        String rootName = qualifiedName(reader);
+        List<Map.Entry<String, String>> rootAttributes = readAttributes(reader);
+        TextCollector rootText = new TextCollector();
+
+        List<XmlElement> bufferedChildren = new ArrayList<>();
+        Set<String> seenChildNames = new HashSet<>();
+        boolean childrenAreDocuments = false;
+
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                rootText.endRun();
+                XmlElement child = readElement(reader);
+                if (childrenAreDocuments) {
+                    emitDocument(child, sink);
+                } else {
+                    bufferedChildren.add(child);
+                    if (!seenChildNames.add(child.name())) {
+                        childrenAreDocuments = true;
+                        bufferedChildren.forEach(buffered -> emitDocument(buffered, sink));
+                        bufferedChildren.clear();
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            } else {
+                handleContentEvent(reader, event, rootText);
+            }
+        }
+
+        if (!childrenAreDocuments) {
+            emitDocument(new XmlElement(rootName, rootAttributes, rootText.finish(), bufferedChildren), sink);
+        }
+
+        // Consume trailing comments and whitespace so that content after the root is reported as an error
+        while (reader.hasNext()) {
+            rejectDoctype(reader.next());
         }
     }
 
     /**
-     * Extracts child elements from the root element.
+     * Moves the reader to the root start tag, rejecting any DOCTYPE declaration on the way.
+     *
+     * @return false if the input has no root element
      */
-    private List<Element> extractChildElements(Element rootElement) {
-        NodeList children = rootElement.getChildNodes();
-        List<Element> childElements = new ArrayList<>();
-        
-        for (int i = 0; i < children.getLength(); i++) {
-            if (children.item(i).getNodeType() == Node.ELEMENT_NODE) {
-                childElements.add((Element) children.item(i));
+    private boolean advanceToRootElement(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            rejectDoctype(event);
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
             }
         }
-        
-        return childElements;
+        return false;
     }
 
     /**
-     * Determines if child elements should be treated as separate documents.
+     * Reads the element at the current start tag, including its whole subtree.
+     *
+     * <p>On return the reader is positioned on the element's end tag.</p>
      */
-    private boolean shouldTreatChildrenAsDocuments(List<Element> childElements) {
-        Map<String, Integer> childElementCounts = new HashMap<>();
-        
-        for (Element child : childElements) {
-            String tagName = child.getTagName();
-            childElementCounts.put(tagName, childElementCounts.getOrDefault(tagName, 0) + 1);
+    private XmlElement readElement(XMLStreamReader reader) throws XMLStreamException {
+        String name = qualifiedName(reader);
+        List<Map.Entry<String, String>> attributes = readAttributes(reader);
+        List<XmlElement> children = new ArrayList<>();
+        TextCollector text = new TextCollector();
+
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                text.endRun();
+                children.add(readElement(reader));
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return new XmlElement(name, attributes, text.finish(), children);
+            } else {
+                handleContentEvent(reader, event, text);
+            }
         }
-        
-        return childElementCounts.values().stream().anyMatch(count -> count > 1);
     }
 
     /**
-     * Creates documents from child elements (multiple documents strategy).
+     * Handles an event inside an element other than a start or end tag.
+     *
+     * <p>Character data is collected; comments and processing instructions end the current
+     * text run, just as they separate text nodes in a DOM.</p>
      */
-    private List<SolrInputDocument> createDocumentsFromChildren(List<Element> childElements) {
-        List<SolrInputDocument> documents = new ArrayList<>();
-        
-        for (Element childElement : childElements) {
-            SolrInputDocument solrDoc = new SolrInputDocument();
-            addXmlElementFields(solrDoc, childElement, "");
-            if (!solrDoc.isEmpty()) {
-                documents.add(solrDoc);
-            }
+    private void handleContentEvent(XMLStreamReader reader, int event, TextCollector text) {
+        rejectDoctype(event);
+        switch (event) {
+            case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                    text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            default -> text.endRun();
         }
-        
-        return documents;
     }
 
     /**
-     * Creates a single document from the root element.
+     * Fails on a DOCTYPE declaration; DTDs are never needed for schema-less indexing.
      */
-    private List<SolrInputDocument> createSingleDocument(Element rootElement) {
-        List<SolrInputDocument> documents = new ArrayList<>();
+    private void rejectDoctype(int event) {
+        if (event == XMLStreamConstants.DTD) {
+            throw new DocumentProcessingException("DOCTYPE declarations are not allowed in XML documents");
+        }
+    }
+
+    /**
+     * Returns the element's tag name as written, including any namespace prefix.
+     */
+    private String qualifiedName(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        return prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+    }
+
+    /**
+     * Reads the attributes of the current start tag as name/value pairs in document order.
+     */
+    private List<Map.Entry<String, String>> readAttributes(XMLStreamReader reader) {
+        int count = reader.getAttributeCount();
+        if (count == 0) {
+            return List.of();
+        }
+        List<Map.Entry<String, String>> attributes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String prefix = reader.getAttributePrefix(i);
+            String localName = reader.getAttributeLocalName(i);
+            String name = prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+            attributes.add(Map.entry(name, reader.getAttributeValue(i)));
+        }
+        return attributes;
+    }
+
+    /**
+     * Flattens an element into a new document and passes it on unless it is empty.
+     */
+    private void emitDocument(XmlElement element, Consumer<SolrInputDocument> sink) {
         SolrInputDocument solrDoc = new SolrInputDocument();
-        addXmlElementFields(solrDoc, rootElement, "");
-        
+        addXmlElementFields(solrDoc, element, "");
         if (!solrDoc.isEmpty()) {
-            documents.add(solrDoc);
+            sink.accept(solrDoc);
         }
-        
-        return documents;
     }
 
     /**
@@ -200,93 +323,84 @@ public class XmlDocumentCreator implements SolrDocumentCreator {
      * @param prefix  current field name prefix for nested element flattening
      * @see FieldNameSanitizer#sanitizeFieldName(String)
      */
-    private void addXmlElementFields(SolrInputDocument doc, Element element, String prefix) {
-        String elementName = FieldNameSanitizer.sanitizeFieldName(element.getTagName());
+    private void addXmlElementFields(SolrInputDocument doc, XmlElement element, String prefix) {
+        String elementName = FieldNameSanitizer.sanitizeFieldName(element.name());
         String currentPrefix = prefix.isEmpty() ? elementName : prefix + "_" + elementName;
 
         processXmlAttributes(doc, element, prefix, currentPrefix);
 
-        NodeList children = element.getChildNodes();
-        boolean hasChildElements = hasChildElements(children);
+        if (!element.text().isEmpty()) {
+            doc.addField(currentPrefix, element.text());
+        }
 
-        processXmlTextContent(doc, elementName, currentPrefix, prefix, hasChildElements, children);
-        processXmlChildElements(doc, children, currentPrefix);
+        for (XmlElement child : element.children()) {
+            addXmlElementFields(doc, child, currentPrefix);
+        }
     }
 
     /**
      * Processes XML element attributes and adds them as fields to the document.
      */
-    private void processXmlAttributes(SolrInputDocument doc, Element element, String prefix, String currentPrefix) {
-        if (!element.hasAttributes()) {
-            return;
-        }
-
-        for (int i = 0; i < element.getAttributes().getLength(); i++) {
-            Node attr = element.getAttributes().item(i);
-            String attrName = FieldNameSanitizer.sanitizeFieldName(attr.getNodeName()) + "_attr";
+    private void processXmlAttributes(SolrInputDocument doc, XmlElement element, String prefix, String currentPrefix) {
+        for (Map.Entry<String, String> attr : element.attributes()) {
+            String attrName = FieldNameSanitizer.sanitizeFieldName(attr.getKey()) + "_attr";
             String fieldName = prefix.isEmpty() ? attrName : currentPrefix + "_" + attrName;
-            String attrValue = attr.getNodeValue();
+            String attrValue = attr.getValue().trim();
 
-            if (attrValue != null && !attrValue.trim().isEmpty()) {
-                doc.addField(fieldName, attrValue.trim());
+            if (!attrValue.isEmpty()) {
+                doc.addField(fieldName, attrValue);
             }
         }
     }
 
-    /**
-     * Checks if the node list contains any child elements.
-     */
-    private boolean hasChildElements(NodeList children) {
-        for (int i = 0; i < children.getLength(); i++) {
-            if (children.item(i).getNodeType() == Node.ELEMENT_NODE) {
-                return true;
-            }
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            // Closing a stream reader never closes the underlying input, nothing left to release
         }
-        return false;
     }
 
     /**
-     * Processes XML text content and adds it as a field to the document.
+     * Minimal element tree for a single document: tag name, attributes, text and child elements.
      */
-    private void processXmlTextContent(SolrInputDocument doc, String elementName,
-                                       String currentPrefix, String prefix, boolean hasChildElements,
-                                       NodeList children) {
-        String textContent = extractTextContent(children);
-        if (!textContent.isEmpty()) {
-            String fieldName = prefix.isEmpty() ? elementName : currentPrefix;
-            doc.addField(fieldName, textContent);
-        }
+    private record XmlElement(String name, List<Map.Entry<String, String>> attributes, String text,
+                              List<XmlElement> children) {
     }
 
     /**
-     * Extracts text content from child nodes.
+     * Collects an element's direct text the same way DOM text nodes were combined: each
+     * contiguous run of character data is trimmed, blank runs are dropped, and the remaining
+     * runs are joined with single spaces.
      */
-    private String extractTextContent(NodeList children) {
-        StringBuilder textContent = new StringBuilder();
-
-        for (int i = 0; i < children.getLength(); i++) {
-            Node child = children.item(i);
-            if (child.getNodeType() == Node.TEXT_NODE) {
-                String text = child.getNodeValue();
-                if (text != null && !text.trim().isEmpty()) {
-                    textContent.append(text.trim()).append(" ");
+    private static final class TextCollector {
+
+        private final StringBuilder run = new StringBuilder();
+
+        private final StringBuilder text = new StringBuilder();
+
+        void append(char[] characters, int start, int length) {
+            run.append(characters, start, length);
+        }
+
+        void endRun() {
+            String trimmed = run.toString().trim();
+            if (!trimmed.isEmpty()) {
+                if (!text.isEmpty()) {
+                    text.append(' ');
                 }
+                text.append(trimmed);
             }
+            run.setLength(0);
         }
 
-        return textContent.toString().trim();
-    }
-
-    /**
-     * Recursively processes XML child elements.
-     */
-    private void processXmlChildElements(SolrInputDocument doc, NodeList children, String currentPrefix) {
-        for (int i = 0; i < children.getLength(); i++) {
-            Node child = children.item(i);
-            if (child.getNodeType() == Node.ELEMENT_NODE) {
-                addXmlElementFields(doc, (Element) child, currentPrefix);
-            }
+        String finish() {
+            endRun();
+            return text.toString();
         }
     }
 
-}
\ No newline at end of file
+}
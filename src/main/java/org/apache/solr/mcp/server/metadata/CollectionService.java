@@ -28,16 +28,36 @@ import org.apache.solr.client.solrj.request.LukeRequest;
 import org.apache.solr.client.solrj.response.*;
 import org.apache.solr.common.params.CoreAdminParams;
 import org.apache.solr.common.params.ModifiableSolrParams;
+import org.apache.solr.common.params.SolrParams;
 import org.apache.solr.common.util.NamedList;
 import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.apache.solr.mcp.server.indexing.CollectionCommittedEvent;
+import org.apache.solr.mcp.server.metadata.MetricsApiReader.CollectionMetrics;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springaicommunity.mcp.annotation.McpToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.apache.solr.mcp.server.metadata.CollectionUtils.*;
 
@@ -76,6 +96,20 @@ import static org.apache.solr.mcp.server.metadata.CollectionUtils.*;
  * <p>The service implements robust error handling with graceful degradation. Failed operations
  * return null values rather than throwing exceptions (except where validation requires it),
  * allowing partial metrics collection when some endpoints are unavailable.</p>
+ *
+ * <p><strong>Metrics Source:</strong></p>
+ * <p>Cache and request handler metrics are read from the per-collection {@code /admin/mbeans}
+ * handler. Setting {@code solr.metadata.stats.metrics-source=metrics} switches to the
+ * node-level {@code /admin/metrics} API, filtered on the server side to the values reported
+ * here and adding latency percentiles (see {@link MetricsApiReader}). That API only covers the
+ * replicas hosted on the node behind {@code solr.url}; a collection without a core there is
+ * reported in {@link SolrMetrics#errors()}.</p>
+ *
+ * <p><strong>Collection Registry:</strong></p>
+ * <p>Collection names passed to the tools are validated against a cached list of collections
+ * rather than a fresh {@link #listCollections()} request per check. The list is refreshed in
+ * the background once it is older than {@code solr.metadata.registry.ttl}, and right away when
+ * a name is not found in it.</p>
  * 
  * <p><strong>Example Usage:</strong></p>
  * <pre>{@code
@@ -116,6 +150,11 @@ public class CollectionService {
     /** Combined category parameter value for both query and update handler MBeans requests */
     private static final String HANDLER_CATEGORIES = "QUERYHANDLER,UPDATEHANDLER";
 
+    /**
+     * Category parameter value fetching cache and handler MBeans in one request
+     */
+    private static final String STATS_CATEGORIES = CACHE_CATEGORY + "," + HANDLER_CATEGORIES;
+
     /** Universal Solr query pattern to match all documents in a collection */
     private static final String ALL_DOCUMENTS_QUERY = "*:*";
 
@@ -134,6 +173,21 @@ public class CollectionService {
     /** JSON format specification for response writer type */
     private static final String JSON_FORMAT = "json";
 
+    /**
+     * Luke parameter selecting which sections are returned
+     */
+    private static final String SHOW_PARAM = "show";
+
+    /**
+     * Luke show style returning index-level information only, without per-field statistics
+     */
+    private static final String INDEX_SHOW_STYLE = "index";
+
+    /**
+     * Largest number of top terms the {@code get_field_stats} tool returns per field
+     */
+    private static final int MAX_TOP_TERMS = 100;
+
     // ========================================
     // Constants for Response Parsing
     // ========================================
@@ -191,6 +245,15 @@ public class CollectionService {
     /** Field name for cache size statistics */
     private static final String SIZE_FIELD = "size";
 
+    /** Field name for cache lookups since the core was loaded, across searchers */
+    private static final String CUMULATIVE_LOOKUPS_FIELD = "cumulative_lookups";
+
+    /** Field name for cache hits since the core was loaded, across searchers */
+    private static final String CUMULATIVE_HITS_FIELD = "cumulative_hits";
+
+    /** Field name for cache evictions since the core was loaded, across searchers */
+    private static final String CUMULATIVE_EVICTIONS_FIELD = "cumulative_evictions";
+
     /** Field name for handler request count statistics */
     private static final String REQUESTS_FIELD = "requests";
 
@@ -216,9 +279,64 @@ public class CollectionService {
     /** Error message prefix for collection not found exceptions */
     private static final String COLLECTION_NOT_FOUND_ERROR = "Collection not found: ";
 
+    // ========================================
+    // Section Names of Partial Stats Results
+    // ========================================
+
+    private static final String INDEX_STATS_SECTION = "indexStats";
+
+    private static final String QUERY_STATS_SECTION = "queryStats";
+
+    private static final String CACHE_STATS_SECTION = "cacheStats";
+
+    private static final String HANDLER_STATS_SECTION = "handlerStats";
+
+    /**
+     * Minimum age of the collection list before a name missing from it triggers a refresh,
+     * so that repeated lookups of a nonexistent collection do not each query Solr
+     */
+    private static final Duration MISS_REFRESH_INTERVAL = Duration.ofSeconds(1);
+
     /** SolrJ client for communicating with Solr server */
     private final SolrClient solrClient;
 
+    /** Age after which the cached collection list is refreshed in the background */
+    private final Duration registryTtl;
+
+    /** Deadline shared by the requests of one {@link #getCollectionStats(String)} call */
+    private final Duration statsTimeout;
+
+    /** Solr API cache and handler metrics are read from */
+    private final MetricsSource metricsSource;
+
+    /** Reads cache and handler metrics from {@code /admin/metrics} */
+    private final MetricsApiReader metricsReader;
+
+    /** Concurrency, default top terms and cache TTL of {@link #getFieldStats(String, List, Integer)} */
+    private final SolrConfigurationProperties.Fields fieldLimits;
+
+    /**
+     * Field statistics by collection, field and number of top terms, least recently used
+     * first and capped at {@code solr.metadata.fields.cache-max-entries}; guarded by itself
+     */
+    private final LinkedHashMap<FieldStatsKey, CachedFieldStats> fieldStatsCache;
+
+    /** Incremented per collection on commit, so that field statistics fetched before are not cached */
+    private final Map<String, Long> fieldStatsGenerations = new ConcurrentHashMap<>();
+
+    /** Guards against starting more than one background refresh at a time */
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /**
+     * {@link System#nanoTime()} of the last refresh caused by a missing name, claimed by
+     * compare-and-set so that concurrent misses trigger a single refresh
+     */
+    private final AtomicLong lastMissRefreshNanos =
+            new AtomicLong(System.nanoTime() - MISS_REFRESH_INTERVAL.toNanos());
+
+    /** Collection names last read from Solr, or {@code null} before the first read */
+    private volatile KnownCollections knownCollections;
+
     /**
      * Constructs a new CollectionService with the required dependencies.
      * 
@@ -226,12 +344,35 @@ public class CollectionService {
      * framework during application startup.</p>
      * 
      * @param solrClient the SolrJ client instance for communicating with Solr
+     * @param properties the Solr configuration properties providing the collection registry TTL
+     *                   the stats deadline, the metrics source and the field statistics settings
      *
      * @see SolrClient
      * @see SolrConfigurationProperties
      */
-    public CollectionService(SolrClient solrClient) {
+    @Autowired
+    public CollectionService(SolrClient solrClient, SolrConfigurationProperties properties) {
         this.solrClient = solrClient;
+        this.registryTtl = properties.metadata().registry().ttl();
+        this.statsTimeout = properties.metadata().stats().timeout();
+        this.metricsSource = properties.metadata().stats().metricsSource();
+        this.metricsReader = new MetricsApiReader(solrClient);
+        this.fieldLimits = properties.metadata().fields();
+        this.fieldStatsCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<FieldStatsKey, CachedFieldStats> eldest) {
+                return size() > fieldLimits.cacheMaxEntries();
+            }
+        };
+    }
+
+    /**
+     * Constructs a new CollectionService with the default collection registry settings.
+     *
+     * @param solrClient the SolrJ client instance for communicating with Solr
+     */
+    public CollectionService(SolrClient solrClient) {
+        this(solrClient, SolrConfigurationProperties.defaults(null));
     }
 
     /**
@@ -314,6 +455,19 @@ public class CollectionService {
      * <p>The method validates that the specified collection exists before attempting
      * to collect metrics. If the collection is not found, an {@code IllegalArgumentException}
      * is thrown with a descriptive error message.</p>
+     *
+     * <p><strong>Index Statistics:</strong></p>
+     * <p>The Luke request asks for index-level information only ({@code show=index},
+     * {@code numTerms=0}, no field flags). Walking the terms of every field is what makes a
+     * default Luke request slow on large indexes; per-field statistics are available for
+     * chosen fields through {@link #getFieldStats(String, List, Integer)} instead.</p>
+     *
+     * <p><strong>Concurrency and Partial Results:</strong></p>
+     * <p>The Luke request, the query and a single metrics request covering the caches and
+     * handlers are sent concurrently on virtual threads and share a deadline of
+     * {@code solr.metadata.stats.timeout}. A request that fails or is still outstanding at
+     * the deadline leaves its sections null and adds an entry to {@link SolrMetrics#errors()},
+     * so a slow Luke request on a large index no longer holds back the other metrics.</p>
      * 
      * <p><strong>MCP Tool Usage:</strong></p>
      * <p>Exposed as an MCP tool for natural language queries like "get metrics for my_collection"
@@ -323,15 +477,13 @@ public class CollectionService {
      * @return comprehensive metrics object containing all collected statistics
      *
      * @throws IllegalArgumentException if the specified collection does not exist
-     * @throws SolrServerException if there are errors communicating with Solr
-     * @throws IOException if there are I/O errors during communication
      *
      * @see SolrMetrics
      * @see LukeRequest
      * @see #extractCollectionName(String)
      */
     @McpTool(description = "Get stats/metrics on a Solr collection")
-    public SolrMetrics getCollectionStats(@McpToolParam(description = "Solr collection to get stats/metrics for") String collection) throws SolrServerException, IOException {
+    public SolrMetrics getCollectionStats(@McpToolParam(description = "Solr collection to get stats/metrics for") String collection) {
         // Extract actual collection name from shard name if needed
         String actualCollection = extractCollectionName(collection);
 
@@ -340,22 +492,244 @@ public class CollectionService {
             throw new IllegalArgumentException(COLLECTION_NOT_FOUND_ERROR + actualCollection);
         }
 
-        // Index statistics using Luke
-        LukeRequest lukeRequest = new LukeRequest();
-        lukeRequest.setIncludeIndexFieldFlags(true);
-        LukeResponse lukeResponse = lukeRequest.process(solrClient, actualCollection);
-
-        // Query performance metrics
-        QueryResponse statsResponse = solrClient.query(actualCollection,
-                new SolrQuery(ALL_DOCUMENTS_QUERY).setRows(0));
-
-        return new SolrMetrics(
-                buildIndexStats(lukeResponse),
-                buildQueryStats(statsResponse),
-                getCacheMetrics(actualCollection),
-                getHandlerMetrics(actualCollection),
-                new Date()
-        );
+        long deadline = System.nanoTime() + statsTimeout.toNanos();
+        Map<String, String> errors = new LinkedHashMap<>();
+        // Not closed with try-with-resources: close() would wait for requests abandoned at the deadline
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            // Index statistics using Luke
+            Future<IndexStats> indexStats = executor.submit(
+                    () -> buildIndexStats(new IndexOnlyLukeRequest().process(solrClient, actualCollection)));
+            // Query performance metrics
+            Future<QueryStats> queryStats = executor.submit(() -> buildQueryStats(
+                    solrClient.query(actualCollection, new SolrQuery(ALL_DOCUMENTS_QUERY).setRows(0))));
+            // Cache and handler metrics in one request
+            Future<CollectionMetrics> coreMetrics = executor.submit(
+                    () -> requestCoreMetrics(actualCollection, true, true));
+
+            IndexStats index = awaitSection(indexStats, deadline, errors, INDEX_STATS_SECTION);
+            QueryStats query = awaitSection(queryStats, deadline, errors, QUERY_STATS_SECTION);
+            CollectionMetrics metrics = awaitSection(coreMetrics, deadline, errors,
+                    CACHE_STATS_SECTION, HANDLER_STATS_SECTION);
+
+            CacheStats cacheStats = metrics != null ? metrics.cacheStats() : null;
+            HandlerStats handlerStats = metrics != null ? metrics.handlerStats() : null;
+
+            return new SolrMetrics(
+                    index,
+                    query,
+                    isCacheStatsEmpty(cacheStats) ? null : cacheStats,
+                    isHandlerStatsEmpty(handlerStats) ? null : handlerStats,
+                    new Date(),
+                    errors.isEmpty() ? null : errors
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for one request of a stats call until the shared deadline.
+     *
+     * <p>A request that fails or is still running at the deadline is not rethrown; instead
+     * each of the given sections is recorded in {@code errors} and {@code null} is returned.
+     * Requests still running are cancelled, which interrupts their virtual thread.</p>
+     *
+     * @param future   the request
+     * @param deadline {@link System#nanoTime()} by which the request has to be complete
+     * @param errors   per-section error markers of the stats call
+     * @param sections the sections of the stats result filled from this request
+     * @param <T>      the type of the request's result
+     * @return the result, or {@code null} if it is not available
+     */
+    private <T> T awaitSection(Future<T> future, long deadline, Map<String, String> errors, String... sections) {
+        String error;
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            error = "Timed out after " + statsTimeout.toMillis() + " ms";
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            error = "Interrupted";
+        }
+        for (String section : sections) {
+            errors.put(section, error);
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves statistics of chosen fields of a collection: field type, number of documents
+     * containing the field, number of distinct terms and the most frequent terms.
+     *
+     * <p>Each field is fetched with its own Luke request, since a Luke request with
+     * per-field statistics walks all terms of the field. Up to
+     * {@code solr.metadata.fields.max-concurrent} fields are fetched at once, and all of them
+     * share the deadline of {@code solr.metadata.stats.timeout}. A field that fails or is not
+     * fetched in time is reported in {@link CollectionFieldStats#errors()}.</p>
+     *
+     * <p><strong>Caching:</strong></p>
+     * <p>Field statistics are cached per collection, field and number of top terms for
+     * {@code solr.metadata.fields.cache-ttl}. The cached statistics of a collection are
+     * dropped when it is committed to through this server, and at most
+     * {@code solr.metadata.fields.cache-max-entries} statistics are kept, evicting the least
+     * recently used.</p>
+     *
+     * <p><strong>MCP Tool Usage:</strong></p>
+     * <p>Exposed as an MCP tool for questions like "how many distinct genres are there in films"
+     * or "what are the most common values of the author field".</p>
+     *
+     * @param collection the name of the collection (supports both collection and shard names)
+     * @param fields     the fields to get statistics for
+     * @param topTerms   number of most frequent terms per field, or {@code null} for the configured default
+     * @return the statistics of every field that could be retrieved
+     *
+     * @throws IllegalArgumentException if the collection does not exist, no field is given or
+     *                                  {@code topTerms} is out of range
+     *
+     * @see CollectionFieldStats
+     * @see FieldStats
+     */
+    @McpTool(name = "get_field_stats", description = "Get statistics of chosen fields of a Solr collection: field type, documents containing the field, distinct values and most frequent terms")
+    public CollectionFieldStats getFieldStats(
+            @McpToolParam(description = "Solr collection") String collection,
+            @McpToolParam(description = "Fields to get statistics for") List<String> fields,
+            @McpToolParam(description = "Number of most frequent terms per field, 0 for none. Defaults to 10", required = false) Integer topTerms) {
+        String actualCollection = extractCollectionName(collection);
+        if (!validateCollectionExists(actualCollection)) {
+            throw new IllegalArgumentException(COLLECTION_NOT_FOUND_ERROR + actualCollection);
+        }
+        if (fields == null || fields.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required");
+        }
+        int termCount = topTerms != null ? topTerms : fieldLimits.topTerms();
+        if (termCount < 0 || termCount > MAX_TOP_TERMS) {
+            throw new IllegalArgumentException("topTerms must be between 0 and " + MAX_TOP_TERMS + ": " + termCount);
+        }
+
+        Set<String> requested = new LinkedHashSet<>(fields);
+        Map<String, FieldStats> stats = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        long deadline = System.nanoTime() + statsTimeout.toNanos();
+        Semaphore slots = new Semaphore(fieldLimits.maxConcurrent());
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Map<String, FieldStats> cached = new LinkedHashMap<>();
+            Map<String, Future<FieldStats>> pending = new LinkedHashMap<>();
+            for (String field : requested) {
+                FieldStatsKey key = new FieldStatsKey(actualCollection, field, termCount);
+                FieldStats fieldStats = cachedFieldStats(key);
+                if (fieldStats != null) {
+                    cached.put(field, fieldStats);
+                } else {
+                    pending.put(field, executor.submit(() -> fetchFieldStats(key, slots)));
+                }
+            }
+            for (String field : requested) {
+                FieldStats fieldStats = cached.containsKey(field)
+                        ? cached.get(field)
+                        : awaitSection(pending.get(field), deadline, errors, field);
+                if (fieldStats != null) {
+                    stats.put(field, fieldStats);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new CollectionFieldStats(actualCollection, stats, errors.isEmpty() ? null : errors, new Date());
+    }
+
+    /**
+     * Fetches the statistics of one field with a Luke request and caches them.
+     *
+     * @param key   collection, field and number of top terms
+     * @param slots limits the Luke requests of one call running at once
+     * @return the statistics of the field
+     * @throws IllegalArgumentException if Luke returned no statistics for the field
+     * @throws Exception if the request fails or the thread is interrupted while waiting for a slot
+     */
+    private FieldStats fetchFieldStats(FieldStatsKey key, Semaphore slots) throws Exception {
+        long generation = fieldStatsGenerations.getOrDefault(key.collection(), 0L);
+        slots.acquire();
+        try {
+            LukeRequest lukeRequest = new LukeRequest();
+            lukeRequest.setFields(List.of(key.field()));
+            lukeRequest.setNumTerms(key.topTerms());
+            LukeResponse response = lukeRequest.process(solrClient, key.collection());
+
+            LukeResponse.FieldInfo info = response.getFieldInfo() != null
+                    ? response.getFieldInfo().get(key.field()) : null;
+            if (info == null) {
+                throw new IllegalArgumentException("No indexed terms found for field: " + key.field());
+            }
+            FieldStats stats = new FieldStats(info.getType(), info.getDocs(), info.getDistinct(),
+                    toTermCounts(info.getTopTerms()));
+            if (!fieldLimits.cacheTtl().isZero()) {
+                synchronized (fieldStatsCache) {
+                    fieldStatsCache.put(key, new CachedFieldStats(stats, System.nanoTime(), generation));
+                }
+            }
+            return stats;
+        } finally {
+            slots.release();
+        }
+    }
+
+    /**
+     * Returns cached field statistics that are younger than the cache TTL and were fetched
+     * after the last commit to the collection.
+     *
+     * @param key collection, field and number of top terms
+     * @return the cached statistics, or {@code null} if there are none
+     */
+    private FieldStats cachedFieldStats(FieldStatsKey key) {
+        synchronized (fieldStatsCache) {
+            CachedFieldStats cached = fieldStatsCache.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (System.nanoTime() - cached.loadedAtNanos() >= fieldLimits.cacheTtl().toNanos()
+                    || cached.generation() != fieldStatsGenerations.getOrDefault(key.collection(), 0L)) {
+                fieldStatsCache.remove(key);
+                return null;
+            }
+            return cached.stats();
+        }
+    }
+
+    /**
+     * Drops the cached field statistics of a collection after documents became visible in it.
+     *
+     * @param event the commit that changed the collection
+     */
+    @EventListener
+    public void onCollectionCommitted(CollectionCommittedEvent event) {
+        fieldStatsGenerations.merge(event.collection(), 1L, Long::sum);
+        synchronized (fieldStatsCache) {
+            fieldStatsCache.keySet().removeIf(key -> key.collection().equals(event.collection()));
+        }
+    }
+
+    /**
+     * Converts the top terms of a Luke field into a map keeping Luke's most-frequent-first order.
+     *
+     * @param topTerms terms and document frequencies as returned by Luke
+     * @return the terms mapped to their document frequency, or {@code null} if there are none
+     */
+    private static Map<String, Integer> toTermCounts(NamedList<Integer> topTerms) {
+        if (topTerms == null || topTerms.size() == 0) {
+            return null;
+        }
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        for (int i = 0; i < topTerms.size(); i++) {
+            terms.put(topTerms.getName(i), topTerms.getVal(i));
+        }
+        return terms;
     }
 
     /**
@@ -431,7 +805,7 @@ public class CollectionService {
     /**
      * Retrieves cache performance metrics for all cache types in a Solr collection.
      * 
-     * <p>Collects detailed cache utilization statistics from Solr's MBeans endpoint,
+     * <p>Collects detailed cache utilization statistics from Solr's metrics or MBeans endpoint,
      * providing insights into cache effectiveness and memory usage patterns. Cache
      * performance directly impacts query response times and system efficiency.</p>
      * 
@@ -464,12 +838,6 @@ public class CollectionService {
      */
     public CacheStats getCacheMetrics(String collection) {
         try {
-            // Get MBeans for cache information
-            ModifiableSolrParams params = new ModifiableSolrParams();
-            params.set(STATS_PARAM, "true");
-            params.set(CAT_PARAM, CACHE_CATEGORY);
-            params.set(WT_PARAM, JSON_FORMAT);
-
             // Extract actual collection name from shard name if needed
             String actualCollection = extractCollectionName(collection);
 
@@ -478,16 +846,7 @@ public class CollectionService {
                 return null; // Return null instead of empty object
             }
 
-            String path = "/" + actualCollection + ADMIN_MBEANS_PATH;
-
-            GenericSolrRequest request = new GenericSolrRequest(
-                    SolrRequest.METHOD.GET,
-                    path,
-                    params
-            );
-
-            NamedList<Object> response = solrClient.request(request);
-            CacheStats stats = extractCacheStats(response);
+            CacheStats stats = requestCoreMetrics(actualCollection, true, false).cacheStats();
 
             // Return null if all cache stats are empty/null
             if (isCacheStatsEmpty(stats)) {
@@ -500,6 +859,67 @@ public class CollectionService {
         }
     }
 
+    /**
+     * Reads the current cache and handler metrics of a collection for {@link CollectionStatsSampler}.
+     *
+     * <p>Unlike {@link #getCacheMetrics(String)} and {@link #getHandlerMetrics(String)} this
+     * sends a single request, skips validation and reports failures to the caller.</p>
+     *
+     * @param collection the collection or shard name
+     * @return the cache and handler metrics
+     * @throws SolrServerException if there are errors communicating with Solr
+     * @throws IOException if there are I/O errors during communication
+     */
+    CollectionMetrics sampleMetrics(String collection) throws SolrServerException, IOException {
+        return requestCoreMetrics(extractCollectionName(collection), true, true);
+    }
+
+    /**
+     * Requests the cache and/or handler metrics of a collection from the configured metrics source.
+     *
+     * @param collection the collection name (not a shard name)
+     * @param caches     whether to request the searcher cache metrics
+     * @param handlers   whether to request the request handler metrics
+     * @return the requested metrics; sections that were not requested are {@code null}
+     * @throws SolrServerException if there are errors communicating with Solr
+     * @throws IOException if there are I/O errors during communication
+     */
+    private CollectionMetrics requestCoreMetrics(String collection, boolean caches, boolean handlers)
+            throws SolrServerException, IOException {
+        if (metricsSource == MetricsSource.METRICS) {
+            return metricsReader.read(collection, caches, handlers);
+        }
+        String categories = caches && handlers ? STATS_CATEGORIES : caches ? CACHE_CATEGORY : HANDLER_CATEGORIES;
+        NamedList<Object> mbeans = requestMbeans(collection, categories);
+        return new CollectionMetrics(
+                caches ? extractCacheStats(mbeans) : null,
+                handlers ? extractHandlerStats(mbeans) : null);
+    }
+
+    /**
+     * Requests the statistics of the given MBean categories of a collection.
+     *
+     * @param collection the collection name (not a shard name)
+     * @param categories comma-separated MBean categories, e.g. {@value #CACHE_CATEGORY}
+     * @return the raw MBeans response, keyed by category
+     * @throws SolrServerException if there are errors communicating with Solr
+     * @throws IOException if there are I/O errors during communication
+     */
+    private NamedList<Object> requestMbeans(String collection, String categories)
+            throws SolrServerException, IOException {
+        ModifiableSolrParams params = new ModifiableSolrParams();
+        params.set(STATS_PARAM, "true");
+        params.set(CAT_PARAM, categories);
+        params.set(WT_PARAM, JSON_FORMAT);
+
+        GenericSolrRequest request = new GenericSolrRequest(
+                SolrRequest.METHOD.GET,
+                "/" + collection + ADMIN_MBEANS_PATH,
+                params
+        );
+        return solrClient.request(request);
+    }
+
     /**
      * Checks if cache statistics are empty or contain no meaningful data.
      * 
@@ -565,7 +985,10 @@ public class CollectionService {
                         getFloat(stats, HITRATIO_FIELD),
                         getLong(stats, INSERTS_FIELD),
                         getLong(stats, EVICTIONS_FIELD),
-                        getLong(stats, SIZE_FIELD)
+                        getLong(stats, SIZE_FIELD),
+                        getLong(stats, CUMULATIVE_LOOKUPS_FIELD),
+                        getLong(stats, CUMULATIVE_HITS_FIELD),
+                        getLong(stats, CUMULATIVE_EVICTIONS_FIELD)
                 );
             }
 
@@ -581,7 +1004,10 @@ public class CollectionService {
                         getFloat(stats, HITRATIO_FIELD),
                         getLong(stats, INSERTS_FIELD),
                         getLong(stats, EVICTIONS_FIELD),
-                        getLong(stats, SIZE_FIELD)
+                        getLong(stats, SIZE_FIELD),
+                        getLong(stats, CUMULATIVE_LOOKUPS_FIELD),
+                        getLong(stats, CUMULATIVE_HITS_FIELD),
+                        getLong(stats, CUMULATIVE_EVICTIONS_FIELD)
                 );
             }
 
@@ -597,7 +1023,10 @@ public class CollectionService {
                         getFloat(stats, HITRATIO_FIELD),
                         getLong(stats, INSERTS_FIELD),
                         getLong(stats, EVICTIONS_FIELD),
-                        getLong(stats, SIZE_FIELD)
+                        getLong(stats, SIZE_FIELD),
+                        getLong(stats, CUMULATIVE_LOOKUPS_FIELD),
+                        getLong(stats, CUMULATIVE_HITS_FIELD),
+                        getLong(stats, CUMULATIVE_EVICTIONS_FIELD)
                 );
             }
         }
@@ -623,6 +1052,8 @@ public class CollectionService {
      *   <li><strong>Request Volume</strong>: Total requests processed</li>
      *   <li><strong>Error Rates</strong>: Failed request counts and timeouts</li>
      *   <li><strong>Performance</strong>: Average response times and throughput</li>
+     *   <li><strong>Tail Latency</strong>: 95th and 99th percentile response times, when read from
+     *       {@code /admin/metrics}</li>
      * </ul>
      * 
      * <p><strong>Error Handling:</strong></p>
@@ -640,11 +1071,6 @@ public class CollectionService {
      */
     public HandlerStats getHandlerMetrics(String collection) {
         try {
-            ModifiableSolrParams params = new ModifiableSolrParams();
-            params.set(STATS_PARAM, "true");
-            params.set(CAT_PARAM, HANDLER_CATEGORIES);
-            params.set(WT_PARAM, JSON_FORMAT);
-
             // Extract actual collection name from shard name if needed
             String actualCollection = extractCollectionName(collection);
 
@@ -653,16 +1079,7 @@ public class CollectionService {
                 return null; // Return null instead of empty object
             }
 
-            String path = "/" + actualCollection + ADMIN_MBEANS_PATH;
-
-            GenericSolrRequest request = new GenericSolrRequest(
-                    SolrRequest.METHOD.GET,
-                    path,
-                    params
-            );
-
-            NamedList<Object> response = solrClient.request(request);
-            HandlerStats stats = extractHandlerStats(response);
+            HandlerStats stats = requestCoreMetrics(actualCollection, false, true).handlerStats();
 
             // Return null if all handler stats are empty/null
             if (isHandlerStatsEmpty(stats)) {
@@ -816,6 +1233,14 @@ public class CollectionService {
      * 
      * <p>This dual approach ensures compatibility with both standalone Solr
      * (which returns core names directly) and SolrCloud (which may return shard names).</p>
+     *
+     * <p><strong>Caching:</strong></p>
+     * <p>The check runs against the cached collection list rather than a new
+     * {@link #listCollections()} request. A name that is not in the list causes one
+     * synchronous refresh, unless the list was read less than
+     * {@link #MISS_REFRESH_INTERVAL} ago, so that newly created collections are found
+     * immediately. Concurrent misses share that refresh: only the caller that claims it
+     * queries Solr, the others answer from the list cached at that moment.</p>
      * 
      * <p><strong>Error Handling:</strong></p>
      * <p>Returns {@code false} if validation fails due to communication errors,
@@ -829,23 +1254,128 @@ public class CollectionService {
      */
     private boolean validateCollectionExists(String collection) {
         try {
-            List<String> collections = listCollections();
-
-            // Check for exact match first
-            if (collections.contains(collection)) {
+            KnownCollections known = knownCollections();
+            if (known.contains(collection)) {
                 return true;
             }
-
-            // Check if any of the returned collections start with the collection name (for shard names)
-            boolean shardMatch = collections.stream()
-                    .anyMatch(c -> c.startsWith(collection + SHARD_SUFFIX));
-
-            return shardMatch;
+            long lastMissRefresh = lastMissRefreshNanos.get();
+            long now = System.nanoTime();
+            if (known.olderThan(MISS_REFRESH_INTERVAL)
+                    && now - lastMissRefresh >= MISS_REFRESH_INTERVAL.toNanos()
+                    && lastMissRefreshNanos.compareAndSet(lastMissRefresh, now)) {
+                return refreshKnownCollections().contains(collection);
+            }
+            // Another caller refreshes the list, or did so less than a second ago
+            KnownCollections latest = knownCollections;
+            return latest != null && latest.contains(collection);
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * Returns the cached collection list, reading it from Solr on first use.
+     *
+     * <p>Once the list is older than the registry TTL, a refresh is started on a virtual
+     * thread and the current list is returned meanwhile, so that validation never waits
+     * for Solr after the first call.</p>
+     *
+     * @return the cached collection list
+     */
+    private KnownCollections knownCollections() {
+        KnownCollections known = knownCollections;
+        if (known == null) {
+            return refreshKnownCollections();
+        }
+        if (known.olderThan(registryTtl) && refreshing.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("collection-registry-refresh").start(() -> {
+                try {
+                    refreshKnownCollections();
+                } catch (RuntimeException e) {
+                    // keep answering from the previous list until the next attempt
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+        return known;
+    }
+
+    /**
+     * Reads the collection list from Solr and caches it.
+     *
+     * <p>An empty list is returned but not cached, because {@link #listCollections()} also
+     * reports communication errors that way and a failed read must not hide existing
+     * collections for a whole TTL.</p>
+     *
+     * @return the collection list just read
+     */
+    private KnownCollections refreshKnownCollections() {
+        KnownCollections known = new KnownCollections(List.copyOf(listCollections()), System.nanoTime());
+        if (!known.names().isEmpty()) {
+            knownCollections = known;
+        }
+        return known;
+    }
+
+    /**
+     * A collection list read from Solr at a point in time.
+     *
+     * @param names         collection or core names as returned by {@link #listCollections()}
+     * @param loadedAtNanos {@link System#nanoTime()} when the list was read
+     */
+    private record KnownCollections(List<String> names, long loadedAtNanos) {
+
+        boolean contains(String collection) {
+            // Exact match first, then shard names such as "films_shard1_replica_n1"
+            return names.contains(collection)
+                    || names.stream().anyMatch(c -> c.startsWith(collection + SHARD_SUFFIX));
+        }
+
+        boolean olderThan(Duration age) {
+            return System.nanoTime() - loadedAtNanos > age.toNanos();
+        }
+    }
+
+    /**
+     * Identifies cached field statistics.
+     *
+     * @param collection the collection name
+     * @param field      the field name
+     * @param topTerms   the number of top terms requested
+     */
+    private record FieldStatsKey(String collection, String field, int topTerms) {
+    }
+
+    /**
+     * Field statistics together with when they were fetched.
+     *
+     * @param stats         the field statistics
+     * @param loadedAtNanos {@link System#nanoTime()} when the statistics were fetched
+     * @param generation    commit generation of the collection when the request was sent
+     */
+    private record CachedFieldStats(FieldStats stats, long loadedAtNanos, long generation) {
+    }
+
+    /**
+     * Luke request limited to index-level information ({@code show=index}, {@code numTerms=0},
+     * no field flags), which Solr answers without walking the terms of every field.
+     */
+    private static final class IndexOnlyLukeRequest extends LukeRequest {
+
+        IndexOnlyLukeRequest() {
+            setNumTerms(0);
+            setIncludeIndexFieldFlags(false);
+        }
+
+        @Override
+        public SolrParams getParams() {
+            ModifiableSolrParams params = new ModifiableSolrParams(super.getParams());
+            params.set(SHOW_PARAM, INDEX_SHOW_STYLE);
+            return params;
+        }
+    }
+
     /**
      * Performs a comprehensive health check on a Solr collection.
      * 
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.metadata;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.apache.solr.mcp.server.metadata.MetricsApiReader.CollectionMetrics;
+import org.apache.solr.mcp.server.metadata.MetricsHistory.Activity;
+import org.apache.solr.mcp.server.metadata.MetricsHistory.Series;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springaicommunity.mcp.annotation.McpToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.solr.mcp.server.metadata.MetricsHistory.MISSING;
+
+/**
+ * Spring Service sampling the cache and request handler metrics of configured collections in the
+ * background, and exposing the resulting history as an MCP tool.
+ *
+ * <p>{@code getCollectionStats} returns Solr's cumulative counters at one point in time, which
+ * cannot tell whether a poor hit ratio is a problem right now or dates back a week. This service
+ * reads the same metrics every {@code solr.metadata.sampler.interval} for each collection in
+ * {@code solr.metadata.sampler.collections} and keeps the latest
+ * {@code solr.metadata.sampler.capacity} samples in a {@link MetricsHistory} ring buffer per
+ * collection.</p>
+ *
+ * <p><strong>History Tool:</strong></p>
+ * <p>{@link #getCollectionStatsHistory(String, Integer, Integer)} turns the samples into
+ * per-window deltas, rates and hit ratios, which only reflect the activity within each window.</p>
+ *
+ * <p><strong>Failure Handling:</strong></p>
+ * <p>A sample that cannot be read is logged and skipped. The gap shows up as a longer
+ * interval between two samples and does not distort rates.</p>
+ *
+ * <p>Sampling is disabled by default and enabled with {@code solr.metadata.sampler.enabled=true}.</p>
+ *
+ * @version 0.0.1
+ * @since 0.0.1
+ *
+ * @see MetricsHistory
+ * @see CollectionService
+ */
+@Service
+public class CollectionStatsSampler {
+
+    private static final Logger log = LoggerFactory.getLogger(CollectionStatsSampler.class);
+
+    /** Largest number of windows one history call may be split into */
+    private static final int MAX_WINDOWS = 60;
+
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    /** Reads the metrics of a collection */
+    private final CollectionService collectionService;
+
+    /** Sampler settings bound from {@code solr.metadata.sampler.*} */
+    private final SolrConfigurationProperties.Sampler settings;
+
+    /** Sample history per configured collection */
+    private final Map<String, MetricsHistory> histories = new LinkedHashMap<>();
+
+    /** Timer thread taking the samples, or {@code null} while sampling is disabled */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates the sampler and starts sampling if it is enabled.
+     *
+     * @param collectionService the service reading cache and handler metrics
+     * @param properties        the Solr configuration properties providing the sampler settings
+     */
+    @Autowired
+    public CollectionStatsSampler(CollectionService collectionService, SolrConfigurationProperties properties) {
+        this(collectionService, properties.metadata().sampler());
+        if (settings.enabled() && !histories.isEmpty()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("collection-stats-sampler").daemon().factory());
+            long intervalMillis = settings.interval().toMillis();
+            scheduler.scheduleAtFixedRate(() -> sample(System.currentTimeMillis()),
+                    0, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Creates a sampler that only samples when {@link #sample(long)} is called.
+     *
+     * @param collectionService the service reading cache and handler metrics
+     * @param settings          the sampler settings
+     */
+    CollectionStatsSampler(CollectionService collectionService, SolrConfigurationProperties.Sampler settings) {
+        this.collectionService = collectionService;
+        this.settings = settings;
+        for (String collection : settings.collections()) {
+            histories.put(collection, new MetricsHistory(settings.capacity()));
+        }
+    }
+
+    /**
+     * Takes one sample of every configured collection.
+     *
+     * @param timestampMillis the time the samples are recorded at
+     */
+    void sample(long timestampMillis) {
+        histories.forEach((collection, history) -> {
+            try {
+                CollectionMetrics metrics = collectionService.sampleMetrics(collection);
+                history.record(timestampMillis, metrics.cacheStats(), metrics.handlerStats());
+            } catch (Exception e) {
+                log.warn("Could not sample metrics of collection {}: {}", collection, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Returns the cache and request handler activity of a sampled collection over time.
+     *
+     * <p>The range covered ends at the newest sample and spans the last {@code minutes}, or the
+     * whole history if no minutes are given. It is split into {@code windows} consecutive windows
+     * of equal length, oldest first. For every window the increase of each counter, the rate per
+     * second and the hit and error ratios within that window are reported.</p>
+     *
+     * <p><strong>MCP Tool Usage:</strong></p>
+     * <p>Exposed as an MCP tool for questions like "is the filter cache hit ratio of films
+     * getting worse" or "how many requests per second did the select handler serve in the last hour".</p>
+     *
+     * @param collection the sampled collection
+     * @param minutes    length of the range in minutes, or {@code null} for the whole history
+     * @param windows    number of windows the range is split into, or {@code null} for one
+     * @return the activity per window
+     *
+     * @throws IllegalStateException    if sampling is disabled
+     * @throws IllegalArgumentException if the collection is not sampled or a parameter is out of range
+     */
+    @McpTool(name = "get_collection_stats_history", description = "Get cache and request handler activity of a Solr collection over time: counter deltas, rates per second and hit ratios per time window, from periodically sampled metrics")
+    public CollectionStatsHistory getCollectionStatsHistory(
+            @McpToolParam(description = "Solr collection") String collection,
+            @McpToolParam(description = "Length of the time range in minutes, ending at the newest sample. Defaults to the whole history", required = false) Integer minutes,
+            @McpToolParam(description = "Number of equal windows the range is split into, oldest first. Defaults to 1", required = false) Integer windows) {
+        if (!settings.enabled()) {
+            throw new IllegalStateException(
+                    "Metrics sampling is disabled; set solr.metadata.sampler.enabled and solr.metadata.sampler.collections");
+        }
+        MetricsHistory history = histories.get(collection);
+        if (history == null) {
+            throw new IllegalArgumentException(
+                    "Collection is not sampled: " + collection + ". Sampled collections: " + histories.keySet());
+        }
+        if (minutes != null && minutes < 1) {
+            throw new IllegalArgumentException("minutes must be positive: " + minutes);
+        }
+        int windowCount = windows != null ? windows : 1;
+        if (windowCount < 1 || windowCount > MAX_WINDOWS) {
+            throw new IllegalArgumentException("windows must be between 1 and " + MAX_WINDOWS + ": " + windowCount);
+        }
+
+        List<StatsWindow> result = new ArrayList<>(windowCount);
+        long newest = history.newestTimestamp();
+        if (newest != MISSING) {
+            long start = minutes != null ? newest - TimeUnit.MINUTES.toMillis(minutes) : history.oldestTimestamp();
+            long span = newest - start;
+            for (int i = 0; i < windowCount; i++) {
+                long from = start + span * i / windowCount;
+                long to = i == windowCount - 1 ? newest : start + span * (i + 1) / windowCount;
+                result.add(toWindow(history.activity(from, to)));
+            }
+        }
+        return new CollectionStatsHistory(collection, history.size(), result);
+    }
+
+    /**
+     * Stops sampling when the application shuts down.
+     */
+    @PreDestroy
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static StatsWindow toWindow(Activity activity) {
+        double seconds = activity.elapsedMillis() / MILLIS_PER_SECOND;
+        return new StatsWindow(
+                new Date(activity.fromMillis()),
+                new Date(activity.toMillis()),
+                cacheActivity(activity, Series.QUERY_RESULT_CACHE_LOOKUPS, Series.QUERY_RESULT_CACHE_HITS,
+                        Series.QUERY_RESULT_CACHE_EVICTIONS, seconds),
+                cacheActivity(activity, Series.DOCUMENT_CACHE_LOOKUPS, Series.DOCUMENT_CACHE_HITS,
+                        Series.DOCUMENT_CACHE_EVICTIONS, seconds),
+                cacheActivity(activity, Series.FILTER_CACHE_LOOKUPS, Series.FILTER_CACHE_HITS,
+                        Series.FILTER_CACHE_EVICTIONS, seconds),
+                handlerActivity(activity, Series.SELECT_REQUESTS, Series.SELECT_ERRORS, Series.SELECT_TIMEOUTS,
+                        seconds),
+                handlerActivity(activity, Series.UPDATE_REQUESTS, Series.UPDATE_ERRORS, Series.UPDATE_TIMEOUTS,
+                        seconds));
+    }
+
+    private static CacheActivity cacheActivity(Activity activity, Series lookups, Series hits, Series evictions,
+                                               double seconds) {
+        Long lookupCount = value(activity.delta(lookups));
+        Long hitCount = value(activity.delta(hits));
+        Long evictionCount = value(activity.delta(evictions));
+        if (lookupCount == null && hitCount == null && evictionCount == null) {
+            return null;
+        }
+        return new CacheActivity(lookupCount, hitCount, ratio(hitCount, lookupCount), evictionCount,
+                rate(lookupCount, seconds), rate(evictionCount, seconds));
+    }
+
+    private static HandlerActivity handlerActivity(Activity activity, Series requests, Series errors,
+                                                   Series timeouts, double seconds) {
+        Long requestCount = value(activity.delta(requests));
+        Long errorCount = value(activity.delta(errors));
+        Long timeoutCount = value(activity.delta(timeouts));
+        if (requestCount == null && errorCount == null && timeoutCount == null) {
+            return null;
+        }
+        return new HandlerActivity(requestCount, errorCount, timeoutCount, rate(requestCount, seconds),
+                ratio(errorCount, requestCount));
+    }
+
+    private static Long value(long delta) {
+        return delta == MISSING ? null : delta;
+    }
+
+    private static Float ratio(Long part, Long total) {
+        return part == null || total == null || total == 0 ? null : (float) part / total;
+    }
+
+    private static Double rate(Long count, double seconds) {
+        return count == null || seconds <= 0 ? null : count / seconds;
+    }
+}
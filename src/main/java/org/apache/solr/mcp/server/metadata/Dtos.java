@@ -21,6 +21,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Data Transfer Objects (DTOs) for the Apache Solr MCP Server.
@@ -54,6 +56,11 @@ import java.util.Date;
  * <p><strong>Null-Safe Design:</strong></p>
  * <p>Individual metric components (cache stats, handler stats) may be null if the corresponding
  * data is unavailable or empty. Always check for null values before accessing nested properties.</p>
+ *
+ * <p><strong>Partial Results:</strong></p>
+ * <p>A section whose request failed or did not finish in time is null and has an entry in
+ * {@code errors}, keyed by the section name (e.g. {@code "indexStats"}), describing why.
+ * {@code errors} is null when every section was retrieved.</p>
  * 
  * <p><strong>Example usage:</strong></p>
  * <pre>{@code
@@ -88,8 +95,16 @@ record SolrMetrics(
 
     /** Timestamp when these metrics were collected, formatted as ISO 8601 */
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
-    Date timestamp
+    Date timestamp,
+
+    /** Why individual sections are missing, keyed by section name (null when all sections were retrieved) */
+    Map<String, String> errors
 ) {
+
+    SolrMetrics(IndexStats indexStats, QueryStats queryStats, CacheStats cacheStats, HandlerStats handlerStats,
+                Date timestamp) {
+        this(indexStats, queryStats, cacheStats, handlerStats, timestamp, null);
+    }
 }
 
 /**
@@ -134,15 +149,15 @@ record IndexStats(
  *   <li><strong>type</strong>: Solr field type (e.g., "text_general", "int", "date")</li>
  *   <li><strong>docs</strong>: Number of documents containing this field</li>
  *   <li><strong>distinct</strong>: Number of unique values for this field</li>
+ *   <li><strong>topTerms</strong>: Most frequent terms and their document frequencies</li>
  * </ul>
  * 
  * <p><strong>Analysis Insights:</strong></p>
  * <p>High cardinality fields (high distinct values) may require special indexing
  * considerations, while sparsely populated fields (low docs count) might benefit
  * from different storage strategies.</p>
- * 
- * <p><strong>Note:</strong> This class is currently unused in the collection statistics
- * but is available for future field-level analysis features.</p>
+ *
+ * @see CollectionFieldStats
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -154,7 +169,46 @@ record FieldStats(
     Integer docs,
 
     /** Number of unique/distinct values for this field across all documents */
-    Integer distinct
+    Integer distinct,
+
+    /** Most frequent terms mapped to their document frequency, most frequent first (null if not requested) */
+    Map<String, Integer> topTerms
+) {
+
+    FieldStats(String type, Integer docs, Integer distinct) {
+        this(type, docs, distinct, null);
+    }
+}
+
+/**
+ * Field-level statistics for a chosen set of fields of a Solr collection.
+ *
+ * <p>Returned by the {@code get_field_stats} tool. Fields are listed in the order they were
+ * requested. A field whose statistics could not be retrieved, for example because it has no
+ * indexed terms or its request timed out, is missing from {@code fields} and has an entry in
+ * {@code errors} instead.</p>
+ *
+ * <p><strong>SolrCloud Note:</strong></p>
+ * <p>The Luke handler is not distributed, so in SolrCloud the statistics describe the
+ * replica that served the request rather than the whole collection.</p>
+ *
+ * @see FieldStats
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+record CollectionFieldStats(
+    /** Name of the collection the statistics were read from */
+    String collection,
+
+    /** Statistics per field, in the requested order */
+    Map<String, FieldStats> fields,
+
+    /** Why individual fields are missing, keyed by field name (null when all fields were retrieved) */
+    Map<String, String> errors,
+
+    /** Timestamp of this response, formatted as ISO 8601; cached field statistics may be older */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    Date timestamp
 ) {
 }
 
@@ -246,6 +300,10 @@ record CacheStats(
  *   <li><strong>lookups vs hits</strong>: Cache request patterns</li>
  * </ul>
  * 
+ * <p>Solr resets {@code lookups}, {@code hits}, {@code inserts} and {@code evictions} whenever
+ * a commit opens a new searcher. The {@code cumulative*} counters run from the time the core
+ * was loaded and are the ones to compare over time.</p>
+ * 
  * <p><strong>Performance Targets:</strong></p>
  * <p>Optimal cache performance typically shows high hit ratios (>0.80) with
  * minimal evictions. High eviction rates suggest cache size increases may
@@ -270,7 +328,16 @@ record CacheInfo(
     Long evictions,
 
     /** Current number of entries stored in the cache */
-    Long size
+    Long size,
+
+    /** Lookups since the core was loaded; unlike {@code lookups} not reset when a new searcher opens */
+    Long cumulativeLookups,
+
+    /** Hits since the core was loaded; unlike {@code hits} not reset when a new searcher opens */
+    Long cumulativeHits,
+
+    /** Evictions since the core was loaded; unlike {@code evictions} not reset when a new searcher opens */
+    Long cumulativeEvictions
 ) {
 }
 
@@ -318,6 +385,8 @@ record HandlerStats(
  *   <li><strong>errors</strong>: Reliability indicator</li>
  *   <li><strong>avgTimePerRequest</strong>: Response time performance</li>
  *   <li><strong>avgRequestsPerSecond</strong>: Throughput capacity</li>
+ *   <li><strong>p95TimePerRequest / p99TimePerRequest</strong>: Tail latency, only available
+ *       from the {@code /admin/metrics} API</li>
  * </ul>
  * 
  * <p><strong>Health Indicators:</strong></p>
@@ -343,8 +412,19 @@ record HandlerInfo(
     Float avgTimePerRequest,
 
     /** Average throughput in requests per second */
-    Float avgRequestsPerSecond
+    Float avgRequestsPerSecond,
+
+    /** 95th percentile of the request time in milliseconds (null when read from MBeans) */
+    Float p95TimePerRequest,
+
+    /** 99th percentile of the request time in milliseconds (null when read from MBeans) */
+    Float p99TimePerRequest
 ) {
+
+    HandlerInfo(Long requests, Long errors, Long timeouts, Long totalTime, Float avgTimePerRequest,
+                Float avgRequestsPerSecond) {
+        this(requests, errors, timeouts, totalTime, avgTimePerRequest, avgRequestsPerSecond, null, null);
+    }
 }
 
 /**
@@ -402,4 +482,114 @@ record SolrHealthStatus(
     /** Additional status information or state description */
     String status
 ) {
-}
\ No newline at end of file
+}
+
+/**
+ * Cache and request handler activity of a collection over time, computed from the samples
+ * taken by the background metrics sampler.
+ *
+ * <p>Returned by the {@code get_collection_stats_history} tool. The requested time range is
+ * split into consecutive {@code windows} of equal length, oldest first, so that trends such as
+ * a falling hit ratio become visible.</p>
+ *
+ * @see StatsWindow
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+record CollectionStatsHistory(
+    /** Name of the sampled collection */
+    String collection,
+
+    /** Number of samples held for the collection */
+    int samples,
+
+    /** Activity per window, oldest first */
+    List<StatsWindow> windows
+) {
+}
+
+/**
+ * Cache and request handler activity of a collection within one time window.
+ *
+ * <p>Counts are the increase of Solr's cumulative counters between the samples of the window.
+ * A section is null when the corresponding metrics were not available in the samples.</p>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+record StatsWindow(
+    /** Timestamp of the first sample of the window, formatted as ISO 8601 */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    Date from,
+
+    /** Timestamp of the last sample of the window, formatted as ISO 8601 */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    Date to,
+
+    /** Activity of the query result cache */
+    CacheActivity queryResultCache,
+
+    /** Activity of the document cache */
+    CacheActivity documentCache,
+
+    /** Activity of the filter cache */
+    CacheActivity filterCache,
+
+    /** Activity of the search/select request handler */
+    HandlerActivity selectHandler,
+
+    /** Activity of the document update request handler */
+    HandlerActivity updateHandler
+) {
+}
+
+/**
+ * Activity of one Solr cache within a time window.
+ *
+ * <p>Unlike {@link CacheInfo#hitratio()}, which covers everything since the searcher was
+ * opened, {@code hitRatio} here only reflects the lookups made within the window.</p>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+record CacheActivity(
+    /** Cache lookups within the window */
+    Long lookups,
+
+    /** Cache hits within the window */
+    Long hits,
+
+    /** Hits divided by lookups within the window (null without lookups) */
+    Float hitRatio,
+
+    /** Entries evicted within the window */
+    Long evictions,
+
+    /** Lookups per second over the window */
+    Double lookupsPerSecond,
+
+    /** Evictions per second over the window */
+    Double evictionsPerSecond
+) {
+}
+
+/**
+ * Activity of one Solr request handler within a time window.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+record HandlerActivity(
+    /** Requests handled within the window */
+    Long requests,
+
+    /** Requests that failed within the window */
+    Long errors,
+
+    /** Requests that timed out within the window */
+    Long timeouts,
+
+    /** Requests per second over the window */
+    Double requestsPerSecond,
+
+    /** Errors divided by requests within the window (null without requests) */
+    Float errorRatio
+) {
+}
@@ -0,0 +1,367 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.metadata;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.GenericSolrRequest;
+import org.apache.solr.common.params.ModifiableSolrParams;
+import org.apache.solr.common.util.NamedList;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the cache and request handler metrics of a collection from Solr's {@code /admin/metrics} API.
+ *
+ * <p>Unlike {@code /{collection}/admin/mbeans?stats=true}, which returns every cache and handler
+ * of the requested categories as deeply nested {@code NamedList}s, the request sent here is
+ * narrowed on the server side: {@code group=core} limits it to core registries, {@code prefix}
+ * to the three searcher caches and the {@code /select} and {@code /update} handler metrics, and
+ * {@code property} to the values that {@link CacheInfo} and {@link HandlerInfo} carry.</p>
+ *
+ * <p><strong>Cores of a Collection:</strong></p>
+ * <p>One request to the node behind the {@code SolrClient} returns the metrics of all cores
+ * hosted there. The registries of the collection's cores ({@code solr.core.<collection>} in
+ * standalone mode, {@code solr.core.<collection>.<shard>.<replica>} in SolrCloud) are picked
+ * from the response and summed up. Registry names are matched exactly, so that the cores of
+ * {@code films.v2} are not counted for {@code films}. Replicas hosted on other nodes are not
+ * included, and a collection without any core on the node is reported as an error.</p>
+ *
+ * <p><strong>Aggregation Across Cores:</strong></p>
+ * <ul>
+ *   <li>Counters such as lookups, hits, requests and errors are summed</li>
+ *   <li>The hit ratio is recomputed from the summed hits and lookups</li>
+ *   <li>The average request time is weighted by each core's request count</li>
+ *   <li>Latency percentiles cannot be merged exactly; the highest core value is reported</li>
+ * </ul>
+ *
+ * <p>The {@code key} parameter of the metrics API is not used because it needs the full
+ * registry names of the cores, which would cost another request to look up.</p>
+ *
+ * @version 0.0.1
+ * @since 0.0.1
+ *
+ * @see CollectionService
+ * @see MetricsSource#METRICS
+ */
+final class MetricsApiReader {
+
+    private static final String METRICS_PATH = "/admin/metrics";
+
+    private static final String METRICS_KEY = "metrics";
+
+    private static final String CORE_REGISTRY_PREFIX = "solr.core.";
+
+    private static final String GROUP_PARAM = "group";
+
+    private static final String PREFIX_PARAM = "prefix";
+
+    private static final String PROPERTY_PARAM = "property";
+
+    private static final String CORE_GROUP = "core";
+
+    private static final String QUERY_RESULT_CACHE_METRIC = "CACHE.searcher.queryResultCache";
+
+    private static final String DOCUMENT_CACHE_METRIC = "CACHE.searcher.documentCache";
+
+    private static final String FILTER_CACHE_METRIC = "CACHE.searcher.filterCache";
+
+    /** Metric name prefix of the {@code /select} handler */
+    private static final String SELECT_HANDLER_METRIC = "QUERY./select.";
+
+    /** Metric name prefix of the {@code /update} handler */
+    private static final String UPDATE_HANDLER_METRIC = "UPDATE./update.";
+
+    private static final String REQUESTS_METRIC = "requests";
+
+    private static final String ERRORS_METRIC = "errors";
+
+    private static final String TIMEOUTS_METRIC = "timeouts";
+
+    private static final String TOTAL_TIME_METRIC = "totalTime";
+
+    private static final String REQUEST_TIMES_METRIC = "requestTimes";
+
+    private static final List<String> HANDLER_METRICS =
+            List.of(REQUESTS_METRIC, ERRORS_METRIC, TIMEOUTS_METRIC, TOTAL_TIME_METRIC, REQUEST_TIMES_METRIC);
+
+    private static final String LOOKUPS = "lookups";
+
+    private static final String HITS = "hits";
+
+    private static final String INSERTS = "inserts";
+
+    private static final String EVICTIONS = "evictions";
+
+    private static final String SIZE = "size";
+
+    private static final String CUMULATIVE_LOOKUPS = "cumulative_lookups";
+
+    private static final String CUMULATIVE_HITS = "cumulative_hits";
+
+    private static final String CUMULATIVE_EVICTIONS = "cumulative_evictions";
+
+    private static final String COUNT = "count";
+
+    private static final String MEAN_RATE = "meanRate";
+
+    private static final String MEAN_MS = "mean_ms";
+
+    private static final String P95_MS = "p95_ms";
+
+    private static final String P99_MS = "p99_ms";
+
+    /** Properties of compound metrics that are returned; everything else is filtered out by Solr */
+    private static final List<String> PROPERTIES = List.of(LOOKUPS, HITS, INSERTS, EVICTIONS, SIZE,
+            CUMULATIVE_LOOKUPS, CUMULATIVE_HITS, CUMULATIVE_EVICTIONS, COUNT, MEAN_RATE, MEAN_MS, P95_MS, P99_MS);
+
+    private final SolrClient solrClient;
+
+    MetricsApiReader(SolrClient solrClient) {
+        this.solrClient = solrClient;
+    }
+
+    /**
+     * Cache and handler metrics of a collection, summed over its cores.
+     *
+     * @param cacheStats   searcher cache metrics, or {@code null} if not requested or not found
+     * @param handlerStats request handler metrics, or {@code null} if not requested or not found
+     */
+    record CollectionMetrics(CacheStats cacheStats, HandlerStats handlerStats) {
+    }
+
+    /**
+     * Reads the metrics of a collection with a single {@code /admin/metrics} request.
+     *
+     * @param collection the collection name (not a shard name)
+     * @param caches     whether to read the searcher cache metrics
+     * @param handlers   whether to read the request handler metrics
+     * @return the metrics of the collection's cores on the node
+     * @throws SolrServerException if there are errors communicating with Solr
+     * @throws IOException if there are I/O errors during communication
+     * @throws IllegalStateException if no core of the collection is hosted on the node
+     */
+    CollectionMetrics read(String collection, boolean caches, boolean handlers)
+            throws SolrServerException, IOException {
+        NamedList<Object> response = solrClient.request(new GenericSolrRequest(
+                SolrRequest.METHOD.GET, METRICS_PATH, params(caches, handlers)));
+
+        List<Object> cores = coreRegistries(response.get(METRICS_KEY), collection);
+        if (cores.isEmpty()) {
+            throw new IllegalStateException("No core of collection " + collection
+                    + " is hosted on the node behind solr.url; /admin/metrics does not cover other nodes");
+        }
+        return new CollectionMetrics(
+                caches ? cacheStats(cores) : null,
+                handlers ? handlerStats(cores) : null);
+    }
+
+    private static ModifiableSolrParams params(boolean caches, boolean handlers) {
+        List<String> prefixes = new ArrayList<>();
+        if (caches) {
+            prefixes.addAll(List.of(QUERY_RESULT_CACHE_METRIC, DOCUMENT_CACHE_METRIC, FILTER_CACHE_METRIC));
+        }
+        if (handlers) {
+            for (String metric : HANDLER_METRICS) {
+                prefixes.add(SELECT_HANDLER_METRIC + metric);
+                prefixes.add(UPDATE_HANDLER_METRIC + metric);
+            }
+        }
+        ModifiableSolrParams params = new ModifiableSolrParams();
+        params.set(GROUP_PARAM, CORE_GROUP);
+        params.set(PREFIX_PARAM, String.join(",", prefixes));
+        params.set(PROPERTY_PARAM, PROPERTIES.toArray(new String[0]));
+        return params;
+    }
+
+    /**
+     * Picks the registries of the collection's cores from the metrics response.
+     *
+     * <p>Only {@code solr.core.<collection>} and {@code solr.core.<collection>.<shard>.<replica>}
+     * match, with shard and replica names free of dots.</p>
+     */
+    private static List<Object> coreRegistries(Object metrics, String collection) {
+        List<Object> cores = new ArrayList<>();
+        Pattern coreRegistry = Pattern.compile(
+                Pattern.quote(CORE_REGISTRY_PREFIX + collection) + "(\\.[^.]+\\.[^.]+)?");
+        if (metrics instanceof NamedList<?> registries) {
+            for (int i = 0; i < registries.size(); i++) {
+                String name = registries.getName(i);
+                if (name != null && coreRegistry.matcher(name).matches()) {
+                    cores.add(registries.getVal(i));
+                }
+            }
+        } else if (metrics instanceof Map<?, ?> registries) {
+            registries.forEach((name, registry) -> {
+                if (coreRegistry.matcher(String.valueOf(name)).matches()) {
+                    cores.add(registry);
+                }
+            });
+        }
+        return cores;
+    }
+
+    private static CacheStats cacheStats(List<Object> cores) {
+        CacheStats stats = new CacheStats(
+                cacheInfo(cores, QUERY_RESULT_CACHE_METRIC),
+                cacheInfo(cores, DOCUMENT_CACHE_METRIC),
+                cacheInfo(cores, FILTER_CACHE_METRIC));
+        return stats.queryResultCache() == null && stats.documentCache() == null && stats.filterCache() == null
+                ? null : stats;
+    }
+
+    private static CacheInfo cacheInfo(List<Object> cores, String metric) {
+        Sum lookups = new Sum();
+        Sum hits = new Sum();
+        Sum inserts = new Sum();
+        Sum evictions = new Sum();
+        Sum size = new Sum();
+        Sum cumulativeLookups = new Sum();
+        Sum cumulativeHits = new Sum();
+        Sum cumulativeEvictions = new Sum();
+        boolean found = false;
+        for (Object core : cores) {
+            Object cache = get(core, metric);
+            if (cache != null) {
+                found = true;
+                lookups.add(get(cache, LOOKUPS));
+                hits.add(get(cache, HITS));
+                inserts.add(get(cache, INSERTS));
+                evictions.add(get(cache, EVICTIONS));
+                size.add(get(cache, SIZE));
+                cumulativeLookups.add(get(cache, CUMULATIVE_LOOKUPS));
+                cumulativeHits.add(get(cache, CUMULATIVE_HITS));
+                cumulativeEvictions.add(get(cache, CUMULATIVE_EVICTIONS));
+            }
+        }
+        if (!found) {
+            return null;
+        }
+        Float hitratio = lookups.value() == null || hits.value() == null ? null
+                : lookups.value() == 0 ? 0.0f : (float) hits.value() / lookups.value();
+        return new CacheInfo(lookups.value(), hits.value(), hitratio, inserts.value(), evictions.value(),
+                size.value(), cumulativeLookups.value(), cumulativeHits.value(), cumulativeEvictions.value());
+    }
+
+    private static HandlerStats handlerStats(List<Object> cores) {
+        HandlerStats stats = new HandlerStats(
+                handlerInfo(cores, SELECT_HANDLER_METRIC),
+                handlerInfo(cores, UPDATE_HANDLER_METRIC));
+        return stats.selectHandler() == null && stats.updateHandler() == null ? null : stats;
+    }
+
+    private static HandlerInfo handlerInfo(List<Object> cores, String handler) {
+        Sum requests = new Sum();
+        Sum errors = new Sum();
+        Sum timeouts = new Sum();
+        Sum totalTime = new Sum();
+        double weightedMeanMillis = 0;
+        long timedRequests = 0;
+        double requestsPerSecond = 0;
+        Float p95 = null;
+        Float p99 = null;
+        boolean found = false;
+        for (Object core : cores) {
+            Object requestCount = get(core, handler + REQUESTS_METRIC);
+            Object requestTimes = get(core, handler + REQUEST_TIMES_METRIC);
+            if (requestCount == null && requestTimes == null) {
+                continue;
+            }
+            found = true;
+            requests.add(count(requestCount));
+            errors.add(count(get(core, handler + ERRORS_METRIC)));
+            timeouts.add(count(get(core, handler + TIMEOUTS_METRIC)));
+            totalTime.add(count(get(core, handler + TOTAL_TIME_METRIC)));
+            if (requestTimes != null) {
+                Number timed = number(get(requestTimes, COUNT));
+                Number mean = number(get(requestTimes, MEAN_MS));
+                if (timed != null && mean != null) {
+                    weightedMeanMillis += mean.doubleValue() * timed.longValue();
+                    timedRequests += timed.longValue();
+                }
+                Number rate = number(get(requestTimes, MEAN_RATE));
+                if (rate != null) {
+                    requestsPerSecond += rate.doubleValue();
+                }
+                p95 = max(p95, number(get(requestTimes, P95_MS)));
+                p99 = max(p99, number(get(requestTimes, P99_MS)));
+            }
+        }
+        if (!found) {
+            return null;
+        }
+        return new HandlerInfo(requests.value(), errors.value(), timeouts.value(), totalTime.value(),
+                timedRequests > 0 ? (float) (weightedMeanMillis / timedRequests) : 0.0f,
+                (float) requestsPerSecond, p95, p99);
+    }
+
+    /**
+     * Returns a named value of a metrics response node, which depending on the response
+     * writer is either a {@link NamedList} or a {@link Map}.
+     */
+    private static Object get(Object node, String name) {
+        if (node instanceof NamedList<?> list) {
+            return list.get(name);
+        }
+        if (node instanceof Map<?, ?> map) {
+            return map.get(name);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the count of a counter or meter. Counters are plain numbers in the compact
+     * format Solr uses by default, while meters carry a {@value #COUNT} property.
+     */
+    private static Object count(Object metric) {
+        return metric instanceof Number ? metric : get(metric, COUNT);
+    }
+
+    private static Number number(Object value) {
+        return value instanceof Number number ? number : null;
+    }
+
+    private static Float max(Float current, Number value) {
+        if (value == null) {
+            return current;
+        }
+        return current == null ? value.floatValue() : Math.max(current, value.floatValue());
+    }
+
+    /**
+     * Sum of a metric over cores, {@code null} while no core reported it.
+     */
+    private static final class Sum {
+
+        private Long total;
+
+        void add(Object value) {
+            if (value instanceof Number number) {
+                total = (total == null ? 0 : total) + number.longValue();
+            }
+        }
+
+        Long value() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.metadata;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size ring buffer of cache and handler counter samples of one collection.
+ *
+ * <p>Samples are stored column-wise in primitive arrays: one {@code long[]} of timestamps and
+ * one {@code long[]} holding {@link Series#COUNT} counter values per sample. Recording a sample
+ * allocates nothing, and once {@code capacity} samples are held each new sample overwrites the
+ * oldest one. A counter that could not be read is stored as {@link #MISSING}.</p>
+ *
+ * <p><strong>Activity Between Samples:</strong></p>
+ * <p>{@link #activity(long, long)} sums the increase of every counter between consecutive
+ * samples. A counter that went down was reset, typically by a core reload or a Solr restart,
+ * and its value after the reset is counted as the increase.</p>
+ *
+ * <p>Cache columns hold Solr's {@code cumulative_*} counters. The plain lookups, hits and
+ * evictions of a cache start from zero with every new searcher, so on a collection that is
+ * committed to more often than it is sampled they would lose all activity before the commit.</p>
+ *
+ * <p><strong>Thread Safety:</strong></p>
+ * <p>All methods are synchronized; the sampler thread records while tool calls read.</p>
+ *
+ * @version 0.0.1
+ * @since 0.0.1
+ *
+ * @see CollectionStatsSampler
+ */
+final class MetricsHistory {
+
+    /** Stored in place of a counter that could not be read */
+    static final long MISSING = Long.MIN_VALUE;
+
+    /**
+     * The counters kept per sample; the ordinal is the column within a sample.
+     */
+    enum Series {
+        QUERY_RESULT_CACHE_LOOKUPS,
+        QUERY_RESULT_CACHE_HITS,
+        QUERY_RESULT_CACHE_EVICTIONS,
+        DOCUMENT_CACHE_LOOKUPS,
+        DOCUMENT_CACHE_HITS,
+        DOCUMENT_CACHE_EVICTIONS,
+        FILTER_CACHE_LOOKUPS,
+        FILTER_CACHE_HITS,
+        FILTER_CACHE_EVICTIONS,
+        SELECT_REQUESTS,
+        SELECT_ERRORS,
+        SELECT_TIMEOUTS,
+        UPDATE_REQUESTS,
+        UPDATE_ERRORS,
+        UPDATE_TIMEOUTS;
+
+        static final int COUNT = values().length;
+    }
+
+    /**
+     * Summed counter increases over a time range.
+     *
+     * @param fromMillis    timestamp of the earliest sample used, or the requested start if none
+     * @param toMillis      timestamp of the latest sample used, or the requested end if none
+     * @param elapsedMillis time covered by the consecutive sample pairs that were summed
+     * @param deltas        increase per {@link Series} ordinal, {@link #MISSING} if it could not be computed
+     */
+    record Activity(long fromMillis, long toMillis, long elapsedMillis, long[] deltas) {
+
+        long delta(Series series) {
+            return deltas[series.ordinal()];
+        }
+    }
+
+    private final long[] timestamps;
+
+    private final long[] values;
+
+    /** Slot the next sample is written to */
+    private int next;
+
+    /** Number of samples held, at most the capacity */
+    private int size;
+
+    MetricsHistory(int capacity) {
+        this.timestamps = new long[capacity];
+        this.values = new long[capacity * Series.COUNT];
+    }
+
+    /**
+     * Records the counters of one sample, overwriting the oldest sample once the buffer is full.
+     *
+     * @param timestampMillis when the sample was taken
+     * @param cacheStats      cache metrics, or {@code null} if unavailable
+     * @param handlerStats    handler metrics, or {@code null} if unavailable
+     */
+    synchronized void record(long timestampMillis, CacheStats cacheStats, HandlerStats handlerStats) {
+        int base = next * Series.COUNT;
+        Arrays.fill(values, base, base + Series.COUNT, MISSING);
+        if (cacheStats != null) {
+            putCache(base, Series.QUERY_RESULT_CACHE_LOOKUPS, cacheStats.queryResultCache());
+            putCache(base, Series.DOCUMENT_CACHE_LOOKUPS, cacheStats.documentCache());
+            putCache(base, Series.FILTER_CACHE_LOOKUPS, cacheStats.filterCache());
+        }
+        if (handlerStats != null) {
+            putHandler(base, Series.SELECT_REQUESTS, handlerStats.selectHandler());
+            putHandler(base, Series.UPDATE_REQUESTS, handlerStats.updateHandler());
+        }
+        timestamps[next] = timestampMillis;
+        next = (next + 1) % timestamps.length;
+        size = Math.min(size + 1, timestamps.length);
+    }
+
+    /**
+     * @return number of samples held
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return timestamp of the oldest sample held, or {@link #MISSING} if there is none
+     */
+    synchronized long oldestTimestamp() {
+        return size == 0 ? MISSING : timestamps[slot(0)];
+    }
+
+    /**
+     * @return timestamp of the newest sample held, or {@link #MISSING} if there is none
+     */
+    synchronized long newestTimestamp() {
+        return size == 0 ? MISSING : timestamps[slot(size - 1)];
+    }
+
+    /**
+     * Sums the counter increases between consecutive samples whose later sample was taken
+     * after {@code fromMillis} and at or before {@code toMillis}.
+     *
+     * <p>Adjacent ranges therefore never count the same increase twice.</p>
+     *
+     * @param fromMillis exclusive start of the range
+     * @param toMillis   inclusive end of the range
+     * @return the summed increases
+     */
+    synchronized Activity activity(long fromMillis, long toMillis) {
+        long[] deltas = new long[Series.COUNT];
+        Arrays.fill(deltas, MISSING);
+        long first = MISSING;
+        long last = MISSING;
+        long elapsed = 0;
+        for (int i = 1; i < size; i++) {
+            int previous = slot(i - 1);
+            int current = slot(i);
+            if (timestamps[current] <= fromMillis || timestamps[current] > toMillis) {
+                continue;
+            }
+            if (first == MISSING) {
+                first = timestamps[previous];
+            }
+            last = timestamps[current];
+            elapsed += timestamps[current] - timestamps[previous];
+            for (int series = 0; series < Series.COUNT; series++) {
+                long before = values[previous * Series.COUNT + series];
+                long after = values[current * Series.COUNT + series];
+                if (before == MISSING || after == MISSING) {
+                    continue;
+                }
+                long increase = after >= before ? after - before : after;
+                deltas[series] = deltas[series] == MISSING ? increase : deltas[series] + increase;
+            }
+        }
+        return new Activity(first == MISSING ? fromMillis : first, last == MISSING ? toMillis : last,
+                elapsed, deltas);
+    }
+
+    /**
+     * @param index position from the oldest sample held
+     * @return the slot of that sample in the arrays
+     */
+    private int slot(int index) {
+        return (next - size + index + timestamps.length) % timestamps.length;
+    }
+
+    /**
+     * Stores the cumulative lookups, hits and evictions of a cache, starting at the given lookups column.
+     */
+    private void putCache(int base, Series lookups, CacheInfo cache) {
+        if (cache != null) {
+            put(base, lookups.ordinal(), cache.cumulativeLookups());
+            put(base, lookups.ordinal() + 1, cache.cumulativeHits());
+            put(base, lookups.ordinal() + 2, cache.cumulativeEvictions());
+        }
+    }
+
+    /**
+     * Stores requests, errors and timeouts of a handler, starting at the given requests column.
+     */
+    private void putHandler(int base, Series requests, HandlerInfo handler) {
+        if (handler != null) {
+            put(base, requests.ordinal(), handler.requests());
+            put(base, requests.ordinal() + 1, handler.errors());
+            put(base, requests.ordinal() + 2, handler.timeouts());
+        }
+    }
+
+    private void put(int base, int column, Long value) {
+        if (value != null) {
+            values[base + column] = value;
+        }
+    }
+}
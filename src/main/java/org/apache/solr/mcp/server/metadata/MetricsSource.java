@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.metadata;
+
+/**
+ * Solr admin API that {@link CollectionService} reads cache and request handler metrics from.
+ *
+ * <p><strong>Available Sources:</strong></p>
+ * <ul>
+ *   <li><strong>METRICS</strong>: The node-level {@code /admin/metrics} API, filtered to the metrics and
+ *       properties the stats tools use; also provides latency percentiles, but only covers the
+ *       replicas hosted on the node behind {@code solr.url}</li>
+ *   <li><strong>MBEANS</strong>: The per-collection {@code /admin/mbeans} handler, which returns every
+ *       cache and handler of the requested categories; the default</li>
+ * </ul>
+ *
+ * @version 0.0.1
+ * @since 0.0.1
+ *
+ * @see MetricsApiReader
+ */
+public enum MetricsSource {
+
+    METRICS,
+    MBEANS
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a cursor-paged search, returned by
+ * {@link SearchService#searchWithCursor(String, String, List, List, List, Integer, String, List, Integer)}.
+ *
+ * <p>Unlike {@link SearchResponse}, a page does not carry a start offset. Instead it carries
+ * the cursor that fetches the following page. Paging is complete when {@code finished} is
+ * true, which Solr signals by returning the same cursor mark that was sent.</p>
+ *
+ * <p>Like a {@link SearchResponse}, a page is fitted into a character budget. Documents left
+ * out of a page are not skipped: {@code nextCursorMark} then resumes after the last returned
+ * document. {@code truncation} reports what was cut, and is null and omitted from the JSON
+ * otherwise.</p>
+ *
+ * <p><strong>JSON Serialization Example:</strong></p>
+ * <pre>{@code
+ * {
+ *   "numFound": 250000,
+ *   "maxScore": null,
+ *   "documents": [
+ *     {"id": "1", "title": "Product 1"}
+ *   ],
+ *   "facets": {},
+ *   "cursorMark": "*",
+ *   "nextCursorMark": "AoEjR0JQ",
+ *   "finished": false
+ * }
+ * }</pre>
+ *
+ * @param numFound       total number of documents matching the search
+ * @param maxScore       highest relevance score on the page (null if scores were not requested)
+ * @param documents      the documents of this page
+ * @param facets         facet counts over the complete result set
+ * @param cursorMark     the cursor mark this page was requested with
+ * @param nextCursorMark the cursor mark to request the next page with
+ * @param finished       whether there are no further pages
+ * @param truncation     what was cut or moved to the next page to fit the response budget, or null
+ *
+ * @see SearchService#searchWithCursor(String, String, List, List, List, Integer, String, List, Integer)
+ */
+public record CursorSearchResponse(
+        long numFound,
+        Float maxScore,
+        List<Map<String, Object>> documents,
+        Map<String, Map<String, Long>> facets,
+        String cursorMark,
+        String nextCursorMark,
+        boolean finished,
+        @JsonInclude(JsonInclude.Include.NON_NULL) SearchResponse.Truncation truncation
+) {
+}
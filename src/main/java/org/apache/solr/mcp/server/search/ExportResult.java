@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+/**
+ * Summary of a completed {@code export_documents} call.
+ *
+ * <p>The exported documents themselves are only written to the file; this record tells the
+ * caller where to find them and how many there are.</p>
+ *
+ * @param path             absolute path of the written file
+ * @param format           file format, {@code ndjson} or {@code csv}
+ * @param numFound         number of documents Solr reported as matching
+ * @param documentsWritten number of documents written to the file
+ * @param bytesWritten     size of the written file
+ * @param elapsedMillis    time taken by the export
+ *
+ * @see ExportService
+ */
+public record ExportResult(
+        String path,
+        String format,
+        long numFound,
+        long documentsWritten,
+        long bytesWritten,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,467 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.InputStreamResponseParser;
+import org.apache.solr.client.solrj.request.GenericSolrRequest;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.ModifiableSolrParams;
+import org.apache.solr.common.util.NamedList;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springaicommunity.mcp.annotation.McpToolParam;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Spring Service exporting complete result sets from Solr's {@code /export} handler into
+ * local files.
+ *
+ * <p>The {@code Search} tools materialize every page as a {@code SolrDocumentList} and copy it
+ * into maps, which is fine for what an AI client reads but not for pulling hundreds of
+ * thousands of rows for analysis. This service streams the {@code /export} response instead:
+ * documents are parsed one at a time and written straight to the output file, so memory use
+ * stays constant regardless of the number of rows.</p>
+ *
+ * <p><strong>Export Requirements:</strong></p>
+ * <p>Solr's export handler only returns docValues fields and always requires a sort. When no
+ * sort clauses are given, results are sorted ascending on the first requested field.</p>
+ *
+ * <p><strong>SolrCloud:</strong></p>
+ * <p>The {@code /export} handler is not distributed: sent to a collection it answers from a
+ * single shard. In SolrCloud the export is therefore run as a {@code search} streaming
+ * expression with {@code qt="/export"} on the collection's {@code /stream} handler, which
+ * exports every shard and merges the results in sort order. The stream does not report the
+ * number of matches, so it is the number of documents written. Standalone Solr is sent the
+ * {@code /export} request directly; whether Solr runs in SolrCloud mode is read from
+ * {@code /admin/info/system} on first use.</p>
+ *
+ * <p><strong>Output Formats:</strong></p>
+ * <ul>
+ *   <li><strong>ndjson</strong>: one JSON object per line, the default</li>
+ *   <li><strong>csv</strong>: a header row with the requested fields followed by one row per
+ *       document; values of multi-valued fields are joined with {@code |}</li>
+ * </ul>
+ *
+ * <p><strong>Output Location:</strong></p>
+ * <p>Files are written below {@code solr.search.export.directory}. The export is first
+ * written to a uniquely named {@code .part} file next to the target that is moved into place
+ * once complete, so a partially written export never appears under the requested name and
+ * concurrent exports to the same name do not overwrite each other's output.</p>
+ *
+ * @version 0.0.1
+ * @since 0.0.1
+ *
+ * @see ExportResult
+ * @see SearchService
+ */
+@Service
+public class ExportService {
+
+    static final String FORMAT_NDJSON = "ndjson";
+    static final String FORMAT_CSV = "csv";
+
+    private static final String EXPORT_HANDLER = "/export";
+    private static final String STREAM_HANDLER = "/stream";
+    private static final String SYSTEM_INFO_PATH = "/admin/info/system";
+    private static final String MULTI_VALUE_SEPARATOR = "|";
+
+    /** Collection names that can be written into a streaming expression unquoted */
+    private static final Pattern COLLECTION_NAME = Pattern.compile("[\\w.-]+");
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final SolrClient solrClient;
+
+    private final Path exportDirectory;
+
+    /** Whether Solr runs in SolrCloud mode, or {@code null} until first asked */
+    private volatile Boolean solrCloud;
+
+    /**
+     * Constructs the export service.
+     *
+     * @param solrClient the SolrJ client used to call the export handler
+     * @param properties the Solr configuration properties providing the export directory
+     */
+    public ExportService(SolrClient solrClient, SolrConfigurationProperties properties) {
+        this.solrClient = solrClient;
+        this.exportDirectory = properties.search().export().directory();
+    }
+
+    /**
+     * Exports all documents matching a query into a local NDJSON or CSV file.
+     *
+     * @param collection    the Solr collection to export from
+     * @param query         the Solr query string (q parameter). Defaults to "*:*" if not specified
+     * @param filterQueries list of filter queries (fq parameter)
+     * @param fields        docValues fields to export
+     * @param sortClauses   sort clauses over docValues fields; defaults to the first field ascending
+     * @param fileName      name of the output file, relative to the export directory
+     * @param format        ndjson or csv; defaults to csv for {@code .csv} files and ndjson otherwise
+     * @return where the file was written and how many documents it holds
+     * @throws SolrServerException if Solr rejects the export request
+     * @throws IOException if the export cannot be read or the file cannot be written
+     * @throws IllegalArgumentException if the fields, file name or format are invalid
+     */
+    @McpTool(name = "export_documents",
+            description = """
+                    Export every document matching a query from a Solr collection into a local NDJSON or CSV file
+                    using Solr's /export handler, across all shards in SolrCloud. Use this instead of Search to extract large result sets for analysis;
+                    only the file location and document count are returned. All fields and sort fields must have docValues.
+                    """)
+    public ExportResult exportDocuments(
+            @McpToolParam(description = "Solr collection to export from") String collection,
+            @McpToolParam(description = "Solr q parameter. If none specified defaults to \"*:*\"", required = false) String query,
+            @McpToolParam(description = "Solr fq parameter", required = false) List<String> filterQueries,
+            @McpToolParam(description = "docValues fields to export") List<String> fields,
+            @McpToolParam(description = "Solr sort parameter over docValues fields. Defaults to the first field ascending", required = false) List<Map<String, String>> sortClauses,
+            @McpToolParam(description = "Output file name, relative to the server's export directory") String fileName,
+            @McpToolParam(description = "Output format: ndjson or csv. Defaults to csv for .csv files and ndjson otherwise", required = false) String format)
+            throws SolrServerException, IOException {
+
+        if (CollectionUtils.isEmpty(fields) || fields.stream().noneMatch(StringUtils::hasText)) {
+            throw new IllegalArgumentException("At least one field to export is required");
+        }
+        final List<String> exportFields = fields.stream().filter(StringUtils::hasText).map(String::trim).toList();
+        final Path target = resolveTarget(fileName);
+        final String exportFormat = resolveFormat(format, target);
+        if (collection == null || !COLLECTION_NAME.matcher(collection).matches()) {
+            throw new IllegalArgumentException("Invalid collection name: " + collection);
+        }
+
+        final String q = StringUtils.hasText(query) ? query : "*:*";
+        final List<String> fq = CollectionUtils.isEmpty(filterQueries) ? List.of() : filterQueries;
+        final String fl = String.join(",", exportFields);
+        final String sort = CollectionUtils.isEmpty(sortClauses)
+                ? exportFields.getFirst() + " asc"
+                : sortClauses.stream()
+                .map(clause -> clause.get(SearchService.SORT_ITEM) + " " + clause.get(SearchService.SORT_ORDER))
+                .collect(Collectors.joining(","));
+
+        final ModifiableSolrParams params = new ModifiableSolrParams();
+        final String handler;
+        if (isSolrCloud()) {
+            handler = STREAM_HANDLER;
+            params.set("expr", searchExpression(collection, q, fq, fl, sort));
+        } else {
+            handler = EXPORT_HANDLER;
+            params.set(CommonParams.Q, q);
+            if (!fq.isEmpty()) {
+                params.set(CommonParams.FQ, fq.toArray(new String[0]));
+            }
+            params.set(CommonParams.FL, fl);
+            params.set(CommonParams.SORT, sort);
+        }
+        params.set(CommonParams.WT, CommonParams.JSON);
+
+        final GenericSolrRequest request = new GenericSolrRequest(SolrRequest.METHOD.POST, handler, params);
+        request.setResponseParser(new InputStreamResponseParser(CommonParams.JSON));
+
+        final long startNanos = System.nanoTime();
+        Files.createDirectories(target.getParent());
+        final Path partFile = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".part");
+        final long[] counts;
+        try {
+            final NamedList<Object> response = solrClient.request(request, collection);
+            try (InputStream stream = (InputStream) response.get("stream");
+                 Writer writer = Files.newBufferedWriter(partFile, StandardCharsets.UTF_8)) {
+                final Object status = response.get("responseStatus");
+                if (status instanceof Integer code && code != 200) {
+                    throw new IOException("Export from collection " + collection + " failed with HTTP status "
+                            + code + ": " + new String(stream.readNBytes(2048), StandardCharsets.UTF_8));
+                }
+                counts = FORMAT_CSV.equals(exportFormat)
+                        ? copyDocuments(stream, csvWriter(writer, exportFields))
+                        : copyDocuments(stream, ndjsonWriter(writer));
+            }
+            Files.move(partFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (SolrServerException | IOException | RuntimeException e) {
+            Files.deleteIfExists(partFile);
+            throw e;
+        }
+
+        final long numFound = counts[0] < 0 ? counts[1] : counts[0];
+        return new ExportResult(target.toString(), exportFormat, numFound, counts[1], Files.size(target),
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Tells whether Solr runs in SolrCloud mode, asking {@code /admin/info/system} once.
+     *
+     * @return {@code true} for SolrCloud, {@code false} for standalone Solr
+     * @throws SolrServerException if Solr cannot be asked
+     * @throws IOException if the request cannot be sent
+     */
+    private boolean isSolrCloud() throws SolrServerException, IOException {
+        Boolean cloud = solrCloud;
+        if (cloud == null) {
+            final GenericSolrRequest request = new GenericSolrRequest(SolrRequest.METHOD.GET, SYSTEM_INFO_PATH,
+                    new ModifiableSolrParams());
+            final NamedList<Object> info = solrClient.request(request, null);
+            cloud = info != null && "solrcloud".equals(info.get("mode"));
+            solrCloud = cloud;
+        }
+        return cloud;
+    }
+
+    /**
+     * Builds the {@code search} streaming expression exporting all shards of a collection.
+     *
+     * <p>Parameter values are quoted, with embedded backslashes and double quotes escaped as
+     * the expression parser expects.</p>
+     *
+     * @return the expression for the {@code expr} parameter of {@code /stream}
+     */
+    static String searchExpression(String collection, String query, List<String> filterQueries, String fields,
+                                   String sort) {
+        final StringBuilder expression = new StringBuilder("search(").append(collection)
+                .append(",qt=").append(quote(EXPORT_HANDLER))
+                .append(",q=").append(quote(query));
+        for (String filterQuery : filterQueries) {
+            expression.append(",fq=").append(quote(filterQuery));
+        }
+        return expression.append(",fl=").append(quote(fields))
+                .append(",sort=").append(quote(sort))
+                .append(')').toString();
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    /**
+     * Resolves the output file below the export directory.
+     *
+     * @param fileName the requested file name
+     * @return the absolute output path
+     * @throws IllegalArgumentException if the name is blank or points outside the export directory
+     */
+    private Path resolveTarget(String fileName) {
+        if (!StringUtils.hasText(fileName)) {
+            throw new IllegalArgumentException("An output file name is required");
+        }
+        final Path target = exportDirectory.resolve(fileName.trim()).normalize();
+        if (!target.startsWith(exportDirectory) || target.equals(exportDirectory)) {
+            throw new IllegalArgumentException("Output file must be inside the export directory " + exportDirectory
+                    + ": " + fileName);
+        }
+        return target;
+    }
+
+    private static String resolveFormat(String format, Path target) {
+        if (!StringUtils.hasText(format)) {
+            return target.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv") ? FORMAT_CSV : FORMAT_NDJSON;
+        }
+        final String normalized = format.trim().toLowerCase(Locale.ROOT);
+        if (!FORMAT_NDJSON.equals(normalized) && !FORMAT_CSV.equals(normalized)) {
+            throw new IllegalArgumentException("Unsupported export format '" + format + "', expected ndjson or csv");
+        }
+        return normalized;
+    }
+
+    /**
+     * Receives exported documents one at a time.
+     */
+    @FunctionalInterface
+    private interface DocumentWriter {
+
+        void write(Map<String, Object> document) throws IOException;
+
+        default void finish() throws IOException {
+        }
+    }
+
+    private static DocumentWriter ndjsonWriter(Writer writer) throws IOException {
+        final JsonGenerator generator = JSON_FACTORY.createGenerator(writer);
+        generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        return new DocumentWriter() {
+            private boolean empty = true;
+
+            @Override
+            public void write(Map<String, Object> document) throws IOException {
+                empty = false;
+                generator.writeStartObject();
+                for (Map.Entry<String, Object> field : document.entrySet()) {
+                    generator.writeFieldName(field.getKey());
+                    writeJsonValue(generator, field.getValue());
+                }
+                generator.writeEndObject();
+            }
+
+            @Override
+            public void finish() throws IOException {
+                if (!empty) {
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+            }
+        };
+    }
+
+    private static void writeJsonValue(JsonGenerator generator, Object value) throws IOException {
+        if (value instanceof List<?> values) {
+            generator.writeStartArray();
+            for (Object element : values) {
+                writeJsonValue(generator, element);
+            }
+            generator.writeEndArray();
+        } else if (value instanceof String text) {
+            generator.writeString(text);
+        } else if (value instanceof Boolean flag) {
+            generator.writeBoolean(flag);
+        } else if (value instanceof Number number) {
+            generator.writeNumber(number.toString());
+        } else {
+            generator.writeNull();
+        }
+    }
+
+    private static DocumentWriter csvWriter(Writer writer, List<String> fields) throws IOException {
+        final CSVPrinter printer = new CSVPrinter(writer,
+                CSVFormat.Builder.create().setHeader(fields.toArray(new String[0])).build());
+        final List<Object> row = new ArrayList<>(fields.size());
+        return new DocumentWriter() {
+            @Override
+            public void write(Map<String, Object> document) throws IOException {
+                row.clear();
+                for (String field : fields) {
+                    Object value = document.get(field);
+                    row.add(value instanceof List<?> values
+                            ? values.stream().map(String::valueOf).collect(Collectors.joining(MULTI_VALUE_SEPARATOR))
+                            : value);
+                }
+                printer.printRecord(row);
+            }
+
+            @Override
+            public void finish() throws IOException {
+                printer.flush();
+            }
+        };
+    }
+
+    /**
+     * Streams the documents of an export response into a writer.
+     *
+     * <p>Only the document currently being copied is held in memory. Both the {@code response}
+     * of {@code /export} and the {@code result-set} of {@code /stream} are read; the latter
+     * ends with an {@code EOF} marker document, which is not written. Solr reports failures
+     * that occur after the response has started as a document with an {@code EXCEPTION}
+     * field, which is turned into an {@link IOException}.</p>
+     *
+     * @param stream the JSON export or stream response
+     * @param writer receives every document
+     * @return the reported number of matches, or {@code -1} if none was reported, and the
+     *         number of documents written
+     * @throws IOException if the response is malformed, reports an error or cannot be written
+     */
+    private static long[] copyDocuments(InputStream stream, DocumentWriter writer) throws IOException {
+        long numFound = -1;
+        long written = 0;
+        try (JsonParser parser = JSON_FACTORY.createParser(stream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Export response is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.currentName();
+                parser.nextToken();
+                if (!"response".equals(name) && !"result-set".equals(name)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String responseField = parser.currentName();
+                    final JsonToken token = parser.nextToken();
+                    if ("numFound".equals(responseField)) {
+                        numFound = parser.getLongValue();
+                    } else if ("docs".equals(responseField) && token == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            Map<String, Object> document = readDocument(parser);
+                            if (document.containsKey("EXCEPTION")) {
+                                throw new IOException("Export failed after " + written + " documents: "
+                                        + document.get("EXCEPTION"));
+                            }
+                            if (document.containsKey("EOF")) {
+                                continue;
+                            }
+                            writer.write(document);
+                            written++;
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+        writer.finish();
+        return new long[]{numFound, written};
+    }
+
+    private static Map<String, Object> readDocument(JsonParser parser) throws IOException {
+        final Map<String, Object> document = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                List<Object> values = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    values.add(readScalar(parser));
+                }
+                document.put(field, values);
+            } else {
+                document.put(field, readScalar(parser));
+            }
+        }
+        return document;
+    }
+
+    private static Object readScalar(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+            case VALUE_TRUE, VALUE_FALSE -> parser.getBooleanValue();
+            case VALUE_NULL -> null;
+            default -> throw new IOException("Unexpected " + parser.currentToken() + " in exported document");
+        };
+    }
+}
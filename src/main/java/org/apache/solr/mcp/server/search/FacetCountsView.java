@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+import org.apache.solr.client.solrj.response.FacetField;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only map view of SolrJ facet fields, keyed by field name, whose values are read-only
+ * maps from facet value to count.
+ *
+ * <p>Used as {@link SearchResponse#facets()} so that facet counts are serialized straight
+ * from the {@link FacetField} objects of the query response, without copying them into hash
+ * maps first. Iteration follows the order Solr returned, fields in request order and values
+ * by descending count. Lookups by key scan the list, which is cheap for the few dozen
+ * entries a facet usually has.</p>
+ *
+ * @see SearchService
+ */
+final class FacetCountsView extends AbstractMap<String, Map<String, Long>> {
+
+    private final List<FacetField> facetFields;
+
+    /**
+     * Creates a view over the facet fields of a query response.
+     *
+     * @param facetFields the facet fields, or null if faceting was not requested
+     */
+    FacetCountsView(List<FacetField> facetFields) {
+        this.facetFields = facetFields != null ? facetFields : List.of();
+    }
+
+    @Override
+    public Set<Entry<String, Map<String, Long>>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Map<String, Long>>> iterator() {
+                final Iterator<FacetField> fields = facetFields.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return fields.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Map<String, Long>> next() {
+                        FacetField field = fields.next();
+                        return new SimpleImmutableEntry<>(field.getName(), new Counts(field.getValues()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return facetFields.size();
+            }
+        };
+    }
+
+    /**
+     * Read-only map view of the counts of one facet field.
+     */
+    private static final class Counts extends AbstractMap<String, Long> {
+
+        private final List<FacetField.Count> counts;
+
+        Counts(List<FacetField.Count> counts) {
+            this.counts = counts != null ? counts : List.of();
+        }
+
+        @Override
+        public Set<Entry<String, Long>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Long>> iterator() {
+                    final Iterator<FacetField.Count> values = counts.iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return values.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Long> next() {
+                            FacetField.Count count = values.next();
+                            return new SimpleImmutableEntry<>(count.getName(), count.getCount());
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return counts.size();
+                }
+            };
+        }
+    }
+}
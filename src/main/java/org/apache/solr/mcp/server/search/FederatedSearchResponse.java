@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merged result of one search run against several collections, returned by
+ * {@link FederatedSearchService#searchMany(List, String, List, List, List, Integer, Integer, List, Integer)}.
+ *
+ * <p>The documents are the top documents over all collections in merge order, each carrying
+ * the name of the collection it came from in the {@value FederatedSearchService#COLLECTION_FIELD}
+ * field. {@code numFound} and the facet counts are summed over the collections that
+ * answered. Every collection that was searched is listed in {@code collections} with its own
+ * hit count, its latency and, if it failed, the error; failed collections do not fail the
+ * whole search.</p>
+ *
+ * <p><strong>JSON Serialization Example:</strong></p>
+ * <pre>{@code
+ * {
+ *   "numFound": 42,
+ *   "start": 0,
+ *   "maxScore": 3.1,
+ *   "documents": [
+ *     {"id": "7", "name": ["A Game of Thrones"], "score": 3.1, "_collection_": "tenant_a"},
+ *     {"id": "2", "name": ["A Clash of Kings"], "score": 2.7, "_collection_": "tenant_b"}
+ *   ],
+ *   "facets": {
+ *     "genre_s": {"fantasy": 30, "scifi": 12}
+ *   },
+ *   "collections": [
+ *     {"collection": "tenant_a", "numFound": 30, "elapsedMillis": 18},
+ *     {"collection": "tenant_b", "numFound": 12, "elapsedMillis": 25}
+ *   ]
+ * }
+ * }</pre>
+ *
+ * @param numFound    total number of matching documents over all answering collections
+ * @param start       offset into the merged result the documents start at
+ * @param maxScore    highest relevance score of any collection (null if scores were not requested)
+ * @param documents   the merged documents
+ * @param facets      facet counts per field, summed over the collections
+ * @param collections per-collection outcome, in the order the collections were given
+ * @param truncation  what was cut to fit the response budget, or null if nothing was
+ *
+ * @see FederatedSearchService
+ */
+public record FederatedSearchResponse(
+        long numFound,
+        long start,
+        Float maxScore,
+        List<Map<String, Object>> documents,
+        Map<String, Map<String, Long>> facets,
+        List<CollectionResult> collections,
+        @JsonInclude(JsonInclude.Include.NON_NULL) SearchResponse.Truncation truncation
+) {
+
+    /**
+     * Outcome of the search against one collection.
+     *
+     * @param collection    the collection
+     * @param numFound      number of matching documents in the collection, 0 if it failed
+     * @param elapsedMillis time until the collection answered or failed
+     * @param error         the failure message, or null if the collection answered
+     */
+    public record CollectionResult(
+            String collection,
+            long numFound,
+            long elapsedMillis,
+            @JsonInclude(JsonInclude.Include.NON_NULL) String error
+    ) {
+
+        static CollectionResult succeeded(String collection, long numFound, long elapsedMillis) {
+            return new CollectionResult(collection, numFound, elapsedMillis, null);
+        }
+
+        static CollectionResult failed(String collection, long elapsedMillis, Exception error) {
+            String message = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+            return new CollectionResult(collection, 0, elapsedMillis, message);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springaicommunity.mcp.annotation.McpToolParam;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spring Service running one search against several Solr collections at once and merging
+ * the results, exposed as the {@code search_many} MCP tool.
+ *
+ * <p>Deployments that keep one collection per tenant or per source would otherwise need one
+ * {@code Search} call per collection, one after the other. Here every collection is queried
+ * on its own virtual thread, so the search takes as long as the slowest collection rather
+ * than the sum of all of them.</p>
+ *
+ * <p><strong>Limits:</strong></p>
+ * <p>A search may name at most {@code solr.search.batch.max-queries} collections, and at most
+ * {@code solr.search.batch.max-concurrent} of them are queried at once, like the searches of
+ * {@code search_batch}. Every collection is queried through
+ * {@link SearchService#searchUntruncated(String, String, List, List, List, Integer, Integer, List)},
+ * so the response cache and hedged requests of the {@code Search} tool apply. Values are not
+ * cut per collection, since the merge compares them; the response budget applies to the
+ * merged page only.</p>
+ *
+ * <p><strong>Merging:</strong></p>
+ * <ul>
+ *   <li><strong>Documents</strong>: every collection returns its top {@code start + rows}
+ *       documents, which are merged by the sort clauses, or by relevance score if there are
+ *       none, and the requested page is cut from the merged list. Documents with equal sort
+ *       values keep the order of the collections as given.</li>
+ *   <li><strong>Facets</strong>: counts of the same value are summed and values are ordered by
+ *       the summed count. Each collection only returns its own top facet values, so the sum
+ *       can undercount values that are rare in some collections.</li>
+ *   <li><strong>Hit counts</strong>: {@code numFound} is the sum and {@code maxScore} the
+ *       maximum over the collections that answered.</li>
+ * </ul>
+ *
+ * <p>Relevance scores are computed per collection, from each collection's own term
+ * statistics, so merging by score interleaves collections approximately. Sorting on fields
+ * gives an exact merge. Sort fields and {@code score} are added to the field list because the
+ * merge needs their values.</p>
+ *
+ * <p><strong>Failures:</strong></p>
+ * <p>A collection that fails is reported with its error in
+ * {@link FederatedSearchResponse#collections()} and left out of the merge; the other
+ * collections are still returned.</p>
+ *
+ * @see FederatedSearchResponse
+ * @see SearchService
+ */
+@Service
+public class FederatedSearchService {
+
+    /** Field added to every returned document naming the collection it came from */
+    public static final String COLLECTION_FIELD = "_collection_";
+
+    private static final String SCORE = "score";
+
+    private static final int DEFAULT_ROWS = 10;
+
+    private final SearchService searchService;
+
+    private final SolrConfigurationProperties.Response responseLimits;
+
+    private final SolrConfigurationProperties.Batch batchLimits;
+
+    /**
+     * Creates the service.
+     *
+     * @param searchService the service every collection is searched through
+     * @param properties    the Solr configuration properties providing the response size and batch limits
+     */
+    public FederatedSearchService(SearchService searchService, SolrConfigurationProperties properties) {
+        this.searchService = searchService;
+        this.responseLimits = properties.search().response();
+        this.batchLimits = properties.search().batch();
+    }
+
+    /**
+     * Searches several collections in parallel and merges their results.
+     *
+     * @param collections      The Solr collections to query, at most {@code solr.search.batch.max-queries}
+     * @param query            The Solr query string (q parameter). Defaults to "*:*" if not specified
+     * @param filterQueries    List of filter queries (fq parameter), applied to every collection
+     * @param facetFields      List of fields to facet on
+     * @param sortClauses      List of sort clauses for ordering and merging results
+     * @param start            Offset into the merged results
+     * @param rows             Number of merged rows to return
+     * @param fields           Fields to return (fl parameter); all stored fields if not specified
+     * @param maxResponseChars Character budget for the returned documents; the configured default if not specified
+     * @return the merged documents and facets with the outcome of every collection
+     * @throws InterruptedIOException if interrupted while waiting for the collections
+     */
+    @McpTool(name = "search_many",
+            description = """
+                    Run the same search against several Solr collections in parallel and merge the results.
+                    Documents are merged by the sort clauses, or by relevance score if none are given, and
+                    each document names its collection in the _collection_ field. Facet counts and numFound
+                    are summed over the collections. Per-collection hit counts, latency and errors are listed
+                    in collections; a failing collection does not fail the search.
+                    """)
+    public FederatedSearchResponse searchMany(
+            @McpToolParam(description = "Solr collections to query") List<String> collections,
+            @McpToolParam(description = "Solr q parameter. If none specified defaults to \"*:*\"", required = false) String query,
+            @McpToolParam(description = "Solr fq parameter", required = false) List<String> filterQueries,
+            @McpToolParam(description = "Solr facet fields", required = false) List<String> facetFields,
+            @McpToolParam(description = "Solr sort parameter, also used to merge the collections", required = false) List<Map<String, String>> sortClauses,
+            @McpToolParam(description = "Starting offset into the merged results", required = false) Integer start,
+            @McpToolParam(description = "Number of merged rows to return", required = false) Integer rows,
+            @McpToolParam(description = "Solr fl parameter: fields to return. Request only the fields you need to keep responses small", required = false) List<String> fields,
+            @McpToolParam(description = "Maximum characters of document content in the response. Long values are cut and excess documents omitted", required = false) Integer maxResponseChars)
+            throws InterruptedIOException {
+
+        if (CollectionUtils.isEmpty(collections)) {
+            throw new IllegalArgumentException("At least one collection is required");
+        }
+        final List<String> targets = new ArrayList<>(new LinkedHashSet<>(collections));
+        if (targets.size() > batchLimits.maxQueries()) {
+            throw new IllegalArgumentException("A search may query at most " + batchLimits.maxQueries()
+                    + " collections, got " + targets.size());
+        }
+        final int offset = start != null && start > 0 ? start : 0;
+        final int pageSize = rows != null && rows >= 0 ? rows : DEFAULT_ROWS;
+        final int maxChars = maxResponseChars != null && maxResponseChars > 0 ? maxResponseChars : responseLimits.maxChars();
+
+        final List<SolrQuery.SortClause> sorts = SearchService.buildQuery(query, filterQueries, facetFields,
+                sortClauses).getSorts();
+        final List<String> fieldList = fieldList(fields, sorts);
+
+        final Semaphore searchSlots = new Semaphore(batchLimits.maxConcurrent());
+        final List<Future<SearchResponse>> pending = new ArrayList<>(targets.size());
+        final long[] elapsedNanos = new long[targets.size()];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < targets.size(); i++) {
+                final String collection = targets.get(i);
+                final int index = i;
+                pending.add(executor.submit(() -> {
+                    searchSlots.acquire();
+                    final long startNanos = System.nanoTime();
+                    try {
+                        // Values are compared by the merge, so only the merged page is fitted to the budget
+                        return searchService.searchUntruncated(collection, query, filterQueries, facetFields,
+                                sortClauses, 0, offset + pageSize, fieldList);
+                    } finally {
+                        elapsedNanos[index] = System.nanoTime() - startNanos;
+                        searchSlots.release();
+                    }
+                }));
+            }
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Interrupted while searching " + targets);
+        }
+
+        long numFound = 0;
+        Float maxScore = null;
+        final List<FederatedSearchResponse.CollectionResult> outcomes = new ArrayList<>(targets.size());
+        final List<SolrDocument> merged = new ArrayList<>();
+        final Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        for (int i = 0; i < targets.size(); i++) {
+            final String collection = targets.get(i);
+            final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos[i]);
+            final SearchResponse response;
+            try {
+                response = pending.get(i).get();
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                outcomes.add(FederatedSearchResponse.CollectionResult.failed(collection, elapsedMillis,
+                        cause instanceof Exception exception ? exception : e));
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while searching " + targets);
+            }
+
+            numFound += response.numFound();
+            if (response.maxScore() != null && (maxScore == null || response.maxScore() > maxScore)) {
+                maxScore = response.maxScore();
+            }
+            for (Map<String, Object> document : response.documents()) {
+                // Copied, since the response may be shared through the cache
+                final SolrDocument copy = new SolrDocument(new LinkedHashMap<>(document));
+                copy.setField(COLLECTION_FIELD, collection);
+                merged.add(copy);
+            }
+            response.facets().forEach((field, counts) -> {
+                final Map<String, Long> summed = facets.computeIfAbsent(field, f -> new LinkedHashMap<>());
+                counts.forEach((value, count) -> summed.merge(value, count, Long::sum));
+            });
+            outcomes.add(FederatedSearchResponse.CollectionResult.succeeded(collection, response.numFound(),
+                    elapsedMillis));
+        }
+
+        // List.sort is stable, so documents with equal sort values stay in collection order
+        merged.sort(mergeOrder(sorts));
+        final SolrDocumentList page = new SolrDocumentList();
+        page.addAll(merged.subList(Math.min(offset, merged.size()), Math.min(offset + pageSize, merged.size())));
+
+        final ResponseBudget budget = new ResponseBudget(maxChars, responseLimits.maxFieldChars());
+        final List<Map<String, Object>> docs = SearchService.getDocs(page, budget);
+
+        return new FederatedSearchResponse(
+                numFound,
+                offset,
+                maxScore,
+                docs,
+                sortByCount(facets),
+                outcomes,
+                budget.report(page.size() - docs.size())
+        );
+    }
+
+    /**
+     * Returns the field list to request, with the values the merge needs added.
+     *
+     * @param fields the fields requested by the caller, or empty for all stored fields
+     * @param sorts  the sort clauses of the query; relevance score if empty
+     * @return the fl values to send to every collection
+     */
+    private static List<String> fieldList(List<String> fields, List<SolrQuery.SortClause> sorts) {
+        final LinkedHashSet<String> fieldList = new LinkedHashSet<>();
+        if (CollectionUtils.isEmpty(fields)) {
+            fieldList.add("*");
+        } else {
+            fieldList.addAll(fields);
+        }
+        if (sorts.isEmpty()) {
+            fieldList.add(SCORE);
+        }
+        for (SolrQuery.SortClause sort : sorts) {
+            fieldList.add(sort.getItem());
+        }
+        return List.copyOf(fieldList);
+    }
+
+    /**
+     * Returns the order to merge documents from different collections in.
+     *
+     * <p>Documents are compared by the first value of each sort field, or by score if there
+     * are no sort clauses. Documents missing a sort value sort last, in either direction,
+     * like Solr's default {@code sortMissingLast} behaviour.</p>
+     *
+     * @param sorts the sort clauses of the query
+     * @return the comparator to merge documents with
+     */
+    static Comparator<SolrDocument> mergeOrder(List<SolrQuery.SortClause> sorts) {
+        final List<SolrQuery.SortClause> clauses = sorts.isEmpty()
+                ? List.of(SolrQuery.SortClause.desc(SCORE))
+                : sorts;
+        Comparator<SolrDocument> order = (a, b) -> 0;
+        for (SolrQuery.SortClause clause : clauses) {
+            final String field = clause.getItem();
+            final boolean descending = clause.getOrder() == SolrQuery.ORDER.desc;
+            order = order.thenComparing((a, b) -> compareValues(a.getFirstValue(field), b.getFirstValue(field),
+                    descending));
+        }
+        return order;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object a, Object b, boolean descending) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : 1) : -1;
+        }
+        final int result;
+        if (a instanceof Number x && b instanceof Number y) {
+            result = Double.compare(x.doubleValue(), y.doubleValue());
+        } else if (a instanceof Comparable x && a.getClass().isInstance(b)) {
+            result = x.compareTo(b);
+        } else {
+            result = a.toString().compareTo(b.toString());
+        }
+        return descending ? -result : result;
+    }
+
+    /**
+     * Orders the summed values of every facet field by descending count.
+     *
+     * @param facets summed facet counts per field
+     * @return the same counts with values ordered by count
+     */
+    private static Map<String, Map<String, Long>> sortByCount(Map<String, Map<String, Long>> facets) {
+        final Map<String, Map<String, Long>> sorted = new LinkedHashMap<>();
+        facets.forEach((field, counts) -> {
+            final Map<String, Long> ordered = new LinkedHashMap<>();
+            counts.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .forEach(entry -> ordered.put(entry.getKey(), entry.getValue()));
+            sorted.put(field, ordered);
+        });
+        return sorted;
+    }
+}
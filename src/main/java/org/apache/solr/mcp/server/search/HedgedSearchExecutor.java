@@ -0,0 +1,344 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.mcp.server.config.SolrConfig;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends search requests to Solr, hedging the ones that take unusually long.
+ *
+ * <p>A single replica in a long GC pause or on a busy disk delays every search routed to it,
+ * which shows up as spikes in the tail latency. With hedging enabled, a search that has not
+ * been answered after the configured percentile of recent search latencies is sent a second
+ * time to another node. Whichever response arrives first is used, and the other request is
+ * cancelled by interrupting its thread, which aborts the HTTP exchange.</p>
+ *
+ * <p><strong>Hedge Delay:</strong></p>
+ * <p>The latencies of the last {@code solr.search.hedging.sample-size} answered searches are
+ * kept, each measured from the moment the search started until it was answered. A search
+ * overtaken by its hedge thus counts with the time its cancelled first request had been
+ * outstanding, so slow replicas keep raising the percentile instead of dropping out of it.
+ * The delay is the {@code solr.search.hedging.percentile}-th percentile of these latencies,
+ * but at least {@code solr.search.hedging.min-delay}. Until {@value #MIN_SAMPLES} latencies
+ * are known no search is hedged.</p>
+ *
+ * <p><strong>Hedge Budget:</strong></p>
+ * <p>Every search earns {@code solr.search.hedging.max-hedge-ratio} of a hedge and every hedge
+ * spends a whole one, so that when the entire cluster is slow hedging adds at most that
+ * fraction of extra searches. Once the budget is spent, slow searches wait for their first
+ * request.</p>
+ *
+ * <p><strong>Failures:</strong></p>
+ * <p>If the request answering first failed, the other one is waited for; a search only fails
+ * if both requests fail. A search that fails before its hedge delay is not retried.</p>
+ *
+ * <p><strong>Meters:</strong></p>
+ * <ul>
+ *   <li><strong>{@value #HEDGES}</strong> (counter): hedged searches, tagged with
+ *       {@code winner} primary or hedge depending on which request answered</li>
+ *   <li><strong>{@value #OVER_BUDGET}</strong> (counter): slow searches that were not hedged
+ *       because the hedge budget was spent</li>
+ * </ul>
+ *
+ * @see SolrConfigurationProperties.Hedging
+ * @see SearchService
+ */
+@Component
+public class HedgedSearchExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgedSearchExecutor.class);
+
+    static final String HEDGES = "solr.search.hedging.hedges";
+
+    static final String OVER_BUDGET = "solr.search.hedging.over-budget";
+
+    static final int MIN_SAMPLES = 20;
+
+    private final SolrClient primary;
+
+    private final List<SolrClient> hedgeTargets;
+
+    private final List<SolrClient> ownedClients;
+
+    private final SolrConfigurationProperties.Hedging settings;
+
+    private final LatencyWindow latencies;
+
+    private final HedgeBudget hedgeBudget;
+
+    private final AtomicInteger nextTarget = new AtomicInteger();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter primaryWins;
+
+    private final Counter hedgeWins;
+
+    private final Counter overBudget;
+
+    /**
+     * Creates the executor, with a client for each of the configured hedge URLs.
+     *
+     * @param solrClient    the client for {@code solr.url}, which every search is sent to first
+     * @param properties    the Solr configuration properties providing the hedging settings
+     * @param meterRegistry registry the hedging meters are published to
+     */
+    @Autowired
+    public HedgedSearchExecutor(SolrClient solrClient, SolrConfigurationProperties properties,
+                                MeterRegistry meterRegistry) {
+        this(solrClient, createClients(properties.search().hedging()), true, properties.search().hedging(),
+                meterRegistry);
+    }
+
+    /**
+     * Creates an executor that sends hedges to the given clients, which remain owned by the caller.
+     *
+     * @param primary       the client every search is sent to first
+     * @param hedgeTargets  the clients hedges are sent to in turn; the primary if empty
+     * @param settings      the hedging settings
+     * @param meterRegistry registry the hedging meters are published to
+     */
+    HedgedSearchExecutor(SolrClient primary, List<SolrClient> hedgeTargets,
+                         SolrConfigurationProperties.Hedging settings, MeterRegistry meterRegistry) {
+        this(primary, hedgeTargets, false, settings, meterRegistry);
+    }
+
+    private HedgedSearchExecutor(SolrClient primary, List<SolrClient> hedgeTargets, boolean ownsTargets,
+                                 SolrConfigurationProperties.Hedging settings, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.hedgeTargets = hedgeTargets.isEmpty() ? List.of(primary) : List.copyOf(hedgeTargets);
+        this.ownedClients = ownsTargets ? List.copyOf(hedgeTargets) : List.of();
+        this.settings = settings;
+        this.latencies = new LatencyWindow(settings.sampleSize());
+        this.hedgeBudget = new HedgeBudget(settings.maxHedgeRatio(),
+                Math.max(1, settings.maxHedgeRatio() * settings.sampleSize()));
+        this.primaryWins = hedges(meterRegistry, "primary");
+        this.hedgeWins = hedges(meterRegistry, "hedge");
+        this.overBudget = Counter.builder(OVER_BUDGET)
+                .description("Slow searches not hedged because the hedge budget was spent")
+                .register(meterRegistry);
+    }
+
+    private static List<SolrClient> createClients(SolrConfigurationProperties.Hedging settings) {
+        if (!settings.enabled()) {
+            return List.of();
+        }
+        return settings.urls().stream().map(SolrConfig::createClient).toList();
+    }
+
+    private static Counter hedges(MeterRegistry meterRegistry, String winner) {
+        return Counter.builder(HEDGES)
+                .description("Searches sent a second time because the first request was slow")
+                .tag("winner", winner)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a search, hedging it if it takes longer than the current hedge delay and the hedge
+     * budget allows.
+     *
+     * @param collection the collection to search
+     * @param query      the search
+     * @return the first successful response
+     * @throws SolrServerException If the search failed on every node it was sent to
+     * @throws IOException         If there's an I/O error, or the thread was interrupted
+     */
+    QueryResponse query(String collection, SolrQuery query) throws SolrServerException, IOException {
+        if (!settings.enabled()) {
+            return primary.query(collection, query);
+        }
+
+        final long startNanos = System.nanoTime();
+        final long hedgeDelayNanos = hedgeDelayNanos();
+        hedgeBudget.earn();
+        final ExecutorCompletionService<QueryResponse> attempts = new ExecutorCompletionService<>(executor);
+        final Future<QueryResponse> primaryAttempt = attempts.submit(() -> primary.query(collection, query));
+        Future<QueryResponse> hedgeAttempt = null;
+        try {
+            Future<QueryResponse> answered = hedgeDelayNanos < 0
+                    ? attempts.take()
+                    : attempts.poll(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            if (answered == null && !hedgeBudget.trySpend()) {
+                overBudget.increment();
+                answered = attempts.take();
+            } else if (answered == null) {
+                final SolrClient target = hedgeTargets.get(Math.floorMod(nextTarget.getAndIncrement(),
+                        hedgeTargets.size()));
+                hedgeAttempt = attempts.submit(() -> target.query(collection, query));
+                answered = attempts.take();
+                if (answered.state() == Future.State.FAILED) {
+                    log.debug("First answer to hedged search on {} failed, waiting for the other request",
+                            collection, answered.exceptionNow());
+                    answered = attempts.take();
+                }
+                (answered == hedgeAttempt ? hedgeWins : primaryWins).increment();
+            }
+            final QueryResponse response = answered.get();
+            // Also the time a primary overtaken by the hedge had been outstanding when it is cancelled
+            latencies.record(System.nanoTime() - startNanos);
+            return response;
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while searching " + collection);
+        } finally {
+            primaryAttempt.cancel(true);
+            if (hedgeAttempt != null) {
+                hedgeAttempt.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Returns how long a search may be outstanding before it is hedged.
+     *
+     * @return the hedge delay in nanoseconds, or {@code -1} while too few latencies are known
+     */
+    long hedgeDelayNanos() {
+        final long percentile = latencies.percentileNanos(settings.percentile(),
+                Math.min(MIN_SAMPLES, settings.sampleSize()));
+        return percentile < 0 ? -1 : Math.max(percentile, settings.minDelay().toNanos());
+    }
+
+    private static IOException unwrap(ExecutionException e) throws SolrServerException {
+        final Throwable cause = e.getCause();
+        if (cause instanceof SolrServerException solrServerException) {
+            throw solrServerException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof IOException ioException) {
+            return ioException;
+        }
+        throw new SolrServerException(cause);
+    }
+
+    /**
+     * Stops the request threads and closes the clients created for the hedge URLs.
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+        for (SolrClient client : ownedClients) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                log.warn("Closing hedge client failed", e);
+            }
+        }
+    }
+
+    /**
+     * Allowance of hedges, earned by searches and spent by hedging.
+     *
+     * <p>At most {@code capacity} hedges can be saved up, which bounds the burst of hedges
+     * after a long run of fast searches.</p>
+     */
+    static final class HedgeBudget {
+
+        /** One hedge, in the fixed-point units the balance is kept in to avoid rounding drift */
+        private static final long HEDGE = 1_000_000;
+
+        private final long earning;
+
+        private final long capacity;
+
+        private long balance;
+
+        HedgeBudget(double ratio, double capacity) {
+            this.earning = Math.round(ratio * HEDGE);
+            this.capacity = Math.round(capacity * HEDGE);
+        }
+
+        synchronized void earn() {
+            balance = Math.min(balance + earning, capacity);
+        }
+
+        synchronized boolean trySpend() {
+            if (balance < HEDGE) {
+                return false;
+            }
+            balance -= HEDGE;
+            return true;
+        }
+    }
+
+    /**
+     * Ring buffer of the most recent search latencies.
+     */
+    static final class LatencyWindow {
+
+        private final long[] samples;
+
+        private int count;
+
+        private int next;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        /**
+         * Returns a percentile of the recorded latencies.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @param minSamples number of latencies needed for a meaningful value
+         * @return the percentile in nanoseconds, or {@code -1} if fewer latencies were recorded
+         */
+        synchronized long percentileNanos(double percentile, int minSamples) {
+            if (count < minSamples) {
+                return -1;
+            }
+            final long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            final int rank = (int) Math.ceil(percentile / 100 * count);
+            return sorted[Math.max(rank - 1, 0)];
+        }
+    }
+}
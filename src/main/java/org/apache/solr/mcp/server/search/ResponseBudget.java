@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+import org.apache.solr.common.SolrDocument;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Fits the documents of one search response into a character budget.
+ *
+ * <p>Documents are admitted in result order. String values longer than the per-value limit
+ * are cut and marked with a trailing ellipsis. Once the admitted documents have used up the
+ * budget, the next document that does not fit and all documents after it are rejected. The
+ * first document is always admitted, with its values cut, so that a response is never empty
+ * only because of one large document.</p>
+ *
+ * <p>The size of a document is approximated from the length of its field names and string
+ * values, with a fixed allowance for numbers, dates and other values, which is close to the
+ * size of its JSON serialization without encoding it.</p>
+ *
+ * @see SearchResponse.Truncation
+ */
+final class ResponseBudget {
+
+    private static final String ELLIPSIS = "…";
+
+    private final int maxChars;
+
+    private final int maxFieldChars;
+
+    private long usedChars;
+
+    private int valuesTruncated;
+
+    private final Set<String> truncatedFields = new TreeSet<>();
+
+    /**
+     * Creates a budget for one response.
+     *
+     * @param maxChars      characters available for all documents
+     * @param maxFieldChars maximum length of a single string value
+     */
+    ResponseBudget(int maxChars, int maxFieldChars) {
+        this.maxChars = maxChars;
+        this.maxFieldChars = maxFieldChars;
+    }
+
+    /**
+     * Returns a document as a map with long values cut, if it still fits the budget.
+     *
+     * <p>Documents without values to cut are returned as they are, since {@link SolrDocument}
+     * is already a map; only documents with long values are copied.</p>
+     *
+     * @param document the Solr document to admit
+     * @param first    whether this is the first document of the response
+     * @return the document, a copy with cut values, or null if it does not fit
+     */
+    Map<String, Object> admit(SolrDocument document, boolean first) {
+        long chars = 2;
+        int cutValues = 0;
+        for (Map.Entry<String, Object> field : document) {
+            chars += field.getKey().length() + 4;
+            if (field.getValue() instanceof Collection<?> values) {
+                chars += 2;
+                for (Object element : values) {
+                    chars += limitedLength(element) + 1;
+                    cutValues += isTooLong(element) ? 1 : 0;
+                }
+            } else {
+                chars += limitedLength(field.getValue());
+                cutValues += isTooLong(field.getValue()) ? 1 : 0;
+            }
+        }
+
+        if (!first && usedChars + chars > maxChars) {
+            return null;
+        }
+        usedChars += chars;
+        if (cutValues == 0) {
+            return document;
+        }
+
+        valuesTruncated += cutValues;
+        final Map<String, Object> docMap = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> field : document) {
+            Object value = field.getValue();
+            if (value instanceof Collection<?> values) {
+                List<Object> limited = new ArrayList<>(values.size());
+                for (Object element : values) {
+                    limited.add(limit(element, field.getKey()));
+                }
+                value = limited;
+            } else {
+                value = limit(value, field.getKey());
+            }
+            docMap.put(field.getKey(), value);
+        }
+        return docMap;
+    }
+
+    /**
+     * Reports what was cut, or null if every value and document was returned in full.
+     *
+     * @param documentsOmitted number of documents that were not admitted
+     * @return the truncation report, or null
+     */
+    SearchResponse.Truncation report(int documentsOmitted) {
+        if (documentsOmitted == 0 && valuesTruncated == 0) {
+            return null;
+        }
+        return new SearchResponse.Truncation(maxChars, documentsOmitted, valuesTruncated, List.copyOf(truncatedFields));
+    }
+
+    private boolean isTooLong(Object value) {
+        return value instanceof String text && text.length() > maxFieldChars;
+    }
+
+    private Object limit(Object value, String fieldName) {
+        if (!isTooLong(value)) {
+            return value;
+        }
+        final String text = (String) value;
+        int end = maxFieldChars;
+        if (Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        truncatedFields.add(fieldName);
+        return text.substring(0, end) + ELLIPSIS;
+    }
+
+    /**
+     * Approximates the serialized length of a value after cutting, without formatting it.
+     */
+    private long limitedLength(Object value) {
+        if (value instanceof String text) {
+            return Math.min(text.length(), maxFieldChars + 1L) + 2;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return 20;
+        }
+        return 32;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Results of a {@code search_batch} call, one per search and in the order the searches were
+ * given.
+ *
+ * <p>Each search succeeds or fails on its own: a failed search carries its error instead of
+ * a response, and the other searches of the batch are unaffected.</p>
+ *
+ * <p><strong>JSON Serialization Example:</strong></p>
+ * <pre>{@code
+ * {
+ *   "results": [
+ *     {"index": 0, "response": {"numFound": 45, "start": 0, "documents": [], "facets": {}}},
+ *     {"index": 1, "error": "undefined field genre"}
+ *   ],
+ *   "elapsedMillis": 31
+ * }
+ * }</pre>
+ *
+ * @param results       the outcome of every search, in input order
+ * @param elapsedMillis time taken by the whole batch
+ *
+ * @see SearchService#searchBatch(List)
+ */
+public record SearchBatchResponse(List<Result> results, long elapsedMillis) {
+
+    /**
+     * Outcome of one search of a batch.
+     *
+     * @param index    position of the search in the batch
+     * @param response the search response, or null if the search failed
+     * @param error    the failure message, or null if the search succeeded
+     */
+    public record Result(
+            int index,
+            @JsonInclude(JsonInclude.Include.NON_NULL) SearchResponse response,
+            @JsonInclude(JsonInclude.Include.NON_NULL) String error
+    ) {
+
+        static Result succeeded(int index, SearchResponse response) {
+            return new Result(index, response, null);
+        }
+
+        static Result failed(int index, Exception error) {
+            String message = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+            return new Result(index, null, message);
+        }
+    }
+}
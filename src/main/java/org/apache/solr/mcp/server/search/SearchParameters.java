@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parameters of one search in a {@code search_batch} call, mirroring the parameters of the
+ * {@code Search} tool.
+ *
+ * @param collection       the Solr collection to query
+ * @param query            the Solr query string (q parameter), "*:*" if not specified
+ * @param filterQueries    filter queries (fq parameter)
+ * @param facetFields      fields to facet on
+ * @param sortClauses      sort clauses for ordering results
+ * @param start            starting offset for pagination
+ * @param rows             number of rows to return
+ * @param fields           fields to return (fl parameter)
+ * @param maxResponseChars character budget for the returned documents
+ * @param jsonFacet        JSON Facet API request (json.facet parameter)
+ *
+ * @see SearchService#searchBatch(List)
+ */
+public record SearchParameters(
+        @JsonProperty(required = true)
+        @JsonPropertyDescription("Solr collection to query")
+        String collection,
+        @JsonProperty(required = false)
+        @JsonPropertyDescription("Solr q parameter. If none specified defaults to \"*:*\"")
+        String query,
+        @JsonProperty(required = false)
+        @JsonPropertyDescription("Solr fq parameter")
+        List<String> filterQueries,
+        @JsonProperty(required = false)
+        @JsonPropertyDescription("Solr facet fields")
+        List<String> facetFields,
+        @JsonProperty(required = false)
+        @JsonPropertyDescription("Solr sort parameter")
+        List<Map<String, String>> sortClauses,
+        @JsonProperty(required = false)
+        @JsonPropertyDescription("Starting offset for pagination")
+        Integer start,
+        @JsonProperty(required = false)
+        @JsonPropertyDescription("Number of rows to return. Use 0 when only numFound or facets are needed")
+        Integer rows,
+        @JsonProperty(required = false)
+        @JsonPropertyDescription("Solr fl parameter: fields to return")
+        List<String> fields,
+        @JsonProperty(required = false)
+        @JsonPropertyDescription("Maximum characters of document content in the response")
+        Integer maxResponseChars,
+        @JsonProperty(required = false)
+        @JsonPropertyDescription("Solr json.facet parameter: JSON Facet API request with nested facets and aggregations")
+        Map<String, Object> jsonFacet
+) {
+}
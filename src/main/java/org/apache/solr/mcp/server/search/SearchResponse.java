@@ -16,6 +16,8 @@
  */
 package org.apache.solr.mcp.server.search;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 import java.util.Map;
 
@@ -56,6 +58,18 @@ import java.util.Map;
  * corresponding document counts. This structure efficiently supports multiple
  * faceting strategies including field faceting and range faceting.</p>
  * 
+ * <p><strong>JSON Facet API:</strong></p>
+ * <p>When a search carries a {@code json.facet} request, the resulting buckets and
+ * aggregations are returned in {@code facetTree} in the nested shape Solr produces: every
+ * facet is a map holding its {@code buckets}, each bucket holding its {@code val},
+ * {@code count}, aggregations and sub-facets. Without such a request it is null and omitted
+ * from the JSON.</p>
+ * 
+ * <p><strong>Size Limits:</strong></p>
+ * <p>Long string values are cut and documents beyond the response's character budget are
+ * left out. When that happens {@code truncation} reports what was removed; otherwise it is
+ * null and omitted from the JSON.</p>
+ * 
  * <p><strong>Usage Examples:</strong></p>
  * <pre>{@code
  * // Access search results
@@ -96,6 +110,8 @@ import java.util.Map;
  * @param maxScore highest relevance score among the returned documents (null if scoring disabled)
  * @param documents list of document maps containing field names and values for each result
  * @param facets nested map structure containing facet field names, values, and document counts
+ * @param truncation what was cut to fit the response budget, or null if nothing was
+ * @param facetTree results of the JSON Facet API request, or null if there was none
  *
  * @version 0.0.1
  * @since 0.0.1
@@ -109,6 +125,57 @@ public record SearchResponse(
         long start,
         Float maxScore,
         List<Map<String, Object>> documents,
-        Map<String, Map<String, Long>> facets
+        Map<String, Map<String, Long>> facets,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Truncation truncation,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Map<String, Object> facetTree
 ) {
+
+    /**
+     * Creates a response that was not truncated.
+     *
+     * @param numFound total number of matching documents
+     * @param start zero-based offset of the first returned document
+     * @param maxScore highest relevance score, or null
+     * @param documents the returned documents
+     * @param facets facet counts per field
+     */
+    public SearchResponse(long numFound, long start, Float maxScore, List<Map<String, Object>> documents,
+                          Map<String, Map<String, Long>> facets) {
+        this(numFound, start, maxScore, documents, facets, null);
+    }
+
+    /**
+     * Creates a response without JSON Facet API results.
+     *
+     * @param numFound total number of matching documents
+     * @param start zero-based offset of the first returned document
+     * @param maxScore highest relevance score, or null
+     * @param documents the returned documents
+     * @param facets facet counts per field
+     * @param truncation what was cut to fit the response budget, or null
+     */
+    public SearchResponse(long numFound, long start, Float maxScore, List<Map<String, Object>> documents,
+                          Map<String, Map<String, Long>> facets, Truncation truncation) {
+        this(numFound, start, maxScore, documents, facets, truncation, null);
+    }
+
+    /**
+     * Reports how a response was cut to fit its character budget.
+     *
+     * <p>Documents are only ever dropped from the end, so the next page can be requested
+     * with {@code start} advanced by the number of documents returned. Truncated values can
+     * be read in full by searching for the document with {@code fl} set to the field.</p>
+     *
+     * @param maxChars          the character budget the documents were fitted into
+     * @param documentsOmitted  number of documents of the page left out of the response
+     * @param valuesTruncated   number of string values that were cut
+     * @param truncatedFields   names of the fields with cut values
+     */
+    public record Truncation(
+            int maxChars,
+            int documentsOmitted,
+            int valuesTruncated,
+            List<String> truncatedFields
+    ) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,512 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.apache.solr.mcp.server.indexing.CollectionCommittedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, size-aware cache of {@link SearchResponse} objects produced by {@link SearchService}.
+ *
+ * <p>AI clients frequently repeat the same search while reasoning over its results. Answering
+ * those repeats from memory saves the Solr round trip as well as the conversion of the
+ * response into documents and facets.</p>
+ *
+ * <p><strong>Keys:</strong></p>
+ * <p>Entries are keyed on the normalized search parameters, so that equivalent requests share
+ * an entry: a blank query is the match-all query, filter queries and facet fields are trimmed,
+ * de-duplicated and sorted because their order does not affect the result, and so is the
+ * field list; sort clauses keep their order, and a missing start offset is treated as zero.
+ * The effective character budget is part of the key because it decides what is returned.</p>
+ *
+ * <p><strong>Bounds and Eviction:</strong></p>
+ * <ul>
+ *   <li>At most {@code solr.search.cache.max-entries} responses are kept</li>
+ *   <li>The estimated memory of all responses stays below {@code solr.search.cache.max-size};
+ *       a single response larger than that is never cached</li>
+ *   <li>The least recently used entries are evicted first when either bound is exceeded</li>
+ *   <li>Entries older than {@code solr.search.cache.ttl} are discarded when next looked up</li>
+ * </ul>
+ *
+ * <p><strong>Invalidation:</strong></p>
+ * <p>All entries of a collection are dropped when a {@link CollectionCommittedEvent} reports
+ * that new documents became visible in it. Every collection carries a generation number that
+ * is advanced on invalidation; a search that started before the commit cannot store its
+ * possibly outdated response afterwards. Writes that bypass this server are only picked up
+ * once the TTL expires, which is why caching is opt-in through
+ * {@code solr.search.cache.enabled}.</p>
+ *
+ * <p><strong>Request Coalescing:</strong></p>
+ * <p>{@link #load} lets identical searches that arrive while the same search is already
+ * running share its Solr request and response instead of sending their own. This matters
+ * most right after a commit, when many clients repeat the same searches against emptied
+ * caches at once. Only searches started in the collection's current generation are joined,
+ * so a search that began before a commit is never shared with requests arriving after it.
+ * Coalescing also applies when caching is disabled.</p>
+ *
+ * <p><strong>Meters:</strong></p>
+ * <ul>
+ *   <li><strong>{@value #REQUESTS}</strong> (counter): lookups tagged with {@code result} hit or miss</li>
+ *   <li><strong>{@value #COALESCED}</strong> (counter): searches answered by joining an
+ *       identical search in flight</li>
+ *   <li><strong>{@value #EVICTIONS}</strong> (counter): removed entries tagged with {@code cause}
+ *       size, expired or commit</li>
+ *   <li><strong>{@value #ENTRIES}</strong> and <strong>{@value #BYTES}</strong> (gauges): current
+ *       number of entries and their estimated memory</li>
+ * </ul>
+ *
+ * <p>Cached responses are shared between callers and must be treated as read-only.</p>
+ *
+ * @see SearchService
+ * @see SolrConfigurationProperties.Cache
+ */
+@Component
+public class SearchResponseCache {
+
+    static final String REQUESTS = "solr.search.cache.requests";
+    static final String EVICTIONS = "solr.search.cache.evictions";
+    static final String ENTRIES = "solr.search.cache.entries";
+    static final String BYTES = "solr.search.cache.bytes";
+    static final String COALESCED = "solr.search.cache.coalesced";
+
+    /**
+     * Normalized search parameters identifying a cached response.
+     *
+     * @param collection    the collection searched
+     * @param query         the main query
+     * @param filterQueries sorted, distinct filter queries
+     * @param facetFields   sorted, distinct facet fields
+     * @param sortClauses   sort clauses in the requested order, as {@code "field order"}
+     * @param start         the start offset
+     * @param rows          the requested number of rows, or null for Solr's default
+     * @param fields        sorted, distinct fields to return, empty for all stored fields
+     * @param maxChars      the character budget of the response
+     * @param jsonFacet     the json.facet request as sent to Solr, empty if none
+     */
+    record Key(String collection, String query, List<String> filterQueries, List<String> facetFields,
+               List<String> sortClauses, int start, Integer rows, List<String> fields, int maxChars,
+               String jsonFacet) {
+    }
+
+    private record Entry(SearchResponse response, long weight, long storedAtNanos) {
+    }
+
+    /** A search being sent to Solr, identified by its parameters and collection generation */
+    private record Flight(Key key, long generation) {
+    }
+
+    /**
+     * Computes a response on a cache miss.
+     */
+    @FunctionalInterface
+    interface Loader {
+
+        SearchResponse load() throws SolrServerException, IOException;
+    }
+
+    private final boolean enabled;
+
+    private final int maxEntries;
+
+    private final long maxBytes;
+
+    private final long ttlNanos;
+
+    private final LongSupplier nanoClock;
+
+    /** Entries in access order, least recently used first */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Invalidation count per collection, used to reject responses computed before a commit */
+    private final Map<String, Long> generations = new HashMap<>();
+
+    /** Estimated memory held by all entries */
+    private long bytes;
+
+    /** Searches currently being sent to Solr, joined by identical searches */
+    private final Map<Flight, CompletableFuture<SearchResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+    private final Counter commitEvictions;
+    private final Counter coalesced;
+
+    /**
+     * Creates the cache from the {@code solr.search.cache.*} settings.
+     *
+     * @param properties    the Solr configuration properties providing the cache settings
+     * @param meterRegistry registry the cache meters are published to
+     */
+    @Autowired
+    public SearchResponseCache(SolrConfigurationProperties properties, MeterRegistry meterRegistry) {
+        this(properties.search().cache(), meterRegistry, System::nanoTime);
+    }
+
+    SearchResponseCache(SolrConfigurationProperties.Cache settings, MeterRegistry meterRegistry,
+                        LongSupplier nanoClock) {
+        this.enabled = settings.enabled();
+        this.maxEntries = settings.maxEntries();
+        this.maxBytes = settings.maxSize().toBytes();
+        this.ttlNanos = settings.ttl().toNanos();
+        this.nanoClock = nanoClock;
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.sizeEvictions = evictions(meterRegistry, "size");
+        this.expiredEvictions = evictions(meterRegistry, "expired");
+        this.commitEvictions = evictions(meterRegistry, "commit");
+        this.coalesced = Counter.builder(COALESCED)
+                .description("Searches answered by an identical search already in flight")
+                .register(meterRegistry);
+        Gauge.builder(ENTRIES, this, SearchResponseCache::size)
+                .description("Search responses currently cached")
+                .register(meterRegistry);
+        Gauge.builder(BYTES, this, SearchResponseCache::estimatedBytes)
+                .description("Estimated memory held by cached search responses")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(REQUESTS)
+                .description("Search response cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter evictions(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder(EVICTIONS)
+                .description("Search responses removed from the cache")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the normalized cache key for a search.
+     *
+     * @param collection    the collection searched
+     * @param query         the q parameter, or blank for all documents
+     * @param filterQueries the fq parameters, may be null
+     * @param facetFields   the facet fields, may be null
+     * @param sortClauses   the sort clauses, may be null
+     * @param start         the start offset, may be null
+     * @param rows          the number of rows, may be null
+     * @param fields        the fields to return, may be null
+     * @param maxChars      the effective character budget
+     * @return the key identifying equivalent searches
+     */
+    static Key key(String collection, String query, List<String> filterQueries, List<String> facetFields,
+                   List<Map<String, String>> sortClauses, Integer start, Integer rows, List<String> fields,
+                   int maxChars) {
+        return key(collection, query, filterQueries, facetFields, sortClauses, start, rows, fields, maxChars, null);
+    }
+
+    /**
+     * Builds the normalized cache key for a search with a JSON Facet API request.
+     *
+     * @param collection    the collection searched
+     * @param query         the q parameter, or blank for all documents
+     * @param filterQueries the fq parameters, may be null
+     * @param facetFields   the facet fields, may be null
+     * @param sortClauses   the sort clauses, may be null
+     * @param start         the start offset, may be null
+     * @param rows          the number of rows, may be null
+     * @param fields        the fields to return, may be null
+     * @param maxChars      the effective character budget
+     * @param jsonFacet     the serialized json.facet parameter, may be null
+     * @return the key identifying equivalent searches
+     */
+    static Key key(String collection, String query, List<String> filterQueries, List<String> facetFields,
+                   List<Map<String, String>> sortClauses, Integer start, Integer rows, List<String> fields,
+                   int maxChars, String jsonFacet) {
+        return new Key(
+                collection.trim(),
+                StringUtils.hasText(query) ? query.trim() : "*:*",
+                normalizeSet(filterQueries),
+                normalizeSet(facetFields),
+                CollectionUtils.isEmpty(sortClauses) ? List.of() : sortClauses.stream()
+                        .map(clause -> clause.get(SearchService.SORT_ITEM) + " "
+                                + String.valueOf(clause.get(SearchService.SORT_ORDER)).toLowerCase(Locale.ROOT))
+                        .toList(),
+                start != null ? start : 0,
+                rows,
+                normalizeSet(fields),
+                maxChars,
+                jsonFacet != null ? jsonFacet : "");
+    }
+
+    private static List<String> normalizeSet(List<String> values) {
+        if (CollectionUtils.isEmpty(values)) {
+            return List.of();
+        }
+        return values.stream()
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Returns the current generation of a collection, to be passed to {@link #put} once the
+     * search has completed.
+     *
+     * @param collection the collection about to be searched
+     * @return the collection's invalidation count
+     */
+    synchronized long generation(String collection) {
+        return generations.getOrDefault(collection, 0L);
+    }
+
+    /**
+     * Returns the cached response for a search, or computes it, sharing the computation with
+     * identical searches that arrive while it runs.
+     *
+     * <p>On a miss the first caller runs {@code loader} and caches its response; callers with
+     * the same key that arrive before it has finished wait for that response, or fail with the
+     * same exception, instead of running their own loader.</p>
+     *
+     * @param key    the normalized search parameters
+     * @param loader sends the search to Solr and converts the response
+     * @return the cached, shared or freshly loaded response
+     * @throws SolrServerException If the search failed in Solr
+     * @throws IOException         If there's an I/O error, or the thread was interrupted while waiting
+     */
+    SearchResponse load(Key key, Loader loader) throws SolrServerException, IOException {
+        final SearchResponse cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Flight flight = new Flight(key, generation(key.collection()));
+        final CompletableFuture<SearchResponse> pending = new CompletableFuture<>();
+        final CompletableFuture<SearchResponse> leader = inFlight.putIfAbsent(flight, pending);
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader, key);
+        }
+
+        try {
+            final SearchResponse response = loader.load();
+            put(key, flight.generation(), response);
+            pending.complete(response);
+            return response;
+        } catch (Throwable t) {
+            pending.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(flight, pending);
+        }
+    }
+
+    private static SearchResponse await(CompletableFuture<SearchResponse> leader, Key key)
+            throws SolrServerException, IOException {
+        try {
+            return leader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a search of " + key.collection());
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof SolrServerException solrServerException) {
+                throw solrServerException;
+            }
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new SolrServerException(cause);
+        }
+    }
+
+    /**
+     * Looks up a cached response.
+     *
+     * @param key the normalized search parameters
+     * @return the cached response, or null if there is none or it has expired
+     */
+    synchronized SearchResponse get(Key key) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry != null && nanoClock.getAsLong() - entry.storedAtNanos() > ttlNanos) {
+            remove(key);
+            expiredEvictions.increment();
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.response();
+    }
+
+    /**
+     * Stores a response unless its collection has been invalidated since the search started.
+     *
+     * @param key        the normalized search parameters
+     * @param generation the collection generation read before the search was sent
+     * @param response   the response to cache
+     */
+    void put(Key key, long generation, SearchResponse response) {
+        if (!enabled) {
+            return;
+        }
+        final long weight = estimateWeight(response);
+        if (weight > maxBytes) {
+            return;
+        }
+
+        synchronized (this) {
+            if (generations.getOrDefault(key.collection(), 0L) != generation) {
+                return;
+            }
+            remove(key);
+            entries.put(key, new Entry(response, weight, nanoClock.getAsLong()));
+            bytes += weight;
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries || bytes > maxBytes) {
+                bytes -= eldest.next().weight();
+                eldest.remove();
+                sizeEvictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Drops the cached responses of a collection after documents became visible in it.
+     *
+     * @param event the commit that changed the collection
+     */
+    @EventListener
+    public void onCollectionCommitted(CollectionCommittedEvent event) {
+        invalidate(event.collection());
+    }
+
+    /**
+     * Drops all cached responses of a collection and rejects responses of searches still in flight.
+     *
+     * @param collection the collection whose contents changed
+     */
+    public synchronized void invalidate(String collection) {
+        generations.merge(collection, 1L, Long::sum);
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> entry = iterator.next();
+            if (entry.getKey().collection().equals(collection)) {
+                bytes -= entry.getValue().weight();
+                iterator.remove();
+                commitEvictions.increment();
+            }
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long estimatedBytes() {
+        return bytes;
+    }
+
+    private void remove(Key key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.weight();
+        }
+    }
+
+    /**
+     * Estimates the memory held by a response from the length of its strings and the number
+     * of its values. The estimate errs on the high side, treating every character as two bytes.
+     *
+     * @param response the response to measure
+     * @return the estimated size in bytes
+     */
+    static long estimateWeight(SearchResponse response) {
+        long weight = 128;
+        for (Map<String, Object> document : response.documents()) {
+            weight += 64;
+            for (Map.Entry<String, Object> field : document.entrySet()) {
+                weight += 32 + estimateValueWeight(field.getKey()) + estimateValueWeight(field.getValue());
+            }
+        }
+        for (Map.Entry<String, Map<String, Long>> facet : response.facets().entrySet()) {
+            weight += 64 + estimateValueWeight(facet.getKey());
+            for (String value : facet.getValue().keySet()) {
+                weight += 48 + estimateValueWeight(value);
+            }
+        }
+        if (response.facetTree() != null) {
+            weight += estimateValueWeight(response.facetTree());
+        }
+        return weight;
+    }
+
+    private static long estimateValueWeight(Object value) {
+        if (value instanceof CharSequence text) {
+            return 40 + 2L * text.length();
+        }
+        if (value instanceof Collection<?> values) {
+            long weight = 40;
+            for (Object element : values) {
+                weight += 8 + estimateValueWeight(element);
+            }
+            return weight;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long weight = 48;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                weight += 32 + estimateValueWeight(entry.getKey()) + estimateValueWeight(entry.getValue());
+            }
+            return weight;
+        }
+        return 24;
+    }
+}
@@ -19,10 +19,15 @@ package org.apache.solr.mcp.server.search;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
-import org.apache.solr.client.solrj.response.FacetField;
+import org.apache.solr.client.solrj.request.schema.SchemaRequest;
 import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
+import org.apache.solr.common.util.NamedList;
+import org.apache.solr.common.util.Utils;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springaicommunity.mcp.annotation.McpToolParam;
 import org.springframework.stereotype.Service;
@@ -30,9 +35,18 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Spring Service providing comprehensive search capabilities for Apache Solr collections
@@ -48,8 +62,11 @@ import java.util.Map;
  *   <li><strong>Full-Text Search</strong>: Advanced text search with relevance scoring</li>
  *   <li><strong>Filtering</strong>: Multi-criteria filtering using Solr filter queries</li>
  *   <li><strong>Faceting</strong>: Dynamic facet generation for result categorization</li>
+ *   <li><strong>JSON Facet API</strong>: Nested terms, range and query facets with aggregations</li>
  *   <li><strong>Sorting</strong>: Flexible result ordering by multiple fields</li>
  *   <li><strong>Pagination</strong>: Efficient handling of large result sets</li>
+ *   <li><strong>Deep Paging</strong>: Cursor-based paging with constant cost per page</li>
+ *   <li><strong>Batching</strong>: Several searches per tool call, run concurrently</li>
  * </ul>
  * 
  * <p><strong>Dynamic Field Support:</strong></p>
@@ -68,6 +85,17 @@ import java.util.Map;
  * natural language requests such as "search for books by George R.R. Martin" or
  * "find products under $50 in the electronics category".</p>
  * 
+ * <p><strong>Response Caching:</strong></p>
+ * <p>Responses are kept in a {@link SearchResponseCache}, so repeating a search does not
+ * reach Solr again until the collection is committed to or the entry expires. Identical
+ * searches arriving while the first one is still running wait for its response instead of
+ * sending their own.</p>
+ * 
+ * <p><strong>Hedged Requests:</strong></p>
+ * <p>Requests of the {@code Search} and {@code search_with_cursor} tools are sent through a
+ * {@link HedgedSearchExecutor},
+ * which can resend a slow search to another node and use whichever answer comes first.</p>
+ * 
  * <p><strong>Response Format:</strong></p>
  * <p>Returns structured {@link SearchResponse} objects that encapsulate search results,
  * metadata, and facet information in a format optimized for JSON serialization and
@@ -77,6 +105,7 @@ import java.util.Map;
  * @since 0.0.1
  * 
  * @see SearchResponse
+ * @see SearchResponseCache
  * @see SolrClient
  * @see org.springframework.ai.tool.annotation.Tool
  */
@@ -85,7 +114,18 @@ public class SearchService {
 
     public static final String SORT_ITEM = "item";
     public static final String SORT_ORDER = "order";
+    static final String JSON_FACET = "json.facet";
+
+    /** Cache key budget of {@link #searchUntruncated}, which no budgeted search uses */
+    private static final int UNTRUNCATED = 0;
     private final SolrClient solrClient;
+    private final SearchResponseCache cache;
+    private final HedgedSearchExecutor hedging;
+    private final SolrConfigurationProperties.Response responseLimits;
+    private final SolrConfigurationProperties.Batch batchLimits;
+
+    /** uniqueKey field per collection, needed as the tie-breaker of cursor sorts */
+    private final Map<String, String> uniqueKeyFields = new ConcurrentHashMap<>();
 
     /**
      * Constructs a new SearchService with the required SolrClient dependency.
@@ -95,70 +135,160 @@ public class SearchService {
      * Solr client for executing search operations.</p>
      *
      * @param solrClient the SolrJ client instance for communicating with Solr
+     * @param cache the cache answering repeated searches
+     * @param properties the Solr configuration properties providing the response size and batch limits
+     * @param hedging sends the requests of the Search tool, hedging slow ones
      * 
      * @see SolrClient
+     * @see SearchResponseCache
+     * @see HedgedSearchExecutor
      */
-    public SearchService(SolrClient solrClient) {
+    public SearchService(SolrClient solrClient, SearchResponseCache cache, SolrConfigurationProperties properties,
+                         HedgedSearchExecutor hedging) {
         this.solrClient = solrClient;
+        this.cache = cache;
+        this.hedging = hedging;
+        this.responseLimits = properties.search().response();
+        this.batchLimits = properties.search().batch();
     }
 
     /**
-     * Converts a SolrDocumentList to a List of Maps for optimized JSON serialization.
+     * Exposes a SolrDocumentList as a List of Maps for JSON serialization without copying.
      * 
-     * <p>This method transforms Solr's native document format into a structure that
-     * can be easily serialized to JSON and consumed by MCP clients. Each document
-     * becomes a flat map of field names to field values, preserving all data types.</p>
-     * 
-     * <p><strong>Conversion Process:</strong></p>
-     * <ul>
-     *   <li>Iterates through each SolrDocument in the list</li>
-     *   <li>Extracts all field names and their corresponding values</li>
-     *   <li>Creates a HashMap for each document with field-value pairs</li>
-     *   <li>Preserves original data types (strings, numbers, dates, arrays)</li>
-     * </ul>
+     * <p>{@link SolrDocument} already implements {@code Map<String, Object>}, with field names
+     * as keys and the field values in their original data types (strings, numbers, dates,
+     * arrays). The documents are therefore handed to the response as they are, and Jackson
+     * writes each one straight from Solr's own field map.</p>
      * 
      * <p><strong>Performance Optimization:</strong></p>
-     * <p>Pre-allocates the ArrayList with the known document count to minimize
-     * memory allocations and improve conversion performance for large result sets.</p>
+     * <p>Copying every field of every document into a new {@code HashMap} dominates the CPU
+     * cost of large responses. Returning an unmodifiable view allocates nothing per document
+     * and keeps the field order Solr returned.</p>
      *
-     * @param documents the SolrDocumentList to convert from Solr's native format
-     * @return a List of Maps where each Map represents a document with field names as keys
+     * @param documents the SolrDocumentList to expose
+     * @return an unmodifiable List of Maps where each Map is one document
      * 
      * @see org.apache.solr.common.SolrDocument
      * @see org.apache.solr.common.SolrDocumentList
      */
-    private static List<Map<String, Object>> getDocs(SolrDocumentList documents) {
-        List<Map<String, Object>> docs = new java.util.ArrayList<>(documents.size());
-        documents.forEach(doc -> {
-            Map<String, Object> docMap = new HashMap<>();
-            for (String fieldName : doc.getFieldNames()) {
-                docMap.put(fieldName, doc.getFieldValue(fieldName));
+    static List<Map<String, Object>> getDocs(SolrDocumentList documents) {
+        return Collections.unmodifiableList(documents);
+    }
+
+    /**
+     * Converts documents like {@link #getDocs(SolrDocumentList)} while fitting them into a
+     * character budget.
+     *
+     * <p>Conversion stops at the first document that no longer fits, so the returned
+     * documents are always a prefix of the page. Documents without values to cut are
+     * returned as they are; only documents with cut values are copied.</p>
+     *
+     * @param documents the SolrDocumentList to convert from Solr's native format
+     * @param budget the budget deciding which values are cut and how many documents fit
+     * @return the documents that fit the budget
+     */
+    static List<Map<String, Object>> getDocs(SolrDocumentList documents, ResponseBudget budget) {
+        List<Map<String, Object>> docs = new ArrayList<>(documents.size());
+        for (SolrDocument doc : documents) {
+            Map<String, Object> docMap = budget.admit(doc, docs.isEmpty());
+            if (docMap == null) {
+                break;
             }
             docs.add(docMap);
-        });
+        }
         return docs;
     }
 
     /**
      * Extracts facet information from a QueryResponse.
      *
+     * <p>The facet counts are exposed through a read-only {@link FacetCountsView} over
+     * SolrJ's {@code FacetField} objects instead of being copied into maps. Facet values
+     * keep the order Solr returned them in, which is by descending count.</p>
+     *
      * @param queryResponse The QueryResponse containing facet results
      * @return A Map where keys are facet field names and values are Maps of facet values to counts
      */
-    private static Map<String, Map<String, Long>> getFacets(QueryResponse queryResponse) {
-        Map<String, Map<String, Long>> facets = new HashMap<>();
-        if (queryResponse.getFacetFields() != null && !queryResponse.getFacetFields().isEmpty()) {
-            queryResponse.getFacetFields().forEach(facetField -> {
-                Map<String, Long> facetValues = new HashMap<>();
-                for (FacetField.Count count : facetField.getValues()) {
-                    facetValues.put(count.getName(), count.getCount());
-                }
-                facets.put(facetField.getName(), facetValues);
-            });
+    static Map<String, Map<String, Long>> getFacets(QueryResponse queryResponse) {
+        return new FacetCountsView(queryResponse.getFacetFields());
+    }
+
+    /**
+     * Extracts the results of a JSON Facet API request from a QueryResponse.
+     *
+     * <p>Solr returns them under {@code facets} as nested named lists: the top level holds
+     * the overall {@code count} and one entry per facet, every facet holds its
+     * {@code buckets}, and every bucket its {@code val}, {@code count}, aggregations and
+     * sub-facets. They are converted to maps and lists of the same shape.</p>
+     *
+     * @param queryResponse The QueryResponse containing the facet results
+     * @return the facet tree, or null if the search had no json.facet request
+     */
+    static Map<String, Object> getFacetTree(QueryResponse queryResponse) {
+        final NamedList<Object> response = queryResponse.getResponse();
+        if (response != null && response.get("facets") instanceof NamedList<?> facets) {
+            return toFacetTree(facets);
+        }
+        return null;
+    }
+
+    private static Map<String, Object> toFacetTree(NamedList<?> facets) {
+        final Map<String, Object> tree = new LinkedHashMap<>();
+        for (int i = 0; i < facets.size(); i++) {
+            tree.put(facets.getName(i), toFacetTreeValue(facets.getVal(i)));
+        }
+        return tree;
+    }
+
+    private static Object toFacetTreeValue(Object value) {
+        if (value instanceof NamedList<?> facets) {
+            return toFacetTree(facets);
         }
-        return facets;
+        if (value instanceof List<?> values) {
+            return values.stream().map(SearchService::toFacetTreeValue).toList();
+        }
+        return value;
     }
 
+    /**
+     * Builds the query, filter, facet and sort parameters shared by the search tools.
+     *
+     * @param query         the q parameter, or blank for all documents
+     * @param filterQueries the fq parameters, may be null
+     * @param facetFields   the fields to facet on, may be null
+     * @param sortClauses   the sort clauses, may be null
+     * @return the query without pagination parameters
+     */
+    static SolrQuery buildQuery(String query, List<String> filterQueries, List<String> facetFields,
+                                List<Map<String, String>> sortClauses) {
+        // query
+        final SolrQuery solrQuery = new SolrQuery("*:*");
+        if (StringUtils.hasText(query)) {
+            solrQuery.setQuery(query);
+        }
+
+        // filter queries
+        if (!CollectionUtils.isEmpty(filterQueries)) {
+            solrQuery.setFilterQueries(filterQueries.toArray(new String[0]));
+        }
+
+        // facets
+        if (!CollectionUtils.isEmpty(facetFields)) {
+            solrQuery.setFacet(true);
+            solrQuery.addFacetField(facetFields.toArray(new String[0]));
+            solrQuery.setFacetMinCount(1);
+            solrQuery.setFacetSort(FacetParams.FACET_SORT_COUNT);
+        }
+
+        // sorting
+        if (!CollectionUtils.isEmpty(sortClauses)) {
+            solrQuery.setSorts(sortClauses.stream()
+                    .map(sortClause -> new SolrQuery.SortClause(sortClause.get(SORT_ITEM),
+                            sortClause.get(SORT_ORDER)))
+                    .toList());
+        }
+        return solrQuery;
+    }
 
     /**
      * Searches a Solr collection with the specified parameters.
@@ -175,9 +305,51 @@ public class SearchService {
      * @throws SolrServerException If there's an error communicating with Solr
      * @throws IOException         If there's an I/O error
      */
+    public SearchResponse search(String collection, String query, List<String> filterQueries, List<String> facetFields,
+                                 List<Map<String, String>> sortClauses, Integer start, Integer rows)
+            throws SolrServerException, IOException {
+        return search(collection, query, filterQueries, facetFields, sortClauses, start, rows, null, null, null);
+    }
+
+    /**
+     * Searches a Solr collection with the specified parameters, field list and response budget.
+     * This method is exposed as a tool for MCP clients to use.
+     *
+     * <p><strong>Response Size:</strong></p>
+     * <p>{@code fields} is passed to Solr as {@code fl}, so fields the caller does not need are
+     * neither transferred nor converted. The returned documents are then fitted into
+     * {@code maxResponseChars} (or {@code solr.search.response.max-chars}): string values
+     * longer than {@code solr.search.response.max-field-chars} are cut and documents that no
+     * longer fit are left out, which is reported in {@link SearchResponse#truncation()}.</p>
+     *
+     * <p><strong>JSON Facet API:</strong></p>
+     * <p>{@code jsonFacet} is sent to Solr as the {@code json.facet} parameter, so terms,
+     * range and query facets can be nested and combined with aggregations such as
+     * {@code sum}, {@code avg}, {@code unique}, {@code hll} and {@code percentile}. A complete
+     * breakdown then takes one request instead of one search per bucket. The result is
+     * returned in {@link SearchResponse#facetTree()}; the flat {@code facetFields} counts are
+     * unaffected and can be used alongside.</p>
+     *
+     * @param collection       The Solr collection to query
+     * @param query            The Solr query string (q parameter). Defaults to "*:*" if not specified
+     * @param filterQueries    List of filter queries (fq parameter)
+     * @param facetFields      List of fields to facet on
+     * @param sortClauses      List of sort clauses for ordering results
+     * @param start            Starting offset for pagination
+     * @param rows             Number of rows to return
+     * @param fields           Fields to return (fl parameter); all stored fields if not specified
+     * @param maxResponseChars Character budget for the returned documents; the configured default if not specified
+     * @param jsonFacet        JSON Facet API request (json.facet parameter), may be null
+     * @return A SearchResponse containing the search results, facets, facet tree and any truncation
+     * @throws SolrServerException If there's an error communicating with Solr
+     * @throws IOException         If there's an I/O error
+     */
     @McpTool(name = "Search",
             description = """
                     Search specified Solr collection with query, optional filters, facets, sorting, and pagination. 
+                    For nested breakdowns and aggregations in one call pass jsonFacet, a JSON Facet API request
+                    such as {"genres":{"type":"terms","field":"genre_s","facet":{"avg_price":"avg(price)"}}},
+                    and read the buckets from facetTree.
                     Note that solr has dynamic fields where name of field in schema may end with suffixes
                     _s: Represents a string field, used for exact string matching.
                     _i: Represents an integer field.
@@ -209,35 +381,75 @@ public class SearchService {
             @McpToolParam(description = "Solr facet fields", required = false) List<String> facetFields,
             @McpToolParam(description = "Solr sort parameter", required = false) List<Map<String, String>> sortClauses,
             @McpToolParam(description = "Starting offset for pagination", required = false) Integer start,
-            @McpToolParam(description = "Number of rows to return", required = false) Integer rows)
+            @McpToolParam(description = "Number of rows to return", required = false) Integer rows,
+            @McpToolParam(description = "Solr fl parameter: fields to return. Request only the fields you need to keep responses small", required = false) List<String> fields,
+            @McpToolParam(description = "Maximum characters of document content in the response. Long values are cut and excess documents omitted", required = false) Integer maxResponseChars,
+            @McpToolParam(description = "Solr json.facet parameter: JSON Facet API request with terms, range and query facets, nested sub-facets and aggregations (sum, avg, min, max, unique, hll, percentile)", required = false) Map<String, Object> jsonFacet)
             throws SolrServerException, IOException {
 
-        // query
-        final SolrQuery solrQuery = new SolrQuery("*:*");
-        if (StringUtils.hasText(query)) {
-            solrQuery.setQuery(query);
-        }
-
-        // filter queries
-        if (!CollectionUtils.isEmpty(filterQueries)) {
-            solrQuery.setFilterQueries(filterQueries.toArray(new String[0]));
-        }
+        final int maxChars = maxResponseChars != null && maxResponseChars > 0 ? maxResponseChars : responseLimits.maxChars();
+        final String jsonFacetRequest = CollectionUtils.isEmpty(jsonFacet) ? null : Utils.toJSONString(jsonFacet);
+        final SearchResponseCache.Key cacheKey = SearchResponseCache.key(collection, query, filterQueries,
+                facetFields, sortClauses, start, rows, fields, maxChars, jsonFacetRequest);
+        // Identical searches already in flight share the pending response
+        return cache.load(cacheKey, () -> querySolr(collection, query, filterQueries, facetFields, sortClauses,
+                start, rows, fields, maxChars, responseLimits.maxFieldChars(), jsonFacetRequest));
+    }
 
-        // facets
-        if (!CollectionUtils.isEmpty(facetFields)) {
-            solrQuery.setFacet(true);
-            solrQuery.addFacetField(facetFields.toArray(new String[0]));
-            solrQuery.setFacetMinCount(1);
-            solrQuery.setFacetSort(FacetParams.FACET_SORT_COUNT);
-        }
+    /**
+     * Searches a Solr collection like {@link #search(String, String, List, List, List, Integer, Integer, List, Integer, Map)},
+     * but returns the documents without fitting them into a response budget.
+     *
+     * <p>Used by {@link FederatedSearchService}, which merges the documents of several
+     * collections by their field values and fits only the merged page into the budget, so the
+     * values it compares must not be cut.</p>
+     *
+     * @param collection    The Solr collection to query
+     * @param query         The Solr query string (q parameter). Defaults to "*:*" if not specified
+     * @param filterQueries List of filter queries (fq parameter)
+     * @param facetFields   List of fields to facet on
+     * @param sortClauses   List of sort clauses for ordering results
+     * @param start         Starting offset for pagination
+     * @param rows          Number of rows to return
+     * @param fields        Fields to return (fl parameter); all stored fields if not specified
+     * @return A SearchResponse containing all returned documents with their values intact
+     * @throws SolrServerException If there's an error communicating with Solr
+     * @throws IOException         If there's an I/O error
+     */
+    SearchResponse searchUntruncated(String collection, String query, List<String> filterQueries,
+                                     List<String> facetFields, List<Map<String, String>> sortClauses,
+                                     Integer start, Integer rows, List<String> fields)
+            throws SolrServerException, IOException {
+        final SearchResponseCache.Key cacheKey = SearchResponseCache.key(collection, query, filterQueries,
+                facetFields, sortClauses, start, rows, fields, UNTRUNCATED);
+        return cache.load(cacheKey, () -> querySolr(collection, query, filterQueries, facetFields, sortClauses,
+                start, rows, fields, Integer.MAX_VALUE, Integer.MAX_VALUE, null));
+    }
 
-        // sorting
-        if (!CollectionUtils.isEmpty(sortClauses)) {
-            solrQuery.setSorts(sortClauses.stream()
-                    .map(sortClause -> new SolrQuery.SortClause(sortClause.get(SORT_ITEM),
-                            sortClause.get(SORT_ORDER)))
-                    .toList());
-        }
+    /**
+     * Sends a search to Solr and converts the response, bypassing the response cache.
+     *
+     * @param collection       The Solr collection to query
+     * @param query            The Solr query string (q parameter)
+     * @param filterQueries    List of filter queries (fq parameter)
+     * @param facetFields      List of fields to facet on
+     * @param sortClauses      List of sort clauses for ordering results
+     * @param start            Starting offset for pagination
+     * @param rows             Number of rows to return
+     * @param fields           Fields to return (fl parameter)
+     * @param maxChars         Effective character budget for the returned documents
+     * @param maxFieldChars    Maximum length of a single string value
+     * @param jsonFacetRequest Serialized json.facet parameter, or null
+     * @return the converted response
+     * @throws SolrServerException If there's an error communicating with Solr
+     * @throws IOException         If there's an I/O error
+     */
+    private SearchResponse querySolr(String collection, String query, List<String> filterQueries,
+                                     List<String> facetFields, List<Map<String, String>> sortClauses,
+                                     Integer start, Integer rows, List<String> fields, int maxChars,
+                                     int maxFieldChars, String jsonFacetRequest)
+            throws SolrServerException, IOException {
+        final SolrQuery solrQuery = buildQuery(query, filterQueries, facetFields, sortClauses);
 
         // pagination
         if (start != null) {
@@ -248,13 +460,24 @@ public class SearchService {
             solrQuery.setRows(rows);
         }
 
-        final QueryResponse queryResponse = solrClient.query(collection, solrQuery);
+        // field list
+        if (!CollectionUtils.isEmpty(fields)) {
+            solrQuery.setFields(fields.toArray(new String[0]));
+        }
+
+        // JSON Facet API
+        if (jsonFacetRequest != null) {
+            solrQuery.set(JSON_FACET, jsonFacetRequest);
+        }
+
+        final QueryResponse queryResponse = hedging.query(collection, solrQuery);
 
         // Add documents
         final SolrDocumentList documents = queryResponse.getResults();
 
-        // Convert SolrDocuments to Maps
-        final var docs = getDocs(documents);
+        // Convert SolrDocuments to Maps within the response budget
+        final ResponseBudget budget = new ResponseBudget(maxChars, maxFieldChars);
+        final var docs = getDocs(documents, budget);
 
         // Add facets if present
         final var facets = getFacets(queryResponse);
@@ -264,9 +487,244 @@ public class SearchService {
                 documents.getStart(),
                 documents.getMaxScore(),
                 docs,
-                facets
+                facets,
+                budget.report(documents.size() - docs.size()),
+                jsonFacetRequest != null ? getFacetTree(queryResponse) : null
         );
+    }
+
+    /**
+     * Runs several searches in one tool call and returns their results in input order.
+     *
+     * <p>Every search is run by {@link #search(String, String, List, List, List, Integer, Integer, List, Integer, Map)}
+     * on its own virtual thread, with at most {@code solr.search.batch.max-concurrent} of them
+     * querying Solr at once, so a batch of small related searches, such as one count per
+     * category, costs one MCP round trip and about as long as its slowest searches. Searches
+     * share the response cache with the {@code Search} tool.</p>
+     *
+     * <p>A search that fails is reported with its error in its place in the results; it does
+     * not fail the batch.</p>
+     *
+     * @param searches the searches to run, at most {@code solr.search.batch.max-queries}
+     * @return one result per search, in the order of {@code searches}
+     * @throws InterruptedIOException if interrupted while waiting for the searches
+     */
+    @McpTool(name = "search_batch",
+            description = """
+                    Run several searches in one call. Each entry takes the same parameters as the Search tool,
+                    including its own collection. The searches run concurrently and the results are returned
+                    in the same order, each with either a response or an error. Use this instead of calling
+                    Search repeatedly for related queries, e.g. one count per category with rows 0.
+                    """)
+    public SearchBatchResponse searchBatch(
+            @McpToolParam(description = "Searches to run, each with the parameters of the Search tool") List<SearchParameters> searches)
+            throws InterruptedIOException {
+        if (CollectionUtils.isEmpty(searches)) {
+            throw new IllegalArgumentException("At least one search is required");
+        }
+        if (searches.size() > batchLimits.maxQueries()) {
+            throw new IllegalArgumentException("A batch may contain at most " + batchLimits.maxQueries()
+                    + " searches, got " + searches.size());
+        }
 
+        final long startNanos = System.nanoTime();
+        final Semaphore searchSlots = new Semaphore(batchLimits.maxConcurrent());
+        final List<Future<SearchBatchResponse.Result>> pending = new ArrayList<>(searches.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < searches.size(); i++) {
+                final int index = i;
+                final SearchParameters parameters = searches.get(i);
+                pending.add(executor.submit(() -> searchInBatch(index, parameters, searchSlots)));
+            }
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Interrupted while running a batch of " + searches.size() + " searches");
+        }
+
+        final List<SearchBatchResponse.Result> results = new ArrayList<>(pending.size());
+        for (Future<SearchBatchResponse.Result> result : pending) {
+            results.add(result.resultNow());
+        }
+        return new SearchBatchResponse(results, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Runs one search of a batch once a search slot is free, capturing any failure in the result.
+     *
+     * @param index       position of the search in the batch
+     * @param parameters  the search parameters
+     * @param searchSlots limits the number of searches of the batch running at once
+     * @return the outcome of the search
+     */
+    private SearchBatchResponse.Result searchInBatch(int index, SearchParameters parameters, Semaphore searchSlots) {
+        if (parameters == null || !StringUtils.hasText(parameters.collection())) {
+            return SearchBatchResponse.Result.failed(index,
+                    new IllegalArgumentException("Search " + index + " has no collection"));
+        }
+        try {
+            searchSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return SearchBatchResponse.Result.failed(index,
+                    new InterruptedIOException("Interrupted while waiting to run search"));
+        }
+
+        try {
+            return SearchBatchResponse.Result.succeeded(index, search(parameters.collection(), parameters.query(),
+                    parameters.filterQueries(), parameters.facetFields(), parameters.sortClauses(),
+                    parameters.start(), parameters.rows(), parameters.fields(), parameters.maxResponseChars(),
+                    parameters.jsonFacet()));
+        } catch (SolrServerException | IOException | RuntimeException e) {
+            return SearchBatchResponse.Result.failed(index, e);
+        } finally {
+            searchSlots.release();
+        }
+    }
+
+    /**
+     * Fetches one page of a search using cursor-based deep paging, with all stored fields and
+     * the configured response budget.
+     *
+     * @param collection    The Solr collection to query
+     * @param query         The Solr query string (q parameter). Defaults to "*:*" if not specified
+     * @param filterQueries List of filter queries (fq parameter)
+     * @param facetFields   List of fields to facet on
+     * @param sortClauses   List of sort clauses for ordering results
+     * @param rows          Number of rows per page
+     * @param cursorMark    Cursor of the page to fetch; "*" or null for the first page
+     * @return the page of documents and the cursor mark of the next page
+     * @throws SolrServerException If there's an error communicating with Solr
+     * @throws IOException         If there's an I/O error
+     */
+    public CursorSearchResponse searchWithCursor(String collection, String query, List<String> filterQueries,
+                                                 List<String> facetFields, List<Map<String, String>> sortClauses,
+                                                 Integer rows, String cursorMark)
+            throws SolrServerException, IOException {
+        return searchWithCursor(collection, query, filterQueries, facetFields, sortClauses, rows, cursorMark,
+                null, null);
+    }
+
+    /**
+     * Fetches one page of a search using cursor-based deep paging, with a field list and
+     * response budget. This method is exposed as a tool for MCP clients to use.
+     *
+     * <p>Paging with {@code start} makes Solr collect and sort {@code start + rows} documents
+     * on every shard, so each page is more expensive than the one before. A cursor instead
+     * records the sort values of the last document returned, and every page costs the same
+     * however deep it is. Pages are sent through the {@link HedgedSearchExecutor} like the
+     * searches of the {@code Search} tool.</p>
+     *
+     * <p><strong>Sorting:</strong></p>
+     * <p>Cursors require a total order, so the collection's uniqueKey field is appended to
+     * the sort clauses as a tie-breaker unless it is already sorted on. Without sort clauses
+     * the results are ordered by relevance score. The uniqueKey field is looked up through
+     * the Schema API once per collection and then remembered.</p>
+     *
+     * <p><strong>Response Size:</strong></p>
+     * <p>{@code fields} and {@code maxResponseChars} work as in
+     * {@link #search(String, String, List, List, List, Integer, Integer, List, Integer, Map)}.
+     * Solr's next cursor mark points past the whole page, so when documents are left out to
+     * fit the budget the cursor after the last returned document is fetched with a second,
+     * uniqueKey-only request of that many rows. The omitted documents are then the first
+     * ones of the next page.</p>
+     *
+     * @param collection       The Solr collection to query
+     * @param query            The Solr query string (q parameter). Defaults to "*:*" if not specified
+     * @param filterQueries    List of filter queries (fq parameter)
+     * @param facetFields      List of fields to facet on
+     * @param sortClauses      List of sort clauses for ordering results
+     * @param rows             Number of rows per page
+     * @param cursorMark       Cursor of the page to fetch; "*" or null for the first page
+     * @param fields           Fields to return (fl parameter); all stored fields if not specified
+     * @param maxResponseChars Character budget for the returned documents; the configured default if not specified
+     * @return the page of documents, the cursor mark of the next page and any truncation
+     * @throws SolrServerException If there's an error communicating with Solr
+     * @throws IOException         If there's an I/O error
+     */
+    @McpTool(name = "search_with_cursor",
+            description = """
+                    Page through a large result set of a Solr collection using cursorMark deep paging.
+                    Every page costs the same regardless of depth, unlike start/rows pagination in Search.
+                    Pass cursorMark "*" (or omit it) for the first page, then pass the returned nextCursorMark
+                    together with identical query, filters and sort to get the next page.
+                    Paging is complete when finished is true.
+                    """)
+    public CursorSearchResponse searchWithCursor(
+            @McpToolParam(description = "Solr collection to query") String collection,
+            @McpToolParam(description = "Solr q parameter. If none specified defaults to \"*:*\"", required = false) String query,
+            @McpToolParam(description = "Solr fq parameter", required = false) List<String> filterQueries,
+            @McpToolParam(description = "Solr facet fields", required = false) List<String> facetFields,
+            @McpToolParam(description = "Solr sort parameter. The uniqueKey field is added as a tie-breaker", required = false) List<Map<String, String>> sortClauses,
+            @McpToolParam(description = "Number of rows per page", required = false) Integer rows,
+            @McpToolParam(description = "cursorMark from the previous page, or \"*\" for the first page", required = false) String cursorMark,
+            @McpToolParam(description = "Solr fl parameter: fields to return. Request only the fields you need to keep responses small", required = false) List<String> fields,
+            @McpToolParam(description = "Maximum characters of document content in the response. Long values are cut and excess documents moved to the next page", required = false) Integer maxResponseChars)
+            throws SolrServerException, IOException {
+
+        final int maxChars = maxResponseChars != null && maxResponseChars > 0 ? maxResponseChars : responseLimits.maxChars();
+        final SolrQuery solrQuery = buildQuery(query, filterQueries, facetFields, sortClauses);
+        final String uniqueKey = uniqueKeyField(collection);
+        if (solrQuery.getSorts().isEmpty()) {
+            solrQuery.addSort("score", SolrQuery.ORDER.desc);
+        }
+        if (solrQuery.getSorts().stream().noneMatch(sort -> sort.getItem().equals(uniqueKey))) {
+            solrQuery.addSort(uniqueKey, SolrQuery.ORDER.asc);
+        }
+
+        final String currentCursorMark = StringUtils.hasText(cursorMark) ? cursorMark : CursorMarkParams.CURSOR_MARK_START;
+        solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, currentCursorMark);
+        if (rows != null) {
+            solrQuery.setRows(rows);
+        }
+        if (!CollectionUtils.isEmpty(fields)) {
+            solrQuery.setFields(fields.toArray(new String[0]));
+        }
+
+        final QueryResponse queryResponse = hedging.query(collection, solrQuery);
+        final SolrDocumentList documents = queryResponse.getResults();
+
+        final ResponseBudget budget = new ResponseBudget(maxChars, responseLimits.maxFieldChars());
+        final var docs = getDocs(documents, budget);
+        String nextCursorMark = queryResponse.getNextCursorMark();
+        if (docs.size() < documents.size()) {
+            // Resume after the last returned document instead of skipping the omitted ones
+            final SolrQuery returnedRows = solrQuery.getCopy();
+            returnedRows.setRows(docs.size());
+            returnedRows.setFields(uniqueKey);
+            returnedRows.setFacet(false);
+            nextCursorMark = hedging.query(collection, returnedRows).getNextCursorMark();
+        }
+
+        return new CursorSearchResponse(
+                documents.getNumFound(),
+                documents.getMaxScore(),
+                docs,
+                getFacets(queryResponse),
+                currentCursorMark,
+                nextCursorMark,
+                currentCursorMark.equals(nextCursorMark),
+                budget.report(documents.size() - docs.size())
+        );
+    }
+
+    /**
+     * Returns the uniqueKey field of a collection, asking the Schema API on first use.
+     *
+     * @param collection the collection
+     * @return the name of the uniqueKey field
+     * @throws SolrServerException If the schema cannot be read
+     * @throws IOException         If there's an I/O error
+     */
+    private String uniqueKeyField(String collection) throws SolrServerException, IOException {
+        String uniqueKey = uniqueKeyFields.get(collection);
+        if (uniqueKey == null) {
+            uniqueKey = new SchemaRequest.UniqueKey().process(solrClient, collection).getUniqueKey();
+            if (!StringUtils.hasText(uniqueKey)) {
+                throw new IllegalStateException("Collection " + collection + " has no uniqueKey field; cursor paging requires one");
+            }
+            uniqueKeyFields.put(collection, uniqueKey);
+        }
+        return uniqueKey;
     }
 
 }
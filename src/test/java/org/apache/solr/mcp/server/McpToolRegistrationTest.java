@@ -16,9 +16,13 @@
  */
 package org.apache.solr.mcp.server;
 
+import org.apache.solr.mcp.server.indexing.IndexingJobService;
 import org.apache.solr.mcp.server.indexing.IndexingService;
 import org.apache.solr.mcp.server.metadata.CollectionService;
+import org.apache.solr.mcp.server.metadata.CollectionStatsSampler;
 import org.apache.solr.mcp.server.metadata.SchemaService;
+import org.apache.solr.mcp.server.search.ExportService;
+import org.apache.solr.mcp.server.search.FederatedSearchService;
 import org.apache.solr.mcp.server.search.SearchService;
 import org.junit.jupiter.api.Test;
 import org.springaicommunity.mcp.annotation.McpTool;
@@ -28,6 +32,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -48,7 +53,10 @@ class McpToolRegistrationTest {
                 List.class,
                 List.class,
                 Integer.class,
-                Integer.class);
+                Integer.class,
+                List.class,
+                Integer.class,
+                Map.class);
 
         // Verify it has the @McpTool annotation
         assertTrue(searchMethod.isAnnotationPresent(McpTool.class),
@@ -74,7 +82,10 @@ class McpToolRegistrationTest {
                 List.class,
                 List.class,
                 Integer.class,
-                Integer.class);
+                Integer.class,
+                List.class,
+                Integer.class,
+                Map.class);
 
         // Verify all parameters have @McpToolParam annotations
         Parameter[] parameters = searchMethod.getParameters();
@@ -168,12 +179,24 @@ class McpToolRegistrationTest {
         // SearchService
         addToolNames(SearchService.class, toolNames);
 
+        // ExportService
+        addToolNames(ExportService.class, toolNames);
+
+        // FederatedSearchService
+        addToolNames(FederatedSearchService.class, toolNames);
+
         // IndexingService
         addToolNames(IndexingService.class, toolNames);
 
+        // IndexingJobService
+        addToolNames(IndexingJobService.class, toolNames);
+
         // CollectionService
         addToolNames(CollectionService.class, toolNames);
 
+        // CollectionStatsSampler
+        addToolNames(CollectionStatsSampler.class, toolNames);
+
         // SchemaService
         addToolNames(SchemaService.class, toolNames);
 
@@ -193,7 +216,10 @@ class McpToolRegistrationTest {
                 List.class,
                 List.class,
                 Integer.class,
-                Integer.class);
+                Integer.class,
+                List.class,
+                Integer.class,
+                Map.class);
 
         Parameter[] parameters = searchMethod.getParameters();
 
@@ -73,7 +73,7 @@ class SolrConfigTest {
     })
     void testUrlNormalization(String inputUrl, String expectedUrl) {
         // Create a test properties object
-        SolrConfigurationProperties testProperties = new SolrConfigurationProperties(inputUrl);
+        SolrConfigurationProperties testProperties = SolrConfigurationProperties.defaults(inputUrl);
         
         // Create SolrConfig instance
         SolrConfig solrConfig = new SolrConfig();
@@ -96,7 +96,7 @@ class SolrConfigTest {
     @Test
     void testUrlWithoutTrailingSlash() {
         // Test URL without trailing slash branch
-        SolrConfigurationProperties testProperties = new SolrConfigurationProperties("http://localhost:8983");
+        SolrConfigurationProperties testProperties = SolrConfigurationProperties.defaults("http://localhost:8983");
         SolrConfig solrConfig = new SolrConfig();
         
         SolrClient client = solrConfig.solrClient(testProperties);
@@ -115,7 +115,7 @@ class SolrConfigTest {
     @Test
     void testUrlWithTrailingSlashButNoSolrPath() {
         // Test URL with trailing slash but no solr path branch
-        SolrConfigurationProperties testProperties = new SolrConfigurationProperties("http://localhost:8983/");
+        SolrConfigurationProperties testProperties = SolrConfigurationProperties.defaults("http://localhost:8983/");
         SolrConfig solrConfig = new SolrConfig();
         
         SolrClient client = solrConfig.solrClient(testProperties);
@@ -134,7 +134,7 @@ class SolrConfigTest {
     @Test
     void testUrlWithSolrPathButNoTrailingSlash() {
         // Test URL with solr path but no trailing slash
-        SolrConfigurationProperties testProperties = new SolrConfigurationProperties("http://localhost:8983/solr");
+        SolrConfigurationProperties testProperties = SolrConfigurationProperties.defaults("http://localhost:8983/solr");
         SolrConfig solrConfig = new SolrConfig();
         
         SolrClient client = solrConfig.solrClient(testProperties);
@@ -153,7 +153,7 @@ class SolrConfigTest {
     @Test
     void testUrlAlreadyProperlyFormatted() {
         // Test URL that's already properly formatted
-        SolrConfigurationProperties testProperties = new SolrConfigurationProperties("http://localhost:8983/solr/");
+        SolrConfigurationProperties testProperties = SolrConfigurationProperties.defaults("http://localhost:8983/solr/");
         SolrConfig solrConfig = new SolrConfig();
         
         SolrClient client = solrConfig.solrClient(testProperties);
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSizeControllerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BatchSizeController createController(int batchSize, SolrConfigurationProperties.Adaptive adaptive) {
+        SolrConfigurationProperties properties = SolrConfigurationProperties.defaults("http://localhost:8983/solr/")
+                .withIndexing(SolrConfigurationProperties.Indexing.defaults()
+                        .withBatchSize(batchSize)
+                        .withMaxBatchBytes(DataSize.ofMegabytes(8))
+                        .withAdaptive(adaptive));
+        return new BatchSizeController(properties, meterRegistry);
+    }
+
+    @Test
+    void batchSize_WhenDisabled_ShouldStayFixed() {
+        BatchSizeController controller = createController(1000,
+                new SolrConfigurationProperties.Adaptive(false, 10, 5000, 100, Duration.ofSeconds(1)));
+
+        controller.recordSuccess("books", FAST);
+        controller.recordFailure("books");
+
+        assertEquals(1000, controller.batchSize("books"));
+        assertEquals(DataSize.ofMegabytes(8).toBytes(), controller.maxBatchBytes());
+    }
+
+    @Test
+    void recordSuccess_WhenFast_ShouldGrowAdditivelyUpToMaximum() {
+        BatchSizeController controller = createController(200,
+                SolrConfigurationProperties.Adaptive.enabled(10, 450));
+
+        controller.recordSuccess("books", FAST);
+        assertEquals(300, controller.batchSize("books"));
+        controller.recordSuccess("books", FAST);
+        controller.recordSuccess("books", FAST);
+        assertEquals(450, controller.batchSize("books"));
+    }
+
+    @Test
+    void recordSuccessAndFailure_WhenSlowOrFailing_ShouldHalveDownToMinimum() {
+        BatchSizeController controller = createController(400,
+                SolrConfigurationProperties.Adaptive.enabled(60, 1000));
+
+        controller.recordSuccess("books", SLOW);
+        assertEquals(200, controller.batchSize("books"));
+        controller.recordFailure("books");
+        assertEquals(100, controller.batchSize("books"));
+        controller.recordFailure("books");
+        assertEquals(60, controller.batchSize("books"));
+    }
+
+    @Test
+    void batchSize_ShouldStartWithinBoundsAndBeTrackedPerCollection() {
+        BatchSizeController controller = createController(50_000,
+                SolrConfigurationProperties.Adaptive.enabled(10, 2000));
+
+        controller.recordFailure("films");
+
+        assertEquals(2000, controller.batchSize("books"));
+        assertEquals(1000, controller.batchSize("films"));
+    }
+
+    @Test
+    void batchSize_ShouldBePublishedAsGaugePerCollection() {
+        BatchSizeController controller = createController(200,
+                SolrConfigurationProperties.Adaptive.enabled(10, 1000));
+
+        controller.recordSuccess("books", FAST);
+
+        assertEquals(300.0, meterRegistry.get(BatchSizeController.BATCH_SIZE_METRIC)
+                .tag("collection", "books").gauge().value());
+    }
+}
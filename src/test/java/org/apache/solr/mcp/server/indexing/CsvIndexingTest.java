@@ -23,9 +23,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Test class for CSV indexing functionality in IndexingService.
@@ -147,4 +151,61 @@ class CsvIndexingTest {
         assertThat(secondDoc.getFieldValue("name")).isEqualTo("Regular Name");
         assertThat(secondDoc.getFieldValue("description")).isEqualTo("Regular description");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testStreamSchemalessDocumentsFromCsvEmitsRecordsIncrementally() {
+        // Given - two complete records followed by an unterminated quoted value
+        String csvData = """
+            id,name,description
+            1,First,Complete record
+            2,Second,Another complete record
+            3,Third,"Unterminated
+            """;
+        List<SolrInputDocument> received = new ArrayList<>();
+
+        // When/Then - records read before the error have already been handed over
+        assertThatThrownBy(() -> indexingDocumentCreator.streamSchemalessDocumentsFromCsv(csvData, received::add))
+                .isInstanceOf(RuntimeException.class);
+        assertThat(received).hasSize(2);
+        assertThat(received.get(1).getFieldValue("name")).isEqualTo("Second");
+    }
+
+    @Test
+    void testStreamSchemalessDocumentsFromCsvMatchesCreate() throws Exception {
+        // Given
+        String csvData = """
+            id,Product Name,price
+            1,Widget,9.99
+            2,,4.50
+            """;
+        List<SolrInputDocument> received = new ArrayList<>();
+
+        // When
+        indexingDocumentCreator.streamSchemalessDocumentsFromCsv(csvData, received::add);
+        List<SolrInputDocument> created = indexingDocumentCreator.createSchemalessDocumentsFromCsv(csvData);
+
+        // Then - same sanitized fields and the same empty-value handling
+        assertThat(received).hasSize(2);
+        assertThat(received.get(0).getFieldNames()).containsExactly("id", "product_name", "price");
+        assertThat(received.get(1).getFieldNames()).containsExactly("id", "price");
+        for (int i = 0; i < created.size(); i++) {
+            assertThat(received.get(i).toString()).isEqualTo(created.get(i).toString());
+        }
+    }
+
+    @Test
+    void testStreamSchemalessDocumentsFromCsvPropagatesSinkFailuresUnchanged() {
+        // Given - a sink that fails like a cancelled indexing job
+        String csvData = """
+            id,name
+            1,First
+            2,Second
+            """;
+        UncheckedIOException cancelled = new UncheckedIOException(new InterruptedIOException("Job cancelled"));
+
+        // When/Then - the failure is not reported as a CSV parse error
+        assertThatThrownBy(() -> indexingDocumentCreator.streamSchemalessDocumentsFromCsv(csvData, document -> {
+            throw cancelled;
+        })).isSameAs(cancelled);
+    }
+}
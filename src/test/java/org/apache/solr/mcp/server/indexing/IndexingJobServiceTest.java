@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.apache.solr.mcp.server.indexing.documentcreator.CsvDocumentCreator;
+import org.apache.solr.mcp.server.indexing.documentcreator.IndexingDocumentCreator;
+import org.apache.solr.mcp.server.indexing.documentcreator.JsonDocumentCreator;
+import org.apache.solr.mcp.server.indexing.documentcreator.XmlDocumentCreator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndexingJobServiceTest {
+
+    @Mock
+    private SolrClient solrClient;
+
+    private IndexingJobService jobService;
+
+    private IndexingJobService createJobService(int batchSize, int maxConcurrentJobs, int maxQueuedJobs) {
+        SolrConfigurationProperties properties = SolrConfigurationProperties.defaults("http://localhost:8983/solr/")
+                .withIndexing(SolrConfigurationProperties.Indexing.defaults()
+                        .withBatchSize(batchSize)
+                        .withMaxConcurrentBatches(1)
+                        .withJobs(new SolrConfigurationProperties.Jobs(maxConcurrentJobs, maxQueuedJobs, Duration.ofHours(1))));
+        IndexingDocumentCreator documentCreator = new IndexingDocumentCreator(new XmlDocumentCreator(),
+                new CsvDocumentCreator(), new JsonDocumentCreator());
+        IndexingMetrics metrics = new IndexingMetrics(new SimpleMeterRegistry());
+        IndexingService indexingService = new IndexingService(solrClient, documentCreator, properties,
+                new SolrCommitter(solrClient, properties, metrics),
+                new BatchSizeController(properties, new SimpleMeterRegistry()), metrics);
+        jobService = new IndexingJobService(indexingService, properties);
+        return jobService;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (jobService != null) {
+            jobService.shutdown();
+        }
+    }
+
+    @Test
+    void indexDocumentsAsync_ShouldReturnImmediatelyAndCompleteInBackground() throws Exception {
+        IndexingJobService service = createJobService(2, 1, 4);
+
+        IndexingJobStatus submitted = service.indexDocumentsAsync("books", "CSV",
+                "id,title\n1,Dune\n2,Emma\n3,Ulysses\n", null);
+        assertNotNull(submitted.jobId());
+
+        IndexingJobStatus finished = awaitFinished(service, submitted.jobId());
+
+        assertEquals(IndexingJobStatus.State.SUCCEEDED, finished.state());
+        assertEquals(3, finished.documentsRead());
+        assertEquals(3, finished.documentsIndexed());
+        assertEquals(0, finished.documentsFailed());
+        assertEquals(0L, finished.estimatedSecondsRemaining());
+        assertInstanceOf(IndexingResult.class, finished.result());
+        verify(solrClient, times(2)).add(eq("books"), anyList());
+        verify(solrClient).commit("books");
+    }
+
+    @Test
+    void indexFilesAsync_ShouldReportFileResult(@TempDir Path directory) throws Exception {
+        IndexingJobService service = createJobService(10, 1, 4);
+        Files.writeString(directory.resolve("films.json"), "[{\"id\":\"f1\"},{\"id\":\"f2\"}]");
+
+        IndexingJobStatus submitted = service.indexFilesAsync("films", List.of(directory.toString()), "none");
+        IndexingJobStatus finished = awaitFinished(service, submitted.jobId());
+
+        assertEquals(IndexingJobStatus.State.SUCCEEDED, finished.state());
+        assertEquals(2, finished.documentsIndexed());
+        FileIndexingResult result = assertInstanceOf(FileIndexingResult.class, finished.result());
+        assertEquals(1, result.files().size());
+        verify(solrClient, never()).commit(anyString());
+    }
+
+    @Test
+    void cancelIndexingJob_ShouldStopRunningJobWithoutCommit() throws Exception {
+        IndexingJobService service = createJobService(2, 1, 4);
+        CountDownLatch firstBatchSent = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(solrClient.add(anyString(), anyList())).thenAnswer(invocation -> {
+            firstBatchSent.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        IndexingJobStatus submitted = service.indexDocumentsAsync("books", "json",
+                "[{\"id\":\"1\"},{\"id\":\"2\"},{\"id\":\"3\"},{\"id\":\"4\"},{\"id\":\"5\"},{\"id\":\"6\"}]", null);
+        assertTrue(firstBatchSent.await(5, TimeUnit.SECONDS));
+
+        service.cancelIndexingJob(submitted.jobId());
+        release.countDown();
+        IndexingJobStatus finished = awaitFinished(service, submitted.jobId());
+
+        assertEquals(IndexingJobStatus.State.CANCELLED, finished.state());
+        assertTrue(finished.documentsIndexed() < 6);
+        verify(solrClient, never()).commit(anyString());
+    }
+
+    @Test
+    void indexDocumentsAsync_WhenQueueIsFull_ShouldRejectJob() throws Exception {
+        IndexingJobService service = createJobService(10, 1, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(solrClient.add(anyString(), anyList())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        IndexingJobStatus running = service.indexDocumentsAsync("books", "json", "[{\"id\":\"1\"}]", "none");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(IllegalStateException.class,
+                () -> service.indexDocumentsAsync("books", "json", "[{\"id\":\"2\"}]", "none"));
+        release.countDown();
+        assertEquals(IndexingJobStatus.State.SUCCEEDED, awaitFinished(service, running.jobId()).state());
+    }
+
+    @Test
+    void indexDocumentsAsync_WithUnknownFormat_ShouldFailImmediately() {
+        IndexingJobService service = createJobService(10, 1, 4);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.indexDocumentsAsync("books", "yaml", "id: 1", null));
+        verifyNoInteractions(solrClient);
+    }
+
+    @Test
+    void indexDocumentsAsync_WithoutContent_ShouldFailImmediately() {
+        IndexingJobService service = createJobService(10, 1, 4);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.indexDocumentsAsync("books", "json", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.indexFilesAsync("books", null, null));
+        verifyNoInteractions(solrClient);
+    }
+
+    @Test
+    void cancel_BeforeFutureIsAttached_ShouldEndCancelled() throws Exception {
+        IndexingJob job = new IndexingJob("job-1", "books", "test");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread worker = Thread.ofVirtual().start(() -> job.run(() -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "done";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // the job runs but its future is not attached yet, so nothing can be interrupted
+        assertTrue(job.cancel());
+        release.countDown();
+        worker.join(5000);
+
+        assertEquals(IndexingJobStatus.State.CANCELLED, job.status().state());
+    }
+
+    @Test
+    void attach_AfterCancel_ShouldInterruptTheJob() {
+        IndexingJob job = new IndexingJob("job-1", "books", "test");
+        Future<?> future = mock(Future.class);
+
+        job.cancel();
+        job.attach(future);
+
+        verify(future).cancel(true);
+    }
+
+    @Test
+    void getIndexingJobStatus_WithUnknownId_ShouldThrow() {
+        IndexingJobService service = createJobService(10, 1, 4);
+
+        assertThrows(IllegalArgumentException.class, () -> service.getIndexingJobStatus("no-such-job"));
+    }
+
+    @Test
+    void failedJob_ShouldReportError() throws Exception {
+        IndexingJobService service = createJobService(10, 1, 4);
+
+        IndexingJobStatus submitted = service.indexDocumentsAsync("books", "json", "[{\"id\":", null);
+        IndexingJobStatus finished = awaitFinished(service, submitted.jobId());
+
+        assertEquals(IndexingJobStatus.State.FAILED, finished.state());
+        assertNotNull(finished.error());
+        verify(solrClient, never()).commit(anyString());
+    }
+
+    private IndexingJobStatus awaitFinished(IndexingJobService service, String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        IndexingJobStatus status = service.getIndexingJobStatus(jobId);
+        while (!status.state().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = service.getIndexingJobStatus(jobId);
+        }
+        assertTrue(status.state().isFinished(), "Job did not finish in time: " + status);
+        return status;
+    }
+}
@@ -16,18 +16,29 @@
  */
 package org.apache.solr.mcp.server.indexing;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.response.UpdateResponse;
+import org.apache.solr.common.SolrException;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
 import org.apache.solr.mcp.server.indexing.documentcreator.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -42,6 +53,13 @@ class IndexingServiceDirectTest {
     @Mock
     private UpdateResponse updateResponse;
 
+    private final SolrConfigurationProperties properties =
+            SolrConfigurationProperties.defaults("http://localhost:8983/solr/");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final IndexingMetrics metrics = new IndexingMetrics(meterRegistry);
+
     private IndexingService indexingService;
     private IndexingDocumentCreator indexingDocumentCreator;
     @BeforeEach
@@ -49,39 +67,48 @@ class IndexingServiceDirectTest {
         indexingDocumentCreator = new IndexingDocumentCreator(new XmlDocumentCreator(),
                 new CsvDocumentCreator(),
                 new JsonDocumentCreator());
-        indexingService = new IndexingService(solrClient, indexingDocumentCreator);
+        indexingService = createService(indexingDocumentCreator, properties);
     }
 
     @Test
     void testBatchIndexingErrorHandling() throws Exception {
         // Create a list of test documents
-        List<SolrInputDocument> documents = new ArrayList<>();
-        for (int i = 0; i < 10; i++) {
-            SolrInputDocument doc = new SolrInputDocument();
-            doc.addField("id", "test" + i);
-            doc.addField("title", "Test Document " + i);
-            documents.add(doc);
-        }
-
-        // Mock behavior: Batch add fails, but individual adds succeed
-        when(solrClient.add(anyString(), anyList()))
-                .thenThrow(new RuntimeException("Batch indexing failed"));
-
-        // Individual document adds should succeed
-        when(solrClient.add(anyString(), any(SolrInputDocument.class)))
-                .thenReturn(updateResponse);
+        List<SolrInputDocument> documents = createDocuments(10);
+        SolrInputDocument badDocument = documents.get(3);
+
+        // Mock behavior: any request containing the bad document is rejected
+        when(solrClient.add(anyString(), anyList())).thenAnswer(invocation -> {
+            List<?> batch = invocation.getArgument(1);
+            if (batch.contains(badDocument)) {
+                throw new SolrException(SolrException.ErrorCode.BAD_REQUEST, "Bad document test3");
+            }
+            return updateResponse;
+        });
 
         // Call the method under test
-        int successCount = indexingService.indexDocuments("test_collection", documents);
+        IndexingResult result = indexingService.indexDocuments("test_collection", documents);
 
         // Verify the results
-        assertEquals(10, successCount, "All documents should be successfully indexed individually");
-
-        // Verify that batch add was attempted once
-        verify(solrClient, times(1)).add(eq("test_collection"), anyList());
-
-        // Verify that individual adds were attempted for each document
-        verify(solrClient, times(10)).add(eq("test_collection"), any(SolrInputDocument.class));
+        assertEquals(9, result.indexedCount(), "All documents except the bad one should be indexed");
+        assertEquals(1, result.failedCount());
+        assertEquals(1, result.rejectedDocuments().size());
+
+        IndexingResult.RejectedDocument rejected = result.rejectedDocuments().getFirst();
+        assertEquals("test3", rejected.id());
+        assertEquals(3, rejected.position());
+        assertEquals("Bad document test3", rejected.reason());
+
+        // Bisection isolates the bad document in 9 requests instead of 1 + 10 individual ones
+        verify(solrClient, times(9)).add(eq("test_collection"), anyList());
+        verify(solrClient, never()).add(anyString(), any(SolrInputDocument.class));
+
+        // The failed batch is counted as one fallback and the bisection requests as retries
+        assertEquals(1, meterRegistry.get(IndexingMetrics.BATCH_FALLBACKS).counter().count());
+        assertEquals(8, meterRegistry.get(IndexingMetrics.BATCH_RETRIES).counter().count());
+        assertEquals(4, meterRegistry.get(IndexingMetrics.BATCH_ADD).tag("outcome", "success").timer().count());
+        assertEquals(5, meterRegistry.get(IndexingMetrics.BATCH_ADD).tag("outcome", "failure").timer().count());
+        assertEquals(9, meterRegistry.get(IndexingMetrics.DOCUMENTS).tag("outcome", "indexed").counter().count());
+        assertEquals(1, meterRegistry.get(IndexingMetrics.DOCUMENTS).tag("outcome", "rejected").counter().count());
 
         // Verify that commit was called
         verify(solrClient, times(1)).commit("test_collection");
@@ -90,42 +117,188 @@ class IndexingServiceDirectTest {
     @Test
     void testBatchIndexingPartialFailure() throws Exception {
         // Create a list of test documents
-        List<SolrInputDocument> documents = new ArrayList<>();
-        for (int i = 0; i < 10; i++) {
-            SolrInputDocument doc = new SolrInputDocument();
-            doc.addField("id", "test" + i);
-            doc.addField("title", "Test Document " + i);
-            documents.add(doc);
-        }
-
-        // Mock behavior: Batch add fails
-        when(solrClient.add(anyString(), anyList()))
-                .thenThrow(new RuntimeException("Batch indexing failed"));
-
-        // Even-numbered documents succeed, odd-numbered documents fail
-        for (int i = 0; i < 10; i++) {
-            if (i % 2 == 0) {
-                when(solrClient.add("test_collection", documents.get(i)))
-                        .thenReturn(updateResponse);
-            } else {
-                when(solrClient.add("test_collection", documents.get(i)))
-                        .thenThrow(new RuntimeException("Document " + i + " indexing failed"));
+        List<SolrInputDocument> documents = createDocuments(10);
+
+        // Mock behavior: odd-numbered documents are rejected, so any request containing one fails
+        when(solrClient.add(anyString(), anyList())).thenAnswer(invocation -> {
+            List<?> batch = invocation.getArgument(1);
+            for (int i = 1; i < documents.size(); i += 2) {
+                if (batch.contains(documents.get(i))) {
+                    throw new SolrException(SolrException.ErrorCode.BAD_REQUEST, "Document " + i + " indexing failed");
+                }
             }
-        }
+            return updateResponse;
+        });
 
         // Call the method under test
-        int successCount = indexingService.indexDocuments("test_collection", documents);
+        IndexingResult result = indexingService.indexDocuments("test_collection", documents);
 
         // Verify the results - only even-numbered documents should succeed
-        assertEquals(5, successCount, "Only half of the documents should be successfully indexed");
+        assertEquals(5, result.indexedCount(), "Only half of the documents should be successfully indexed");
+        assertEquals(5, result.failedCount());
+        assertEquals(List.of("test1", "test3", "test5", "test7", "test9"),
+                result.rejectedDocuments().stream().map(IndexingResult.RejectedDocument::id).toList());
+        assertEquals(List.of(1L, 3L, 5L, 7L, 9L),
+                result.rejectedDocuments().stream().map(IndexingResult.RejectedDocument::position).toList());
+
+        // Verify that commit was called
+        verify(solrClient, times(1)).commit("test_collection");
+    }
+
+    @Test
+    void testRejectedDocumentPositionsSpanBatches() throws Exception {
+        SolrConfigurationProperties smallBatchProperties = SolrConfigurationProperties.defaults(
+                "http://localhost:8983/solr/").withIndexing(SolrConfigurationProperties.Indexing.defaults()
+                .withBatchSize(4).withMaxConcurrentBatches(1));
+        IndexingService smallBatchService = createService(indexingDocumentCreator, smallBatchProperties);
+
+        List<SolrInputDocument> documents = createDocuments(10);
+        SolrInputDocument badDocument = documents.get(6);
+
+        when(solrClient.add(anyString(), anyList())).thenAnswer(invocation -> {
+            List<?> batch = invocation.getArgument(1);
+            if (batch.contains(badDocument)) {
+                throw new SolrException(SolrException.ErrorCode.BAD_REQUEST, "Bad document");
+            }
+            return updateResponse;
+        });
+
+        IndexingResult result = smallBatchService.indexDocuments("test_collection", documents);
+
+        assertEquals(9, result.indexedCount());
+        assertEquals(1, result.failedCount());
+        assertEquals("test6", result.rejectedDocuments().getFirst().id());
+        assertEquals(6, result.rejectedDocuments().getFirst().position(),
+                "Position should be relative to the whole input, not the batch");
+    }
+
+    @Test
+    void testCommitWithinOverrideAttachesDeadlineAndSkipsCommit() throws Exception {
+        List<SolrInputDocument> documents = createDocuments(3);
+        when(solrClient.add(eq("test_collection"), anyList(), anyInt())).thenReturn(updateResponse);
+
+        IndexingResult result = indexingService.indexDocuments("test_collection", documents,
+                CommitMode.COMMIT_WITHIN);
+
+        assertEquals(3, result.indexedCount());
+        verify(solrClient).add("test_collection", documents, 1000);
+        verify(solrClient, never()).add(anyString(), anyList());
+        verify(solrClient, never()).commit(anyString());
+    }
+
+    @Test
+    void testSoftCommitOverrideFromToolParameter() throws Exception {
+        String json = "[{\"id\":\"1\"}]";
+        when(solrClient.add(eq("test_collection"), anyList())).thenReturn(updateResponse);
+
+        IndexingResult result = indexingService.indexJsonDocuments("test_collection", json, "soft");
+
+        assertEquals(1, result.indexedCount());
+        verify(solrClient).commit("test_collection", true, true, true);
+        verify(solrClient, never()).commit("test_collection");
+    }
+
+    @Test
+    void testDocumentStreamIsBatchedWhileProducing() throws Exception {
+        SolrConfigurationProperties smallBatchProperties = SolrConfigurationProperties.defaults(
+                "http://localhost:8983/solr/").withIndexing(SolrConfigurationProperties.Indexing.defaults()
+                .withBatchSize(4).withMaxConcurrentBatches(1));
+        IndexingService smallBatchService = createService(indexingDocumentCreator, smallBatchProperties);
+        List<SolrInputDocument> documents = createDocuments(10);
+        AtomicInteger produced = new AtomicInteger();
+        AtomicInteger producedWhenFirstBatchSent = new AtomicInteger(-1);
+
+        when(solrClient.add(anyString(), anyList())).thenAnswer(invocation -> {
+            producedWhenFirstBatchSent.compareAndSet(-1, produced.get());
+            return updateResponse;
+        });
+
+        IndexingResult result = smallBatchService.indexDocumentStream("test_collection", sink -> {
+            for (SolrInputDocument document : documents) {
+                produced.incrementAndGet();
+                sink.accept(document);
+            }
+        }, null);
+
+        assertEquals(10, result.indexedCount());
+        // With one batch in flight, the second batch cannot be submitted until the first was sent
+        assertTrue(producedWhenFirstBatchSent.get() <= 8,
+                "First batch should be sent before the source finished producing");
+        verify(solrClient, times(3)).add(eq("test_collection"), anyList());
+        verify(solrClient).commit("test_collection");
+    }
+
+    @Test
+    void testDocumentStreamFailureSkipsCommit() throws Exception {
+        SolrConfigurationProperties smallBatchProperties = SolrConfigurationProperties.defaults(
+                "http://localhost:8983/solr/").withIndexing(SolrConfigurationProperties.Indexing.defaults()
+                .withBatchSize(2).withMaxConcurrentBatches(1));
+        IndexingService smallBatchService = createService(indexingDocumentCreator, smallBatchProperties);
+        List<SolrInputDocument> documents = createDocuments(3);
+        when(solrClient.add(anyString(), anyList())).thenReturn(updateResponse);
+
+        assertThrows(DocumentProcessingException.class, () ->
+                smallBatchService.indexDocumentStream("test_collection", sink -> {
+                    documents.forEach(sink);
+                    throw new DocumentProcessingException("Truncated input");
+                }, null));
 
-        // Verify that batch add was attempted once
         verify(solrClient, times(1)).add(eq("test_collection"), anyList());
+        verify(solrClient, never()).commit(anyString());
+    }
 
-        // Verify that individual adds were attempted for each document
-        verify(solrClient, times(10)).add(eq("test_collection"), any(SolrInputDocument.class));
+    @Test
+    void testBatchesAreIndexedConcurrently() throws Exception {
+        SolrConfigurationProperties concurrentProperties = SolrConfigurationProperties.defaults(
+                "http://localhost:8983/solr/").withIndexing(SolrConfigurationProperties.Indexing.defaults()
+                .withBatchSize(10).withMaxConcurrentBatches(2));
+        IndexingService concurrentService = createService(indexingDocumentCreator, concurrentProperties);
+
+        List<SolrInputDocument> documents = createDocuments(20);
+
+        // Each batch waits until the other one has started, which only succeeds if both are in flight together
+        CountDownLatch bothInFlight = new CountDownLatch(2);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(solrClient.add(eq("test_collection"), anyList())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            bothInFlight.countDown();
+            bothInFlight.await(5, TimeUnit.SECONDS);
+            inFlight.decrementAndGet();
+            return updateResponse;
+        });
 
-        // Verify that commit was called
+        IndexingResult result = concurrentService.indexDocuments("test_collection", documents);
+
+        assertEquals(20, result.indexedCount());
+        assertEquals(2, maxInFlight.get(), "Both batches should have been in flight at the same time");
+        verify(solrClient, times(2)).add(eq("test_collection"), anyList());
+        verify(solrClient, times(1)).commit("test_collection");
+    }
+
+    @Test
+    void testConcurrentBatchesRespectLimit() throws Exception {
+        SolrConfigurationProperties concurrentProperties = SolrConfigurationProperties.defaults(
+                "http://localhost:8983/solr/").withIndexing(SolrConfigurationProperties.Indexing.defaults()
+                .withBatchSize(10).withMaxConcurrentBatches(2));
+        IndexingService concurrentService = createService(indexingDocumentCreator, concurrentProperties);
+
+        List<SolrInputDocument> documents = createDocuments(60);
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(solrClient.add(eq("test_collection"), anyList())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return updateResponse;
+        });
+
+        IndexingResult result = concurrentService.indexDocuments("test_collection", documents);
+
+        assertEquals(60, result.indexedCount());
+        assertTrue(maxInFlight.get() <= 2, "No more than two batches should be in flight at once");
+        verify(solrClient, times(6)).add(eq("test_collection"), anyList());
         verify(solrClient, times(1)).commit("test_collection");
     }
 
@@ -149,7 +322,7 @@ class IndexingServiceDirectTest {
 
         // Create a spy on the indexingDocumentCreator and inject it into a new IndexingService
         IndexingDocumentCreator indexingDocumentCreatorSpy = spy(indexingDocumentCreator);
-        IndexingService indexingServiceWithSpy = new IndexingService(solrClient, indexingDocumentCreatorSpy);
+        IndexingService indexingServiceWithSpy = createService(indexingDocumentCreatorSpy, properties);
         IndexingService indexingServiceSpy = spy(indexingServiceWithSpy);
 
         // Create mock documents that would be returned by createSchemalessDocuments
@@ -167,20 +340,31 @@ class IndexingServiceDirectTest {
         mockDocuments.add(doc1);
         mockDocuments.add(doc2);
 
-        // Mock the createSchemalessDocuments method to return our mock documents
-        doReturn(mockDocuments).when(indexingDocumentCreatorSpy).createSchemalessDocumentsFromJson(json);
-
-        // Mock the indexDocuments method that takes a collection and list of documents
-        doReturn(2).when(indexingServiceSpy).indexDocuments(anyString(), anyList());
+        // Mock the streaming creator to emit our mock documents
+        doAnswer(invocation -> {
+            Consumer<SolrInputDocument> sink = invocation.getArgument(1);
+            mockDocuments.forEach(sink);
+            return null;
+        }).when(indexingDocumentCreatorSpy).streamSchemalessDocumentsFromJson(eq(json), any());
+        when(solrClient.add(anyString(), anyList())).thenReturn(updateResponse);
 
         // Call the method under test
-        indexingServiceSpy.indexJsonDocuments("test_collection", json);
-
-        // Verify that createSchemalessDocuments was called with the JSON string
-        verify(indexingDocumentCreatorSpy, times(1)).createSchemalessDocumentsFromJson(json);
-
-        // Verify that indexDocuments was called with the collection name and the documents
-        verify(indexingServiceSpy, times(1)).indexDocuments("test_collection", mockDocuments);
+        IndexingResult result = indexingServiceSpy.indexJsonDocuments("test_collection", json);
+
+        // Verify that the streaming creator was called with the JSON string
+        verify(indexingDocumentCreatorSpy, times(1)).streamSchemalessDocumentsFromJson(eq(json), any());
+
+        // Verify that the stream was indexed into the collection with the configured commit mode
+        verify(indexingServiceSpy, times(1)).indexDocumentStream(eq("test_collection"), eq("json"), any(),
+                isNull(), any());
+        verify(solrClient).add("test_collection", mockDocuments);
+        assertEquals(2, result.indexedCount());
+
+        // Meters are tagged with the payload format
+        assertEquals(json.length(), meterRegistry.get(IndexingMetrics.BYTES).tag("format", "json").counter().count());
+        assertEquals(1, meterRegistry.get(IndexingMetrics.PARSE).tag("format", "json").timer().count());
+        assertEquals(2, meterRegistry.get(IndexingMetrics.BATCH_DOCUMENTS).tag("format", "json").summary().totalAmount());
+        assertEquals(1, meterRegistry.get(IndexingMetrics.COMMIT).tag("mode", "hard").timer().count());
     }
 
     @Test
@@ -190,11 +374,12 @@ class IndexingServiceDirectTest {
 
         // Create a spy on the indexingDocumentCreator and inject it into a new IndexingService
         IndexingDocumentCreator indexingDocumentCreatorSpy = spy(indexingDocumentCreator);
-        IndexingService indexingServiceWithSpy = new IndexingService(solrClient, indexingDocumentCreatorSpy);
+        IndexingService indexingServiceWithSpy = createService(indexingDocumentCreatorSpy, properties);
         IndexingService indexingServiceSpy = spy(indexingServiceWithSpy);
 
-        // Mock the createSchemalessDocuments method to throw an exception
-        doThrow(new DocumentProcessingException("Invalid JSON")).when(indexingDocumentCreatorSpy).createSchemalessDocumentsFromJson(invalidJson);
+        // Mock the streaming creator to throw an exception
+        doThrow(new DocumentProcessingException("Invalid JSON")).when(indexingDocumentCreatorSpy)
+                .streamSchemalessDocumentsFromJson(eq(invalidJson), any());
 
         // Call the method under test and verify it throws an exception
         DocumentProcessingException exception = assertThrows(DocumentProcessingException.class, () -> {
@@ -204,10 +389,126 @@ class IndexingServiceDirectTest {
         // Verify the exception message
         assertTrue(exception.getMessage().contains("Invalid JSON"));
 
-        // Verify that createSchemalessDocuments was called
-        verify(indexingDocumentCreatorSpy, times(1)).createSchemalessDocumentsFromJson(invalidJson);
+        // Verify that the streaming creator was called
+        verify(indexingDocumentCreatorSpy, times(1)).streamSchemalessDocumentsFromJson(eq(invalidJson), any());
+
+        // Verify that nothing was sent to or committed in Solr
+        verify(solrClient, never()).add(anyString(), anyList());
+        verify(solrClient, never()).commit(anyString());
+    }
+
+    @Test
+    void testBatchesAreClosedAtByteLimit() throws Exception {
+        List<SolrInputDocument> documents = createDocuments(10);
+        long documentSize = IndexingPipeline.estimateSize(documents.getFirst());
+        SolrConfigurationProperties byteLimitedProperties = SolrConfigurationProperties.defaults(
+                "http://localhost:8983/solr/").withIndexing(SolrConfigurationProperties.Indexing.defaults()
+                .withMaxConcurrentBatches(1).withMaxBatchBytes(DataSize.ofBytes(documentSize * 3)));
+        IndexingService byteLimitedService = createService(indexingDocumentCreator, byteLimitedProperties);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(solrClient.add(anyString(), anyList())).thenAnswer(invocation -> {
+            batchSizes.add(invocation.<List<?>>getArgument(1).size());
+            return updateResponse;
+        });
+
+        IndexingResult result = byteLimitedService.indexDocuments("test_collection", documents);
+
+        assertEquals(10, result.indexedCount());
+        assertEquals(List.of(3, 3, 3, 1), batchSizes);
+    }
+
+    @Test
+    void testAdaptiveBatchSizeShrinksAfterFailedBatch() throws Exception {
+        SolrConfigurationProperties adaptiveProperties = SolrConfigurationProperties.defaults(
+                "http://localhost:8983/solr/").withIndexing(SolrConfigurationProperties.Indexing.defaults()
+                .withBatchSize(8).withMaxConcurrentBatches(1)
+                .withAdaptive(SolrConfigurationProperties.Adaptive.enabled(2, 8)));
+        BatchSizeController controller = new BatchSizeController(adaptiveProperties, new SimpleMeterRegistry());
+        IndexingService adaptiveService = new IndexingService(solrClient, indexingDocumentCreator,
+                adaptiveProperties, new SolrCommitter(solrClient, adaptiveProperties, metrics), controller, metrics);
+        List<SolrInputDocument> documents = createDocuments(12);
+        SolrInputDocument badDocument = documents.get(0);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(solrClient.add(anyString(), anyList())).thenAnswer(invocation -> {
+            List<?> batch = invocation.getArgument(1);
+            batchSizes.add(batch.size());
+            if (batch.contains(badDocument)) {
+                throw new SolrException(SolrException.ErrorCode.BAD_REQUEST, "Bad document");
+            }
+            return updateResponse;
+        });
+
+        adaptiveService.indexDocuments("test_collection", documents.subList(0, 8));
+        assertEquals(4, controller.batchSize("test_collection"), "A failed batch should halve the size");
+
+        batchSizes.clear();
+        IndexingResult result = adaptiveService.indexDocuments("test_collection", documents.subList(8, 12));
+
+        assertEquals(4, result.indexedCount());
+        assertEquals(List.of(4), batchSizes);
+        assertEquals(8, controller.batchSize("test_collection"), "A fast batch should grow the size again");
+    }
+
+    @Test
+    void testIndexFilesPicksCreatorByExtension(@TempDir Path directory) throws Exception {
+        Files.writeString(directory.resolve("books.csv"), "id,title\nb1,Dune\nb2,Foundation\n");
+        Files.writeString(directory.resolve("films.JSON"), "[{\"id\":\"f1\"},{\"id\":\"f2\"},{\"id\":\"f3\"}]");
+        Files.writeString(directory.resolve("notes.txt"), "not indexed");
+        when(solrClient.add(anyString(), anyList())).thenReturn(updateResponse);
+
+        FileIndexingResult result = indexingService.indexFiles("test_collection", List.of(directory.toString()));
+
+        assertEquals(5, result.indexedCount());
+        assertEquals(0, result.failedCount());
+        assertEquals(2, result.files().size());
+        assertEquals(directory.resolve("books.csv").toString(), result.files().get(0).path());
+        assertEquals(2, result.files().get(0).indexedCount());
+        assertEquals(3, result.files().get(1).indexedCount());
+        verify(solrClient, times(1)).commit("test_collection");
+    }
+
+    @Test
+    void testIndexFilesReportsUnparseableFileAndContinues(@TempDir Path directory) throws Exception {
+        Files.writeString(directory.resolve("good.json"), "[{\"id\":\"1\"},{\"id\":\"2\"}]");
+        Files.writeString(directory.resolve("bad.xml"), "<docs><doc><id>1</id></docs>");
+        when(solrClient.add(anyString(), anyList())).thenReturn(updateResponse);
+
+        FileIndexingResult result = indexingService.indexFiles("test_collection",
+                List.of(directory + "/*.{json,xml}"));
+
+        assertEquals(2, result.indexedCount());
+        assertEquals(2, result.files().size());
+        FileIndexingResult.FileResult bad = result.files().get(0);
+        assertTrue(bad.path().endsWith("bad.xml"));
+        assertNotNull(bad.error());
+        assertNull(result.files().get(1).error());
+        verify(solrClient, times(1)).commit("test_collection");
+    }
+
+    @Test
+    void testIndexFilesRejectsMissingFile(@TempDir Path directory) {
+        String missing = directory.resolve("missing.csv").toString();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> indexingService.indexFiles("test_collection", List.of(missing)));
+        verifyNoInteractions(solrClient);
+    }
+
+    private IndexingService createService(IndexingDocumentCreator documentCreator,
+                                          SolrConfigurationProperties serviceProperties) {
+        return new IndexingService(solrClient, documentCreator, serviceProperties,
+                new SolrCommitter(solrClient, serviceProperties, metrics),
+                new BatchSizeController(serviceProperties, new SimpleMeterRegistry()), metrics);
+    }
 
-        // Verify that indexDocuments with documents was not called
-        verify(indexingServiceSpy, never()).indexDocuments(anyString(), anyList());
+    private List<SolrInputDocument> createDocuments(int count) {
+        List<SolrInputDocument> documents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SolrInputDocument doc = new SolrInputDocument();
+            doc.addField("id", "test" + i);
+            doc.addField("title", "Test Document " + i);
+            documents.add(doc);
+        }
+        return documents;
     }
 }
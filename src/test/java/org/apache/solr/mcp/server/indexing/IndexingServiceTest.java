@@ -16,16 +16,22 @@
  */
 package org.apache.solr.mcp.server.indexing;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.request.CollectionAdminRequest;
+import org.apache.solr.common.SolrException;
 import org.apache.solr.common.SolrInputDocument;
 import org.apache.solr.mcp.server.TestcontainersConfiguration;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
 import org.apache.solr.mcp.server.indexing.documentcreator.CsvDocumentCreator;
+import org.apache.solr.mcp.server.indexing.documentcreator.DocumentProcessingException;
 import org.apache.solr.mcp.server.indexing.documentcreator.IndexingDocumentCreator;
 import org.apache.solr.mcp.server.indexing.documentcreator.JsonDocumentCreator;
 import org.apache.solr.mcp.server.indexing.documentcreator.XmlDocumentCreator;
+import org.apache.solr.mcp.server.search.HedgedSearchExecutor;
 import org.apache.solr.mcp.server.search.SearchResponse;
+import org.apache.solr.mcp.server.search.SearchResponseCache;
 import org.apache.solr.mcp.server.search.SearchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -34,16 +40,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.testcontainers.containers.SolrContainer;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -66,6 +77,8 @@ class IndexingServiceTest {
     private SearchService searchService;
     @Autowired
     private SolrClient solrClient;
+    @Autowired
+    private SolrConfigurationProperties solrConfigurationProperties;
 
     @BeforeEach
     void setUp() throws Exception {
@@ -79,8 +92,14 @@ class IndexingServiceTest {
                 csvDocumentCreator,
                 jsonDocumentCreator);
 
-        indexingService = new IndexingService(solrClient, indexingDocumentCreator);
-        searchService = new SearchService(solrClient);
+        indexingService = new IndexingService(solrClient, indexingDocumentCreator, solrConfigurationProperties,
+                new SolrCommitter(solrClient, solrConfigurationProperties, new IndexingMetrics(new SimpleMeterRegistry())),
+                new BatchSizeController(solrConfigurationProperties, new SimpleMeterRegistry()),
+                new IndexingMetrics(new SimpleMeterRegistry()));
+        SolrConfigurationProperties searchProperties = SolrConfigurationProperties.defaults("http://localhost:8983/solr/");
+        searchService = new SearchService(solrClient,
+                new SearchResponseCache(searchProperties, new SimpleMeterRegistry()), searchProperties,
+                new HedgedSearchExecutor(solrClient, searchProperties, new SimpleMeterRegistry()));
 
         if (!initialized) {
             // Create collection
@@ -706,6 +725,41 @@ class IndexingServiceTest {
         assertEquals("This is a text value", doc.getFieldValue("text_value"));
     }
 
+    @Test
+    void testStreamJsonDocumentsFromReader() throws Exception {
+        String json = """
+                [
+                  {"id": "stream_001", "author": {"name": "A"}, "tags": ["x", "y"]},
+                  {"id": "stream_002", "empty": null}
+                ]
+                """;
+        AtomicBoolean closed = new AtomicBoolean();
+        Reader reader = new StringReader(json) {
+            @Override
+            public void close() {
+                closed.set(true);
+                super.close();
+            }
+        };
+
+        List<SolrInputDocument> documents = new ArrayList<>();
+        new JsonDocumentCreator().stream(reader, documents::add);
+
+        assertEquals(2, documents.size());
+        assertEquals("stream_001", documents.get(0).getFieldValue("id"));
+        assertEquals("A", documents.get(0).getFieldValue("author_name"));
+        assertEquals(List.of("x", "y"), documents.get(0).getFieldValues("tags").stream().toList());
+        assertEquals("stream_002", documents.get(1).getFieldValue("id"));
+        assertNull(documents.get(1).getField("empty"));
+        assertFalse(closed.get(), "Caller-supplied reader should be left open");
+    }
+
+    @Test
+    void testStreamJsonDocumentsReportsMalformedNonArrayInput() {
+        assertThrows(DocumentProcessingException.class,
+                () -> new JsonDocumentCreator().stream("{ This is not valid JSON }", document -> fail()));
+    }
+
     @Test
     void testDirectSanitizeFieldName() throws Exception {
         // Test sanitizing field names directly
@@ -761,7 +815,11 @@ class UnitTests {
 
     @BeforeEach
     void setUp() {
-        indexingService = new IndexingService(solrClient, indexingDocumentCreator);
+        SolrConfigurationProperties properties = SolrConfigurationProperties.defaults("http://localhost:8983/solr/");
+        indexingService = new IndexingService(solrClient, indexingDocumentCreator, properties,
+                new SolrCommitter(solrClient, properties, new IndexingMetrics(new SimpleMeterRegistry())),
+                new BatchSizeController(properties, new SimpleMeterRegistry()),
+                new IndexingMetrics(new SimpleMeterRegistry()));
     }
 
     @Test
@@ -773,13 +831,13 @@ class UnitTests {
     void indexJsonDocuments_WithValidJson_ShouldIndexDocuments() throws Exception {
         String json = "[{\"id\":\"1\",\"title\":\"Test\"}]";
         List<SolrInputDocument> mockDocs = createMockDocuments(1);
-        when(indexingDocumentCreator.createSchemalessDocumentsFromJson(json)).thenReturn(mockDocs);
+        doAnswer(streaming(mockDocs)).when(indexingDocumentCreator).streamSchemalessDocumentsFromJson(eq(json), any());
         when(solrClient.add(eq("test_collection"), any(Collection.class))).thenReturn(null);
         when(solrClient.commit("test_collection")).thenReturn(null);
 
         indexingService.indexJsonDocuments("test_collection", json);
 
-        verify(indexingDocumentCreator).createSchemalessDocumentsFromJson(json);
+        verify(indexingDocumentCreator).streamSchemalessDocumentsFromJson(eq(json), any());
         verify(solrClient).add(eq("test_collection"), any(Collection.class));
         verify(solrClient).commit("test_collection");
     }
@@ -787,8 +845,8 @@ class UnitTests {
     @Test
     void indexJsonDocuments_WhenDocumentCreatorThrowsException_ShouldPropagateException() throws Exception {
         String invalidJson = "not valid json";
-        when(indexingDocumentCreator.createSchemalessDocumentsFromJson(invalidJson))
-                .thenThrow(new org.apache.solr.mcp.server.indexing.documentcreator.DocumentProcessingException("Invalid JSON"));
+        doThrow(new org.apache.solr.mcp.server.indexing.documentcreator.DocumentProcessingException("Invalid JSON"))
+                .when(indexingDocumentCreator).streamSchemalessDocumentsFromJson(eq(invalidJson), any());
 
         assertThrows(org.apache.solr.mcp.server.indexing.documentcreator.DocumentProcessingException.class, () -> {
             indexingService.indexJsonDocuments("test_collection", invalidJson);
@@ -801,13 +859,13 @@ class UnitTests {
     void indexCsvDocuments_WithValidCsv_ShouldIndexDocuments() throws Exception {
         String csv = "id,title\n1,Test\n2,Test2";
         List<SolrInputDocument> mockDocs = createMockDocuments(2);
-        when(indexingDocumentCreator.createSchemalessDocumentsFromCsv(csv)).thenReturn(mockDocs);
+        doAnswer(streaming(mockDocs)).when(indexingDocumentCreator).streamSchemalessDocumentsFromCsv(eq(csv), any());
         when(solrClient.add(eq("test_collection"), any(Collection.class))).thenReturn(null);
         when(solrClient.commit("test_collection")).thenReturn(null);
 
         indexingService.indexCsvDocuments("test_collection", csv);
 
-        verify(indexingDocumentCreator).createSchemalessDocumentsFromCsv(csv);
+        verify(indexingDocumentCreator).streamSchemalessDocumentsFromCsv(eq(csv), any());
         verify(solrClient).add(eq("test_collection"), any(Collection.class));
         verify(solrClient).commit("test_collection");
     }
@@ -815,8 +873,8 @@ class UnitTests {
     @Test
     void indexCsvDocuments_WhenDocumentCreatorThrowsException_ShouldPropagateException() throws Exception {
         String invalidCsv = "malformed csv data";
-        when(indexingDocumentCreator.createSchemalessDocumentsFromCsv(invalidCsv))
-                .thenThrow(new org.apache.solr.mcp.server.indexing.documentcreator.DocumentProcessingException("Invalid CSV"));
+        doThrow(new org.apache.solr.mcp.server.indexing.documentcreator.DocumentProcessingException("Invalid CSV"))
+                .when(indexingDocumentCreator).streamSchemalessDocumentsFromCsv(eq(invalidCsv), any());
 
         assertThrows(org.apache.solr.mcp.server.indexing.documentcreator.DocumentProcessingException.class, () -> {
             indexingService.indexCsvDocuments("test_collection", invalidCsv);
@@ -829,13 +887,13 @@ class UnitTests {
     void indexXmlDocuments_WithValidXml_ShouldIndexDocuments() throws Exception {
         String xml = "<documents><doc><id>1</id><title>Test</title></doc></documents>";
         List<SolrInputDocument> mockDocs = createMockDocuments(1);
-        when(indexingDocumentCreator.createSchemalessDocumentsFromXml(xml)).thenReturn(mockDocs);
+        doAnswer(streaming(mockDocs)).when(indexingDocumentCreator).streamSchemalessDocumentsFromXml(eq(xml), any());
         when(solrClient.add(eq("test_collection"), any(Collection.class))).thenReturn(null);
         when(solrClient.commit("test_collection")).thenReturn(null);
 
         indexingService.indexXmlDocuments("test_collection", xml);
 
-        verify(indexingDocumentCreator).createSchemalessDocumentsFromXml(xml);
+        verify(indexingDocumentCreator).streamSchemalessDocumentsFromXml(eq(xml), any());
         verify(solrClient).add(eq("test_collection"), any(Collection.class));
         verify(solrClient).commit("test_collection");
     }
@@ -843,8 +901,8 @@ class UnitTests {
     @Test
     void indexXmlDocuments_WhenParserConfigurationFails_ShouldPropagateException() throws Exception {
         String xml = "<invalid>xml</invalid>";
-        when(indexingDocumentCreator.createSchemalessDocumentsFromXml(xml))
-                .thenThrow(new org.apache.solr.mcp.server.indexing.documentcreator.DocumentProcessingException("Parser error"));
+        doThrow(new org.apache.solr.mcp.server.indexing.documentcreator.DocumentProcessingException("Parser error"))
+                .when(indexingDocumentCreator).streamSchemalessDocumentsFromXml(eq(xml), any());
 
         assertThrows(org.apache.solr.mcp.server.indexing.documentcreator.DocumentProcessingException.class, () -> {
             indexingService.indexXmlDocuments("test_collection", xml);
@@ -856,8 +914,8 @@ class UnitTests {
     @Test
     void indexXmlDocuments_WhenSaxExceptionOccurs_ShouldPropagateException() throws Exception {
         String xml = "<malformed><unclosed>";
-        when(indexingDocumentCreator.createSchemalessDocumentsFromXml(xml))
-                .thenThrow(new org.apache.solr.mcp.server.indexing.documentcreator.DocumentProcessingException("SAX parsing error"));
+        doThrow(new org.apache.solr.mcp.server.indexing.documentcreator.DocumentProcessingException("SAX parsing error"))
+                .when(indexingDocumentCreator).streamSchemalessDocumentsFromXml(eq(xml), any());
 
         assertThrows(org.apache.solr.mcp.server.indexing.documentcreator.DocumentProcessingException.class, () -> {
             indexingService.indexXmlDocuments("test_collection", xml);
@@ -872,9 +930,9 @@ class UnitTests {
         when(solrClient.add(eq("test_collection"), any(Collection.class))).thenReturn(null);
         when(solrClient.commit("test_collection")).thenReturn(null);
 
-        int result = indexingService.indexDocuments("test_collection", docs);
+        IndexingResult result = indexingService.indexDocuments("test_collection", docs);
 
-        assertEquals(5, result);
+        assertEquals(5, result.indexedCount());
         verify(solrClient).add(eq("test_collection"), any(Collection.class));
         verify(solrClient).commit("test_collection");
     }
@@ -885,28 +943,28 @@ class UnitTests {
         when(solrClient.add(eq("test_collection"), any(Collection.class))).thenReturn(null);
         when(solrClient.commit(eq("test_collection"))).thenReturn(null);
 
-        int result = indexingService.indexDocuments("test_collection", docs);
+        IndexingResult result = indexingService.indexDocuments("test_collection", docs);
 
-        assertEquals(2500, result);
+        assertEquals(2500, result.indexedCount());
         verify(solrClient, times(3)).add(eq("test_collection"), any(Collection.class));
         verify(solrClient).commit("test_collection");
     }
 
     @Test
-    void indexDocuments_WhenBatchFails_ShouldRetryIndividually() throws Exception {
+    void indexDocuments_WhenBatchFails_ShouldRetryHalves() throws Exception {
         List<SolrInputDocument> docs = createMockDocuments(3);
 
         when(solrClient.add(eq("test_collection"), any(List.class)))
-                .thenThrow(new SolrServerException("Batch error"));
-
-        when(solrClient.add(eq("test_collection"), any(SolrInputDocument.class))).thenReturn(null);
+                .thenThrow(new SolrException(SolrException.ErrorCode.BAD_REQUEST, "Batch error"))
+                .thenReturn(null);
         when(solrClient.commit("test_collection")).thenReturn(null);
 
-        int result = indexingService.indexDocuments("test_collection", docs);
+        IndexingResult result = indexingService.indexDocuments("test_collection", docs);
 
-        assertEquals(3, result);
-        verify(solrClient).add(eq("test_collection"), any(Collection.class));
-        verify(solrClient, times(3)).add(eq("test_collection"), any(SolrInputDocument.class));
+        assertEquals(3, result.indexedCount());
+        assertEquals(0, result.failedCount());
+        verify(solrClient, times(3)).add(eq("test_collection"), any(Collection.class));
+        verify(solrClient, never()).add(eq("test_collection"), any(SolrInputDocument.class));
         verify(solrClient).commit("test_collection");
     }
 
@@ -914,21 +972,27 @@ class UnitTests {
     void indexDocuments_WhenSomeIndividualDocumentsFail_ShouldIndexSuccessfulOnes() throws Exception {
         List<SolrInputDocument> docs = createMockDocuments(3);
 
-        when(solrClient.add(eq("test_collection"), any(List.class)))
-                .thenThrow(new SolrServerException("Batch error"));
+        SolrInputDocument badDoc = docs.get(1);
 
-        when(solrClient.add(eq("test_collection"), any(SolrInputDocument.class)))
-                .thenReturn(null)
-                .thenThrow(new SolrServerException("Document error"))
-                .thenReturn(null);
+        when(solrClient.add(eq("test_collection"), any(List.class))).thenAnswer(invocation -> {
+            List<?> batch = invocation.getArgument(1);
+            if (batch.contains(badDoc)) {
+                throw new SolrException(SolrException.ErrorCode.BAD_REQUEST, "Document error");
+            }
+            return null;
+        });
 
         when(solrClient.commit("test_collection")).thenReturn(null);
 
-        int result = indexingService.indexDocuments("test_collection", docs);
+        IndexingResult result = indexingService.indexDocuments("test_collection", docs);
 
-        assertEquals(2, result);
-        verify(solrClient).add(eq("test_collection"), any(Collection.class));
-        verify(solrClient, times(3)).add(eq("test_collection"), any(SolrInputDocument.class));
+        assertEquals(2, result.indexedCount());
+        assertEquals(1, result.failedCount());
+        assertEquals(1, result.rejectedDocuments().size());
+        assertEquals("doc1", result.rejectedDocuments().getFirst().id());
+        assertEquals(1, result.rejectedDocuments().getFirst().position());
+        assertEquals("Document error", result.rejectedDocuments().getFirst().reason());
+        verify(solrClient, times(5)).add(eq("test_collection"), any(Collection.class));
         verify(solrClient).commit("test_collection");
     }
 
@@ -937,9 +1001,9 @@ class UnitTests {
         List<SolrInputDocument> emptyDocs = new ArrayList<>();
         when(solrClient.commit("test_collection")).thenReturn(null);
 
-        int result = indexingService.indexDocuments("test_collection", emptyDocs);
+        IndexingResult result = indexingService.indexDocuments("test_collection", emptyDocs);
 
-        assertEquals(0, result);
+        assertEquals(0, result.indexedCount());
         verify(solrClient, never()).add(anyString(), any(List.class));
         verify(solrClient).commit("test_collection");
     }
@@ -963,9 +1027,9 @@ class UnitTests {
         when(solrClient.add(eq("test_collection"), any(Collection.class))).thenReturn(null);
         when(solrClient.commit("test_collection")).thenReturn(null);
 
-        int result = indexingService.indexDocuments("test_collection", docs);
+        IndexingResult result = indexingService.indexDocuments("test_collection", docs);
 
-        assertEquals(1000, result);
+        assertEquals(1000, result.indexedCount());
 
         ArgumentCaptor<Collection<SolrInputDocument>> captor = ArgumentCaptor.forClass(Collection.class);
         verify(solrClient).add(eq("test_collection"), captor.capture());
@@ -977,52 +1041,68 @@ class UnitTests {
     void indexJsonDocuments_WhenSolrClientThrowsException_ShouldPropagateException() throws Exception {
         String json = "[{\"id\":\"1\"}]";
         List<SolrInputDocument> mockDocs = createMockDocuments(1);
-        when(indexingDocumentCreator.createSchemalessDocumentsFromJson(json)).thenReturn(mockDocs);
+        doAnswer(streaming(mockDocs)).when(indexingDocumentCreator).streamSchemalessDocumentsFromJson(eq(json), any());
         when(solrClient.add(eq("test_collection"), any(List.class)))
                 .thenThrow(new SolrServerException("Solr connection error"));
-        when(solrClient.add(eq("test_collection"), any(SolrInputDocument.class)))
-                .thenThrow(new SolrServerException("Solr connection error"));
-        when(solrClient.commit("test_collection")).thenReturn(null);
 
-        indexingService.indexJsonDocuments("test_collection", json);
+        SolrServerException e = assertThrows(SolrServerException.class,
+                () -> indexingService.indexJsonDocuments("test_collection", json));
 
+        assertEquals("Solr connection error", e.getMessage());
         verify(solrClient).add(eq("test_collection"), any(List.class));
-        verify(solrClient).add(eq("test_collection"), any(SolrInputDocument.class));
+        verify(solrClient, never()).commit(anyString());
     }
 
     @Test
     void indexCsvDocuments_WhenSolrClientThrowsIOException_ShouldPropagateException() throws Exception {
         String csv = "id,title\n1,Test";
         List<SolrInputDocument> mockDocs = createMockDocuments(1);
-        when(indexingDocumentCreator.createSchemalessDocumentsFromCsv(csv)).thenReturn(mockDocs);
+        doAnswer(streaming(mockDocs)).when(indexingDocumentCreator).streamSchemalessDocumentsFromCsv(eq(csv), any());
         when(solrClient.add(eq("test_collection"), any(List.class)))
                 .thenThrow(new IOException("Network error"));
-        when(solrClient.add(eq("test_collection"), any(SolrInputDocument.class)))
-                .thenThrow(new IOException("Network error"));
-        when(solrClient.commit("test_collection")).thenReturn(null);
 
-        indexingService.indexCsvDocuments("test_collection", csv);
+        IOException e = assertThrows(IOException.class,
+                () -> indexingService.indexCsvDocuments("test_collection", csv));
 
+        assertEquals("Network error", e.getCause().getMessage());
         verify(solrClient).add(eq("test_collection"), any(List.class));
-        verify(solrClient).add(eq("test_collection"), any(SolrInputDocument.class));
+        verify(solrClient, never()).commit(anyString());
+    }
+
+    @Test
+    void indexDocuments_WhenConnectionFails_ShouldNotReportRejectedDocuments() throws Exception {
+        List<SolrInputDocument> docs = createMockDocuments(100);
+        when(solrClient.add(eq("test_collection"), any(List.class)))
+                .thenThrow(new SolrServerException("Connection refused"));
+
+        SolrServerException e = assertThrows(SolrServerException.class,
+                () -> indexingService.indexDocuments("test_collection", docs));
+
+        assertEquals("Connection refused", e.getMessage());
+        // the batch is sent once and not bisected down to single documents
+        verify(solrClient, times(1)).add(eq("test_collection"), any(Collection.class));
+        verify(solrClient, never()).commit(anyString());
     }
 
     @Test
-    void indexDocuments_WithRuntimeException_ShouldRetryIndividually() throws Exception {
+    void indexDocuments_WithServerError_ShouldPropagateWithoutRetrying() throws Exception {
         List<SolrInputDocument> docs = createMockDocuments(2);
 
         when(solrClient.add(eq("test_collection"), any(List.class)))
-                .thenThrow(new RuntimeException("Unexpected error"));
+                .thenThrow(new SolrException(SolrException.ErrorCode.SERVER_ERROR, "Unexpected error"));
 
-        when(solrClient.add(eq("test_collection"), any(SolrInputDocument.class))).thenReturn(null);
-        when(solrClient.commit("test_collection")).thenReturn(null);
+        assertThrows(SolrException.class, () -> indexingService.indexDocuments("test_collection", docs));
 
-        int result = indexingService.indexDocuments("test_collection", docs);
+        verify(solrClient, times(1)).add(eq("test_collection"), any(Collection.class));
+        verify(solrClient, never()).commit(anyString());
+    }
 
-        assertEquals(2, result);
-        verify(solrClient).add(eq("test_collection"), any(Collection.class));
-        verify(solrClient, times(2)).add(eq("test_collection"), any(SolrInputDocument.class));
-        verify(solrClient).commit("test_collection");
+    private Answer<Void> streaming(List<SolrInputDocument> docs) {
+        return invocation -> {
+            Consumer<SolrInputDocument> sink = invocation.getArgument(1);
+            docs.forEach(sink);
+            return null;
+        };
     }
 
     private List<SolrInputDocument> createMockDocuments(int count) {
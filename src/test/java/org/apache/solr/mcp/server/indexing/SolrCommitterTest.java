@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.indexing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SolrCommitterTest {
+
+    @Mock
+    private SolrClient solrClient;
+
+    private SolrCommitter committer;
+
+    private SolrCommitter createCommitter(CommitMode mode, Duration coalesceInterval) {
+        SolrConfigurationProperties properties = SolrConfigurationProperties.defaults("http://localhost:8983/solr/")
+                .withIndexing(SolrConfigurationProperties.Indexing.defaults()
+                        .withCommit(new SolrConfigurationProperties.Commit(mode, Duration.ofMillis(1500), coalesceInterval)));
+        committer = new SolrCommitter(solrClient, properties, new IndexingMetrics(new SimpleMeterRegistry()));
+        return committer;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (committer != null) {
+            committer.flushPendingCommits();
+        }
+    }
+
+    @Test
+    void resolve_WithoutOverride_ShouldUseConfiguredMode() {
+        SolrCommitter softCommitter = createCommitter(CommitMode.SOFT, Duration.ofSeconds(1));
+
+        assertEquals(CommitMode.SOFT, softCommitter.resolve(null));
+        assertEquals(CommitMode.NONE, softCommitter.resolve(CommitMode.NONE));
+    }
+
+    @Test
+    void commitWithinMs_ShouldOnlyApplyToCommitWithinMode() {
+        SolrCommitter hardCommitter = createCommitter(CommitMode.HARD, Duration.ofSeconds(1));
+
+        assertEquals(1500, hardCommitter.commitWithinMs(CommitMode.COMMIT_WITHIN));
+        assertEquals(-1, hardCommitter.commitWithinMs(CommitMode.HARD));
+        assertEquals(-1, hardCommitter.commitWithinMs(CommitMode.COALESCE));
+    }
+
+    @Test
+    void commit_HardMode_ShouldIssueHardCommit() throws Exception {
+        createCommitter(CommitMode.HARD, Duration.ofSeconds(1)).commit("books", CommitMode.HARD);
+
+        verify(solrClient).commit("books");
+    }
+
+    @Test
+    void commit_SoftMode_ShouldIssueSoftCommit() throws Exception {
+        createCommitter(CommitMode.HARD, Duration.ofSeconds(1)).commit("books", CommitMode.SOFT);
+
+        verify(solrClient).commit("books", true, true, true);
+        verifyNoMoreInteractions(solrClient);
+    }
+
+    @Test
+    void commit_NoneAndCommitWithinModes_ShouldNotCommit() throws Exception {
+        SolrCommitter hardCommitter = createCommitter(CommitMode.HARD, Duration.ofSeconds(1));
+
+        hardCommitter.commit("books", CommitMode.NONE);
+        hardCommitter.commit("books", CommitMode.COMMIT_WITHIN);
+
+        verifyNoInteractions(solrClient);
+    }
+
+    @Test
+    void commit_CoalesceMode_ShouldIssueOneCommitPerInterval() throws Exception {
+        SolrCommitter coalescingCommitter = createCommitter(CommitMode.COALESCE, Duration.ofMillis(200));
+
+        for (int i = 0; i < 5; i++) {
+            coalescingCommitter.commit("books", CommitMode.COALESCE);
+        }
+        coalescingCommitter.commit("movies", CommitMode.COALESCE);
+
+        verify(solrClient, timeout(2000).times(1)).commit("books");
+        verify(solrClient, timeout(2000).times(1)).commit("movies");
+
+        // A call after the coalesced commit has fired schedules a new one
+        coalescingCommitter.commit("books", CommitMode.COALESCE);
+        verify(solrClient, timeout(2000).times(2)).commit("books");
+    }
+
+    @Test
+    void flushPendingCommits_ShouldSendPendingCoalescedCommits() throws Exception {
+        SolrCommitter coalescingCommitter = createCommitter(CommitMode.COALESCE, Duration.ofHours(1));
+
+        coalescingCommitter.commit("books", CommitMode.COALESCE);
+        verify(solrClient, never()).commit(anyString());
+
+        coalescingCommitter.flushPendingCommits();
+
+        verify(solrClient).commit("books");
+    }
+
+    @Test
+    void commit_ShouldPublishEventOnceChangesAreVisible() throws Exception {
+        SolrCommitter hardCommitter = createCommitter(CommitMode.HARD, Duration.ofSeconds(1));
+        List<Object> events = new CopyOnWriteArrayList<>();
+        hardCommitter.setApplicationEventPublisher(events::add);
+
+        hardCommitter.commit("books", CommitMode.HARD);
+        hardCommitter.commit("books", CommitMode.NONE);
+        assertEquals(List.of(new CollectionCommittedEvent("books", CommitMode.HARD)), events);
+
+        // commitWithin changes become visible when Solr commits on its own
+        hardCommitter.commit("movies", CommitMode.COMMIT_WITHIN);
+        verify(solrClient, after(2000).never()).commit("movies");
+        assertTrue(events.contains(new CollectionCommittedEvent("movies", CommitMode.COMMIT_WITHIN)));
+    }
+
+    @Test
+    void fromParameter_ShouldAcceptCommonSpellings() {
+        assertNull(CommitMode.fromParameter(null));
+        assertNull(CommitMode.fromParameter(" "));
+        assertEquals(CommitMode.COMMIT_WITHIN, CommitMode.fromParameter("commit-within"));
+        assertEquals(CommitMode.COMMIT_WITHIN, CommitMode.fromParameter("commitWithin"));
+        assertEquals(CommitMode.COMMIT_WITHIN, CommitMode.fromParameter("COMMIT_WITHIN"));
+        assertEquals(CommitMode.SOFT, CommitMode.fromParameter("Soft"));
+        assertThrows(IllegalArgumentException.class, () -> CommitMode.fromParameter("eventually"));
+    }
+}
@@ -23,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -492,4 +493,41 @@ class XmlIndexingTest {
         assertThat(doc.getFieldValue("product_data_field_with_dashes")).isEqualTo("dashed value");
         assertThat(doc.getFieldValue("product_data_uppercase_field")).isEqualTo("uppercase value");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testStreamSchemalessDocumentsFromXmlEmitsDocumentsIncrementally() {
+        // Given - three complete documents followed by a malformed one
+        String xmlData = """
+                <books>
+                    <document id="1"><title>A Game of Thrones</title></document>
+                    <document id="2"><title>Foundation</title></document>
+                    <document id="3"><title>Dune</title></document>
+                    <document id="4"><title>Unclosed</document>
+                </books>
+                """;
+        List<SolrInputDocument> received = new ArrayList<>();
+
+        // When/Then - documents parsed before the error have already been handed over
+        assertThatThrownBy(() -> indexingDocumentCreator.streamSchemalessDocumentsFromXml(xmlData, received::add))
+                .isInstanceOf(RuntimeException.class);
+        assertThat(received).hasSize(3);
+        assertThat(received.get(2).getFieldValue("document_title")).isEqualTo("Dune");
+    }
+
+    @Test
+    void testCreateSchemalessDocumentsFromXmlWithCdata() throws Exception {
+        // Given
+        String xmlData = """
+                <book>
+                    <title><![CDATA[Tom & Jerry <Collected>]]></title>
+                </book>
+                """;
+
+        // When
+        List<SolrInputDocument> documents = indexingDocumentCreator.createSchemalessDocumentsFromXml(xmlData);
+
+        // Then
+        assertThat(documents).hasSize(1);
+        assertThat(documents.getFirst().getFieldValue("book_title")).isEqualTo("Tom & Jerry <Collected>");
+    }
+}
@@ -20,22 +20,36 @@ import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrRequest;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.impl.CloudSolrClient;
+import org.apache.solr.client.solrj.request.GenericSolrRequest;
+import org.apache.solr.client.solrj.request.LukeRequest;
 import org.apache.solr.client.solrj.response.LukeResponse;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.SolrPingResponse;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.util.NamedList;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.apache.solr.mcp.server.indexing.CollectionCommittedEvent;
+import org.apache.solr.mcp.server.indexing.CommitMode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -389,6 +403,222 @@ class CollectionServiceTest {
         assertTrue(exception.getMessage().contains("Collection not found: non_existent"));
     }
 
+    @Test
+    void getCollectionStats_FetchesCacheAndHandlerStatsInOneRequest() throws Exception {
+        CollectionService spyService = spy(collectionService);
+        doReturn(List.of("films")).when(spyService).listCollections();
+
+        SolrDocumentList docList = new SolrDocumentList();
+        docList.setNumFound(42);
+        docList.setStart(0);
+        when(queryResponse.getQTime()).thenReturn(3);
+        when(queryResponse.getResults()).thenReturn(docList);
+        when(solrClient.query(eq("films"), any())).thenReturn(queryResponse);
+        when(solrClient.request(any(LukeRequest.class), eq("films")))
+                .thenThrow(new SolrServerException("Luke failed"));
+        NamedList<Object> mbeans = createMockCacheData();
+        mbeans.addAll(createMockHandlerData());
+        when(solrClient.request(any(GenericSolrRequest.class))).thenReturn(mbeans);
+
+        SolrMetrics result = spyService.getCollectionStats("films");
+
+        assertNull(result.indexStats());
+        assertEquals(Map.of("indexStats", "Luke failed"), result.errors());
+        assertEquals(42L, result.queryStats().totalResults());
+        assertEquals(100L, result.cacheStats().queryResultCache().lookups());
+        assertEquals(1000L, result.cacheStats().queryResultCache().cumulativeLookups());
+        assertEquals(50L, result.cacheStats().queryResultCache().cumulativeEvictions());
+        assertEquals(500L, result.handlerStats().selectHandler().requests());
+
+        ArgumentCaptor<GenericSolrRequest> request = ArgumentCaptor.forClass(GenericSolrRequest.class);
+        verify(solrClient, times(1)).request(request.capture());
+        assertEquals("/films/admin/mbeans", request.getValue().getPath());
+        assertEquals("CACHE,QUERYHANDLER,UPDATEHANDLER", request.getValue().getParams().get("cat"));
+    }
+
+    @Test
+    void getCollectionStats_ReturnsPartialMetricsWhenSectionTimesOut() throws Exception {
+        SolrConfigurationProperties properties = SolrConfigurationProperties.defaults("http://localhost:8983/solr/")
+                .withMetadata(SolrConfigurationProperties.Metadata.defaults()
+                        .withStats(new SolrConfigurationProperties.Stats(Duration.ofMillis(200), MetricsSource.MBEANS)));
+        CollectionService spyService = spy(new CollectionService(solrClient, properties));
+        doReturn(List.of("films")).when(spyService).listCollections();
+
+        SolrDocumentList docList = new SolrDocumentList();
+        docList.setNumFound(42);
+        when(queryResponse.getResults()).thenReturn(docList);
+        when(solrClient.query(eq("films"), any())).thenReturn(queryResponse);
+        when(solrClient.request(any(LukeRequest.class), eq("films"))).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return null;
+        });
+        when(solrClient.request(any(GenericSolrRequest.class))).thenReturn(createMockCacheData());
+
+        long started = System.nanoTime();
+        SolrMetrics result = spyService.getCollectionStats("films");
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        assertTrue(elapsedMillis < 5_000, "Stats call should not wait for the slow Luke request");
+        assertNull(result.indexStats());
+        assertEquals(Map.of("indexStats", "Timed out after 200 ms"), result.errors());
+        assertEquals(42L, result.queryStats().totalResults());
+        assertNotNull(result.cacheStats());
+        assertNull(result.handlerStats());
+    }
+
+    @Test
+    void getCollectionStats_RequestsIndexOnlyLukeInformation() throws Exception {
+        CollectionService spyService = spy(collectionService);
+        doReturn(List.of("films")).when(spyService).listCollections();
+
+        NamedList<Object> indexInfo = new NamedList<>();
+        indexInfo.add("numDocs", 42);
+        indexInfo.add("segmentCount", 3);
+        NamedList<Object> luke = new NamedList<>();
+        luke.add("index", indexInfo);
+        ArgumentCaptor<LukeRequest> request = ArgumentCaptor.forClass(LukeRequest.class);
+        when(solrClient.request(request.capture(), eq("films"))).thenReturn(luke);
+
+        SolrMetrics result = spyService.getCollectionStats("films");
+
+        assertEquals(42, result.indexStats().numDocs());
+        assertEquals(3, result.indexStats().segmentCount());
+        assertEquals("index", request.getValue().getParams().get("show"));
+        assertEquals("0", request.getValue().getParams().get("numTerms"));
+        assertNull(request.getValue().getParams().get("fl"));
+    }
+
+    @Test
+    void getCollectionStats_ReadsCacheAndHandlerStatsFromMetricsApi() throws Exception {
+        CollectionService metricsService = spy(metricsApiService());
+        doReturn(List.of("films")).when(metricsService).listCollections();
+
+        NamedList<Object> core = new NamedList<>();
+        core.add("CACHE.searcher.filterCache", Map.of("lookups", 10L, "hits", 4L, "size", 6L));
+        core.add("QUERY./select.requests", 10L);
+        core.add("QUERY./select.requestTimes", Map.of("count", 10L, "mean_ms", 2.5, "p95_ms", 9.0, "p99_ms", 20.0));
+        NamedList<Object> registries = new NamedList<>();
+        registries.add("solr.core.films", core);
+        NamedList<Object> response = new NamedList<>();
+        response.add("metrics", registries);
+        when(solrClient.request(any(GenericSolrRequest.class))).thenReturn(response);
+
+        SolrMetrics result = metricsService.getCollectionStats("films");
+
+        assertEquals(0.4f, result.cacheStats().filterCache().hitratio(), 0.0001f);
+        assertEquals(20.0f, result.handlerStats().selectHandler().p99TimePerRequest());
+
+        ArgumentCaptor<GenericSolrRequest> request = ArgumentCaptor.forClass(GenericSolrRequest.class);
+        verify(solrClient, times(1)).request(request.capture());
+        assertEquals("/admin/metrics", request.getValue().getPath());
+    }
+
+    @Test
+    void getCollectionStats_ReportsCollectionWithoutCoreOnTheMetricsNode() throws Exception {
+        CollectionService metricsService = spy(metricsApiService());
+        doReturn(List.of("films")).when(metricsService).listCollections();
+
+        NamedList<Object> registries = new NamedList<>();
+        registries.add("solr.core.films.v2.shard1.replica_n1", new NamedList<>());
+        NamedList<Object> response = new NamedList<>();
+        response.add("metrics", registries);
+        when(solrClient.request(any(GenericSolrRequest.class))).thenReturn(response);
+
+        SolrMetrics result = metricsService.getCollectionStats("films");
+
+        assertNull(result.cacheStats());
+        assertNull(result.handlerStats());
+        assertTrue(result.errors().get("cacheStats").contains("No core of collection films"));
+        assertTrue(result.errors().get("handlerStats").contains("No core of collection films"));
+    }
+
+    private CollectionService metricsApiService() {
+        return new CollectionService(solrClient, SolrConfigurationProperties.defaults("http://localhost:8983/solr/")
+                .withMetadata(SolrConfigurationProperties.Metadata.defaults()
+                        .withStats(new SolrConfigurationProperties.Stats(Duration.ofSeconds(10), MetricsSource.METRICS))));
+    }
+
+    // Field stats tests
+    @Test
+    void getFieldStats_FetchesFieldsConcurrentlyAndCachesThem() throws Exception {
+        CollectionService spyService = spy(collectionService);
+        doReturn(List.of("films")).when(spyService).listCollections();
+
+        CountDownLatch bothFieldsRequested = new CountDownLatch(2);
+        when(solrClient.request(any(LukeRequest.class), eq("films"))).thenAnswer(invocation -> {
+            String field = invocation.<LukeRequest>getArgument(0).getParams().get("fl");
+            NamedList<Object> fields = new NamedList<>();
+            if (!"missing".equals(field)) {
+                // Fails the field unless the other one is requested at the same time
+                bothFieldsRequested.countDown();
+                assertTrue(bothFieldsRequested.await(5, TimeUnit.SECONDS));
+                fields.add(field, createLukeFieldInfo("string", 1000, 12, "drama", 400));
+            }
+            NamedList<Object> luke = new NamedList<>();
+            luke.add("fields", fields);
+            return luke;
+        });
+
+        CollectionFieldStats result = spyService.getFieldStats("films", List.of("genre", "director", "missing"), 1);
+
+        assertEquals(List.of("genre", "director"), List.copyOf(result.fields().keySet()));
+        FieldStats genre = result.fields().get("genre");
+        assertEquals("string", genre.type());
+        assertEquals(1000, genre.docs());
+        assertEquals(12, genre.distinct());
+        assertEquals(Map.of("drama", 400), genre.topTerms());
+        assertEquals(Map.of("missing", "No indexed terms found for field: missing"), result.errors());
+
+        // Cached fields are not requested again, until the collection is committed to
+        spyService.getFieldStats("films", List.of("genre", "director"), 1);
+        verify(solrClient, times(3)).request(any(LukeRequest.class), eq("films"));
+
+        spyService.onCollectionCommitted(new CollectionCommittedEvent("films", CommitMode.HARD));
+        CollectionFieldStats afterCommit = spyService.getFieldStats("films", List.of("genre"), 1);
+        assertNotNull(afterCommit.fields().get("genre"));
+        verify(solrClient, times(4)).request(any(LukeRequest.class), eq("films"));
+    }
+
+    @Test
+    void getFieldStats_EvictsLeastRecentlyUsedFieldsBeyondCacheLimit() throws Exception {
+        CollectionService cappedService = spy(new CollectionService(solrClient, SolrConfigurationProperties
+                .defaults("http://localhost:8983/solr/").withMetadata(SolrConfigurationProperties.Metadata.defaults()
+                        .withFields(new SolrConfigurationProperties.Fields(4, 10, Duration.ofMinutes(5), 2)))));
+        doReturn(List.of("films")).when(cappedService).listCollections();
+        when(solrClient.request(any(LukeRequest.class), eq("films"))).thenAnswer(invocation -> {
+            String field = invocation.<LukeRequest>getArgument(0).getParams().get("fl");
+            NamedList<Object> fields = new NamedList<>();
+            fields.add(field, createLukeFieldInfo("string", 1000, 12, "drama", 400));
+            NamedList<Object> luke = new NamedList<>();
+            luke.add("fields", fields);
+            return luke;
+        });
+
+        cappedService.getFieldStats("films", List.of("genre"), 1);
+        cappedService.getFieldStats("films", List.of("director"), 1);
+        cappedService.getFieldStats("films", List.of("genre"), 1);
+        verify(solrClient, times(2)).request(any(LukeRequest.class), eq("films"));
+
+        // A third field evicts director, which was used least recently
+        cappedService.getFieldStats("films", List.of("title"), 1);
+        cappedService.getFieldStats("films", List.of("genre"), 1);
+        verify(solrClient, times(3)).request(any(LukeRequest.class), eq("films"));
+        cappedService.getFieldStats("films", List.of("director"), 1);
+        verify(solrClient, times(4)).request(any(LukeRequest.class), eq("films"));
+    }
+
+    @Test
+    void getFieldStats_RejectsMissingFieldsAndTopTermsOutOfRange() {
+        CollectionService spyService = spy(collectionService);
+        doReturn(List.of("films")).when(spyService).listCollections();
+
+        assertThrows(IllegalArgumentException.class, () -> spyService.getFieldStats("films", List.of(), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> spyService.getFieldStats("films", List.of("genre"), 101));
+        assertThrows(IllegalArgumentException.class,
+                () -> spyService.getFieldStats("films", List.of("genre"), -1));
+    }
+
     @Test
     void validateCollectionExists() throws Exception {
         CollectionService spyService = spy(collectionService);
@@ -414,6 +644,84 @@ class CollectionServiceTest {
         assertFalse((boolean) method.invoke(spyService, "any_collection"));
     }
 
+    @Test
+    void validateCollectionExists_ReadsCachedCollectionList() throws Exception {
+        CollectionService spyService = spy(collectionService);
+        doReturn(Arrays.asList("collection1", "films_shard1_replica_n1")).when(spyService).listCollections();
+
+        Method method = CollectionService.class.getDeclaredMethod("validateCollectionExists", String.class);
+        method.setAccessible(true);
+
+        assertTrue((boolean) method.invoke(spyService, "collection1"));
+        assertTrue((boolean) method.invoke(spyService, "films"));
+        assertFalse((boolean) method.invoke(spyService, "non_existent"));
+
+        verify(spyService, times(1)).listCollections();
+    }
+
+    @Test
+    void validateCollectionExists_RefreshesExpiredListInBackground() throws Exception {
+        SolrConfigurationProperties properties = SolrConfigurationProperties.defaults("http://localhost:8983/solr/")
+                .withMetadata(SolrConfigurationProperties.Metadata.defaults()
+                        .withRegistry(new SolrConfigurationProperties.Registry(Duration.ofMillis(1))));
+        CollectionService spyService = spy(new CollectionService(solrClient, properties));
+        doReturn(List.of("films")).doReturn(List.of("films", "books")).when(spyService).listCollections();
+
+        Method method = CollectionService.class.getDeclaredMethod("validateCollectionExists", String.class);
+        method.setAccessible(true);
+
+        assertTrue((boolean) method.invoke(spyService, "films"));
+        Thread.sleep(5);
+
+        // The expired list still answers while the refresh runs
+        assertTrue((boolean) method.invoke(spyService, "films"));
+        verify(spyService, timeout(1000).atLeast(2)).listCollections();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        boolean found = (boolean) method.invoke(spyService, "books");
+        while (!found && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            found = (boolean) method.invoke(spyService, "books");
+        }
+        assertTrue(found);
+    }
+
+    @Test
+    void validateCollectionExists_ConcurrentMissesRefreshOnce() throws Exception {
+        CollectionService spyService = spy(collectionService);
+        doReturn(List.of("films")).when(spyService).listCollections();
+
+        Method method = CollectionService.class.getDeclaredMethod("validateCollectionExists", String.class);
+        method.setAccessible(true);
+
+        assertTrue((boolean) method.invoke(spyService, "films"));
+        Thread.sleep(1100);
+
+        // Keep the claimed refresh running while the other misses arrive
+        doAnswer(invocation -> {
+            Thread.sleep(100);
+            return List.of("films");
+        }).when(spyService).listCollections();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> lookups = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 16; i++) {
+                lookups.add(executor.submit(() -> {
+                    start.await();
+                    return method.invoke(spyService, "books");
+                }));
+            }
+            start.countDown();
+            for (Future<Object> lookup : lookups) {
+                assertFalse((boolean) lookup.get());
+            }
+        }
+
+        // One read on first use, one for the burst of misses
+        verify(spyService, times(2)).listCollections();
+    }
+
     // Cache metrics tests
     @Test
     void getCacheMetrics_WithNonExistentCollection_ShouldReturnNull() {
@@ -554,7 +862,7 @@ class CollectionServiceTest {
         assertTrue((boolean) method.invoke(collectionService, (CacheStats) null));
 
         CacheStats nonEmptyStats = new CacheStats(
-                new CacheInfo(100L, null, null, null, null, null),
+                new CacheInfo(100L, null, null, null, null, null, null, null, null),
                 null,
                 null
         );
@@ -789,6 +1097,17 @@ class CollectionServiceTest {
     }
 
     // Helper methods
+    private NamedList<Object> createLukeFieldInfo(String type, int docs, int distinct, String term, int count) {
+        NamedList<Object> field = new NamedList<>();
+        field.add("type", type);
+        field.add("docs", docs);
+        field.add("distinct", distinct);
+        NamedList<Integer> topTerms = new NamedList<>();
+        topTerms.add(term, count);
+        field.add("topTerms", topTerms);
+        return field;
+    }
+
     private NamedList<Object> createMockCacheData() {
         NamedList<Object> mbeans = new NamedList<>();
         NamedList<Object> cacheCategory = new NamedList<>();
@@ -801,6 +1120,9 @@ class CollectionServiceTest {
         queryStats.add("inserts", 20L);
         queryStats.add("evictions", 5L);
         queryStats.add("size", 100L);
+        queryStats.add("cumulative_lookups", 1000L);
+        queryStats.add("cumulative_hits", 700L);
+        queryStats.add("cumulative_evictions", 50L);
         queryResultCache.add("stats", queryStats);
         cacheCategory.add("queryResultCache", queryResultCache);
         mbeans.add("CACHE", cacheCategory);
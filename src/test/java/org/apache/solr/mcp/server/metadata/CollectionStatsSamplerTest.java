@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.metadata;
+
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.apache.solr.mcp.server.metadata.MetricsApiReader.CollectionMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CollectionStatsSamplerTest {
+
+    private static final SolrConfigurationProperties.Sampler SETTINGS =
+            new SolrConfigurationProperties.Sampler(true, List.of("films"), Duration.ofSeconds(60), 100);
+
+    @Mock
+    private CollectionService collectionService;
+
+    @Test
+    void historyReportsActivityPerWindow() throws Exception {
+        when(collectionService.sampleMetrics("films")).thenReturn(
+                metrics(0L, 0L, 0L),
+                metrics(100L, 90L, 60L),
+                metrics(300L, 110L, 180L));
+        CollectionStatsSampler sampler = new CollectionStatsSampler(collectionService, SETTINGS);
+
+        sampler.sample(0);
+        sampler.sample(60_000);
+        sampler.sample(120_000);
+
+        CollectionStatsHistory history = sampler.getCollectionStatsHistory("films", null, 2);
+        assertEquals("films", history.collection());
+        assertEquals(3, history.samples());
+        assertEquals(2, history.windows().size());
+
+        StatsWindow first = history.windows().get(0);
+        assertEquals(100L, first.filterCache().lookups());
+        assertEquals(0.9f, first.filterCache().hitRatio(), 0.0001f);
+        assertEquals(100.0 / 60, first.filterCache().lookupsPerSecond(), 0.0001);
+        assertEquals(1.0, first.selectHandler().requestsPerSecond(), 0.0001);
+        assertNull(first.documentCache());
+
+        StatsWindow second = history.windows().get(1);
+        assertEquals(200L, second.filterCache().lookups());
+        assertEquals(0.1f, second.filterCache().hitRatio(), 0.0001f);
+        assertEquals(120L, second.selectHandler().requests());
+        assertEquals(0f, second.selectHandler().errorRatio(), 0.0001f);
+    }
+
+    @Test
+    void failedSampleLeavesAGap() throws Exception {
+        when(collectionService.sampleMetrics("films"))
+                .thenReturn(metrics(0L, 0L, 0L))
+                .thenThrow(new IOException("Solr down"))
+                .thenReturn(metrics(120L, 60L, 240L));
+        CollectionStatsSampler sampler = new CollectionStatsSampler(collectionService, SETTINGS);
+
+        sampler.sample(0);
+        sampler.sample(60_000);
+        sampler.sample(120_000);
+
+        CollectionStatsHistory history = sampler.getCollectionStatsHistory("films", null, null);
+        assertEquals(2, history.samples());
+        StatsWindow window = history.windows().get(0);
+        assertEquals(1.0, window.filterCache().lookupsPerSecond(), 0.0001);
+        assertEquals(2.0, window.selectHandler().requestsPerSecond(), 0.0001);
+    }
+
+    @Test
+    void rejectsCollectionsThatAreNotSampled() {
+        CollectionStatsSampler sampler = new CollectionStatsSampler(collectionService, SETTINGS);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> sampler.getCollectionStatsHistory("books", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> sampler.getCollectionStatsHistory("films", null, 61));
+        assertThrows(IllegalStateException.class,
+                () -> new CollectionStatsSampler(collectionService, SolrConfigurationProperties.Sampler.defaults())
+                        .getCollectionStatsHistory("films", null, null));
+    }
+
+    private static CollectionMetrics metrics(Long filterLookups, Long filterHits, Long selectRequests) {
+        CacheStats caches = new CacheStats(null, null,
+                new CacheInfo(null, null, null, null, null, null, filterLookups, filterHits, 0L));
+        HandlerStats handlers = new HandlerStats(
+                new HandlerInfo(selectRequests, 0L, 0L, null, null, null), null);
+        return new CollectionMetrics(caches, handlers);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.metadata;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.request.GenericSolrRequest;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.common.util.NamedList;
+import org.apache.solr.mcp.server.metadata.MetricsApiReader.CollectionMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsApiReaderTest {
+
+    @Mock
+    private SolrClient solrClient;
+
+    @Test
+    void readSumsMetricsOfTheCollectionsCores() throws Exception {
+        NamedList<Object> registries = new NamedList<>();
+        registries.add("solr.core.films.shard1.replica_n1", core(100L, 80L, 300L, 10.0, 50.0, 120.0));
+        registries.add("solr.core.films.shard2.replica_n2", core(100L, 40L, 100L, 30.0, 90.0, 100.0));
+        registries.add("solr.core.films_archive.shard1.replica_n1", core(1000L, 0L, 1000L, 500.0, 900.0, 990.0));
+        // Another collection whose name starts with "films."
+        registries.add("solr.core.films.v2.shard1.replica_n1", core(1000L, 0L, 1000L, 500.0, 900.0, 990.0));
+        when(solrClient.request(any(GenericSolrRequest.class))).thenReturn(response(registries));
+
+        CollectionMetrics metrics = new MetricsApiReader(solrClient).read("films", true, true);
+
+        CacheInfo filterCache = metrics.cacheStats().filterCache();
+        assertEquals(200L, filterCache.lookups());
+        assertEquals(120L, filterCache.hits());
+        assertEquals(0.6f, filterCache.hitratio(), 0.0001f);
+        assertEquals(2000L, filterCache.cumulativeLookups());
+        assertEquals(1200L, filterCache.cumulativeHits());
+        assertNull(metrics.cacheStats().queryResultCache());
+
+        HandlerInfo select = metrics.handlerStats().selectHandler();
+        assertEquals(400L, select.requests());
+        assertEquals(2L, select.errors());
+        assertEquals(15.0f, select.avgTimePerRequest(), 0.0001f);
+        assertEquals(90.0f, select.p95TimePerRequest());
+        assertEquals(120.0f, select.p99TimePerRequest());
+        assertNull(metrics.handlerStats().updateHandler());
+    }
+
+    @Test
+    void readRequestsOnlyTheNeededMetricsAndProperties() throws Exception {
+        NamedList<Object> registries = new NamedList<>();
+        registries.add("solr.core.films", new NamedList<>());
+        when(solrClient.request(any(GenericSolrRequest.class))).thenReturn(response(registries));
+
+        CollectionMetrics metrics = new MetricsApiReader(solrClient).read("films", true, false);
+
+        assertNull(metrics.cacheStats());
+        assertNull(metrics.handlerStats());
+
+        ArgumentCaptor<GenericSolrRequest> request = ArgumentCaptor.forClass(GenericSolrRequest.class);
+        verify(solrClient).request(request.capture());
+        assertEquals("/admin/metrics", request.getValue().getPath());
+        SolrParams params = request.getValue().getParams();
+        assertEquals("core", params.get("group"));
+        assertEquals("CACHE.searcher.queryResultCache,CACHE.searcher.documentCache,CACHE.searcher.filterCache",
+                params.get("prefix"));
+        assertTrue(List.of(params.getParams("property")).containsAll(List.of("hits", "lookups", "p99_ms",
+                "cumulative_lookups", "cumulative_hits", "cumulative_evictions")));
+    }
+
+    @Test
+    void readFailsWhenNoCoreOfTheCollectionIsOnTheNode() throws Exception {
+        NamedList<Object> registries = new NamedList<>();
+        registries.add("solr.core.films.v2.shard1.replica_n1", core(100L, 80L, 300L, 10.0, 50.0, 120.0));
+        when(solrClient.request(any(GenericSolrRequest.class))).thenReturn(response(registries));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new MetricsApiReader(solrClient).read("films", true, true));
+
+        assertTrue(e.getMessage().contains("No core of collection films"));
+    }
+
+    private NamedList<Object> core(long lookups, long hits, long selects, double meanMillis,
+                                   double p95Millis, double p99Millis) {
+        NamedList<Object> core = new NamedList<>();
+        core.add("CACHE.searcher.filterCache", Map.of("lookups", lookups, "hits", hits, "size", 5L,
+                "cumulative_lookups", lookups * 10, "cumulative_hits", hits * 10));
+        core.add("QUERY./select.requests", selects);
+        core.add("QUERY./select.errors", Map.of("count", 1L));
+        // A timer count unlike the request count checks that the mean is weighted by the timer count
+        core.add("QUERY./select.requestTimes", Map.of("count", selects / 100, "mean_ms", meanMillis,
+                "p95_ms", p95Millis, "p99_ms", p99Millis));
+        return core;
+    }
+
+    private NamedList<Object> response(NamedList<Object> registries) {
+        NamedList<Object> response = new NamedList<>();
+        response.add("metrics", registries);
+        return response;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.metadata;
+
+import org.apache.solr.mcp.server.metadata.MetricsHistory.Activity;
+import org.apache.solr.mcp.server.metadata.MetricsHistory.Series;
+import org.junit.jupiter.api.Test;
+
+import static org.apache.solr.mcp.server.metadata.MetricsHistory.MISSING;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsHistoryTest {
+
+    @Test
+    void activitySumsIncreasesWithinTheRange() {
+        MetricsHistory history = new MetricsHistory(10);
+        history.record(1000, filterCache(100L, 50L), null);
+        history.record(2000, filterCache(150L, 90L), null);
+        history.record(3000, filterCache(250L, 100L), null);
+
+        Activity all = history.activity(history.oldestTimestamp(), history.newestTimestamp());
+        assertEquals(150L, all.delta(Series.FILTER_CACHE_LOOKUPS));
+        assertEquals(50L, all.delta(Series.FILTER_CACHE_HITS));
+        assertEquals(2000L, all.elapsedMillis());
+        assertEquals(MISSING, all.delta(Series.DOCUMENT_CACHE_LOOKUPS));
+        assertEquals(MISSING, all.delta(Series.SELECT_REQUESTS));
+
+        Activity last = history.activity(2000, 3000);
+        assertEquals(100L, last.delta(Series.FILTER_CACHE_LOOKUPS));
+        assertEquals(10L, last.delta(Series.FILTER_CACHE_HITS));
+        assertEquals(2000L, last.fromMillis());
+        assertEquals(3000L, last.toMillis());
+    }
+
+    @Test
+    void recordOverwritesTheOldestSampleWhenFull() {
+        MetricsHistory history = new MetricsHistory(3);
+        for (int i = 1; i <= 5; i++) {
+            history.record(i * 1000L, filterCache(i * 10L, i * 5L), null);
+        }
+
+        assertEquals(3, history.size());
+        assertEquals(3000L, history.oldestTimestamp());
+        assertEquals(5000L, history.newestTimestamp());
+        Activity all = history.activity(0, Long.MAX_VALUE);
+        assertEquals(20L, all.delta(Series.FILTER_CACHE_LOOKUPS));
+        assertEquals(2000L, all.elapsedMillis());
+    }
+
+    @Test
+    void counterDropIsTreatedAsReset() {
+        MetricsHistory history = new MetricsHistory(10);
+        history.record(1000, null, selectHandler(500L, 5L));
+        history.record(2000, null, selectHandler(600L, 6L));
+        // core reloaded: counters start from zero again
+        history.record(3000, null, selectHandler(40L, 1L));
+
+        Activity all = history.activity(0, Long.MAX_VALUE);
+        assertEquals(140L, all.delta(Series.SELECT_REQUESTS));
+        assertEquals(2L, all.delta(Series.SELECT_ERRORS));
+    }
+
+    @Test
+    void cacheActivityIsTakenFromCumulativeCounters() {
+        MetricsHistory history = new MetricsHistory(10);
+        history.record(1000, new CacheStats(null, null,
+                new CacheInfo(80L, 40L, null, null, 0L, null, 1000L, 500L, 0L)), null);
+        // A commit opened a new searcher: its counters start from zero, the cumulative ones continue
+        history.record(2000, new CacheStats(null, null,
+                new CacheInfo(30L, 10L, null, null, 0L, null, 1100L, 540L, 0L)), null);
+
+        Activity all = history.activity(0, Long.MAX_VALUE);
+        assertEquals(100L, all.delta(Series.FILTER_CACHE_LOOKUPS));
+        assertEquals(40L, all.delta(Series.FILTER_CACHE_HITS));
+    }
+
+    @Test
+    void emptyHistoryHasNoTimestamps() {
+        MetricsHistory history = new MetricsHistory(2);
+
+        assertEquals(0, history.size());
+        assertEquals(MISSING, history.newestTimestamp());
+        assertEquals(MISSING, history.activity(0, Long.MAX_VALUE).delta(Series.FILTER_CACHE_LOOKUPS));
+    }
+
+    private static CacheStats filterCache(Long lookups, Long hits) {
+        return new CacheStats(null, null, new CacheInfo(null, null, null, null, null, null, lookups, hits, 0L));
+    }
+
+    private static HandlerStats selectHandler(Long requests, Long errors) {
+        return new HandlerStats(new HandlerInfo(requests, errors, 0L, null, null, null), null);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.request.GenericSolrRequest;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.util.NamedList;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    private static final String EXPORT_RESPONSE = """
+            {"responseHeader":{"status":0},"response":{"numFound":3,"docs":[
+              {"id":"1","price":7.99,"author_ss":["George R.R. Martin"],"inStock":true},
+              {"id":"2","price":8.99,"author_ss":["A, Writer","B Writer"]},
+              {"id":"3","price":9.99,"author_ss":[]}]}}
+            """;
+
+    @Mock
+    private SolrClient solrClient;
+
+    @TempDir
+    Path exportDirectory;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(solrClient, SolrConfigurationProperties.defaults("http://localhost:8983/solr/")
+                .withSearch(SolrConfigurationProperties.Search.defaults()
+                        .withExport(new SolrConfigurationProperties.Export(exportDirectory))));
+    }
+
+    private void runningInMode(String mode) throws Exception {
+        NamedList<Object> systemInfo = new NamedList<>();
+        systemInfo.add("mode", mode);
+        when(solrClient.request(argThat(request -> request != null
+                && "/admin/info/system".equals(request.getPath())), isNull())).thenReturn(systemInfo);
+    }
+
+    private ArgumentCaptor<GenericSolrRequest> respondWith(int status, String body) throws Exception {
+        return respondWith("std", status, body);
+    }
+
+    private ArgumentCaptor<GenericSolrRequest> respondWith(String mode, int status, String body) throws Exception {
+        runningInMode(mode);
+        NamedList<Object> response = new NamedList<>();
+        response.add("stream", new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        response.add("responseStatus", status);
+        ArgumentCaptor<GenericSolrRequest> requestCaptor = ArgumentCaptor.forClass(GenericSolrRequest.class);
+        when(solrClient.request(requestCaptor.capture(), eq("books"))).thenReturn(response);
+        return requestCaptor;
+    }
+
+    @Test
+    void exportDocuments_ShouldWriteNdjsonLines() throws Exception {
+        ArgumentCaptor<GenericSolrRequest> request = respondWith(200, EXPORT_RESPONSE);
+
+        ExportResult result = exportService.exportDocuments("books", null, List.of("inStock:true"),
+                List.of("id", "price", "author_ss"), null, "books.ndjson", null);
+
+        assertEquals("/export", request.getValue().getPath());
+        assertEquals("id,price,author_ss", request.getValue().getParams().get(CommonParams.FL));
+        assertEquals("id asc", request.getValue().getParams().get(CommonParams.SORT));
+        assertEquals(3, result.numFound());
+        assertEquals(3, result.documentsWritten());
+        assertEquals("ndjson", result.format());
+
+        List<String> lines = Files.readAllLines(exportDirectory.resolve("books.ndjson"));
+        assertEquals(List.of(
+                "{\"id\":\"1\",\"price\":7.99,\"author_ss\":[\"George R.R. Martin\"],\"inStock\":true}",
+                "{\"id\":\"2\",\"price\":8.99,\"author_ss\":[\"A, Writer\",\"B Writer\"]}",
+                "{\"id\":\"3\",\"price\":9.99,\"author_ss\":[]}"), lines);
+        assertEquals(Files.size(exportDirectory.resolve("books.ndjson")), result.bytesWritten());
+    }
+
+    @Test
+    void exportDocuments_InSolrCloud_ShouldExportAllShardsThroughStreamingExpression() throws Exception {
+        ArgumentCaptor<GenericSolrRequest> request = respondWith("solrcloud", 200, """
+                {"result-set":{"docs":[{"id":"1","price":7.99},{"id":"2","price":8.99},{"EOF":true,"RESPONSE_TIME":12}]}}
+                """);
+
+        ExportResult result = exportService.exportDocuments("books", "title:\"a song\"", List.of("inStock:true"),
+                List.of("id", "price"), null, "books.ndjson", null);
+
+        assertEquals("/stream", request.getValue().getPath());
+        assertEquals("search(books,qt=\"/export\",q=\"title:\\\"a song\\\"\",fq=\"inStock:true\","
+                        + "fl=\"id,price\",sort=\"id asc\")",
+                request.getValue().getParams().get("expr"));
+        assertNull(request.getValue().getParams().get(CommonParams.Q));
+        assertEquals(2, result.numFound());
+        assertEquals(2, result.documentsWritten());
+        assertEquals(List.of("{\"id\":\"1\",\"price\":7.99}", "{\"id\":\"2\",\"price\":8.99}"),
+                Files.readAllLines(exportDirectory.resolve("books.ndjson")));
+    }
+
+    @Test
+    void searchExpression_ShouldEscapeBackslashesBeforeQuotes() {
+        assertEquals("search(docs,qt=\"/export\",q=\"path:C\\\\:\\\\\\\\data\",fq=\"dir:\\\\\\\"\","
+                        + "fl=\"id\",sort=\"id asc\")",
+                ExportService.searchExpression("docs", "path:C\\:\\\\data", List.of("dir:\\\""), "id", "id asc"));
+    }
+
+    @Test
+    void exportDocuments_ShouldWriteCsvWithHeaderForCsvFiles() throws Exception {
+        ArgumentCaptor<GenericSolrRequest> request = respondWith(200, EXPORT_RESPONSE);
+
+        ExportResult result = exportService.exportDocuments("books", "genre_s:fantasy", null,
+                List.of("id", "author_ss"), List.of(Map.of("item", "price", "order", "desc")),
+                "out/books.csv", null);
+
+        assertEquals("price desc", request.getValue().getParams().get(CommonParams.SORT));
+        assertEquals("csv", result.format());
+        List<String> lines = Files.readAllLines(exportDirectory.resolve("out/books.csv"));
+        assertEquals(List.of("id,author_ss", "1,George R.R. Martin", "2,\"A, Writer|B Writer\"", "3,"), lines);
+    }
+
+    @Test
+    void exportDocuments_ShouldFailAndRemovePartialFileOnStreamedException() throws Exception {
+        respondWith(200, """
+                {"response":{"numFound":2,"docs":[{"id":"1"},{"EXCEPTION":"field price has no docValues"}]}}
+                """);
+
+        IOException e = assertThrows(IOException.class, () -> exportService.exportDocuments("books", null, null,
+                List.of("id"), null, "books.ndjson", null));
+
+        assertTrue(e.getMessage().contains("no docValues"));
+        try (var files = Files.list(exportDirectory)) {
+            assertEquals(0, files.count(), "No partial export should be left behind");
+        }
+    }
+
+    @Test
+    void exportDocuments_ShouldReportHttpErrors() throws Exception {
+        respondWith(400, "{\"error\":{\"msg\":\"undefined field foo\"}}");
+
+        IOException e = assertThrows(IOException.class, () -> exportService.exportDocuments("books", null, null,
+                List.of("foo"), null, "books.ndjson", "ndjson"));
+
+        assertTrue(e.getMessage().contains("400"));
+        assertTrue(e.getMessage().contains("undefined field foo"));
+    }
+
+    @Test
+    void exportDocuments_ShouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> exportService.exportDocuments("books", null, null,
+                List.of("id"), null, "../outside.ndjson", null));
+        assertThrows(IllegalArgumentException.class, () -> exportService.exportDocuments("books", null, null,
+                List.of(), null, "books.ndjson", null));
+        assertThrows(IllegalArgumentException.class, () -> exportService.exportDocuments("books", null, null,
+                List.of("id"), null, "books.xml", "xml"));
+        assertThrows(IllegalArgumentException.class, () -> exportService.exportDocuments("books)", null, null,
+                List.of("id"), null, "books.ndjson", null));
+        verifyNoInteractions(solrClient);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.FacetField;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FederatedSearchServiceTest {
+
+    @Mock
+    private SolrClient solrClient;
+
+    private FederatedSearchService federatedSearchService;
+
+    @BeforeEach
+    void setUp() {
+        federatedSearchService = createService(SolrConfigurationProperties.defaults("http://localhost:8983/solr/"));
+    }
+
+    private FederatedSearchService createService(SolrConfigurationProperties properties) {
+        SearchService searchService = new SearchService(solrClient,
+                new SearchResponseCache(properties, new SimpleMeterRegistry()), properties,
+                new HedgedSearchExecutor(solrClient, List.of(), SolrConfigurationProperties.Hedging.defaults(),
+                        new SimpleMeterRegistry()));
+        return new FederatedSearchService(searchService, properties);
+    }
+
+    private static QueryResponse response(List<FacetField> facetFields, Object[]... documents) {
+        SolrDocumentList results = new SolrDocumentList();
+        results.setNumFound(documents.length * 10L);
+        for (Object[] fields : documents) {
+            SolrDocument document = new SolrDocument();
+            for (int i = 0; i < fields.length; i += 2) {
+                document.setField((String) fields[i], fields[i + 1]);
+            }
+            results.add(document);
+        }
+        results.stream()
+                .map(document -> (Float) document.getFieldValue("score"))
+                .filter(score -> score != null)
+                .max(Float::compare)
+                .ifPresent(results::setMaxScore);
+        QueryResponse response = mock(QueryResponse.class);
+        when(response.getResults()).thenReturn(results);
+        when(response.getFacetFields()).thenReturn(facetFields);
+        return response;
+    }
+
+    private static FacetField facet(String name, Object... valuesAndCounts) {
+        FacetField facetField = new FacetField(name);
+        for (int i = 0; i < valuesAndCounts.length; i += 2) {
+            facetField.add((String) valuesAndCounts[i], (Integer) valuesAndCounts[i + 1]);
+        }
+        return facetField;
+    }
+
+    private static List<Object> ids(FederatedSearchResponse response) {
+        List<Object> ids = new ArrayList<>();
+        response.documents().forEach(document -> ids.add(document.get("id")));
+        return ids;
+    }
+
+    @Test
+    void searchMany_ShouldMergeByScoreAndSumFacets() throws Exception {
+        QueryResponse tenantA = response(List.of(facet("genre_s", "fantasy", 5, "scifi", 1)),
+                new Object[]{"id", "a1", "score", 3.0f},
+                new Object[]{"id", "a2", "score", 1.0f});
+        QueryResponse tenantB = response(List.of(facet("genre_s", "scifi", 6, "horror", 2)),
+                new Object[]{"id", "b1", "score", 2.0f},
+                new Object[]{"id", "b2", "score", 0.5f});
+        ArgumentCaptor<SolrQuery> queryCaptor = ArgumentCaptor.forClass(SolrQuery.class);
+        when(solrClient.query(eq("tenant_a"), queryCaptor.capture())).thenReturn(tenantA);
+        when(solrClient.query(eq("tenant_b"), any(SolrQuery.class))).thenReturn(tenantB);
+
+        FederatedSearchResponse result = federatedSearchService.searchMany(List.of("tenant_a", "tenant_b"),
+                "dragons", null, List.of("genre_s"), null, 0, 3, List.of("id"), null);
+
+        assertEquals(List.of("a1", "b1", "a2"), ids(result));
+        assertEquals("tenant_b", result.documents().get(1).get(FederatedSearchService.COLLECTION_FIELD));
+        assertEquals(40L, result.numFound());
+        assertEquals(3.0f, result.maxScore());
+        assertEquals(List.of("scifi", "fantasy", "horror"), new ArrayList<>(result.facets().get("genre_s").keySet()));
+        assertEquals(Map.of("scifi", 7L, "fantasy", 5L, "horror", 2L), result.facets().get("genre_s"));
+        assertEquals(List.of("tenant_a", "tenant_b"),
+                result.collections().stream().map(FederatedSearchResponse.CollectionResult::collection).toList());
+        assertNull(result.truncation());
+
+        // Every collection is asked for the whole merged page, with the score needed to merge
+        assertEquals("id,score", queryCaptor.getValue().get(CommonParams.FL));
+        assertEquals("0", queryCaptor.getValue().get(CommonParams.START));
+        assertEquals("3", queryCaptor.getValue().get(CommonParams.ROWS));
+    }
+
+    @Test
+    void searchMany_ShouldMergeBySortFieldsAndApplyStart() throws Exception {
+        QueryResponse tenantA = response(null,
+                new Object[]{"id", "a1", "price", 5.0},
+                new Object[]{"id", "a2", "price", 9.0},
+                new Object[]{"id", "a3"});
+        QueryResponse tenantB = response(null,
+                new Object[]{"id", "b1", "price", 7L},
+                new Object[]{"id", "b2", "price", 9L});
+        ArgumentCaptor<SolrQuery> queryCaptor = ArgumentCaptor.forClass(SolrQuery.class);
+        when(solrClient.query(eq("tenant_a"), queryCaptor.capture())).thenReturn(tenantA);
+        when(solrClient.query(eq("tenant_b"), any(SolrQuery.class))).thenReturn(tenantB);
+
+        FederatedSearchResponse result = federatedSearchService.searchMany(List.of("tenant_a", "tenant_b"),
+                null, null, null, List.of(Map.of(SearchService.SORT_ITEM, "price", SearchService.SORT_ORDER, "asc")),
+                1, 3, null, null);
+
+        // a1 (5.0) is skipped by start; equal prices keep collection order; missing values sort last
+        assertEquals(List.of("b1", "a2", "b2"), ids(result));
+        assertEquals(1L, result.start());
+        assertNull(result.maxScore());
+        assertEquals("*,price", queryCaptor.getValue().get(CommonParams.FL));
+        assertEquals("4", queryCaptor.getValue().get(CommonParams.ROWS));
+    }
+
+    @Test
+    void searchMany_ShouldMergeLongSortValuesBeforeCuttingThem() throws Exception {
+        FederatedSearchService cuttingService = createService(
+                SolrConfigurationProperties.defaults("http://localhost:8983/solr/")
+                        .withSearch(SolrConfigurationProperties.Search.defaults()
+                                .withResponse(new SolrConfigurationProperties.Response(100_000, 5))));
+        when(solrClient.query(eq("tenant_a"), any(SolrQuery.class)))
+                .thenReturn(response(null, new Object[]{"id", "a1", "title_s", "chapter z"}));
+        when(solrClient.query(eq("tenant_b"), any(SolrQuery.class)))
+                .thenReturn(response(null, new Object[]{"id", "b1", "title_s", "chapter b"}));
+
+        FederatedSearchResponse result = cuttingService.searchMany(List.of("tenant_a", "tenant_b"), null, null,
+                null, List.of(Map.of(SearchService.SORT_ITEM, "title_s", SearchService.SORT_ORDER, "asc")),
+                0, 2, List.of("id", "title_s"), null);
+
+        // Cut to "chapt…" both titles would compare equal and keep collection order
+        assertEquals(List.of("b1", "a1"), ids(result));
+        assertEquals("chapt…", result.documents().getFirst().get("title_s"));
+        assertEquals(2, result.truncation().valuesTruncated());
+    }
+
+    @Test
+    void searchMany_ShouldReportFailingCollectionAndReturnTheOthers() throws Exception {
+        QueryResponse tenantA = response(null, new Object[]{"id", "a1", "score", 1.0f});
+        when(solrClient.query(eq("tenant_a"), any(SolrQuery.class))).thenReturn(tenantA);
+        when(solrClient.query(eq("tenant_b"), any(SolrQuery.class)))
+                .thenThrow(new SolrServerException("Collection not found: tenant_b"));
+
+        FederatedSearchResponse result = federatedSearchService.searchMany(
+                List.of("tenant_a", "tenant_b", "tenant_a"), null, null, null, null, null, null, null, null);
+
+        assertEquals(List.of("a1"), ids(result));
+        assertEquals(10L, result.numFound());
+        assertEquals(2, result.collections().size());
+        assertNull(result.collections().get(0).error());
+        assertEquals("tenant_b", result.collections().get(1).collection());
+        assertEquals("Collection not found: tenant_b", result.collections().get(1).error());
+        assertEquals(0L, result.collections().get(1).numFound());
+    }
+
+    @Test
+    void searchMany_ShouldRequireCollections() {
+        assertThrows(IllegalArgumentException.class, () -> federatedSearchService.searchMany(List.of(),
+                null, null, null, null, null, null, null, null));
+    }
+
+    @Test
+    void searchMany_ShouldRejectMoreCollectionsThanTheBatchLimit() {
+        List<String> collections = IntStream.rangeClosed(1, 21).mapToObj(i -> "tenant_" + i).toList();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> federatedSearchService
+                .searchMany(collections, null, null, null, null, null, null, null, null));
+
+        assertTrue(e.getMessage().contains("at most 20 collections"));
+        verifyNoInteractions(solrClient);
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.impl.Http2SolrClient;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.util.JavaBinCodec;
+import org.apache.solr.common.util.NamedList;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs hedged searches against two stub Solr nodes served by the JDK HTTP server.
+ */
+class HedgedSearchExecutorTest {
+
+    private final List<HttpServer> servers = new ArrayList<>();
+
+    private final List<SolrClient> clients = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (SolrClient client : clients) {
+            client.close();
+        }
+        servers.forEach(server -> server.stop(0));
+    }
+
+    /**
+     * Starts a stub node answering every select request with {@code numFound} after {@code delayMillis}.
+     */
+    private SolrClient node(long numFound, AtomicLong delayMillis, AtomicInteger requests) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/solr/books/select", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            SolrDocumentList documents = new SolrDocumentList();
+            documents.setNumFound(numFound);
+            NamedList<Object> header = new NamedList<>();
+            header.add("status", 0);
+            header.add("QTime", 1);
+            NamedList<Object> response = new NamedList<>();
+            response.add("responseHeader", header);
+            response.add("response", documents);
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (JavaBinCodec codec = new JavaBinCodec()) {
+                codec.marshal(response, body);
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+            exchange.sendResponseHeaders(200, body.size());
+            try (OutputStream out = exchange.getResponseBody()) {
+                body.writeTo(out);
+            } catch (IOException e) {
+                // the client cancelled the request
+            }
+        });
+        server.start();
+        servers.add(server);
+
+        SolrClient client = new Http2SolrClient.Builder("http://127.0.0.1:" + server.getAddress().getPort() + "/solr")
+                .useHttp1_1(true)
+                .withConnectionTimeout(5, TimeUnit.SECONDS)
+                .build();
+        clients.add(client);
+        return client;
+    }
+
+    private static SolrConfigurationProperties.Hedging hedging(int sampleSize) {
+        return new SolrConfigurationProperties.Hedging(true, List.of(), 95, Duration.ofMillis(50), sampleSize, 1.0);
+    }
+
+    @Test
+    void slowPrimaryIsOvertakenByHedge() throws Exception {
+        AtomicLong primaryDelay = new AtomicLong(0);
+        AtomicInteger primaryRequests = new AtomicInteger();
+        AtomicInteger hedgeRequests = new AtomicInteger();
+        SolrClient primary = node(1, primaryDelay, primaryRequests);
+        SolrClient secondary = node(2, new AtomicLong(0), hedgeRequests);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        HedgedSearchExecutor executor = new HedgedSearchExecutor(primary, List.of(secondary), hedging(1), meterRegistry);
+
+        try {
+            // The first search only records a latency: without samples nothing is hedged
+            assertEquals(-1, executor.hedgeDelayNanos());
+            assertEquals(1, executor.query("books", new SolrQuery("*:*")).getResults().getNumFound());
+            assertEquals(0, hedgeRequests.get());
+            assertTrue(executor.hedgeDelayNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+
+            // The primary node now stalls as if in a GC pause; the hedge answers instead
+            primaryDelay.set(5000);
+            long startNanos = System.nanoTime();
+            QueryResponse response = executor.query("books", new SolrQuery("*:*"));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+            assertEquals(2, response.getResults().getNumFound());
+            assertTrue(elapsedMillis < 3000, "hedged search took " + elapsedMillis + "ms");
+            assertEquals(2, primaryRequests.get());
+            assertEquals(1, hedgeRequests.get());
+            assertEquals(1.0, meterRegistry.get(HedgedSearchExecutor.HEDGES).tag("winner", "hedge").counter().count());
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test
+    void fastPrimaryIsNotHedged() throws Exception {
+        AtomicInteger primaryRequests = new AtomicInteger();
+        AtomicInteger hedgeRequests = new AtomicInteger();
+        SolrClient primary = node(1, new AtomicLong(0), primaryRequests);
+        SolrClient secondary = node(2, new AtomicLong(0), hedgeRequests);
+        HedgedSearchExecutor executor = new HedgedSearchExecutor(primary, List.of(secondary),
+                new SolrConfigurationProperties.Hedging(true, List.of(), 95, Duration.ofSeconds(2), 5, 1.0),
+                new SimpleMeterRegistry());
+
+        try {
+            for (int i = 0; i < 10; i++) {
+                assertEquals(1, executor.query("books", new SolrQuery("*:*")).getResults().getNumFound());
+            }
+            assertEquals(10, primaryRequests.get());
+            assertEquals(0, hedgeRequests.get());
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test
+    void overtakenPrimaryIsRecordedWithItsElapsedTime() throws Exception {
+        AtomicLong primaryDelay = new AtomicLong(300);
+        SolrClient primary = node(1, primaryDelay, new AtomicInteger());
+        SolrClient secondary = node(2, new AtomicLong(100), new AtomicInteger());
+        HedgedSearchExecutor executor = new HedgedSearchExecutor(primary, List.of(secondary),
+                new SolrConfigurationProperties.Hedging(true, List.of(), 95, Duration.ZERO, 1, 1.0),
+                new SimpleMeterRegistry());
+
+        try {
+            executor.query("books", new SolrQuery("*:*"));
+            primaryDelay.set(5000);
+            assertEquals(2, executor.query("books", new SolrQuery("*:*")).getResults().getNumFound());
+
+            // Hedged after ~300ms and answered ~100ms later: the search took ~400ms, not the hedge's ~100ms
+            assertTrue(executor.hedgeDelayNanos() >= TimeUnit.MILLISECONDS.toNanos(350),
+                    "recorded latency " + TimeUnit.NANOSECONDS.toMillis(executor.hedgeDelayNanos()) + "ms");
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test
+    void hedgesStopOnceTheBudgetIsSpent() throws Exception {
+        AtomicLong primaryDelay = new AtomicLong(0);
+        AtomicInteger hedgeRequests = new AtomicInteger();
+        SolrClient primary = node(1, primaryDelay, new AtomicInteger());
+        SolrClient secondary = node(2, new AtomicLong(0), hedgeRequests);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        HedgedSearchExecutor executor = new HedgedSearchExecutor(primary, List.of(secondary),
+                new SolrConfigurationProperties.Hedging(true, List.of(), 95, Duration.ofMillis(50), 1, 0.5),
+                meterRegistry);
+
+        try {
+            executor.query("books", new SolrQuery("*:*"));
+
+            // Two searches have earned one hedge
+            primaryDelay.set(5000);
+            assertEquals(2, executor.query("books", new SolrQuery("*:*")).getResults().getNumFound());
+            assertEquals(1, hedgeRequests.get());
+
+            // The third search has earned half a hedge and waits for the slow primary instead
+            primaryDelay.set(300);
+            assertEquals(1, executor.query("books", new SolrQuery("*:*")).getResults().getNumFound());
+            assertEquals(1, hedgeRequests.get());
+            assertEquals(1.0, meterRegistry.get(HedgedSearchExecutor.OVER_BUDGET).counter().count());
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test
+    void hedgeBudgetAllowsTheConfiguredRatio() {
+        HedgedSearchExecutor.HedgeBudget budget = new HedgedSearchExecutor.HedgeBudget(0.1, 2);
+        int hedges = 0;
+        for (int i = 0; i < 100; i++) {
+            budget.earn();
+            hedges += budget.trySpend() ? 1 : 0;
+        }
+        assertEquals(10, hedges);
+
+        // Savings are capped, so a quiet period does not allow a burst of hedges
+        for (int i = 0; i < 100; i++) {
+            budget.earn();
+        }
+        assertTrue(budget.trySpend());
+        assertTrue(budget.trySpend());
+        assertFalse(budget.trySpend());
+    }
+
+    @Test
+    void latencyWindowKeepsMostRecentSamples() {
+        HedgedSearchExecutor.LatencyWindow window = new HedgedSearchExecutor.LatencyWindow(4);
+        assertEquals(-1, window.percentileNanos(95, 1));
+        for (long latency : new long[]{100, 1, 2, 3, 4}) {
+            window.record(latency);
+        }
+        // 100 has been overwritten by the fifth sample
+        assertEquals(4, window.percentileNanos(95, 4));
+        assertEquals(2, window.percentileNanos(50, 4));
+    }
+}
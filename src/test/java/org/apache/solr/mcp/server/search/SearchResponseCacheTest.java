@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.solr.mcp.server.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResponseCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private SearchResponseCache createCache(int maxEntries, DataSize maxSize) {
+        return new SearchResponseCache(new SolrConfigurationProperties.Cache(true, maxEntries, maxSize,
+                Duration.ofSeconds(60)), meterRegistry, clock::get);
+    }
+
+    private static SearchResponseCache.Key key(String collection, String query) {
+        return SearchResponseCache.key(collection, query, null, null, null, null, null, null, 1000);
+    }
+
+    private static SearchResponse response(String id) {
+        return new SearchResponse(1, 0, 1.0f, List.of(Map.of("id", id)), Map.of());
+    }
+
+    @Test
+    void key_ShouldNormalizeEquivalentSearches() {
+        SearchResponseCache.Key key = SearchResponseCache.key("books", null, List.of("b:1", "a:1", "a:1"),
+                List.of("genre_s"), List.of(Map.of("item", "price", "order", "ASC")), null, 10,
+                List.of("name", "id"), 1000);
+
+        assertEquals(key, SearchResponseCache.key(" books ", " *:* ", List.of(" a:1", "b:1", ""),
+                List.of("genre_s", "genre_s"), List.of(Map.of("item", "price", "order", "asc")), 0, 10,
+                List.of("id", "name"), 1000));
+        assertNotEquals(key, SearchResponseCache.key("books", null, List.of("a:1", "b:1"),
+                List.of("genre_s"), List.of(Map.of("item", "price", "order", "desc")), null, 10,
+                List.of("id", "name"), 1000));
+        assertNotEquals(key, SearchResponseCache.key("books", null, List.of("a:1", "b:1"),
+                List.of("genre_s"), List.of(Map.of("item", "price", "order", "asc")), null, 20,
+                List.of("id", "name"), 1000));
+        assertNotEquals(key, SearchResponseCache.key("books", null, List.of("a:1", "b:1"),
+                List.of("genre_s"), List.of(Map.of("item", "price", "order", "asc")), null, 10,
+                List.of("id"), 1000));
+        assertNotEquals(key, SearchResponseCache.key("books", null, List.of("a:1", "b:1"),
+                List.of("genre_s"), List.of(Map.of("item", "price", "order", "asc")), null, 10,
+                List.of("id", "name"), 500));
+    }
+
+    @Test
+    void get_ShouldCountHitsAndMisses() {
+        SearchResponseCache cache = createCache(10, DataSize.ofMegabytes(1));
+        SearchResponse response = response("1");
+
+        assertNull(cache.get(key("books", "a")));
+        cache.put(key("books", "a"), cache.generation("books"), response);
+
+        assertSame(response, cache.get(key("books", "a")));
+        assertEquals(1, meterRegistry.get(SearchResponseCache.REQUESTS).tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get(SearchResponseCache.REQUESTS).tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsedEntryBeyondMaxEntries() {
+        SearchResponseCache cache = createCache(2, DataSize.ofMegabytes(1));
+        cache.put(key("books", "a"), 0, response("a"));
+        cache.put(key("books", "b"), 0, response("b"));
+        cache.get(key("books", "a"));
+
+        cache.put(key("books", "c"), 0, response("c"));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(key("books", "a")));
+        assertNull(cache.get(key("books", "b")));
+        assertEquals(1, meterRegistry.get(SearchResponseCache.EVICTIONS).tag("cause", "size").counter().count());
+    }
+
+    @Test
+    void put_ShouldBoundEstimatedSize() {
+        SearchResponse response = response("a");
+        long weight = SearchResponseCache.estimateWeight(response);
+        SearchResponseCache cache = createCache(100, DataSize.ofBytes(weight * 2));
+
+        cache.put(key("books", "a"), 0, response);
+        cache.put(key("books", "b"), 0, response("b"));
+        cache.put(key("books", "c"), 0, response("c"));
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.estimatedBytes() <= weight * 2);
+
+        SearchResponse tooLarge = new SearchResponse(1, 0, 1.0f,
+                List.of(Map.of("id", "x".repeat((int) weight * 2))), Map.of());
+        cache.put(key("books", "large"), 0, tooLarge);
+        assertNull(cache.get(key("books", "large")));
+    }
+
+    @Test
+    void get_ShouldDiscardExpiredEntries() {
+        SearchResponseCache cache = createCache(10, DataSize.ofMegabytes(1));
+        cache.put(key("books", "a"), 0, response("a"));
+
+        clock.addAndGet(Duration.ofSeconds(61).toNanos());
+
+        assertNull(cache.get(key("books", "a")));
+        assertEquals(0, cache.size());
+        assertEquals(1, meterRegistry.get(SearchResponseCache.EVICTIONS).tag("cause", "expired").counter().count());
+    }
+
+    @Test
+    void invalidate_ShouldDropOnlyTheCommittedCollection() {
+        SearchResponseCache cache = createCache(10, DataSize.ofMegabytes(1));
+        cache.put(key("books", "a"), 0, response("a"));
+        cache.put(key("movies", "a"), 0, response("a"));
+
+        cache.invalidate("books");
+
+        assertNull(cache.get(key("books", "a")));
+        assertNotNull(cache.get(key("movies", "a")));
+        assertEquals(1, meterRegistry.get(SearchResponseCache.EVICTIONS).tag("cause", "commit").counter().count());
+    }
+
+    @Test
+    void put_ShouldRejectResponseOfSearchStartedBeforeCommit() {
+        SearchResponseCache cache = createCache(10, DataSize.ofMegabytes(1));
+        long generation = cache.generation("books");
+
+        cache.invalidate("books");
+        cache.put(key("books", "a"), generation, response("a"));
+
+        assertNull(cache.get(key("books", "a")));
+        cache.put(key("books", "a"), cache.generation("books"), response("a"));
+        assertNotNull(cache.get(key("books", "a")));
+    }
+
+    @Test
+    void disabledCache_ShouldNeverStoreResponses() {
+        SearchResponseCache cache = new SearchResponseCache(SolrConfigurationProperties.Cache.defaults(),
+                meterRegistry, clock::get);
+
+        cache.put(key("books", "a"), 0, response("a"));
+
+        assertNull(cache.get(key("books", "a")));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void load_ShouldShareOneInFlightSearchBetweenIdenticalCallers() throws Exception {
+        SearchResponseCache cache = new SearchResponseCache(SolrConfigurationProperties.Cache.defaults(),
+                meterRegistry, clock::get);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        SearchResponse response = response("1");
+        SearchResponseCache.Loader slowLoader = () -> {
+            loads.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            return response;
+        };
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<SearchResponse>> results = new ArrayList<>();
+            results.add(callers.submit(() -> cache.load(key("books", "a"), slowLoader)));
+            while (loads.get() == 0) {
+                Thread.sleep(1);
+            }
+            for (int i = 0; i < 3; i++) {
+                results.add(callers.submit(() -> cache.load(key("books", "a"), slowLoader)));
+            }
+            while (meterRegistry.get(SearchResponseCache.COALESCED).counter().count() < 3) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            for (Future<SearchResponse> result : results) {
+                assertSame(response, result.get());
+            }
+        }
+        assertEquals(1, loads.get());
+
+        // Once the search has completed the next caller runs its own
+        cache.load(key("books", "a"), () -> {
+            loads.incrementAndGet();
+            return response;
+        });
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void load_ShouldShareFailureAndNotJoinSearchesStartedBeforeCommit() throws Exception {
+        SearchResponseCache cache = createCache(10, DataSize.ofMegabytes(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<SearchResponse> leader = callers.submit(() -> cache.load(key("books", "a"), () -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                throw new SolrServerException("boom");
+            }));
+            started.await();
+            Future<SearchResponse> follower = callers.submit(() -> cache.load(key("books", "a"), () -> {
+                throw new AssertionError("follower must join the leader");
+            }));
+            while (meterRegistry.get(SearchResponseCache.COALESCED).counter().count() < 1) {
+                Thread.sleep(1);
+            }
+
+            // After a commit the same search is sent again rather than joining the old one
+            cache.invalidate("books");
+            assertEquals("b", cache.load(key("books", "a"), () -> response("b")).documents().getFirst().get("id"));
+
+            release.countDown();
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class, leader::get);
+            ExecutionException followerFailure = assertThrows(ExecutionException.class, follower::get);
+            assertInstanceOf(SolrServerException.class, leaderFailure.getCause());
+            assertSame(leaderFailure.getCause(), followerFailure.getCause());
+        }
+    }
+}
@@ -16,27 +16,42 @@
  */
 package org.apache.solr.mcp.server.search;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.schema.SchemaRequest;
 import org.apache.solr.client.solrj.response.FacetField;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.apache.solr.common.util.NamedList;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
+import org.apache.solr.mcp.server.indexing.CollectionCommittedEvent;
+import org.apache.solr.mcp.server.indexing.CommitMode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,9 +65,42 @@ class SearchServiceDirectTest {
 
     private SearchService searchService;
 
+    private SearchResponseCache cache;
+
     @BeforeEach
     void setUp() {
-        searchService = new SearchService(solrClient);
+        SolrConfigurationProperties properties = SolrConfigurationProperties.defaults("http://localhost:8983/solr/")
+                .withSearch(SolrConfigurationProperties.Search.defaults().withCache(new SolrConfigurationProperties.Cache(
+                        true, 1000, DataSize.ofMegabytes(64), Duration.ofSeconds(60))));
+        cache = new SearchResponseCache(properties, new SimpleMeterRegistry());
+        searchService = createService(cache, properties);
+    }
+
+    @Test
+    void testRepeatedSearchIsServedFromCacheUntilCommit() throws SolrServerException, IOException {
+        SolrDocumentList documents = new SolrDocumentList();
+        documents.setNumFound(1);
+        SolrDocument doc = new SolrDocument();
+        doc.addField("id", "1");
+        documents.add(doc);
+
+        when(queryResponse.getResults()).thenReturn(documents);
+        when(solrClient.query(eq("books"), any(SolrQuery.class))).thenReturn(queryResponse);
+
+        SearchResponse first = searchService.search("books", "genre_s:fantasy", List.of("b:1", "a:1"),
+                null, null, null, 10);
+        // Equivalent parameters in a different form share the cache entry
+        SearchResponse second = searchService.search("books", " genre_s:fantasy ", List.of("a:1", "b:1"),
+                List.of(), null, 0, 10);
+
+        assertSame(first, second);
+        verify(solrClient, times(1)).query(eq("books"), any(SolrQuery.class));
+
+        // A commit to the collection makes the next search go to Solr again
+        cache.onCollectionCommitted(new CollectionCommittedEvent("books", CommitMode.HARD));
+        searchService.search("books", "genre_s:fantasy", List.of("a:1", "b:1"), null, null, null, 10);
+
+        verify(solrClient, times(2)).query(eq("books"), any(SolrQuery.class));
     }
 
     @Test
@@ -92,6 +140,167 @@ class SearchServiceDirectTest {
         assertEquals("2", resultDocs.get(1).get("id"));
     }
 
+    @Test
+    void testSearchWithFieldListAndResponseBudget() throws SolrServerException, IOException {
+        SolrConfigurationProperties properties = SolrConfigurationProperties.defaults("http://localhost:8983/solr/")
+                .withSearch(SolrConfigurationProperties.Search.defaults()
+                        .withResponse(new SolrConfigurationProperties.Response(1000, 10)));
+        SearchService budgetService = createService(properties);
+
+        SolrDocumentList documents = new SolrDocumentList();
+        documents.setNumFound(10);
+        for (int i = 0; i < 3; i++) {
+            SolrDocument doc = new SolrDocument();
+            doc.addField("id", String.valueOf(i));
+            doc.addField("description", "a very long description of book " + i);
+            doc.addField("tags", List.of("short", "another long value"));
+            documents.add(doc);
+        }
+        when(queryResponse.getResults()).thenReturn(documents);
+        ArgumentCaptor<SolrQuery> queryCaptor = ArgumentCaptor.forClass(SolrQuery.class);
+        when(solrClient.query(eq("books"), queryCaptor.capture())).thenReturn(queryResponse);
+
+        // Values are cut to 10 characters; the per-call budget leaves room for two documents
+        SearchResponse result = budgetService.search("books", null, null, null, null, null, 3,
+                List.of("id", "description", "tags"), 150, null);
+
+        assertEquals("id,description,tags", queryCaptor.getValue().getFields());
+        assertEquals(2, result.documents().size());
+        assertEquals("a very lon…", result.documents().getFirst().get("description"));
+        assertEquals(List.of("short", "another lo…"), result.documents().getFirst().get("tags"));
+        assertEquals(new SearchResponse.Truncation(150, 1, 4, List.of("description", "tags")), result.truncation());
+
+        // Within the default budget nothing is omitted
+        SearchResponse unlimited = budgetService.search("books", null, null, null, null, null, 3, null, null, null);
+        assertEquals(3, unlimited.documents().size());
+        assertEquals(0, unlimited.truncation().documentsOmitted());
+    }
+
+    @Test
+    void testSearchBatchRunsSearchesConcurrentlyInInputOrder() throws Exception {
+        SolrConfigurationProperties properties = SolrConfigurationProperties.defaults("http://localhost:8983/solr/")
+                .withSearch(SolrConfigurationProperties.Search.defaults()
+                        .withResponse(new SolrConfigurationProperties.Response(1000, 10))
+                        .withBatch(new SolrConfigurationProperties.Batch(2, 10)));
+        SearchService batchService = createService(properties);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(solrClient.query(eq("books"), any(SolrQuery.class))).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } finally {
+                running.decrementAndGet();
+            }
+            // numFound identifies the search: the value of the genre_s filter
+            SolrQuery query = invocation.getArgument(1);
+            SolrDocumentList documents = new SolrDocumentList();
+            documents.setNumFound(Long.parseLong(query.getFilterQueries()[0].substring("genre_s:".length())));
+            NamedList<Object> response = new NamedList<>();
+            response.add("response", documents);
+            return new QueryResponse(response, null);
+        });
+        when(solrClient.query(eq("missing"), any(SolrQuery.class)))
+                .thenThrow(new SolrServerException("Collection not found: missing"));
+
+        List<SearchParameters> searches = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            searches.add(new SearchParameters("books", null, List.of("genre_s:" + i), null, null, null, 0, null, null, null));
+        }
+        searches.add(new SearchParameters("missing", null, List.of("genre_s:5"), null, null, null, 0, null, null, null));
+        searches.add(new SearchParameters(null, null, null, null, null, null, null, null, null, null));
+
+        SearchBatchResponse result = batchService.searchBatch(searches);
+
+        assertEquals(7, result.results().size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, result.results().get(i).index());
+            assertEquals(i, result.results().get(i).response().numFound());
+            assertNull(result.results().get(i).error());
+        }
+        assertEquals("Collection not found: missing", result.results().get(5).error());
+        assertNull(result.results().get(5).response());
+        assertEquals("Search 6 has no collection", result.results().get(6).error());
+        assertTrue(maxRunning.get() <= 2, "at most max-concurrent searches run at once: " + maxRunning.get());
+
+        List<SearchParameters> tooMany = new ArrayList<>(searches);
+        tooMany.addAll(searches);
+        assertThrows(IllegalArgumentException.class, () -> batchService.searchBatch(tooMany));
+    }
+
+    @Test
+    void testSearchWithCursorAddsUniqueKeyTieBreaker() throws SolrServerException, IOException {
+        SolrDocumentList documents = new SolrDocumentList();
+        documents.setNumFound(3);
+        SolrDocument doc = new SolrDocument();
+        doc.addField("id", "1");
+        documents.add(doc);
+
+        NamedList<Object> schemaResponse = new NamedList<>();
+        schemaResponse.add("uniqueKey", "id");
+        when(solrClient.request(any(SchemaRequest.UniqueKey.class), eq("books"))).thenReturn(schemaResponse);
+        when(queryResponse.getResults()).thenReturn(documents);
+        when(queryResponse.getNextCursorMark()).thenReturn("AoE/ATE=");
+        ArgumentCaptor<SolrQuery> queryCaptor = ArgumentCaptor.forClass(SolrQuery.class);
+        when(solrClient.query(eq("books"), queryCaptor.capture())).thenReturn(queryResponse);
+
+        CursorSearchResponse page = searchService.searchWithCursor("books", null, null, null,
+                List.of(Map.of("item", "price", "order", "desc")), 1, null);
+
+        assertEquals(3, page.numFound());
+        assertEquals("*", page.cursorMark());
+        assertEquals("AoE/ATE=", page.nextCursorMark());
+        assertFalse(page.finished());
+        assertEquals("price desc,id asc", queryCaptor.getValue().get(CommonParams.SORT));
+        assertEquals("*", queryCaptor.getValue().get(CursorMarkParams.CURSOR_MARK_PARAM));
+
+        // The last page returns the cursor it was requested with; the uniqueKey is looked up only once
+        when(queryResponse.getNextCursorMark()).thenReturn("AoE/ATE=");
+        CursorSearchResponse lastPage = searchService.searchWithCursor("books", null, null, null, null, 1, "AoE/ATE=");
+
+        assertTrue(lastPage.finished());
+        assertEquals("score desc,id asc", queryCaptor.getValue().get(CommonParams.SORT));
+        assertEquals("AoE/ATE=", queryCaptor.getValue().get(CursorMarkParams.CURSOR_MARK_PARAM));
+        verify(solrClient, times(1)).request(any(SchemaRequest.UniqueKey.class), eq("books"));
+    }
+
+    @Test
+    void testSearchWithCursorResumesAfterDocumentsOmittedByBudget() throws SolrServerException, IOException {
+        SolrDocumentList documents = new SolrDocumentList();
+        documents.setNumFound(2);
+        for (String id : List.of("1", "2")) {
+            SolrDocument doc = new SolrDocument();
+            doc.addField("id", id);
+            doc.addField("title_t", "x".repeat(40));
+            documents.add(doc);
+        }
+
+        NamedList<Object> schemaResponse = new NamedList<>();
+        schemaResponse.add("uniqueKey", "id");
+        when(solrClient.request(any(SchemaRequest.UniqueKey.class), eq("books"))).thenReturn(schemaResponse);
+        when(queryResponse.getResults()).thenReturn(documents);
+        when(queryResponse.getNextCursorMark()).thenReturn("AoE/ATI=");
+        QueryResponse returnedRowsResponse = mock(QueryResponse.class);
+        when(returnedRowsResponse.getNextCursorMark()).thenReturn("AoE/ATE=");
+        ArgumentCaptor<SolrQuery> queryCaptor = ArgumentCaptor.forClass(SolrQuery.class);
+        when(solrClient.query(eq("books"), queryCaptor.capture())).thenReturn(queryResponse, returnedRowsResponse);
+
+        CursorSearchResponse page = searchService.searchWithCursor("books", null, null, null, null, 2, null,
+                List.of("id", "title_t"), 60);
+
+        assertEquals(1, page.documents().size());
+        assertEquals("AoE/ATE=", page.nextCursorMark(), "the omitted document starts the next page");
+        assertFalse(page.finished());
+        assertNotNull(page.truncation());
+        assertEquals(1, page.truncation().documentsOmitted());
+        assertEquals("id,title_t", queryCaptor.getAllValues().get(0).getFields());
+        SolrQuery returnedRows = queryCaptor.getAllValues().get(1);
+        assertEquals(1, returnedRows.getRows());
+        assertEquals("id", returnedRows.getFields());
+        assertEquals("*", returnedRows.get(CursorMarkParams.CURSOR_MARK_PARAM));
+    }
+
     @Test
     void testSearchWithFacets() throws SolrServerException, IOException {
         // Setup mock response
@@ -135,6 +344,80 @@ class SearchServiceDirectTest {
         assertEquals(1L, genreFacets.get("scifi"));
     }
 
+    @Test
+    void testSearchReturnsDocumentsAndFacetsWithoutCopying() throws SolrServerException, IOException {
+        SolrDocumentList documents = new SolrDocumentList();
+        documents.setNumFound(1);
+        SolrDocument doc = new SolrDocument();
+        doc.addField("id", "1");
+        doc.addField("genre_s", "fantasy");
+        documents.add(doc);
+
+        FacetField genreFacet = new FacetField("genre_s");
+        genreFacet.add("scifi", 7);
+        genreFacet.add("fantasy", 3);
+        genreFacet.add("horror", 1);
+
+        when(queryResponse.getResults()).thenReturn(documents);
+        when(queryResponse.getFacetFields()).thenReturn(List.of(genreFacet));
+        when(solrClient.query(eq("books"), any(SolrQuery.class))).thenReturn(queryResponse);
+
+        SearchResponse result = searchService.search("books", null, null, null, null, null, null);
+
+        // Documents are Solr's own maps and facet values keep Solr's count order
+        assertSame(doc, result.documents().getFirst());
+        assertEquals(List.of("scifi", "fantasy", "horror"),
+                new ArrayList<>(result.facets().get("genre_s").keySet()));
+        assertEquals(Map.of("genre_s", Map.of("scifi", 7L, "fantasy", 3L, "horror", 1L)), result.facets());
+    }
+
+    @Test
+    void testSearchWithJsonFacetReturnsFacetTree() throws SolrServerException, IOException {
+        SolrDocumentList documents = new SolrDocumentList();
+        documents.setNumFound(3);
+
+        NamedList<Object> fantasy = new NamedList<>();
+        fantasy.add("val", "fantasy");
+        fantasy.add("count", 2L);
+        fantasy.add("avg_price", 8.49);
+        NamedList<Object> scifi = new NamedList<>();
+        scifi.add("val", "scifi");
+        scifi.add("count", 1L);
+        scifi.add("avg_price", 6.99);
+        NamedList<Object> genres = new NamedList<>();
+        genres.add("buckets", List.of(fantasy, scifi));
+        NamedList<Object> facets = new NamedList<>();
+        facets.add("count", 3L);
+        facets.add("genres", genres);
+        NamedList<Object> response = new NamedList<>();
+        response.add("response", documents);
+        response.add("facets", facets);
+
+        when(queryResponse.getResults()).thenReturn(documents);
+        when(queryResponse.getResponse()).thenReturn(response);
+        ArgumentCaptor<SolrQuery> queryCaptor = ArgumentCaptor.forClass(SolrQuery.class);
+        when(solrClient.query(eq("books"), queryCaptor.capture())).thenReturn(queryResponse);
+
+        Map<String, Object> jsonFacet = Map.of("genres", Map.of("type", "terms", "field", "genre_s",
+                "facet", Map.of("avg_price", "avg(price)")));
+        SearchResponse result = searchService.search("books", null, null, null, null, null, 0, null, null, jsonFacet);
+
+        String sent = queryCaptor.getValue().get("json.facet");
+        assertNotNull(sent);
+        assertTrue(sent.contains("\"avg(price)\""), sent);
+        assertEquals(Map.of(
+                "count", 3L,
+                "genres", Map.of("buckets", List.of(
+                        Map.of("val", "fantasy", "count", 2L, "avg_price", 8.49),
+                        Map.of("val", "scifi", "count", 1L, "avg_price", 6.99)))),
+                result.facetTree());
+
+        // Without json.facet there is no facet tree, and the search is cached separately
+        SearchResponse plain = searchService.search("books", null, null, null, null, null, 0);
+        assertNull(plain.facetTree());
+        verify(solrClient, times(2)).query(eq("books"), any(SolrQuery.class));
+    }
+
     @Test
     void testSearchWithEmptyResults() throws SolrServerException, IOException {
         // Setup mock response with empty results
@@ -288,4 +571,13 @@ class SearchServiceDirectTest {
         assertTrue(result.facets().containsKey("genre_s"));
         assertEquals(1L, result.facets().get("genre_s").get("mystery"));
     }
+
+    private SearchService createService(SolrConfigurationProperties properties) {
+        return createService(new SearchResponseCache(properties, new SimpleMeterRegistry()), properties);
+    }
+
+    private SearchService createService(SearchResponseCache cache, SolrConfigurationProperties properties) {
+        return new SearchService(solrClient, cache, properties, new HedgedSearchExecutor(solrClient, List.of(),
+                SolrConfigurationProperties.Hedging.defaults(), new SimpleMeterRegistry()));
+    }
 }
@@ -16,6 +16,7 @@
  */
 package org.apache.solr.mcp.server.search;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
@@ -25,6 +26,7 @@ import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.mcp.server.TestcontainersConfiguration;
+import org.apache.solr.mcp.server.config.SolrConfigurationProperties;
 import org.apache.solr.mcp.server.indexing.IndexingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -418,7 +420,7 @@ class SearchServiceTest {
 
     @Test
     void unit_constructor_ShouldInitializeWithSolrClient() {
-        SearchService localService = new SearchService(mock(SolrClient.class));
+        SearchService localService = createService(mock(SolrClient.class));
         assertNotNull(localService);
     }
 
@@ -434,7 +436,7 @@ class SearchServiceTest {
             assertEquals("*:*", q.getQuery());
             return mockResponse;
         });
-        SearchService localService = new SearchService(mockClient);
+        SearchService localService = createService(mockClient);
         SearchResponse result = localService.search("test_collection", null, null, null, null, null, null);
         assertNotNull(result);
     }
@@ -452,7 +454,7 @@ class SearchServiceTest {
             assertEquals(customQuery, q.getQuery());
             return mockResponse;
         });
-        SearchService localService = new SearchService(mockClient);
+        SearchService localService = createService(mockClient);
         SearchResponse result = localService.search("test_collection", customQuery, null, null, null, null, null);
         assertNotNull(result);
     }
@@ -470,7 +472,7 @@ class SearchServiceTest {
             assertArrayEquals(filterQueries.toArray(), q.getFilterQueries());
             return mockResponse;
         });
-        SearchService localService = new SearchService(mockClient);
+        SearchService localService = createService(mockClient);
         SearchResponse result = localService.search("test_collection", null, filterQueries, null, null, null, null);
         assertNotNull(result);
     }
@@ -484,7 +486,7 @@ class SearchServiceTest {
         when(mockResponse.getResults()).thenReturn(mockDocuments);
         when(mockResponse.getFacetFields()).thenReturn(createMockFacetFields());
         when(mockClient.query(eq("test_collection"), any(SolrQuery.class))).thenAnswer(invocation -> mockResponse);
-        SearchService localService = new SearchService(mockClient);
+        SearchService localService = createService(mockClient);
         SearchResponse result = localService.search("test_collection", null, null, facetFields, null, null, null);
         assertNotNull(result);
         assertNotNull(result.facets());
@@ -502,7 +504,7 @@ class SearchServiceTest {
         when(mockResponse.getResults()).thenReturn(mockDocuments);
         when(mockResponse.getFacetFields()).thenReturn(null);
         when(mockClient.query(eq("test_collection"), any(SolrQuery.class))).thenAnswer(invocation -> mockResponse);
-        SearchService localService = new SearchService(mockClient);
+        SearchService localService = createService(mockClient);
         SearchResponse result = localService.search("test_collection", null, null, null, sortClauses, null, null);
         assertNotNull(result);
     }
@@ -522,7 +524,7 @@ class SearchServiceTest {
             assertEquals(rows, q.getRows());
             return mockResponse;
         });
-        SearchService localService = new SearchService(mockClient);
+        SearchService localService = createService(mockClient);
         SearchResponse result = localService.search("test_collection", null, null, null, null, start, rows);
         assertNotNull(result);
     }
@@ -549,7 +551,7 @@ class SearchServiceTest {
             assertEquals(rows, captured.getRows());
             return mockResponse;
         });
-        SearchService localService = new SearchService(mockClient);
+        SearchService localService = createService(mockClient);
         SearchResponse result = localService.search("test_collection", query, filterQueries, facetFields, sortClauses, start, rows);
         assertNotNull(result);
     }
@@ -559,7 +561,7 @@ class SearchServiceTest {
         SolrClient mockClient = mock(SolrClient.class);
         when(mockClient.query(eq("test_collection"), any(SolrQuery.class)))
                 .thenThrow(new SolrServerException("Connection error"));
-        SearchService localService = new SearchService(mockClient);
+        SearchService localService = createService(mockClient);
         assertThrows(SolrServerException.class, () ->
                 localService.search("test_collection", null, null, null, null, null, null));
     }
@@ -569,7 +571,7 @@ class SearchServiceTest {
         SolrClient mockClient = mock(SolrClient.class);
         when(mockClient.query(eq("test_collection"), any(SolrQuery.class)))
                 .thenThrow(new IOException("Network error"));
-        SearchService localService = new SearchService(mockClient);
+        SearchService localService = createService(mockClient);
         assertThrows(IOException.class, () ->
                 localService.search("test_collection", null, null, null, null, null, null));
     }
@@ -584,7 +586,7 @@ class SearchServiceTest {
         when(mockResponse.getResults()).thenReturn(emptyDocuments);
         when(mockResponse.getFacetFields()).thenReturn(null);
         when(mockClient.query(eq("test_collection"), any(SolrQuery.class))).thenReturn(mockResponse);
-        SearchService localService = new SearchService(mockClient);
+        SearchService localService = createService(mockClient);
         SearchResponse result = localService.search("test_collection", "nonexistent:value", null, null, null, null, null);
         assertNotNull(result);
         assertEquals(0, result.numFound());
@@ -603,7 +605,7 @@ class SearchServiceTest {
             assertNull(q.getFilterQueries());
             return mockResponse;
         });
-        SearchService localService = new SearchService(mockClient);
+        SearchService localService = createService(mockClient);
         SearchResponse result = localService.search("test_collection", null, null, null, null, null, null);
         assertNotNull(result);
     }
@@ -620,7 +622,7 @@ class SearchServiceTest {
             assertNull(q.getFacetFields());
             return mockResponse;
         });
-        SearchService localService = new SearchService(mockClient);
+        SearchService localService = createService(mockClient);
         SearchResponse result = localService.search("test_collection", null, null, List.of(), null, null, null);
         assertNotNull(result);
     }
@@ -633,7 +635,7 @@ class SearchServiceTest {
         when(mockResponse.getResults()).thenReturn(mockDocuments);
         when(mockResponse.getFacetFields()).thenReturn(createMockFacetFields());
         when(mockClient.query(eq("test_collection"), any(SolrQuery.class))).thenReturn(mockResponse);
-        SearchService localService = new SearchService(mockClient);
+        SearchService localService = createService(mockClient);
         SearchResponse result = localService.search("test_collection", null, null, List.of("genre_s"), null, null, null);
         assertNotNull(result);
         assertEquals(2, result.numFound());
@@ -714,4 +716,11 @@ class SearchServiceTest {
         authorFacet.add("Joshua Bloch", 1);
         return List.of(genreFacet, authorFacet);
     }
+
+    private static SearchService createService(SolrClient client) {
+        SolrConfigurationProperties properties = SolrConfigurationProperties.defaults("http://localhost:8983/solr/");
+        return new SearchService(client, new SearchResponseCache(properties, new SimpleMeterRegistry()), properties,
+                new HedgedSearchExecutor(client, List.of(), SolrConfigurationProperties.Hedging.defaults(),
+                        new SimpleMeterRegistry()));
+    }
 }